@@ -0,0 +1,149 @@
+package com.tobi.mesystem.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH-Vergleich: ItemLedger (Lock-Striping) gegen den bisherigen globalen storageLock.
+ *
+ * Jeder Writer-Thread schreibt auf seine eigene Item-ID (Import-Bus-Szenario),
+ * jeweils mit 1, 4, 16 und 64 gleichzeitigen Writern.
+ *
+ * Ausführen: ./gradlew jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemLedgerBenchmark {
+
+    /**
+     * Nachbau des bisherigen MENetwork-Storage-Pfads (ein Write-Lock für alle Items)
+     */
+    static final class GlobalLockStorage {
+        private final Map<String, Long> itemStorage = new ConcurrentHashMap<>();
+        private final ReadWriteLock storageLock = new ReentrantReadWriteLock();
+
+        long insert(String itemId, long amount) {
+            storageLock.writeLock().lock();
+            try {
+                long current = itemStorage.getOrDefault(itemId, 0L);
+                itemStorage.put(itemId, current + amount);
+                return amount;
+            } finally {
+                storageLock.writeLock().unlock();
+            }
+        }
+
+        long extract(String itemId, long amount) {
+            storageLock.writeLock().lock();
+            try {
+                long available = itemStorage.getOrDefault(itemId, 0L);
+                long toExtract = Math.min(available, amount);
+                if (toExtract > 0) {
+                    long remaining = available - toExtract;
+                    if (remaining == 0) {
+                        itemStorage.remove(itemId);
+                    } else {
+                        itemStorage.put(itemId, remaining);
+                    }
+                }
+                return toExtract;
+            } finally {
+                storageLock.writeLock().unlock();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedStorage {
+        final ItemLedger ledger = new ItemLedger();
+        final GlobalLockStorage globalLock = new GlobalLockStorage();
+        final AtomicInteger writerIds = new AtomicInteger();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        String itemId;
+
+        @Setup
+        public void setUp(SharedStorage shared) {
+            itemId = "hytale:item_" + shared.writerIds.getAndIncrement();
+        }
+    }
+
+    private static long ledgerRoundTrip(SharedStorage shared, Writer writer) {
+        shared.ledger.add(writer.itemId, 2);
+        return shared.ledger.remove(writer.itemId, 1);
+    }
+
+    private static long globalLockRoundTrip(SharedStorage shared, Writer writer) {
+        shared.globalLock.insert(writer.itemId, 2);
+        return shared.globalLock.extract(writer.itemId, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long ledger_1(SharedStorage shared, Writer writer) {
+        return ledgerRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long ledger_4(SharedStorage shared, Writer writer) {
+        return ledgerRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long ledger_16(SharedStorage shared, Writer writer) {
+        return ledgerRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long ledger_64(SharedStorage shared, Writer writer) {
+        return ledgerRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long globalLock_1(SharedStorage shared, Writer writer) {
+        return globalLockRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long globalLock_4(SharedStorage shared, Writer writer) {
+        return globalLockRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long globalLock_16(SharedStorage shared, Writer writer) {
+        return globalLockRoundTrip(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long globalLock_64(SharedStorage shared, Writer writer) {
+        return globalLockRoundTrip(shared, writer);
+    }
+}
@@ -0,0 +1,156 @@
+package com.tobi.mesystem.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.core.MENode;
+
+/**
+ * JMH-Vergleich: Nachbar-Lookups mit den bisherigen BlockPos-Keys gegen gepackte long-Keys.
+ *
+ * Jede Operation prüft die sechs Nachbarn einer zufälligen Kabel-Position:
+ * - legacy:  ConcurrentHashMap mit BlockPos-Nachbau (Objects.hash, offset() allokiert)
+ * - packed:  LongObjectHashMap mit BlockPos.offset(long, Direction)
+ * - spatial: SpatialNodeIndex.getNeighbor (NetworkManager-Pfad)
+ *
+ * Ausführen: ./gradlew jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NodeLookupBenchmark {
+
+    /**
+     * Nachbau der bisherigen BlockPos (Objects.hash, allokierendes offset)
+     */
+    static final class LegacyPos {
+        final int x;
+        final int y;
+        final int z;
+
+        LegacyPos(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        LegacyPos offset(Direction direction) {
+            return new LegacyPos(x + direction.getOffsetX(), y + direction.getOffsetY(), z + direction.getOffsetZ());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof LegacyPos)) return false;
+            LegacyPos other = (LegacyPos) obj;
+            return x == other.x && y == other.y && z == other.z;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, y, z);
+        }
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    private Map<LegacyPos, MENode> legacyNodes;
+    private LongObjectHashMap<MENode> packedNodes;
+    private SpatialNodeIndex spatialNodes;
+
+    private LegacyPos[] legacyProbes;
+    private long[] packedProbes;
+    private BlockPos[] spatialProbes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        UUID worldId = UUID.randomUUID();
+        legacyNodes = new ConcurrentHashMap<>();
+        packedNodes = new LongObjectHashMap<>();
+        spatialNodes = new SpatialNodeIndex();
+
+        // Kabel-Gitter: Ebenen aus parallelen Leitungen
+        int side = (int) Math.ceil(Math.cbrt(nodeCount));
+        int placed = 0;
+        for (int y = 0; y < side && placed < nodeCount; y++) {
+            for (int x = 0; x < side && placed < nodeCount; x++) {
+                for (int z = 0; z < side && placed < nodeCount; z++) {
+                    BlockPos pos = new BlockPos(x, y, z);
+                    MENode node = new MENode(worldId, pos, MEDeviceType.CABLE);
+                    legacyNodes.put(new LegacyPos(x, y, z), node);
+                    packedNodes.put(pos.asLong(), node);
+                    spatialNodes.put(pos, node);
+                    placed++;
+                }
+            }
+        }
+
+        Random random = new Random(1);
+        int probes = 4096;
+        legacyProbes = new LegacyPos[probes];
+        packedProbes = new long[probes];
+        spatialProbes = new BlockPos[probes];
+        for (int i = 0; i < probes; i++) {
+            int x = random.nextInt(side);
+            int y = random.nextInt(side);
+            int z = random.nextInt(side);
+            legacyProbes[i] = new LegacyPos(x, y, z);
+            packedProbes[i] = BlockPos.asLong(x, y, z);
+            spatialProbes[i] = new BlockPos(x, y, z);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (packedProbes.length - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public void legacyNeighbors(Blackhole blackhole) {
+        LegacyPos pos = legacyProbes[next()];
+        for (Direction dir : DIRECTIONS) {
+            blackhole.consume(legacyNodes.get(pos.offset(dir)));
+        }
+    }
+
+    @Benchmark
+    public void packedNeighbors(Blackhole blackhole) {
+        long key = packedProbes[next()];
+        for (Direction dir : DIRECTIONS) {
+            blackhole.consume(packedNodes.get(BlockPos.offset(key, dir)));
+        }
+    }
+
+    @Benchmark
+    public void spatialNeighbors(Blackhole blackhole) {
+        BlockPos pos = spatialProbes[next()];
+        for (Direction dir : DIRECTIONS) {
+            blackhole.consume(spatialNodes.getNeighbor(pos, dir));
+        }
+    }
+}
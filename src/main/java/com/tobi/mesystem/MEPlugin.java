@@ -41,6 +41,24 @@ public class MEPlugin extends JavaPlugin {
     private MEConfig config;
     private ScheduledExecutorService threadPool;
     private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+    
+    // Chunk-Events der Server-API (fehlt eine, meldet der Start einen Fehler und alle Netzwerke bleiben geladen)
+    private static final String CHUNK_LOAD_EVENT = "com.hypixel.hytale.server.core.universe.world.events.ChunkPreLoadProcessEvent";
+    private static final String CHUNK_UNLOAD_EVENT = "com.hypixel.hytale.server.core.universe.world.events.ecs.ChunkUnloadEvent";
+    
+    // Welt-Events der Server-API: Laden des gespeicherten Stands bzw. Speichern und Entladen
+    // (fehlt eines, lädt der erste Welt-Tick nach und beim Entladen sichert das Journal;
+    // ohne Lade-Event kennt der Welt-Tick eine Welt ab ihrem ersten Block-/Chunk-Event)
+    private static final String WORLD_ADD_EVENT = "com.hypixel.hytale.server.core.universe.world.events.AddWorldEvent";
+    private static final String WORLD_REMOVE_EVENT = "com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent";
+    
+    // Chunk-Events ohne Chunk-Koordinaten nur einmal melden
+    private final java.util.concurrent.atomic.AtomicBoolean chunkEventWarned = new java.util.concurrent.atomic.AtomicBoolean();
+    
+    // Welt-Tick: 20 TPS, pro Welt höchstens ein Tick in der Warteschlange des Welt-Threads
+    private static final long WORLD_TICK_MILLIS = 50;
+    private final java.util.Set<Object> worldTicksInFlight = java.util.concurrent.ConcurrentHashMap.newKeySet();
+    private final java.util.concurrent.atomic.AtomicBoolean worldExecuteWarned = new java.util.concurrent.atomic.AtomicBoolean();
 
     /**
      * Constructs the MEPlugin instance.
@@ -179,12 +197,77 @@ public class MEPlugin extends JavaPlugin {
                 networkManager.optimizeChannels();
                 String debugInfo = networkManager.getDebugInfo();
                 getLogger().at(Level.INFO).log("Wartung abgeschlossen: %s", debugInfo);
+                getLogger().at(Level.FINE).log("%s", com.tobi.mesystem.util.ReflectionAccessors.getStats());
             } catch (Exception e) {
                 getLogger().at(Level.SEVERE).withCause(e).log("Fehler bei Netzwerk-Wartung");
             }
         }, 1, 5, TimeUnit.MINUTES);
         
         getLogger().at(Level.INFO).log("Task Scheduler: Netzwerk-Wartung alle 5 Minuten");
+        
+        // Welt-Tick der Netzwerke (Storage-Deltas, I/O-Devices, Schlaf-Prüfungen)
+        threadPool.scheduleAtFixedRate(this::dispatchWorldTicks, WORLD_TICK_MILLIS, WORLD_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        getLogger().at(Level.INFO).log("Task Scheduler: Welt-Tick alle %d ms", WORLD_TICK_MILLIS);
+        
+        // Autosave geänderter Netzwerke (Journal, Byte-Budget pro Lauf)
+        int autosaveSeconds = config != null ? config.getAutosaveIntervalSeconds() : 60;
+        long autosaveBytes = config != null ? config.getAutosaveMaxBytes() : 1L << 20;
+        if (autosaveSeconds > 0) {
+            threadPool.scheduleWithFixedDelay(() -> {
+                try {
+                    networkManager.autosaveDirtyNetworks(autosaveBytes);
+                } catch (Exception e) {
+                    getLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Autosave");
+                }
+            }, autosaveSeconds, autosaveSeconds, TimeUnit.SECONDS);
+            getLogger().at(Level.INFO).log("Task Scheduler: Autosave alle %d Sekunden (max. %d KB pro Lauf)",
+                autosaveSeconds, autosaveBytes / 1024);
+        }
+    }
+
+    /**
+     * Reicht tickNetworks für jede bekannte Welt an deren Welt-Thread weiter (World.execute)
+     * 
+     * Die Server-API bietet Plugins keinen Welt-Tick-Callback, der sich hier ohne Server-JAR
+     * prüfen ließe - daher treibt der Thread Pool den Takt und der Tick selbst läuft wie
+     * Container-Scan und Terminal-Abfragen auf dem Welt-Thread. Ist der Tick einer Welt noch
+     * nicht gelaufen, entfällt der nächste (kein Aufstauen bei Lag). Ohne execute tickt der
+     * Pool-Thread direkt.
+     */
+    private void dispatchWorldTicks() {
+        try {
+            for (Object world : networkManager.getKnownWorlds()) {
+                if (!worldTicksInFlight.add(world)) {
+                    continue;
+                }
+                Runnable tick = () -> {
+                    try {
+                        networkManager.tickNetworks(world);
+                    } catch (Exception e) {
+                        getLogger().at(Level.SEVERE).withCause(e).log("Fehler im Welt-Tick");
+                    } finally {
+                        worldTicksInFlight.remove(world);
+                    }
+                };
+                if (com.tobi.mesystem.util.ReflectionAccessors.EXECUTE.isAvailable(world)) {
+                    try {
+                        com.tobi.mesystem.util.ReflectionAccessors.EXECUTE.invoke(world, tick);
+                    } catch (ReflectiveOperationException e) {
+                        worldTicksInFlight.remove(world);
+                        getLogger().at(Level.WARNING).log("Welt-Tick konnte nicht eingeplant werden: %s", e.getMessage());
+                    }
+                } else {
+                    if (worldExecuteWarned.compareAndSet(false, true)) {
+                        getLogger().at(Level.WARNING).log(
+                            "World.execute nicht verfügbar - Welt-Tick läuft auf dem Plugin-Thread-Pool");
+                    }
+                    tick.run();
+                }
+            }
+        } catch (Exception e) {
+            // Exception würde den periodischen Task beenden
+            getLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Einplanen des Welt-Ticks");
+        }
     }
 
     /**
@@ -232,7 +315,7 @@ public class MEPlugin extends JavaPlugin {
                         // Try to extract world via reflection to pass to block handlers
                         Object worldObj = null;
                         try {
-                            worldObj = event.getClass().getMethod("getWorld").invoke(event);
+                            worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invoke(event);
                         } catch (Exception e) {
                             getLogger().at(Level.FINE).log("World-Extraktion via Reflection fehlgeschlagen: %s", e.getMessage());
                         }
@@ -256,6 +339,8 @@ public class MEPlugin extends JavaPlugin {
                             getLogger().at(Level.FINE).log("ME Controller platziert");
                         } else {
                             getLogger().at(Level.FINE).log("Nicht-ME-Item platziert: item=%s normalized=%s", itemId, normalized);
+                            // Möglicher Container - wird bei der nächsten Container-Suche validiert
+                            networkManager.notifyBlockPlaced(networkManager.resolveWorldId(worldObj), pos);
                         }
                     } catch (Exception e) {
                         getLogger().at(Level.SEVERE).withCause(e).log("Fehler in PlaceBlockEvent Handler");
@@ -277,34 +362,38 @@ public class MEPlugin extends JavaPlugin {
                         // Extract world via reflection
                         Object worldObj = null;
                         try {
-                            worldObj = event.getClass().getMethod("getWorld").invoke(event);
+                            worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invoke(event);
                         } catch (Exception e) {
                             getLogger().at(Level.FINE).log("World-Extraktion fehlgeschlagen: %s", e.getMessage());
                         }
 
                         BlockPos pos = new BlockPos(targetBlock.getX(), targetBlock.getY(), targetBlock.getZ());
                         
+                        // World-UUID einmal auflösen (gecacht), sonst über Umkehr-Index der Position
+                        java.util.UUID worldId = networkManager.resolveWorldId(worldObj, pos);
+                        
                         // Prüfe ob es ein ME Block ist
-                        com.tobi.mesystem.core.MENode node = networkManager.getNode(null, pos);
+                        com.tobi.mesystem.core.MENode node = worldId != null ? networkManager.getNode(worldId, pos) : null;
                         if (node != null) {
                             getLogger().at(Level.INFO).log("Entferne ME Block (%s) bei %s", node.getDeviceType(), pos);
                             
                             switch (node.getDeviceType()) {
                                 case CABLE:
-                                    com.tobi.mesystem.blocks.MECableBlock.onBroken(pos, worldObj);
+                                    com.tobi.mesystem.blocks.MECableBlock.onBroken(pos, worldId);
                                     getLogger().at(Level.FINE).log("ME Cable entfernt");
                                     break;
                                 case TERMINAL:
-                                    com.tobi.mesystem.blocks.METerminalBlock.onBroken(pos, worldObj);
+                                    com.tobi.mesystem.blocks.METerminalBlock.onBroken(pos, worldId);
                                     getLogger().at(Level.FINE).log("ME Terminal entfernt");
                                     break;
                                 case CONTROLLER:
-                                    com.tobi.mesystem.blocks.MEControllerBlock.onBroken(pos, worldObj);
+                                    com.tobi.mesystem.blocks.MEControllerBlock.onBroken(pos, worldId);
                                     getLogger().at(Level.FINE).log("ME Controller entfernt");
                                     break;
                             }
                         } else {
                             getLogger().at(Level.FINE).log("Nicht-ME-Block abgebaut bei %s", pos);
+                            networkManager.notifyBlockBroken(worldId, pos);
                         }
                     } catch (Exception e) {
                         getLogger().at(Level.SEVERE).withCause(e).log("Fehler in BreakBlockEvent Handler");
@@ -327,17 +416,17 @@ public class MEPlugin extends JavaPlugin {
                         Object worldObj = null;
                         Object playerObj = null;
                         try {
-                            worldObj = event.getClass().getMethod("getWorld").invoke(event);
+                            worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invoke(event);
                         } catch (Exception e) {
                             getLogger().at(Level.FINE).log("World-Extraktion fehlgeschlagen: %s", e.getMessage());
                         }
                         
                         try {
                             // Try common player accessor names
-                            try {
-                                playerObj = event.getClass().getMethod("getPlayerRef").invoke(event);
-                            } catch (NoSuchMethodException nsme) {
-                                playerObj = event.getClass().getMethod("getPlayer").invoke(event);
+                            if (com.tobi.mesystem.util.ReflectionAccessors.GET_PLAYER_REF.isAvailable(event)) {
+                                playerObj = com.tobi.mesystem.util.ReflectionAccessors.GET_PLAYER_REF.invoke(event);
+                            } else {
+                                playerObj = com.tobi.mesystem.util.ReflectionAccessors.GET_PLAYER.invoke(event);
                             }
                         } catch (Exception e) {
                             getLogger().at(Level.FINE).log("Player-Extraktion fehlgeschlagen: %s", e.getMessage());
@@ -345,11 +434,14 @@ public class MEPlugin extends JavaPlugin {
 
                         BlockPos pos = new BlockPos(targetBlock.getX(), targetBlock.getY(), targetBlock.getZ());
                         
+                        // World-UUID einmal auflösen (gecacht), sonst über Umkehr-Index der Position
+                        java.util.UUID worldId = networkManager.resolveWorldId(worldObj, pos);
+                        
                         // Prüfe ob es ein ME Terminal ist
-                        com.tobi.mesystem.core.MENode node = networkManager.getNode(null, pos);
+                        com.tobi.mesystem.core.MENode node = worldId != null ? networkManager.getNode(worldId, pos) : null;
                         if (node != null && node.getDeviceType() == com.tobi.mesystem.core.MEDeviceType.TERMINAL) {
                             getLogger().at(Level.INFO).log("ME Terminal Rechtsklick bei %s", pos);
-                            com.tobi.mesystem.blocks.METerminalBlock.onRightClick(pos, worldObj, playerObj);
+                            com.tobi.mesystem.blocks.METerminalBlock.onRightClick(pos, worldId, playerObj);
                             getLogger().at(Level.FINE).log("[OK] Terminal GUI Handler aufgerufen");
                         }
                     } catch (Exception e) {
@@ -358,10 +450,141 @@ public class MEPlugin extends JavaPlugin {
                 }
             );
             
+            // Welt Laden/Entladen - gespeicherte Netzwerke laden, beim Entladen speichern
+            registerWorldEvents(eventRegistry);
+            
+            // Chunk Load/Unload - Netzwerke ohne geladenes Device werden ausgelagert
+            if (config == null || config.isChunkActivation()) {
+                registerChunkEvents(eventRegistry);
+            }
+            
         } catch (Exception e) {
             getLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Registrieren der Event-Listener");
         }
     }
+    
+    /**
+     * Registriert Welt Laden/Entladen (Klassen zur Laufzeit aufgelöst wie bei den Chunk-Events)
+     * 
+     * Laden: gespeicherter Stand der Welt - erst danach schreibt die Persistenz Journal,
+     * Autosave und Kompaktierung für sie. Fehlt das Event, lädt der erste Welt-Tick nach.
+     */
+    private void registerWorldEvents(com.hypixel.hytale.event.EventRegistry eventRegistry) {
+        Class<?> addEvent = resolveEventClass(WORLD_ADD_EVENT);
+        Class<?> removeEvent = resolveEventClass(WORLD_REMOVE_EVENT);
+        if (addEvent != null) {
+            registerResolvedEvent(eventRegistry, addEvent, event -> handleWorldEvent(event, true));
+        } else {
+            getLogger().at(Level.SEVERE).log(
+                "Welt-Event %s fehlt in dieser Server-Version - gespeicherte Netzwerke werden erst im ersten Welt-Tick geladen",
+                WORLD_ADD_EVENT);
+        }
+        if (removeEvent != null) {
+            registerResolvedEvent(eventRegistry, removeEvent, event -> handleWorldEvent(event, false));
+        } else {
+            getLogger().at(Level.SEVERE).log(
+                "Welt-Event %s fehlt in dieser Server-Version - Welten werden nur über das Journal beim Shutdown gesichert",
+                WORLD_REMOVE_EVENT);
+        }
+    }
+    
+    /**
+     * Lädt bzw. speichert und entlädt die Netzwerke einer Welt
+     */
+    private void handleWorldEvent(Object event, boolean added) {
+        try {
+            Object worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invokeIfPresent(event);
+            if (worldObj == null) {
+                getLogger().at(Level.WARNING).log("Welt-Event %s ohne Welt - ignoriert", event.getClass().getName());
+                return;
+            }
+            if (added) {
+                networkManager.loadWorldNetworks(worldObj);
+            } else {
+                networkManager.saveWorldNetworks(worldObj);
+                networkManager.unloadWorld(worldObj);
+                worldTicksInFlight.remove(worldObj);
+            }
+        } catch (Exception e) {
+            getLogger().at(Level.SEVERE).withCause(e).log("Fehler in Welt-Event Handler");
+        }
+    }
+    
+    /**
+     * Registriert Chunk Load/Unload. Die Event-Klassen werden beim Start aufgelöst
+     * (Server-Versionen ohne sie sollen das Plugin nicht am Laden hindern); fehlt eine,
+     * wird das als SEVERE gemeldet und die Chunk-Aktivierung bleibt aus.
+     */
+    private void registerChunkEvents(com.hypixel.hytale.event.EventRegistry eventRegistry) {
+        Class<?> loadEvent = resolveEventClass(CHUNK_LOAD_EVENT);
+        Class<?> unloadEvent = resolveEventClass(CHUNK_UNLOAD_EVENT);
+        if (loadEvent == null || unloadEvent == null) {
+            getLogger().at(Level.SEVERE).log(
+                "Chunk-Event %s fehlt in dieser Server-Version - network.chunkActivation ist wirkungslos, "
+                    + "alle Netzwerke bleiben geladen (network.chunkActivation=false unterdrückt diese Meldung)",
+                loadEvent == null ? CHUNK_LOAD_EVENT : CHUNK_UNLOAD_EVENT);
+            return;
+        }
+        registerChunkEvent(eventRegistry, loadEvent, true);
+        registerChunkEvent(eventRegistry, unloadEvent, false);
+        getLogger().at(Level.INFO).log("Chunk-Events registriert: %s, %s",
+            loadEvent.getSimpleName(), unloadEvent.getSimpleName());
+    }
+    
+    private static Class<?> resolveEventClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    private void registerChunkEvent(com.hypixel.hytale.event.EventRegistry eventRegistry, Class<?> eventClass, boolean loaded) {
+        registerResolvedEvent(eventRegistry, eventClass, event -> handleChunkEvent(event, loaded));
+    }
+    
+    // Zur Laufzeit aufgelöste Klasse - die generische Signatur der Registry ist nur roh erfüllbar
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void registerResolvedEvent(com.hypixel.hytale.event.EventRegistry eventRegistry, Class eventClass,
+                                       java.util.function.Consumer<Object> handler) {
+        eventRegistry.register(eventClass, (java.util.function.Consumer) handler);
+    }
+    
+    /**
+     * Reicht Chunk Load/Unload an den NetworkManager weiter
+     * 
+     * Koordinaten nur über getChunkX/getChunkZ (am Chunk oder am Event) - das sind
+     * Chunk-Koordinaten (32er-Spalten wie in ChunkActivity). Block-Koordinaten (getX/getZ)
+     * werden bewusst nicht verwendet: falsch interpretiert würden fremde Chunks ausgelagert.
+     */
+    private void handleChunkEvent(Object event, boolean loaded) {
+        try {
+            Object chunk = com.tobi.mesystem.util.ReflectionAccessors.GET_CHUNK.invokeIfPresent(event);
+            Object source = chunk != null ? chunk : event;
+            Object chunkX = com.tobi.mesystem.util.ReflectionAccessors.GET_CHUNK_X.invokeIfPresent(source);
+            Object chunkZ = com.tobi.mesystem.util.ReflectionAccessors.GET_CHUNK_Z.invokeIfPresent(source);
+            Object worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invokeIfPresent(event);
+            if (worldObj == null && chunk != null) {
+                worldObj = com.tobi.mesystem.util.ReflectionAccessors.GET_WORLD.invokeIfPresent(chunk);
+            }
+            if (!(chunkX instanceof Number x) || !(chunkZ instanceof Number z) || worldObj == null) {
+                if (chunkEventWarned.compareAndSet(false, true)) {
+                    getLogger().at(Level.WARNING).log(
+                        "Chunk-Event %s ohne Chunk-Koordinaten oder Welt - Chunk-Aktivierung erhält keine Events",
+                        event.getClass().getName());
+                }
+                return;
+            }
+            
+            if (loaded) {
+                networkManager.onChunkLoaded(worldObj, x.intValue(), z.intValue());
+            } else {
+                networkManager.onChunkUnloaded(worldObj, x.intValue(), z.intValue());
+            }
+        } catch (Exception e) {
+            getLogger().at(Level.SEVERE).withCause(e).log("Fehler in Chunk-Event Handler");
+        }
+    }
 
     /**
      * Initialisiert BlockState Codecs durch Laden der Klassen.
@@ -98,8 +98,9 @@ public abstract class MEBlockBase {
             // 3. Device registrieren (allociert Channels)
             network.registerDevice(position, getDeviceType());
             
-            // 4. Zu Nachbarn verbinden
+            // 4. Zu Nachbarn verbinden (Merges können das Network ersetzen)
             connectToNeighbors(worldId, position, node);
+            network = node.getNetwork();
             
             // 5. Im NetworkManager registrieren
             getNetworkManager().addNode(worldId, position, node);
@@ -140,17 +141,11 @@ public abstract class MEBlockBase {
             // 2. Extra Logic vor Entfernung (Subklassen)
             if (network != null) {
                 onBrokenExtra(worldId, position, node, network);
-                
-                // 3. Device unregistrieren
-                network.unregisterDevice(position);
-                
-                // 4. Node aus Network entfernen
-                network.removeNode(position);
             } else {
                 logger.at(Level.FINE).log("onBroken: Kein Network gefunden für Node bei %s", position);
             }
             
-            // 5. Node aus Manager entfernen
+            // 3. Node aus Manager und Network entfernen (Device, Channels, Split-Erkennung)
             getNetworkManager().removeNode(worldId, position);
 
             logger.at(Level.INFO).log("%s entfernt bei %s", getDeviceType(), position);
@@ -201,8 +196,7 @@ public abstract class MEBlockBase {
     protected MENetwork findOrCreateNetwork(UUID worldId, BlockPos position, MENode node) {
         // Prüfe benachbarte Blocks auf existierende Networks
         for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = position.offset(dir);
-            MENode neighborNode = getNetworkManager().getNode(worldId, neighborPos);
+            MENode neighborNode = getNetworkManager().getNeighbor(worldId, position, dir);
             
             if (neighborNode != null && neighborNode.getNetwork() != null) {
                 // Zu existierendem Network hinzufügen
@@ -223,8 +217,7 @@ public abstract class MEBlockBase {
      */
     protected void connectToNeighbors(UUID worldId, BlockPos position, MENode node) {
         for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = position.offset(dir);
-            MENode neighborNode = getNetworkManager().getNode(worldId, neighborPos);
+            MENode neighborNode = getNetworkManager().getNeighbor(worldId, position, dir);
             
             if (neighborNode != null) {
                 // Connection hinzufügen
@@ -245,12 +238,8 @@ public abstract class MEBlockBase {
      * Extrahiert World-UUID aus World-Objekt
      */
     protected static UUID extractWorldId(Object world) {
-        try {
-            return (UUID) world.getClass().getMethod("getWorldId").invoke(world);
-        } catch (ReflectiveOperationException e) {
-            MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("Konnte World-UUID nicht extrahieren: %s", e.getMessage());
-            return new UUID(world.hashCode(), 0); // Fallback: nutze hashCode
-        }
+        // Gecacht im NetworkManager - Reflection nur einmal pro World-Objekt
+        return MEPlugin.getInstance().getNetworkManager().resolveWorldId(world);
     }
     
     /**
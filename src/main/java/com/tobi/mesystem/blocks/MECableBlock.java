@@ -15,6 +15,7 @@ import com.tobi.mesystem.util.BlockPos;
  * Features:
  * - Automatic 6-directional connection to neighbors
  * - Network merging when cables connect
+ * - Network splitting when cables break
  * - Visual connection state (future: texture rotation)
  * 
  * Simplified mit MEBlockBase - gemeinsame Logik in Basisklasse
@@ -42,20 +43,11 @@ public class MECableBlock extends MEBlockBase {
     
     @Override
     protected void onBrokenExtra(UUID worldId, BlockPos position, MENode node, MENetwork network) {
-        // When cable breaks, network may split
+        // Disconnect and split detection happen in MENetwork.removeNode
         logger.at(Level.INFO).log(
-            "Cable removed at %s | Network may split",
-            position
+            "Cable removed at %s | %d connections, checking for network split",
+            position, node.getConnectionCount()
         );
-        
-        // Disconnect from neighbors
-        for (com.tobi.mesystem.util.Direction dir : node.getConnections()) {
-            BlockPos neighborPos = position.offset(dir);
-            MENode neighborNode = getNetworkManager().getNode(worldId, neighborPos);
-            if (neighborNode != null) {
-                neighborNode.removeConnection(dir.getOpposite());
-            }
-        }
     }
     
     // ==================== STATIC HYTALE EVENT WRAPPERS ====================
@@ -96,7 +88,22 @@ public class MECableBlock extends MEBlockBase {
                 return;
             }
             
-            UUID worldId = extractWorldId(world);
+            onBroken(position, extractWorldId(world));
+        } catch (Exception e) {
+            MEPlugin.getInstance().getPluginLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Zerstören von ME Cable");
+        }
+    }
+
+    /**
+     * Wrapper mit bereits aufgelöster World-UUID (vom Event-Handler einmal aufgelöst)
+     */
+    public static void onBroken(BlockPos position, UUID worldId) {
+        try {
+            if (position == null || worldId == null) {
+                MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("onBroken: BlockPos oder World-UUID ist null");
+                return;
+            }
+
             MEPlugin.getInstance().getPluginLogger().at(Level.FINE).log("onBroken: MECableBlock bei %s", position);
             new MECableBlock().onBroken(worldId, position);
         } catch (Exception e) {
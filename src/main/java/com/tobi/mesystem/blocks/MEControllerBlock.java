@@ -38,8 +38,7 @@ public class MEControllerBlock extends MEBlockBase {
                 "[INFO] Only 1 controller per network allowed. Remove existing controller first."
             );
             
-            // Entferne den Node wieder aus dem Netzwerk
-            network.removeNode(position);
+            // Entferne den Node wieder aus Netzwerk und Manager
             MEPlugin.getInstance().getNetworkManager().removeNode(worldId, position);
             logger.at(Level.INFO).log("Duplicate controller at %s removed", position);
             return;
@@ -73,12 +72,12 @@ public class MEControllerBlock extends MEBlockBase {
         logger.at(Level.WARNING).log("Network Size: %d nodes", network.size());
         logger.at(Level.WARNING).log("Used Channels: %d/%d", network.getUsedChannels(), network.getMaxChannels());
         
-        if (network.getUsedChannels() > network.getMaxChannels()) {
+        if (network.getWaitingDeviceCount() > 0) {
             logger.at(Level.WARNING).log(
-                "[WARNING] Channel overflow! %d channels in use, only %d available",
-                network.getUsedChannels(), network.getMaxChannels()
+                "[WARNING] %d devices deactivated (lowest priority first) - only %d channels available",
+                network.getWaitingDeviceCount(), network.getMaxChannels()
             );
-            logger.at(Level.WARNING).log("Some devices may stop working until controller is replaced.");
+            logger.at(Level.WARNING).log("They are reactivated automatically once a controller is placed.");
         }
         
         logger.at(Level.WARNING).log("========================================");
@@ -89,26 +88,24 @@ public class MEControllerBlock extends MEBlockBase {
     
     /**
      * Notifies network about channel upgrade.
-     * Future: Reactivate offline devices that were waiting for channels.
+     * Waiting devices were already reactivated by the network's ChannelScheduler.
      */
     private void notifyChannelUpgrade(MENetwork network) {
         logger.at(Level.FINE).log(
-            "Notifying %d nodes about channel upgrade",
-            network.size()
+            "Channel upgrade applied to %d nodes, %d devices still waiting",
+            network.size(), network.getWaitingDeviceCount()
         );
-        // Future: Iterate through nodes and reactivate waiting devices
     }
     
     /**
      * Notifies network about channel downgrade.
-     * Future: Deactivate devices if channels exceed limit.
+     * Lowest priority devices were already deactivated by the network's ChannelScheduler.
      */
     private void notifyChannelDowngrade(MENetwork network) {
         logger.at(Level.FINE).log(
-            "Notifying %d nodes about channel downgrade",
-            network.size()
+            "Channel downgrade applied to %d nodes, %d devices waiting for channels",
+            network.size(), network.getWaitingDeviceCount()
         );
-        // Future: Prioritize devices and disable lowest priority if needed
     }
     
     @Override
@@ -150,7 +147,22 @@ public class MEControllerBlock extends MEBlockBase {
                 return;
             }
             
-            UUID worldId = extractWorldId(world);
+            onBroken(position, extractWorldId(world));
+        } catch (Exception e) {
+            MEPlugin.getInstance().getPluginLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Zerstören von ME Controller");
+        }
+    }
+
+    /**
+     * Wrapper mit bereits aufgelöster World-UUID (vom Event-Handler einmal aufgelöst)
+     */
+    public static void onBroken(BlockPos position, UUID worldId) {
+        try {
+            if (position == null || worldId == null) {
+                MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("onBroken: BlockPos oder World-UUID ist null");
+                return;
+            }
+
             MEPlugin.getInstance().getPluginLogger().at(Level.FINE).log("onBroken: MEControllerBlock bei %s", position);
             new MEControllerBlock().onBroken(worldId, position);
         } catch (Exception e) {
@@ -7,6 +7,8 @@ import com.tobi.mesystem.MEPlugin;
 import com.tobi.mesystem.core.MEDeviceType;
 import com.tobi.mesystem.core.MENetwork;
 import com.tobi.mesystem.core.MENode;
+import com.tobi.mesystem.core.TerminalQuery;
+import com.tobi.mesystem.core.TerminalQueryService;
 import com.tobi.mesystem.util.BlockPos;
 
 /**
@@ -17,6 +19,7 @@ import com.tobi.mesystem.util.BlockPos;
  * - Chat-based interface for testing (current)
  * - Item browsing and extraction
  * - Network status display
+ * - Asynchrone Aggregation (Netzwerk + Container in Reichweite)
  * 
  * Simplified mit MEBlockBase - gemeinsame Logik in Basisklasse
  */
@@ -30,15 +33,26 @@ public class METerminalBlock extends MEBlockBase {
     @Override
     protected void onRightClickExtra(UUID worldId, BlockPos position, MENode node, MENetwork network) {
         // GUI Implementation (Phase 1: Chat-based, Phase 2: Real GUI)
-        openTerminalInterface(worldId, position, network);
+        openTerminalInterface(node.getWorld(), position, network);
     }
     
     /**
      * Opens terminal interface.
      * Currently: Chat-based feedback
      * Future: Opens GUI with item grid, search, and extraction
+     * 
+     * Aggregation läuft asynchron (TerminalQueryService), die Ausgabe
+     * erfolgt danach wieder auf dem World-Thread.
      */
-    private void openTerminalInterface(UUID worldId, BlockPos position, MENetwork network) {
+    private void openTerminalInterface(Object world, BlockPos position, MENetwork network) {
+        TerminalQueryService.submit(network, world, position, TerminalQuery.all().withLimit(10),
+            result -> presentTerminal(position, network, result));
+    }
+    
+    /**
+     * Gibt die Terminal-Ansicht aus (World-Thread)
+     */
+    private void presentTerminal(BlockPos position, MENetwork network, TerminalQuery.Result result) {
         logger.at(Level.INFO).log("========== ME Terminal ==========");
         logger.at(Level.INFO).log("Position: %s", position);
         logger.at(Level.INFO).log("Network ID: %s", network.getNetworkId());
@@ -48,18 +62,16 @@ public class METerminalBlock extends MEBlockBase {
             network.getStoredItemCount(), network.getItemTypeCount());
         logger.at(Level.INFO).log("Capacity: %d/%d",
             network.getStoredItemCount(), network.getTotalStorageCapacity());
+        logger.at(Level.INFO).log("Nearby Containers: %d items", result.containerItems());
         
         // Show stored items (limited to 10 for brevity)
-        var items = network.getStoredItems();
-        if (!items.isEmpty()) {
+        if (!result.entries().isEmpty()) {
             logger.at(Level.INFO).log("--- Stored Items (Top 10) ---");
-            items.entrySet().stream()
-                .limit(10)
-                .forEach(entry -> logger.at(Level.INFO).log(
-                    "  %s: %d", entry.getKey(), entry.getValue()
-                ));
-            if (items.size() > 10) {
-                logger.at(Level.INFO).log("  ... and %d more", items.size() - 10);
+            for (TerminalQuery.Entry entry : result.entries()) {
+                logger.at(Level.INFO).log("  %s: %d", entry.itemId(), entry.total());
+            }
+            if (result.matchingTypes() > result.entries().size()) {
+                logger.at(Level.INFO).log("  ... and %d more", result.matchingTypes() - result.entries().size());
             }
         } else {
             logger.at(Level.INFO).log("[Empty Network]");
@@ -104,7 +116,22 @@ public class METerminalBlock extends MEBlockBase {
                 return;
             }
             
-            UUID worldId = extractWorldId(world);
+            onBroken(position, extractWorldId(world));
+        } catch (Exception e) {
+            MEPlugin.getInstance().getPluginLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Zerstören von ME Terminal");
+        }
+    }
+
+    /**
+     * Wrapper mit bereits aufgelöster World-UUID (vom Event-Handler einmal aufgelöst)
+     */
+    public static void onBroken(BlockPos position, UUID worldId) {
+        try {
+            if (position == null || worldId == null) {
+                MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("onBroken: BlockPos oder World-UUID ist null");
+                return;
+            }
+
             MEPlugin.getInstance().getPluginLogger().at(Level.FINE).log("onBroken: METerminalBlock bei %s", position);
             new METerminalBlock().onBroken(worldId, position);
         } catch (Exception e) {
@@ -127,7 +154,27 @@ public class METerminalBlock extends MEBlockBase {
                 return false;
             }
             
-            UUID worldId = extractWorldId(world);
+            return onRightClick(position, extractWorldId(world), player);
+        } catch (Exception e) {
+            MEPlugin.getInstance().getPluginLogger().at(Level.SEVERE).withCause(e).log("Fehler beim Interagieren mit ME Terminal");
+            return false;
+        }
+    }
+
+    /**
+     * Wrapper mit bereits aufgelöster World-UUID (vom Event-Handler einmal aufgelöst)
+     */
+    public static boolean onRightClick(BlockPos position, UUID worldId, Object player) {
+        try {
+            if (position == null || worldId == null) {
+                MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("onRightClick: BlockPos oder World-UUID ist null");
+                return false;
+            }
+            if (player == null) {
+                MEPlugin.getInstance().getPluginLogger().at(Level.WARNING).log("onRightClick: Player ist null");
+                return false;
+            }
+
             MEPlugin.getInstance().getPluginLogger().at(Level.FINE).log("onRightClick: METerminalBlock bei %s", position);
             new METerminalBlock().onRightClick(worldId, position);
             return true; // Event wurde verarbeitet
@@ -8,6 +8,7 @@ import com.hypixel.hytale.logger.HytaleLogger;
 import com.tobi.mesystem.MEPlugin;
 import com.tobi.mesystem.core.MENetwork;
 import com.tobi.mesystem.util.NetworkManager;
+import com.tobi.mesystem.util.ReflectionAccessors;
 
 /**
  * ME System Command Handler
@@ -19,6 +20,9 @@ import com.tobi.mesystem.util.NetworkManager;
  */
 public class MECommand {
 
+    // Gecachter Reflection-Zugriff (einmal pro Sender-Klasse aufgelöst)
+    private static final ReflectionAccessors.Accessor SEND_MESSAGE = ReflectionAccessors.method("sendMessage", String.class);
+
     private final HytaleLogger logger;
     private final NetworkManager networkManager;
 
@@ -153,9 +157,7 @@ public class MECommand {
     private void sendMessage(Object sender, String message) {
         try {
             // sender.sendMessage(message)
-            sender.getClass()
-                .getMethod("sendMessage", String.class)
-                .invoke(sender, message);
+            SEND_MESSAGE.invoke(sender, message);
         } catch (Exception e) {
             logger.at(Level.WARNING).log("Konnte Nachricht nicht senden: %s", e.getMessage());
         }
@@ -17,6 +17,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tobi.mesystem.MEPlugin;
 import com.tobi.mesystem.core.MENetwork;
 import com.tobi.mesystem.util.NetworkManager;
+import com.tobi.mesystem.util.ReflectionAccessors;
 
 /**
  * ME Debug Command - Testing & Development Tools
@@ -46,6 +47,11 @@ public class MEDebugCommand extends AbstractPlayerCommand {
     
     private static final String PERMISSION_BASE = "hytaleae2.command.debug";
     private static final String PERMISSION_CLEAR = "hytaleae2.command.debug.clear";
+
+    // Gecachte Reflection-Zugriffe (einmal pro PlayerRef-Klasse aufgelöst)
+    private static final ReflectionAccessors.Accessor HAS_PERMISSION = ReflectionAccessors.method("hasPermission", String.class);
+    private static final ReflectionAccessors.Accessor IS_OP = ReflectionAccessors.method("isOp");
+    private static final ReflectionAccessors.Accessor SEND_MESSAGE = ReflectionAccessors.method("sendMessage", Message.class);
     
     private final NetworkManager networkManager;
 
@@ -104,16 +110,12 @@ public class MEDebugCommand extends AbstractPlayerCommand {
     private boolean hasPermission(PlayerRef playerRef, String permission) {
         try {
             // Try to check permission via reflection
-            Boolean hasPerm = (Boolean) playerRef.getClass()
-                .getMethod("hasPermission", String.class)
-                .invoke(playerRef, permission);
+            Boolean hasPerm = (Boolean) HAS_PERMISSION.invoke(playerRef, permission);
             return hasPerm != null && hasPerm;
         } catch (Exception e) {
             // Fallback: Check if player is OP
             try {
-                Boolean isOp = (Boolean) playerRef.getClass()
-                    .getMethod("isOp")
-                    .invoke(playerRef);
+                Boolean isOp = (Boolean) IS_OP.invoke(playerRef);
                 return isOp != null && isOp;
             } catch (Exception e2) {
                 // If both fail, allow by default (dev mode)
@@ -245,7 +247,7 @@ public class MEDebugCommand extends AbstractPlayerCommand {
      */
     private MENetwork findNearestNetwork(World world) {
         try {
-            UUID worldId = (UUID) world.getClass().getMethod("getWorldId").invoke(world);
+            UUID worldId = (UUID) ReflectionAccessors.GET_WORLD_ID.invoke(world);
             Map<UUID, Map<UUID, MENetwork>> allNetworks = networkManager.getAllNetworks();
             
             Map<UUID, MENetwork> worldNetworks = allNetworks.get(worldId);
@@ -265,9 +267,7 @@ public class MEDebugCommand extends AbstractPlayerCommand {
      */
     private void sendMessage(PlayerRef playerRef, String message) {
         try {
-            playerRef.getClass()
-                .getMethod("sendMessage", Message.class)
-                .invoke(playerRef, Message.raw(message));
+            SEND_MESSAGE.invoke(playerRef, Message.raw(message));
         } catch (Exception e) {
             MEPlugin.getInstance().getPluginLogger().at(Level.WARNING)
                 .log("Konnte Nachricht nicht senden: %s", e.getMessage());
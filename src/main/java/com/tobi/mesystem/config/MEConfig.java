@@ -31,6 +31,7 @@ public class MEConfig {
     // Network Settings
     private int maxChannels = 32;
     private boolean autoNetworkMerge = true;
+    private boolean chunkActivation = true;
     
     // Performance Settings
     private int searchRadius = 16;
@@ -47,6 +48,10 @@ public class MEConfig {
     private long storageCapacityPerDrive = 1024;
     private int maxItemTypesPerCell = 63;
     
+    // Persistence Settings
+    private int autosaveIntervalSeconds = 60;
+    private int autosaveMaxKilobytes = 1024;
+    
     private final HytaleLogger logger;
     private final Path configPath;
     private final Properties properties;
@@ -150,6 +155,7 @@ public class MEConfig {
         // Network Settings
         maxChannels = getInt("network.maxChannels", 32);
         autoNetworkMerge = getBoolean("network.autoMerge", true);
+        chunkActivation = getBoolean("network.chunkActivation", true);
         
         // Performance Settings
         searchRadius = getInt("performance.searchRadius", 16);
@@ -166,6 +172,10 @@ public class MEConfig {
         storageCapacityPerDrive = getLong("storage.capacityPerDrive", 1024L);
         maxItemTypesPerCell = getInt("storage.maxItemTypesPerCell", 63);
         
+        // Persistence Settings
+        autosaveIntervalSeconds = getInt("persistence.autosaveIntervalSeconds", 60);
+        autosaveMaxKilobytes = getInt("persistence.autosaveMaxKilobytes", 1024);
+        
         // Validate values
         validateConfiguration();
     }
@@ -177,6 +187,7 @@ public class MEConfig {
         // Network Settings
         properties.setProperty("network.maxChannels", String.valueOf(maxChannels));
         properties.setProperty("network.autoMerge", String.valueOf(autoNetworkMerge));
+        properties.setProperty("network.chunkActivation", String.valueOf(chunkActivation));
         
         // Performance Settings
         properties.setProperty("performance.searchRadius", String.valueOf(searchRadius));
@@ -192,6 +203,10 @@ public class MEConfig {
         // Storage Settings
         properties.setProperty("storage.capacityPerDrive", String.valueOf(storageCapacityPerDrive));
         properties.setProperty("storage.maxItemTypesPerCell", String.valueOf(maxItemTypesPerCell));
+        
+        // Persistence Settings
+        properties.setProperty("persistence.autosaveIntervalSeconds", String.valueOf(autosaveIntervalSeconds));
+        properties.setProperty("persistence.autosaveMaxKilobytes", String.valueOf(autosaveMaxKilobytes));
     }
     
     /**
@@ -221,6 +236,18 @@ public class MEConfig {
             logger.at(Level.WARNING).log("Invalid maxSearchTimeMs: %d, using 100", maxSearchTimeMs);
             maxSearchTimeMs = 100;
         }
+        
+        // Autosave interval: 0 disables, otherwise at least 5 seconds
+        if (autosaveIntervalSeconds < 0 || (autosaveIntervalSeconds > 0 && autosaveIntervalSeconds < 5)) {
+            logger.at(Level.WARNING).log("Invalid autosaveIntervalSeconds: %d, using 60", autosaveIntervalSeconds);
+            autosaveIntervalSeconds = 60;
+        }
+        
+        // Autosave budget must allow at least a few records per run
+        if (autosaveMaxKilobytes < 16) {
+            logger.at(Level.WARNING).log("Invalid autosaveMaxKilobytes: %d, using 1024", autosaveMaxKilobytes);
+            autosaveMaxKilobytes = 1024;
+        }
     }
     
     // Helper methods for property parsing
@@ -263,6 +290,10 @@ public class MEConfig {
         return autoNetworkMerge;
     }
     
+    public boolean isChunkActivation() {
+        return chunkActivation;
+    }
+    
     public int getSearchRadius() {
         return searchRadius;
     }
@@ -299,6 +330,14 @@ public class MEConfig {
         return maxItemTypesPerCell;
     }
     
+    public int getAutosaveIntervalSeconds() {
+        return autosaveIntervalSeconds;
+    }
+    
+    public long getAutosaveMaxBytes() {
+        return autosaveMaxKilobytes * 1024L;
+    }
+    
     // Public setters (for runtime modification)
     
     public void setDebugMode(boolean debugMode) {
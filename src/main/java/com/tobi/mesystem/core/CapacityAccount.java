@@ -0,0 +1,110 @@
+package com.tobi.mesystem.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kapazitäts-Buchhaltung eines MENetwork
+ *
+ * Hält die Anzahl Storage-Devices und die belegte Menge als atomare Zähler.
+ * Einfügungen reservieren ihren Platz per CAS auf dem Belegt-Zähler,
+ * bevor die Items in den Ledger geschrieben werden - parallele Import-Busse
+ * können das Netzwerk dadurch nicht über die Kapazität hinaus füllen.
+ *
+ * Alle Operationen sind O(1) und lock-frei.
+ */
+public final class CapacityAccount {
+
+    private final long capacityPerDevice;
+    private final AtomicInteger storageDevices = new AtomicInteger(0);
+    private final AtomicLong used = new AtomicLong(0L);
+
+    /**
+     * @param capacityPerDevice Kapazität pro Storage-Device (MEConfig storage.capacityPerDrive)
+     */
+    public CapacityAccount(long capacityPerDevice) {
+        if (capacityPerDevice < 0) {
+            throw new IllegalArgumentException("capacityPerDevice darf nicht negativ sein: " + capacityPerDevice);
+        }
+        this.capacityPerDevice = capacityPerDevice;
+    }
+
+    /**
+     * Reserviert bis zu {@code requested} Einheiten freien Platz
+     * @return Tatsächlich reservierte Menge (0 wenn voll)
+     */
+    public long reserve(long requested) {
+        if (requested <= 0) {
+            return 0L;
+        }
+        while (true) {
+            long current = used.get();
+            long free = getCapacity() - current;
+            if (free <= 0) {
+                return 0L;
+            }
+            long granted = Math.min(requested, free);
+            if (used.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Bucht Menge ohne Kapazitätsprüfung (z.B. storeItem, Merge, Laden)
+     */
+    public void forceReserve(long amount) {
+        if (amount > 0) {
+            used.addAndGet(amount);
+        }
+    }
+
+    /**
+     * Gibt Platz wieder frei (nach Extraktion oder nicht genutzter Reservierung)
+     */
+    public void release(long amount) {
+        if (amount > 0) {
+            used.addAndGet(-amount);
+        }
+    }
+
+    /**
+     * Übernimmt Storage-Devices und belegte Menge eines anderen Kontos (Merge)
+     * Das andere Konto steht danach auf 0 - veraltete Referenzen reservieren dort nichts mehr.
+     */
+    public void absorb(CapacityAccount other) {
+        if (other == null || other == this) {
+            return;
+        }
+        storageDevices.addAndGet(other.storageDevices.getAndSet(0));
+        used.addAndGet(other.used.getAndSet(0L));
+    }
+
+    public void addStorageDevice() {
+        storageDevices.incrementAndGet();
+    }
+
+    public void removeStorageDevice() {
+        storageDevices.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    public int getStorageDeviceCount() {
+        return storageDevices.get();
+    }
+
+    public long getCapacity() {
+        return storageDevices.get() * capacityPerDevice;
+    }
+
+    public long getUsed() {
+        return used.get();
+    }
+
+    public long getFree() {
+        return Math.max(0L, getCapacity() - used.get());
+    }
+
+    public long getCapacityPerDevice() {
+        return capacityPerDevice;
+    }
+}
@@ -0,0 +1,139 @@
+package com.tobi.mesystem.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Channel-Allocator eines MENetwork
+ *
+ * Hält die belegten Channels als atomaren Zähler neben der
+ * Device -> Channels Zuordnung. Allokation reserviert per CAS-Schleife,
+ * gleichzeitig platzierte Devices können das Limit daher nicht überbuchen.
+ *
+ * Alle Abfragen (used/available) sind O(1).
+ */
+public final class ChannelAllocator {
+
+    private final Map<BlockPos, Integer> allocations = new ConcurrentHashMap<>();
+    private final AtomicInteger usedChannels = new AtomicInteger(0);
+    private volatile int maxChannels;
+
+    public ChannelAllocator(int maxChannels) {
+        this.maxChannels = maxChannels;
+    }
+
+    /**
+     * Allokiert Channels für ein Device
+     * Eine bestehende Allokation desselben Devices wird ersetzt; reserviert wird nur
+     * die Differenz (ein Device kann daher auch am Limit wachsen, soweit Channels frei sind).
+     *
+     * @return true wenn erfolgreich allokiert
+     */
+    public boolean allocate(BlockPos device, int channelsNeeded) {
+        if (channelsNeeded <= 0) {
+            return true;
+        }
+        while (true) {
+            Integer previous = allocations.get(device);
+            int delta = channelsNeeded - (previous != null ? previous : 0);
+            if (!reserve(delta)) {
+                return false;
+            }
+            boolean replaced = previous != null
+                ? allocations.replace(device, previous, channelsNeeded)
+                : allocations.putIfAbsent(device, channelsNeeded) == null;
+            if (replaced) {
+                return true;
+            }
+            // Allokation desselben Devices parallel geändert - Differenz zurückgeben, neu versuchen
+            usedChannels.addAndGet(-delta);
+        }
+    }
+
+    /**
+     * Übernimmt eine Allokation ohne Limit-Prüfung (Merge, Laden)
+     * Überbuchung wird anschließend durch das Rebalancing aufgelöst.
+     */
+    public void force(BlockPos device, int channels) {
+        if (channels <= 0) {
+            return;
+        }
+        Integer previous = allocations.put(device, channels);
+        usedChannels.addAndGet(channels - (previous != null ? previous : 0));
+    }
+
+    /**
+     * Übernimmt alle Allokationen eines anderen Allocators (ohne Limit-Prüfung)
+     */
+    public void adoptAll(ChannelAllocator other) {
+        if (other == null || other == this) {
+            return;
+        }
+        for (Map.Entry<BlockPos, Integer> entry : other.allocations.entrySet()) {
+            force(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * CAS-Reservierung einer Differenz (negative Differenzen geben frei, ohne Limit-Prüfung)
+     */
+    private boolean reserve(int delta) {
+        while (true) {
+            int current = usedChannels.get();
+            if (delta > 0 && current + delta > maxChannels) {
+                return false;
+            }
+            if (usedChannels.compareAndSet(current, current + delta)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gibt die Channels eines Devices frei
+     * @return Anzahl freigegebener Channels
+     */
+    public int release(BlockPos device) {
+        Integer removed = allocations.remove(device);
+        if (removed == null) {
+            return 0;
+        }
+        usedChannels.addAndGet(-removed);
+        return removed;
+    }
+
+    public boolean isAllocated(BlockPos device) {
+        return allocations.containsKey(device);
+    }
+
+    public int getAllocation(BlockPos device) {
+        return allocations.getOrDefault(device, 0);
+    }
+
+    public int getUsedChannels() {
+        return usedChannels.get();
+    }
+
+    public int getAvailableChannels() {
+        return maxChannels - usedChannels.get();
+    }
+
+    public int getMaxChannels() {
+        return maxChannels;
+    }
+
+    public void setMaxChannels(int maxChannels) {
+        this.maxChannels = maxChannels;
+    }
+
+    /**
+     * Lesende Sicht auf die aktuellen Allokationen
+     */
+    public Map<BlockPos, Integer> getAllocations() {
+        return Collections.unmodifiableMap(allocations);
+    }
+}
@@ -0,0 +1,278 @@
+package com.tobi.mesystem.core;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Channel-Scheduler - Priority-basierte Channel-Vergabe eines MENetwork
+ *
+ * Verwaltet alle Devices, die Channels benötigen, in zwei sortierten Mengen:
+ * - online: hat Channels im {@link ChannelAllocator}, Node ist aktiv
+ * - waiting: hat keine Channels, Node ist deaktiviert
+ *
+ * Reihenfolge: MENode-Priority, dann MEDeviceType (höhere Ordinal gewinnt),
+ * dann Registrierungsreihenfolge (ältere Devices gewinnen).
+ *
+ * Ändert sich das Channel-Budget (Controller hinzugefügt/entfernt), werden nur
+ * die betroffenen Devices verschoben: niedrigste Priority aus "online" bzw.
+ * höchste Priority aus "waiting". Kosten O(k log n) für k Änderungen -
+ * kein Neu-Sortieren aller Devices.
+ *
+ * Thread-Safety: alle Methoden synchronisiert (Placement-Rate ist gering),
+ * der Allocator bleibt die atomare Quelle für used/available.
+ */
+public final class ChannelScheduler {
+
+    /** Ergebnis einer Budget-Änderung */
+    public record Result(int deactivated, int reactivated) {
+        static final Result NONE = new Result(0, 0);
+    }
+
+    private static final Comparator<Claim> ORDER = Comparator
+        .comparingInt((Claim c) -> c.priority)
+        .thenComparingInt(c -> c.type.ordinal())
+        .thenComparing(Comparator.comparingLong((Claim c) -> c.sequence).reversed());
+
+    private final ChannelAllocator allocator;
+    private final Map<BlockPos, Claim> claims = new HashMap<>();
+    private final TreeSet<Claim> online = new TreeSet<>(ORDER);
+    private final TreeSet<Claim> waiting = new TreeSet<>(ORDER);
+    private long nextSequence = 0L;
+
+    public ChannelScheduler(ChannelAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    /**
+     * Registriert ein Device. Bekommt es keine Channels, wird der Node deaktiviert.
+     * @return true wenn das Device online ist
+     */
+    public boolean register(BlockPos pos, MENode node, MEDeviceType type) {
+        return register(pos, node, type, type.getChannelUsage());
+    }
+
+    /**
+     * Registriert ein Device mit abweichendem Channel-Bedarf (z.B. mehrere Channels pro Device)
+     * @return true wenn das Device online ist
+     */
+    public synchronized boolean register(BlockPos pos, MENode node, MEDeviceType type, int channelsNeeded) {
+        if (channelsNeeded <= 0) {
+            return true;
+        }
+        unregisterInternal(pos);
+
+        Claim claim = new Claim(pos, node, type, channelsNeeded,
+            node != null ? node.getPriority() : 0, nextSequence++);
+        claims.put(pos, claim);
+
+        if (allocator.allocate(pos, channelsNeeded)) {
+            goOnline(claim);
+            return true;
+        }
+        goWaiting(claim);
+        return false;
+    }
+
+    /**
+     * Entfernt ein Device und vergibt frei gewordene Channels an wartende Devices
+     * @return Anzahl reaktivierter Devices
+     */
+    public synchronized int unregister(BlockPos pos) {
+        if (!unregisterInternal(pos)) {
+            return 0;
+        }
+        return fill();
+    }
+
+    /**
+     * Setzt das Channel-Budget und deaktiviert/reaktiviert Devices nach Priority
+     */
+    public synchronized Result setBudget(int maxChannels) {
+        allocator.setMaxChannels(maxChannels);
+        return enforce();
+    }
+
+    /**
+     * Übernimmt alle Devices eines anderen Schedulers (Merge).
+     * Online-Devices behalten zunächst ihre Channels, danach wird das Budget durchgesetzt.
+     */
+    public Result adoptAll(ChannelScheduler other) {
+        if (other == null || other == this) {
+            return Result.NONE;
+        }
+        Claim[] adopted;
+        synchronized (other) {
+            adopted = other.claims.values().toArray(new Claim[0]);
+            other.claims.clear();
+            other.online.clear();
+            other.waiting.clear();
+        }
+        synchronized (this) {
+            for (Claim claim : adopted) {
+                unregisterInternal(claim.pos);
+                Claim moved = new Claim(claim.pos, claim.node, claim.type, claim.channels,
+                    claim.priority, nextSequence++);
+                claims.put(moved.pos, moved);
+                if (claim.online) {
+                    allocator.force(moved.pos, moved.channels);
+                    moved.online = true;
+                    online.add(moved);
+                } else {
+                    goWaiting(moved);
+                }
+            }
+            return enforce();
+        }
+    }
+
+    /**
+     * Übernimmt eine geänderte MENode-Priority für ein Device
+     */
+    public synchronized Result reprioritize(BlockPos pos) {
+        Claim claim = claims.get(pos);
+        if (claim == null || claim.node == null || claim.node.getPriority() == claim.priority) {
+            return Result.NONE;
+        }
+        TreeSet<Claim> set = claim.online ? online : waiting;
+        set.remove(claim);
+        claim.priority = claim.node.getPriority();
+        set.add(claim);
+        return preempt();
+    }
+
+    public synchronized boolean isOnline(BlockPos pos) {
+        Claim claim = claims.get(pos);
+        return claim != null && claim.online;
+    }
+
+    public synchronized int getOnlineCount() {
+        return online.size();
+    }
+
+    public synchronized int getWaitingCount() {
+        return waiting.size();
+    }
+
+    // ==================== INTERN ====================
+
+    private boolean unregisterInternal(BlockPos pos) {
+        Claim claim = claims.remove(pos);
+        if (claim == null) {
+            return false;
+        }
+        if (claim.online) {
+            online.remove(claim);
+            allocator.release(pos);
+        } else {
+            waiting.remove(claim);
+        }
+        return true;
+    }
+
+    /**
+     * Stellt used <= max her und füllt danach freie Channels auf
+     */
+    private Result enforce() {
+        int deactivated = 0;
+        while (allocator.getUsedChannels() > allocator.getMaxChannels() && !online.isEmpty()) {
+            Claim lowest = online.pollFirst();
+            allocator.release(lowest.pos);
+            goWaiting(lowest);
+            deactivated++;
+        }
+        int reactivated = fill();
+        if (deactivated == 0) {
+            Result preempted = preempt();
+            return new Result(preempted.deactivated(), reactivated + preempted.reactivated());
+        }
+        return new Result(deactivated, reactivated);
+    }
+
+    /**
+     * Aktiviert wartende Devices (höchste Priority zuerst), solange Channels frei sind
+     * Passt ein Device nicht mehr (braucht mehr Channels als frei), wird es übersprungen
+     * und die nächstniedrigere Priority versucht - freie Channels bleiben nicht ungenutzt.
+     */
+    private int fill() {
+        int reactivated = 0;
+        Iterator<Claim> candidates = waiting.descendingIterator();
+        while (candidates.hasNext() && allocator.getAvailableChannels() > 0) {
+            Claim claim = candidates.next();
+            if (!allocator.allocate(claim.pos, claim.channels)) {
+                continue;
+            }
+            candidates.remove();
+            goOnline(claim);
+            reactivated++;
+        }
+        return reactivated;
+    }
+
+    /**
+     * Tauscht wartende Devices mit höherer Priority gegen online Devices mit niedrigerer
+     */
+    private Result preempt() {
+        int swapped = 0;
+        while (!waiting.isEmpty() && !online.isEmpty()
+                && ORDER.compare(waiting.last(), online.first()) > 0
+                && waiting.last().channels <= online.first().channels + allocator.getAvailableChannels()) {
+            Claim lowest = online.pollFirst();
+            allocator.release(lowest.pos);
+            Claim highest = waiting.pollLast();
+            if (!allocator.allocate(highest.pos, highest.channels)) {
+                // Sollte durch die Vorbedingung nicht passieren - Zustand wiederherstellen
+                waiting.add(highest);
+                allocator.force(lowest.pos, lowest.channels);
+                online.add(lowest);
+                break;
+            }
+            goOnline(highest);
+            goWaiting(lowest);
+            swapped++;
+        }
+        return swapped == 0 ? Result.NONE : new Result(swapped, swapped);
+    }
+
+    private void goOnline(Claim claim) {
+        claim.online = true;
+        online.add(claim);
+        if (claim.node != null) {
+            claim.node.setActive(true);
+        }
+    }
+
+    private void goWaiting(Claim claim) {
+        claim.online = false;
+        waiting.add(claim);
+        if (claim.node != null) {
+            claim.node.setActive(false);
+        }
+    }
+
+    /**
+     * Channel-Anspruch eines Devices
+     */
+    private static final class Claim {
+        private final BlockPos pos;
+        private final MENode node;
+        private final MEDeviceType type;
+        private final int channels;
+        private final long sequence;
+        private int priority;
+        private boolean online;
+
+        private Claim(BlockPos pos, MENode node, MEDeviceType type, int channels, int priority, long sequence) {
+            this.pos = pos;
+            this.node = node;
+            this.type = type;
+            this.channels = channels;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tobi.mesystem.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Item-Batch - Liste von (Item, Menge)-Paaren für Bulk-Operationen
+ *
+ * Wird von {@link MENetwork#insertAll(ItemBatch)} und
+ * {@link MENetwork#extractAll(ItemBatch)} verwendet, um viele Item-Typen
+ * mit einer Kapazitätsprüfung und einem Lock pro Stripe zu bewegen
+ * (Laden, Merge, Import-Bus leert eine Kiste).
+ *
+ * Speichert internierte Item-Indizes und Mengen in parallelen primitiven Arrays.
+ * Doppelte Items sind erlaubt und werden nacheinander angewendet.
+ *
+ * NICHT thread-safe - ein Batch gehört dem Thread, der ihn aufbaut.
+ */
+public final class ItemBatch {
+
+    private int[] itemIndices;
+    private long[] amounts;
+    private int size;
+
+    public ItemBatch() {
+        this(16);
+    }
+
+    public ItemBatch(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        this.itemIndices = new int[capacity];
+        this.amounts = new long[capacity];
+    }
+
+    /**
+     * Erstellt einen Batch aus einer ItemID -> Menge Map
+     */
+    public static ItemBatch of(Map<String, ? extends Number> items) {
+        ItemBatch batch = new ItemBatch(items.size());
+        for (Map.Entry<String, ? extends Number> entry : items.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                batch.add(entry.getKey(), entry.getValue().longValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Fügt ein Item hinzu (Item-ID wird interniert)
+     */
+    public ItemBatch add(String itemId, long amount) {
+        return add(ItemIdRegistry.getInstance().intern(itemId), amount);
+    }
+
+    /**
+     * Fügt ein Item über seinen internierten Index hinzu
+     */
+    public ItemBatch add(int itemIndex, long amount) {
+        if (itemIndex < 0) {
+            throw new IllegalArgumentException("Ungültiger Item-Index: " + itemIndex);
+        }
+        if (size == itemIndices.length) {
+            int newCapacity = itemIndices.length * 2;
+            itemIndices = Arrays.copyOf(itemIndices, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+        }
+        itemIndices[size] = itemIndex;
+        amounts[size] = amount;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int itemIndexAt(int position) {
+        checkPosition(position);
+        return itemIndices[position];
+    }
+
+    public String itemIdAt(int position) {
+        return ItemIdRegistry.getInstance().nameOf(itemIndexAt(position));
+    }
+
+    public long amountAt(int position) {
+        checkPosition(position);
+        return amounts[position];
+    }
+
+    /**
+     * Summe aller positiven Mengen
+     */
+    public long totalAmount() {
+        long total = 0L;
+        for (int i = 0; i < size; i++) {
+            if (amounts[i] > 0) {
+                total += amounts[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Wandelt den Batch in eine ItemID -> Menge Map (Duplikate werden summiert)
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> result = new HashMap<>();
+        ItemIdRegistry registry = ItemIdRegistry.getInstance();
+        for (int i = 0; i < size; i++) {
+            result.merge(registry.nameOf(itemIndices[i]), amounts[i], Long::sum);
+        }
+        return result;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + ", Größe " + size);
+        }
+    }
+}
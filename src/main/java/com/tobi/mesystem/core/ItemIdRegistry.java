@@ -0,0 +1,102 @@
+package com.tobi.mesystem.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Item-ID Registry - Interning von Hytale Item-IDs zu dichten int-Indizes
+ *
+ * Jede Item-ID (z.B. "hytale:stone") bekommt beim ersten Auftreten einen
+ * fortlaufenden Index (0, 1, 2, ...). Storage-Strukturen arbeiten danach nur
+ * noch mit primitiven ints statt mit Strings und geboxten Longs.
+ *
+ * Eigenschaften:
+ * - Indizes sind dicht und stabil für die Laufzeit des Servers
+ * - Indizes werden nie wiederverwendet oder freigegeben
+ * - Indizes sind NICHT über Neustarts stabil (Persistenz speichert Strings)
+ *
+ * Thread-Safety:
+ * - lookup/nameOf sind lock-frei
+ * - intern synchronisiert nur beim Anlegen neuer IDs
+ */
+public final class ItemIdRegistry {
+
+    /** Rückgabewert für unbekannte Item-IDs */
+    public static final int UNKNOWN = -1;
+
+    private static final ItemIdRegistry INSTANCE = new ItemIdRegistry();
+
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+    private volatile String[] idByIndex = new String[256];
+    private volatile int size = 0;
+
+    /**
+     * Gibt die globale Registry zurück
+     */
+    public static ItemIdRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gibt den Index einer Item-ID zurück und legt ihn bei Bedarf an
+     */
+    public int intern(String itemId) {
+        Integer existing = indexById.get(itemId);
+        if (existing != null) {
+            return existing;
+        }
+        return register(itemId);
+    }
+
+    /**
+     * Gibt den Index einer Item-ID zurück, ohne ihn anzulegen
+     * @return Index oder {@link #UNKNOWN}
+     */
+    public int lookup(String itemId) {
+        Integer existing = indexById.get(itemId);
+        return existing != null ? existing : UNKNOWN;
+    }
+
+    /**
+     * Gibt die Item-ID zu einem Index zurück
+     */
+    public String nameOf(int index) {
+        String[] names = idByIndex;
+        if (index < 0 || index >= names.length) {
+            throw new IllegalArgumentException("Unbekannter Item-Index: " + index);
+        }
+        String name = names[index];
+        if (name == null) {
+            throw new IllegalArgumentException("Unbekannter Item-Index: " + index);
+        }
+        return name;
+    }
+
+    /**
+     * Anzahl registrierter Item-IDs
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String itemId) {
+        // Double-Check: ein anderer Thread könnte die ID inzwischen angelegt haben
+        Integer existing = indexById.get(itemId);
+        if (existing != null) {
+            return existing;
+        }
+
+        int index = size;
+        String[] names = idByIndex;
+        if (index == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        // Reverse-Eintrag zuerst schreiben, damit nameOf() jeden sichtbaren Index auflösen kann
+        names[index] = itemId;
+        idByIndex = names;
+        size = index + 1;
+        indexById.put(itemId, index);
+        return index;
+    }
+}
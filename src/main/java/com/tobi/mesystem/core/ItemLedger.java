@@ -0,0 +1,569 @@
+package com.tobi.mesystem.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+
+import com.tobi.mesystem.util.IntLongHashMap;
+
+/**
+ * Item-Ledger - Digitaler Item-Speicher eines MENetwork
+ *
+ * Ersetzt den globalen storageLock durch Lock-Striping:
+ * Jede Item-ID wird über ihren Index genau einem Stripe zugeordnet,
+ * jeder Stripe hat seinen eigenen Lock. Schreibzugriffe auf Items
+ * in verschiedenen Stripes laufen damit parallel.
+ *
+ * Items werden über die {@link ItemIdRegistry} auf dichte int-Indizes
+ * abgebildet; jeder Stripe hält eine primitive {@link IntLongHashMap}.
+ * Kein Boxing und keine Entry-Objekte im Insert/Extract-Pfad.
+ *
+ * Semantik (identisch zum bisherigen Map-Storage):
+ * - Mengen sind immer > 0, leere Einträge werden entfernt
+ * - Extraktion liefert höchstens die vorhandene Menge
+ *
+ * Statistiken:
+ * - Gesamtmenge, Typ-Anzahl und Version führt jeder Stripe selbst (normale Felder,
+ *   nur unter seinem Lock geschrieben) - kein gemeinsamer Zähler, um den alle
+ *   Schreiber konkurrieren; Abfragen summieren über die Stripes (O(Stripes))
+ * - {@link #verifyTotals()} vergleicht sie mit einer vollständigen Neuzählung;
+ *   mit {@code -Dmesystem.ledger.consistencyChecks=true} passiert das nach jeder Änderung
+ *
+ * Snapshots:
+ * - Jede Änderung erhöht die Version ihres Stripes (innerhalb des Stripe-Locks);
+ *   die Ledger-Version ist die Summe aller Stripe-Versionen und steigt damit monoton
+ * - {@link #snapshot()} liefert einen unveränderlichen, versionierten Stand und baut
+ *   ihn nur neu, wenn sich die Version seit dem letzten Snapshot geändert hat
+ * - {@link #hasChangedSince(long)} beantwortet "hat sich seit Version N etwas geändert?" ohne Lock (Summe über die Stripes)
+ *
+ * Änderungsaufzeichnung (Change-Feed):
+ * - Bei aktiver Aufzeichnung merkt sich jeder Stripe die Menge vor der ersten Änderung
+ *   eines Items - unter dem ohnehin gehaltenen Stripe-Lock, ohne gemeinsamen Lock
+ * - {@link #drainChanges(ChangeConsumer)} sammelt die Einträge Stripe für Stripe ein
+ *
+ * Thread-Safety:
+ * - Alle Methoden sind thread-safe
+ * - Einzelne Items sind atomar, copy/forEach sehen jeden Stripe konsistent,
+ *   aber nicht alle Stripes zum selben Zeitpunkt
+ * - snapshot() ist über alle Stripes konsistent
+ */
+public final class ItemLedger {
+
+    /**
+     * Erhält beim Einsammeln jedes seit dem letzten Mal geänderte Item
+     * (innerhalb des Stripe-Locks aufgerufen - nur sammeln, nicht auf den Ledger zugreifen)
+     */
+    @FunctionalInterface
+    public interface ChangeConsumer {
+        void accept(int itemIndex, long oldAmount, long newAmount);
+    }
+
+    /** Anzahl der Stripes (Zweierpotenz) */
+    public static final int DEFAULT_STRIPES = 16;
+
+    /** Prüft nach jeder Änderung die laufenden Summen (nur für Tests, teuer) */
+    private static final boolean CONSISTENCY_CHECKS = Boolean.getBoolean("mesystem.ledger.consistencyChecks");
+
+    private final ItemIdRegistry registry;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    // Zuletzt gebauter Snapshot (wird wiederverwendet solange die Version gleich bleibt)
+    private volatile StorageSnapshot snapshot = StorageSnapshot.EMPTY;
+
+    // Änderungsaufzeichnung (aus solange niemand zuhört - dann keine Kosten)
+    private volatile boolean recordChanges;
+    // true sobald seit dem letzten Einsammeln etwas aufgezeichnet wurde
+    private volatile boolean changesPending;
+
+    public ItemLedger() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripeCount Gewünschte Anzahl Stripes (wird auf Zweierpotenz aufgerundet)
+     */
+    public ItemLedger(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount muss positiv sein: " + stripeCount);
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+        this.registry = ItemIdRegistry.getInstance();
+    }
+
+    /**
+     * Fügt Items hinzu (Item-ID wird bei Bedarf registriert)
+     * @return Neue Menge des Items
+     */
+    public long add(String itemId, long amount) {
+        return add(registry.intern(itemId), amount);
+    }
+
+    /**
+     * Fügt Items über ihren internierten Index hinzu
+     * @return Neue Menge des Items
+     */
+    public long add(int itemIndex, long amount) {
+        if (amount <= 0) {
+            return get(itemIndex);
+        }
+        Stripe stripe = stripeFor(itemIndex);
+        long updated;
+        stripe.lock.lock();
+        try {
+            updated = stripe.items.addTo(itemIndex, amount);
+            if (updated == amount) {
+                // Leere Einträge existieren nie -> neuer Item-Typ
+                stripe.types++;
+            }
+            stripe.total += amount;
+            stripe.version++;
+            notifyChange(stripe, itemIndex, updated - amount);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (CONSISTENCY_CHECKS) {
+            verifyTotals();
+        }
+        return updated;
+    }
+
+    /**
+     * Entfernt bis zu {@code amount} Items
+     * @return Tatsächlich entfernte Menge
+     */
+    public long remove(String itemId, long amount) {
+        int itemIndex = registry.lookup(itemId);
+        return itemIndex == ItemIdRegistry.UNKNOWN ? 0L : remove(itemIndex, amount);
+    }
+
+    /**
+     * Entfernt bis zu {@code amount} Items über ihren internierten Index
+     * @return Tatsächlich entfernte Menge
+     */
+    public long remove(int itemIndex, long amount) {
+        if (amount <= 0) {
+            return 0L;
+        }
+        Stripe stripe = stripeFor(itemIndex);
+        long removed;
+        stripe.lock.lock();
+        try {
+            long available = stripe.items.get(itemIndex, 0L);
+            if (available == 0L) {
+                return 0L;
+            }
+            removed = Math.min(available, amount);
+            long remaining = available - removed;
+            if (remaining == 0) {
+                stripe.items.remove(itemIndex);
+                stripe.types--;
+            } else {
+                stripe.items.put(itemIndex, remaining);
+            }
+            stripe.total -= removed;
+            stripe.version++;
+            notifyChange(stripe, itemIndex, available);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (CONSISTENCY_CHECKS) {
+            verifyTotals();
+        }
+        return removed;
+    }
+
+    /**
+     * Gibt die gespeicherte Menge eines Items zurück
+     */
+    public long get(String itemId) {
+        int itemIndex = registry.lookup(itemId);
+        return itemIndex == ItemIdRegistry.UNKNOWN ? 0L : get(itemIndex);
+    }
+
+    /**
+     * Gibt die gespeicherte Menge eines Items über seinen internierten Index zurück
+     */
+    public long get(int itemIndex) {
+        Stripe stripe = stripeFor(itemIndex);
+        stripe.lock.lock();
+        try {
+            return stripe.items.get(itemIndex, 0L);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Übernimmt alle Items eines anderen Ledgers (als ein Batch)
+     */
+    public void addAll(ItemLedger other) {
+        if (other == null || other == this) {
+            return;
+        }
+        addBatch(other.toBatch());
+    }
+
+    /**
+     * Fügt alle positiven Mengen eines Batches hinzu.
+     * Jeder betroffene Stripe wird genau einmal gesperrt.
+     */
+    public void addBatch(ItemBatch batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        int[] order = orderByStripe(batch);
+        Stripe locked = null;
+        try {
+            for (int position : order) {
+                long amount = batch.amountAt(position);
+                if (amount <= 0) {
+                    continue;
+                }
+                int itemIndex = batch.itemIndexAt(position);
+                Stripe stripe = stripeFor(itemIndex);
+                if (stripe != locked) {
+                    if (locked != null) {
+                        locked.lock.unlock();
+                    }
+                    stripe.lock.lock();
+                    locked = stripe;
+                }
+                long updated = stripe.items.addTo(itemIndex, amount);
+                if (updated == amount) {
+                    stripe.types++;
+                }
+                stripe.total += amount;
+                stripe.version++;
+                notifyChange(stripe, itemIndex, updated - amount);
+            }
+        } finally {
+            if (locked != null) {
+                locked.lock.unlock();
+            }
+        }
+        if (CONSISTENCY_CHECKS) {
+            verifyTotals();
+        }
+    }
+
+    /**
+     * Entfernt die Mengen eines Batches (jeweils höchstens die vorhandene Menge).
+     * Jeder betroffene Stripe wird genau einmal gesperrt.
+     *
+     * @return Tatsächlich entfernte Menge pro Batch-Position
+     */
+    public long[] removeBatch(ItemBatch batch) {
+        long[] removed = new long[batch == null ? 0 : batch.size()];
+        if (removed.length == 0) {
+            return removed;
+        }
+        int[] order = orderByStripe(batch);
+        Stripe locked = null;
+        try {
+            for (int position : order) {
+                long amount = batch.amountAt(position);
+                if (amount <= 0) {
+                    continue;
+                }
+                int itemIndex = batch.itemIndexAt(position);
+                Stripe stripe = stripeFor(itemIndex);
+                if (stripe != locked) {
+                    if (locked != null) {
+                        locked.lock.unlock();
+                    }
+                    stripe.lock.lock();
+                    locked = stripe;
+                }
+                long available = stripe.items.get(itemIndex, 0L);
+                long taken = Math.min(available, amount);
+                if (taken <= 0) {
+                    continue;
+                }
+                if (taken == available) {
+                    stripe.items.remove(itemIndex);
+                    stripe.types--;
+                } else {
+                    stripe.items.put(itemIndex, available - taken);
+                }
+                stripe.total -= taken;
+                stripe.version++;
+                notifyChange(stripe, itemIndex, available);
+                removed[position] = taken;
+            }
+        } finally {
+            if (locked != null) {
+                locked.lock.unlock();
+            }
+        }
+        if (CONSISTENCY_CHECKS) {
+            verifyTotals();
+        }
+        return removed;
+    }
+
+    /**
+     * Erstellt einen Batch mit allen Einträgen
+     */
+    public ItemBatch toBatch() {
+        ItemBatch batch = new ItemBatch(typeCount());
+        forEachIndex(batch::add);
+        return batch;
+    }
+
+    /**
+     * Iteriert über alle Einträge mit aufgelösten Item-IDs
+     */
+    public void forEach(ObjLongConsumer<String> action) {
+        forEachIndex((itemIndex, amount) -> action.accept(registry.nameOf(itemIndex), amount));
+    }
+
+    /**
+     * Iteriert über alle Einträge ohne Boxing (Stripe für Stripe unter dessen Lock)
+     */
+    public void forEachIndex(IntLongHashMap.EntryConsumer action) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.items.forEach(action);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Erstellt eine Kopie aller Einträge
+     */
+    public Map<String, Long> copy() {
+        Map<String, Long> result = new HashMap<>();
+        forEach(result::put);
+        return result;
+    }
+
+    /**
+     * Gibt einen unveränderlichen Snapshot aller Einträge zurück.
+     * Ohne Änderung seit dem letzten Aufruf: derselbe Snapshot, keine Kopie.
+     */
+    public StorageSnapshot snapshot() {
+        StorageSnapshot current = snapshot;
+        if (current.version() == version()) {
+            return current;
+        }
+        // Alle Stripes sperren (feste Reihenfolge) -> konsistenter Stand, Version exakt
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            current = snapshot;
+            long atVersion = version();
+            if (current.version() == atVersion) {
+                return current;
+            }
+            int types = typeCount();
+            Map<String, Long> items = new HashMap<>(Math.max(16, types * 4 / 3 + 1));
+            for (Stripe stripe : stripes) {
+                stripe.items.forEach((itemIndex, amount) -> items.put(registry.nameOf(itemIndex), amount));
+            }
+            current = new StorageSnapshot(atVersion, items, totalCount(), types);
+            snapshot = current;
+            return current;
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Aktuelle Version (steigt mit jeder Änderung)
+     * Summe der Stripe-Versionen: jede steigt nur, die Summe ist also gleich
+     * einer früher gelesenen genau dann, wenn sich kein Stripe geändert hat.
+     */
+    public long version() {
+        long sum = 0L;
+        for (Stripe stripe : stripes) {
+            sum += stripe.version;
+        }
+        return sum;
+    }
+
+    /**
+     * Prüft ohne Lock (O(Stripes)), ob sich seit einer Version etwas geändert hat
+     */
+    public boolean hasChangedSince(long sinceVersion) {
+        return version() != sinceVersion;
+    }
+
+    /**
+     * Anzahl verschiedener Item-Typen (Summe der Stripe-Zähler, ohne Lock)
+     */
+    public int typeCount() {
+        int sum = 0;
+        for (Stripe stripe : stripes) {
+            sum += stripe.types;
+        }
+        return sum;
+    }
+
+    /**
+     * Gesamtzahl aller Items (Summe der Stripe-Zähler, ohne Lock)
+     */
+    public long totalCount() {
+        long sum = 0L;
+        for (Stripe stripe : stripes) {
+            sum += stripe.total;
+        }
+        return sum;
+    }
+
+    /**
+     * Zählt alle Stripes neu und vergleicht mit den laufenden Summen.
+     * Hält dafür kurzzeitig alle Stripe-Locks (in fester Reihenfolge) - nur für Tests/Debug.
+     *
+     * @throws IllegalStateException wenn die laufenden Summen abweichen
+     */
+    public void verifyTotals() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            long recountedTotal = 0L;
+            int recountedTypes = 0;
+            for (Stripe stripe : stripes) {
+                recountedTotal += stripe.items.sumValues();
+                recountedTypes += stripe.items.size();
+            }
+            long total = totalCount();
+            int types = typeCount();
+            if (recountedTotal != total || recountedTypes != types) {
+                throw new IllegalStateException(String.format(
+                    "ItemLedger inkonsistent: total=%d (recount %d), types=%d (recount %d)",
+                    total, recountedTotal, types, recountedTypes));
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Schaltet die Änderungsaufzeichnung ein oder aus (aus verwirft Aufgezeichnetes)
+     */
+    public void setChangeRecording(boolean enabled) {
+        recordChanges = enabled;
+        if (!enabled) {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    stripe.changes.clear();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sammelt alle seit dem letzten Aufruf aufgezeichneten Änderungen ein
+     * (Stripe für Stripe unter dessen Lock; jedes Item höchstens einmal, mit Menge davor und jetzt)
+     *
+     * @return Anzahl eingesammelter Items
+     */
+    public int drainChanges(ChangeConsumer consumer) {
+        if (!changesPending) {
+            return 0;
+        }
+        // Vor dem Einsammeln zurücksetzen - spätere Änderungen setzen das Flag erneut
+        changesPending = false;
+        int drained = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (stripe.changes.isEmpty()) {
+                    continue;
+                }
+                IntLongHashMap items = stripe.items;
+                stripe.changes.forEach((itemIndex, oldAmount) ->
+                    consumer.accept(itemIndex, oldAmount, items.get(itemIndex, 0L)));
+                drained += stripe.changes.size();
+                stripe.changes.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Innerhalb des Stripe-Locks aufgerufen
+     */
+    private void notifyChange(Stripe stripe, int itemIndex, long oldAmount) {
+        if (!recordChanges) {
+            return;
+        }
+        if (!stripe.changes.containsKey(itemIndex)) {
+            stripe.changes.put(itemIndex, oldAmount);
+        }
+        if (!changesPending) {
+            changesPending = true;
+        }
+    }
+
+    /**
+     * Counting-Sort der Batch-Positionen nach Stripe, damit jeder Stripe nur einmal gesperrt wird
+     */
+    private int[] orderByStripe(ItemBatch batch) {
+        int n = batch.size();
+        int[] offsets = new int[stripes.length + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[(batch.itemIndexAt(i) & stripeMask) + 1]++;
+        }
+        for (int s = 0; s < stripes.length; s++) {
+            offsets[s + 1] += offsets[s];
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[offsets[batch.itemIndexAt(i) & stripeMask]++] = i;
+        }
+        return order;
+    }
+
+    private Stripe stripeFor(int itemIndex) {
+        if (itemIndex < 0) {
+            throw new IllegalArgumentException("Ungültiger Item-Index: " + itemIndex);
+        }
+        // Indizes sind dicht und fortlaufend -> unterste Bits verteilen gleichmäßig
+        return stripes[itemIndex & stripeMask];
+    }
+
+    /**
+     * Ein Stripe: eigener Lock + primitive int -> long Tabelle
+     * (+ Menge vor der ersten Änderung pro Item, solange aufgezeichnet wird)
+     *
+     * Die Zähler werden nur unter {@code lock} geschrieben (kein CAS nötig);
+     * volatile, damit Summen ohne Lock den letzten Stand jedes Stripes sehen.
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final IntLongHashMap items = new IntLongHashMap();
+        private final IntLongHashMap changes = new IntLongHashMap();
+        private volatile long total;
+        private volatile int types;
+        private volatile long version;
+    }
+}
@@ -93,6 +93,35 @@ public enum MEDeviceType {
         return this == IMPORT_BUS || this == EXPORT_BUS || this == INTERFACE;
     }
     
+    /**
+     * Hat dieses Device Arbeit pro Tick? (nur I/O-Devices werden getickt)
+     */
+    public boolean isTickable() {
+        return isIODevice();
+    }
+    
+    /**
+     * Kürzestes Tick-Intervall (bei Arbeit), 0 für nicht tickbare Devices
+     */
+    public int getMinTickInterval() {
+        return switch (this) {
+            case IMPORT_BUS, EXPORT_BUS, INTERFACE -> 5;
+            default -> 0;
+        };
+    }
+    
+    /**
+     * Längstes Tick-Intervall (im Leerlauf), 0 für nicht tickbare Devices
+     */
+    public int getMaxTickInterval() {
+        return switch (this) {
+            case IMPORT_BUS -> 40;
+            case EXPORT_BUS -> 60;
+            case INTERFACE -> 120;
+            default -> 0;
+        };
+    }
+    
     /**
      * Ist dies ein Crafting-Device?
      */
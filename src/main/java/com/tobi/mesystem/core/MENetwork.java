@@ -2,39 +2,45 @@ package com.tobi.mesystem.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.logging.Level;
 
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.tobi.mesystem.MEPlugin;
 import com.tobi.mesystem.config.MEConfig;
 import com.tobi.mesystem.util.BlockPos;
+import com.tobi.mesystem.util.Direction;
+import com.tobi.mesystem.util.LongObjectHashMap;
 
 /**
  * ME Network - Kern des Storage-Systems
  * 
  * Basiert auf HyPipes PipeNetwork.java (dekompiliert)
  * Erweitert um:
- * - Digital Storage (HashMap statt physical containers)
+ * - Digital Storage (ItemLedger mit internierten Item-IDs statt physical containers)
  * - Channel System (8/32 channels)
  * - Device Tracking
- * - Thread-Safe Operations mit ReadWriteLock
+ * - Split-Erkennung beim Entfernen von Nodes (NetworkSplitter)
+ * - Union-Find Merge (kleineres Netzwerk geht im größeren auf, Node-/Device-Maps ziehen
+ *   schrittweise im Tick um)
+ * - Veraltete Referenzen auf aufgegangene Netzwerke arbeiten über resolve() auf dem Repräsentanten
+ * - Thread-Safe Operations mit gestreiftem Item-Ledger
+ * - Kein Device-Tick im Netzwerk: Devices tickt nur der TickScheduler der Welt
  * - Performance-Optimierungen
  * 
  * Performance-Features:
- * - ConcurrentHashMap für Thread-Safety
- * - ReadWriteLock für optimierte Lesezugriffe
+ * - Nodes und Devices in primitiven long-Maps (gepackte Positionen, Lookups ohne Allokation)
+ * - ItemLedger mit Lock-Striping: Schreibzugriffe auf verschiedene Items blockieren sich nicht
+ * - Versionierte Storage-Snapshots: Leser teilen sich einen Stand, Neuaufbau nur nach Änderungen
+ * - Change-Feed mit Deltas pro Tick statt Polling von getAllItems()
+ * - Dirty-Tracking über Storage- und Topologie-Version (Autosave nur geänderter Netzwerke)
  * - AtomicLong für thread-safe Counters
- * - Minimale Lock-Kontention durch read/write separation
  */
 public class MENetwork {
     
@@ -42,99 +48,457 @@ public class MENetwork {
     private final UUID networkId;
     
     // Thread-safe collections
-    private final Map<BlockPos, MENode> nodes = new ConcurrentHashMap<>();
-    private final Set<BlockPos> inputNodes = ConcurrentHashMap.newKeySet();
-    private final Set<BlockPos> outputNodes = ConcurrentHashMap.newKeySet();
+    // Nodes: gepackte Position -> Node, primitive Map hinter StampedLock
+    // (Lookups optimistisch ohne Lock und ohne Allokation)
+    private final LongObjectHashMap<MENode> nodes = new LongObjectHashMap<>();
+    private final StampedLock nodeLock = new StampedLock();
     private final AtomicLong tickCount = new AtomicLong(0L);
     
-    // Storage System mit ReadWriteLock für Performance
-    private final Map<String, Long> itemStorage = new ConcurrentHashMap<>();
-    private final ReadWriteLock storageLock = new ReentrantReadWriteLock();
+    // Storage System: gestreifter Ledger statt globalem Lock
+    private final ItemLedger itemStorage = new ItemLedger();
     
-    // Channel Management
-    private volatile int maxChannels;
-    private final Map<BlockPos, Integer> channelAllocation = new ConcurrentHashMap<>();
+    // Change-Feed: zusammengefasste Storage-Deltas pro Tick für Terminals/Busse
+    private final StorageChangeFeed changeFeed = new StorageChangeFeed(itemStorage);
     
-    // Device Tracking
-    private final Map<BlockPos, MEDeviceType> devices = new ConcurrentHashMap<>();
+    // Kapazität: atomare Reservierung, Storage-Devices inkrementell gezählt
+    private final CapacityAccount capacity;
+    
+    // Channel Management: Allocator zählt, Scheduler entscheidet nach Priority
+    private final ChannelAllocator channels;
+    private final ChannelScheduler channelScheduler;
+    
+    // Device Tracking: gepackte Position -> Typ, wie die Nodes hinter nodeLock
+    private final LongObjectHashMap<MEDeviceType> devices = new LongObjectHashMap<>();
+    
+    // Node-/Device-Maps aufgenommener Netzwerke, die noch nicht umgezogen sind
+    // (Copy-on-Write, nur unter nodeLock geändert; Lookups prüfen sie nach den eigenen Maps)
+    private volatile Segment[] segments = NO_SEGMENTS;
+    private static final Segment[] NO_SEGMENTS = new Segment[0];
+    
+    // Umzug pro Tick bzw. Merge: höchstens so viele Nodes und Devices
+    static final int SEGMENT_FOLD_BUDGET = 1024;
+    
+    // Controller
     private volatile boolean hasController = false;
     private volatile BlockPos controllerPos = null;
     
-    // Performance: Cache für häufige Abfragen
-    private volatile int cachedItemTypeCount = 0;
-    private volatile long cachedTotalItemCount = 0L;
-    private volatile boolean cacheValid = false;
+    // Dirty-Tracking: Topologie-Version steigt mit jeder Node-, Device- oder Controller-Änderung,
+    // gespeicherter Stand = Versionen beim letzten Persistieren (-1: nie gespeichert)
+    private final AtomicLong topologyVersion = new AtomicLong(0L);
+    private volatile long savedStorageVersion = -1L;
+    private volatile long savedTopologyVersion = -1L;
+    
+    // Union-Find: null = Repräsentant, sonst das Netzwerk, in dem dieses aufgegangen ist
+    private volatile MENetwork parent = null;
+    
+    /**
+     * Maps eines aufgenommenen Netzwerks samt Umzugs-Fortschritt
+     */
+    private static final class Segment {
+        final LongObjectHashMap<MENode> nodes;
+        final LongObjectHashMap<MEDeviceType> devices;
+        int nodeSlot;
+        int deviceSlot;
+        
+        Segment(LongObjectHashMap<MENode> nodes, LongObjectHashMap<MEDeviceType> devices) {
+            this.nodes = nodes;
+            this.devices = devices;
+        }
+        
+        boolean isEmpty() {
+            return nodes.isEmpty() && devices.isEmpty();
+        }
+    }
     
     public MENetwork() {
+        this(UUID.randomUUID());
+    }
+    
+    /**
+     * Netzwerk mit fester ID (Wiederherstellen gespeicherter Netzwerke)
+     */
+    public MENetwork(UUID networkId) {
         this.logger = MEPlugin.getInstance().getPluginLogger();
-        this.networkId = UUID.randomUUID();
+        this.networkId = networkId;
         
         // Load maxChannels from config (default: 8 without controller, 32 with controller)
         MEConfig config = MEPlugin.getInstance().getConfig();
-        this.maxChannels = config != null ? config.getMaxChannels() : 32;
+        this.channels = new ChannelAllocator(config != null ? config.getMaxChannels() : 32);
+        this.channelScheduler = new ChannelScheduler(channels);
+        this.capacity = new CapacityAccount(config != null ? config.getStorageCapacityPerDrive() : 1024L);
         
         logger.at(Level.FINE).log(
             "MENetwork created with ID %s, maxChannels=%d (from config)",
-            networkId, maxChannels
+            networkId, channels.getMaxChannels()
         );
     }
     
+    /**
+     * ID dieses Netzwerks - nach einem Merge bleibt sie die des aufgenommenen Objekts,
+     * die des Repräsentanten liefert {@code resolve().getNetworkId()}
+     */
     public UUID getNetworkId() {
         return networkId;
     }
     
     public int getNodeCount() {
-        return nodes.size();
+        return size();
     }
     
     public long getStoredItemCount() {
-        updateCacheIfNeeded();
-        return cachedTotalItemCount;
+        if (parent != null) {
+            return resolve().getStoredItemCount();
+        }
+        return itemStorage.totalCount();
     }
     
     public long getTotalStorageCapacity() {
-        // Basis-Kapazität: 1024 Items pro Storage-Device
-        return getStorageDeviceCount() * 1024L;
+        if (parent != null) {
+            return resolve().getTotalStorageCapacity();
+        }
+        // Storage-Devices * storage.capacityPerDrive (O(1))
+        return capacity.getCapacity();
     }
     
-    private int getStorageDeviceCount() {
-        return (int) devices.values().stream()
-            .filter(type -> type == MEDeviceType.TERMINAL || type == MEDeviceType.DRIVE)
-            .count();
+    /**
+     * Gibt den noch freien Speicherplatz zurück
+     */
+    public long getFreeStorageCapacity() {
+        if (parent != null) {
+            return resolve().getFreeStorageCapacity();
+        }
+        return capacity.getFree();
+    }
+    
+    /**
+     * Devices, die Speicherplatz zum Netzwerk beitragen
+     */
+    private static boolean providesStorage(MEDeviceType type) {
+        return type == MEDeviceType.TERMINAL || type == MEDeviceType.DRIVE;
     }
     
     public void addNode(MENode node) {
         if (node == null) {
             throw new IllegalArgumentException("Node cannot be null");
         }
-        nodes.put(node.getPosition(), node);
+        if (parent != null) {
+            resolve().addNode(node);
+            return;
+        }
+        putNode(node);
         node.setNetwork(this);
-        invalidateCache();
+    }
+    
+    /**
+     * Fügt viele Nodes unter einem einzigen Lock hinzu (Laden gespeicherter Netzwerke)
+     */
+    public void attachNodes(Collection<MENode> added) {
+        if (parent != null) {
+            resolve().attachNodes(added);
+            return;
+        }
+        long stamp = nodeLock.writeLock();
+        try {
+            for (MENode node : added) {
+                long key = node.getPosition().asLong();
+                nodes.put(key, node);
+                removeSegmentNode(key);
+            }
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
+        topologyVersion.incrementAndGet();
+        for (MENode node : added) {
+            node.setNetwork(this);
+        }
     }
     
     public MENode getNode(BlockPos position) {
-        return nodes.get(position);
+        return position != null ? getNode(position.asLong()) : null;
+    }
+    
+    /**
+     * Lookup über gepackte Position ({@link BlockPos#asLong()}) - optimistisch, ohne Allokation
+     */
+    public MENode getNode(long positionKey) {
+        if (parent != null) {
+            return resolve().getNode(positionKey);
+        }
+        long stamp = nodeLock.tryOptimisticRead();
+        MENode node = findNode(positionKey);
+        if (nodeLock.validate(stamp)) {
+            return node;
+        }
+        stamp = nodeLock.readLock();
+        try {
+            return findNode(positionKey);
+        } finally {
+            nodeLock.unlockRead(stamp);
+        }
     }
     
-    public void removeNode(BlockPos position) {
-        MENode removed = nodes.remove(position);
+    /**
+     * Sucht in der eigenen Map, dann in den noch nicht umgezogenen Segmenten (unter nodeLock)
+     */
+    private MENode findNode(long positionKey) {
+        MENode node = nodes.get(positionKey);
+        Segment[] current = segments;
+        for (int i = 0; node == null && i < current.length; i++) {
+            node = current[i].nodes.get(positionKey);
+        }
+        return node;
+    }
+    
+    private MEDeviceType findDevice(long positionKey) {
+        MEDeviceType type = devices.get(positionKey);
+        Segment[] current = segments;
+        for (int i = 0; type == null && i < current.length; i++) {
+            type = current[i].devices.get(positionKey);
+        }
+        return type;
+    }
+    
+    /**
+     * Entfernt einen Eintrag aus den Segmenten (unter nodeLock-Write)
+     */
+    private MENode removeSegmentNode(long positionKey) {
+        MENode removed = null;
+        Segment[] current = segments;
+        for (int i = 0; removed == null && i < current.length; i++) {
+            removed = current[i].nodes.remove(positionKey);
+        }
+        return removed;
+    }
+    
+    private MEDeviceType removeSegmentDevice(long positionKey) {
+        MEDeviceType removed = null;
+        Segment[] current = segments;
+        for (int i = 0; removed == null && i < current.length; i++) {
+            removed = current[i].devices.remove(positionKey);
+        }
+        return removed;
+    }
+    
+    private void putNode(MENode node) {
+        long stamp = nodeLock.writeLock();
+        try {
+            long key = node.getPosition().asLong();
+            nodes.put(key, node);
+            removeSegmentNode(key);
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
+        topologyVersion.incrementAndGet();
+    }
+    
+    private MENode takeNode(long positionKey) {
+        MENode removed;
+        long stamp = nodeLock.writeLock();
+        try {
+            removed = nodes.remove(positionKey);
+            if (removed == null) {
+                removed = removeSegmentNode(positionKey);
+            }
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
         if (removed != null) {
-            // Entferne ggf. registriertes Device und Channels
-            unregisterDevice(position);
-            invalidateCache();
+            topologyVersion.incrementAndGet();
+        }
+        return removed;
+    }
+    
+    /**
+     * Entfernt einen Node, trennt ihn von seinen Nachbarn und teilt das
+     * Netzwerk auf, falls es dadurch in mehrere Teile zerfällt
+     *
+     * @return Abgetrennte Netzwerke (leer wenn kein Split)
+     */
+    public List<MENetwork> removeNode(BlockPos position) {
+        if (parent != null) {
+            return resolve().removeNode(position);
+        }
+        long positionKey = position.asLong();
+        MENode removed = takeNode(positionKey);
+        if (removed == null) {
+            return Collections.emptyList();
+        }
+        
+        // Entferne ggf. registriertes Device und Channels
+        unregisterDevice(position);
+        
+        // Nachbarn trennen und als Startpunkte der Split-Erkennung merken
+        List<MENode> neighbors = new ArrayList<>(6);
+        for (Direction dir : removed.getConnections()) {
+            MENode neighbor = getNode(BlockPos.offset(positionKey, dir));
+            if (neighbor != null) {
+                neighbor.removeConnection(dir.getOpposite());
+                neighbors.add(neighbor);
+            }
+        }
+        
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::getNode, neighbors);
+        if (!split.isSplit()) {
+            return Collections.emptyList();
+        }
+        return applySplit(split);
+    }
+    
+    /**
+     * Verschiebt abgetrennte Komponenten in eigene Netzwerke
+     * Items bleiben beim Teil mit den meisten Storage-Devices (bei Gleichstand der größere),
+     * der Controller bleibt bei der Komponente, in der er steht.
+     */
+    private List<MENetwork> applySplit(NetworkSplitter.Split split) {
+        List<List<MENode>> detached = new ArrayList<>(split.components());
+        
+        // Alle Komponenten vollständig bekannt: größte bleibt in diesem Netzwerk
+        if (!split.remainderOpen()) {
+            int keep = 0;
+            for (int i = 1; i < detached.size(); i++) {
+                if (detached.get(i).size() > detached.get(keep).size()) {
+                    keep = i;
+                }
+            }
+            detached.remove(keep);
+        }
+        
+        // Storage-Besitzer bestimmen
+        int remainingStorage = capacity.getStorageDeviceCount();
+        int storageOwner = -1;
+        int bestStorage = 0;
+        for (int i = 0; i < detached.size(); i++) {
+            int storageDevices = countStorageDevices(detached.get(i));
+            remainingStorage -= storageDevices;
+            if (storageDevices > bestStorage
+                    || (storageDevices == bestStorage && storageOwner >= 0
+                        && detached.get(i).size() > detached.get(storageOwner).size())) {
+                bestStorage = storageDevices;
+                storageOwner = i;
+            }
+        }
+        if (storageOwner >= 0 && bestStorage <= remainingStorage) {
+            storageOwner = -1;
+        }
+        
+        List<MENetwork> created = new ArrayList<>(detached.size());
+        for (int i = 0; i < detached.size(); i++) {
+            created.add(detach(detached.get(i), i == storageOwner));
         }
+        
+        logger.at(Level.INFO).log(
+            "Network %s gesplittet: %s Teile abgetrennt, %s Nodes verbleiben",
+            networkId, created.size(), size()
+        );
+        return created;
     }
     
+    private int countStorageDevices(List<MENode> component) {
+        int count = 0;
+        for (MENode node : component) {
+            MEDeviceType type = getDeviceType(node.getPosition());
+            if (type != null && providesStorage(type)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Verschiebt eine Komponente samt Devices, Channels und ggf. Items in ein neues Netzwerk
+     */
+    private MENetwork detach(List<MENode> component, boolean takeStorage) {
+        MENetwork target = new MENetwork();
+        List<Map.Entry<MENode, MEDeviceType>> registered = new ArrayList<>();
+        boolean takesController = false;
+        
+        for (MENode node : component) {
+            BlockPos pos = node.getPosition();
+            takeNode(pos.asLong());
+            target.addNode(node);
+            if (pos.equals(controllerPos)) {
+                takesController = true;
+            }
+            MEDeviceType type = getDeviceType(pos);
+            if (type != null) {
+                unregisterDevice(pos);
+                registered.add(Map.entry(node, type));
+            }
+        }
+        
+        if (takesController) {
+            target.setController(controllerPos);
+            removeController();
+        }
+        
+        // Höchste Priority zuerst registrieren, damit sie die Channels erhält
+        registered.sort((a, b) -> Integer.compare(b.getKey().getPriority(), a.getKey().getPriority()));
+        for (Map.Entry<MENode, MEDeviceType> entry : registered) {
+            target.registerDevice(entry.getKey().getPosition(), entry.getValue());
+        }
+        
+        if (takeStorage) {
+            target.storeAll(extractAll(itemStorage.toBatch()));
+        }
+        return target;
+    }
+    
+    /**
+     * Snapshot aller Nodes (Änderungen danach sind nicht sichtbar)
+     */
     public Collection<MENode> getNodes() {
-        return nodes.values();
+        if (parent != null) {
+            return resolve().getNodes();
+        }
+        long stamp = nodeLock.readLock();
+        try {
+            List<MENode> result = nodes.values();
+            for (Segment segment : segments) {
+                segment.nodes.forEachValue(result::add);
+            }
+            return result;
+        } finally {
+            nodeLock.unlockRead(stamp);
+        }
     }
     
     public int size() {
-        return nodes.size();
+        if (parent != null) {
+            return resolve().size();
+        }
+        long stamp = nodeLock.tryOptimisticRead();
+        int size = countNodes();
+        if (nodeLock.validate(stamp)) {
+            return size;
+        }
+        stamp = nodeLock.readLock();
+        try {
+            return countNodes();
+        } finally {
+            nodeLock.unlockRead(stamp);
+        }
+    }
+    
+    private int countNodes() {
+        int count = nodes.size();
+        for (Segment segment : segments) {
+            count += segment.nodes.size();
+        }
+        return count;
+    }
+    
+    /**
+     * Anzahl aufgenommener Netzwerke, deren Maps noch nicht umgezogen sind (Tests/Debug)
+     */
+    int getSegmentCount() {
+        if (parent != null) {
+            return resolve().getSegmentCount();
+        }
+        return segments.length;
     }
     
     public boolean isEmpty() {
-        return nodes.isEmpty();
+        return size() == 0;
     }
     
     /**
@@ -144,18 +508,16 @@ public class MENetwork {
      * @return true wenn erfolgreich
      */
     public boolean storeItem(String itemId, long amount) {
+        if (parent != null) {
+            return resolve().storeItem(itemId, amount);
+        }
         if (itemId == null || itemId.isEmpty() || amount <= 0) {
             return false;
         }
         
-        storageLock.writeLock().lock();
-        try {
-            itemStorage.merge(itemId, amount, Long::sum);
-            invalidateCache();
-            return true;
-        } finally {
-            storageLock.writeLock().unlock();
-        }
+        capacity.forceReserve(amount);
+        itemStorage.add(itemId, amount);
+        return true;
     }
     
     /**
@@ -166,30 +528,21 @@ public class MENetwork {
      * @return Tatsächlich eingefügte Menge
      */
     public int insertItem(String itemId, int amount, org.bson.BsonDocument metadata) {
+        if (parent != null) {
+            return resolve().insertItem(itemId, amount, metadata);
+        }
         if (itemId == null || amount <= 0) {
             return 0;
         }
         
-        // Prüfe Kapazität
-        long currentTotal = getStoredItemCount();
-        long capacity = getTotalStorageCapacity();
-        long spaceAvailable = capacity - currentTotal;
-        
-        if (spaceAvailable <= 0) {
+        // Platz atomar reservieren - parallele Inserts können nicht überfüllen
+        long reserved = capacity.reserve(amount);
+        if (reserved <= 0) {
             return 0; // Netzwerk voll
         }
         
-        int canInsert = (int) Math.min(amount, spaceAvailable);
-        
-        storageLock.writeLock().lock();
-        try {
-            long current = itemStorage.getOrDefault(itemId, 0L);
-            itemStorage.put(itemId, current + canInsert);
-            invalidateCache();
-            return canInsert;
-        } finally {
-            storageLock.writeLock().unlock();
-        }
+        itemStorage.add(itemId, reserved);
+        return (int) reserved;
     }
     
     /**
@@ -199,127 +552,274 @@ public class MENetwork {
      * @return Tatsächlich extrahierte Menge
      */
     public long extractItem(String itemId, long requestedAmount) {
+        if (parent != null) {
+            return resolve().extractItem(itemId, requestedAmount);
+        }
         if (itemId == null || requestedAmount <= 0) {
             return 0;
         }
         
-        storageLock.writeLock().lock();
-        try {
-            long available = itemStorage.getOrDefault(itemId, 0L);
-            long toExtract = Math.min(available, requestedAmount);
-            
-            if (toExtract > 0) {
-                long newAmount = available - toExtract;
-                if (newAmount == 0) {
-                    itemStorage.remove(itemId);
-                } else {
-                    itemStorage.put(itemId, newAmount);
-                }
-                invalidateCache();
-            }
-            
-            return toExtract;
-        } finally {
-            storageLock.writeLock().unlock();
+        long extracted = itemStorage.remove(itemId, requestedAmount);
+        capacity.release(extracted);
+        return extracted;
+    }
+    
+    /**
+     * Fügt einen ganzen Batch ein (Thread-Safe)
+     * Eine Kapazitätsreservierung für den gesamten Batch, ein Lock pro betroffenem Stripe.
+     * Bei Platzmangel werden die Einträge in Batch-Reihenfolge bedient.
+     * 
+     * @param batch Einzufügende Items
+     * @return Tatsächlich eingefügte Menge pro Batch-Position (gleiche Reihenfolge)
+     */
+    public ItemBatch insertAll(ItemBatch batch) {
+        if (parent != null) {
+            return resolve().insertAll(batch);
+        }
+        if (batch == null || batch.isEmpty()) {
+            return new ItemBatch(0);
+        }
+        
+        long remaining = capacity.reserve(batch.totalAmount());
+        ItemBatch accepted = new ItemBatch(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            long amount = Math.max(0L, batch.amountAt(i));
+            long granted = Math.min(amount, remaining);
+            remaining -= granted;
+            accepted.add(batch.itemIndexAt(i), granted);
+        }
+        
+        itemStorage.addBatch(accepted);
+        return accepted;
+    }
+    
+    /**
+     * Fügt mehrere Items ein (Thread-Safe)
+     * @param items ItemID -> gewünschte Menge
+     * @return ItemID -> tatsächlich eingefügte Menge
+     */
+    public Map<String, Long> insertAll(Map<String, Long> items) {
+        if (items == null || items.isEmpty()) {
+            return new HashMap<>();
+        }
+        return insertAll(ItemBatch.of(items)).toMap();
+    }
+    
+    /**
+     * Speichert einen ganzen Batch ohne Kapazitätsprüfung (Laden, Merge)
+     */
+    public void storeAll(ItemBatch batch) {
+        if (parent != null) {
+            resolve().storeAll(batch);
+            return;
+        }
+        if (batch == null || batch.isEmpty()) {
+            return;
         }
+        capacity.forceReserve(batch.totalAmount());
+        itemStorage.addBatch(batch);
     }
     
     /**
-     * Gibt alle Items im Netzwerk zurück (Thread-Safe Copy)
+     * Extrahiert einen ganzen Batch (Thread-Safe)
+     * Ein Lock pro betroffenem Stripe, eine Kapazitätsfreigabe.
+     * 
+     * @param batch Angeforderte Items
+     * @return Tatsächlich extrahierte Menge pro Batch-Position (gleiche Reihenfolge)
+     */
+    public ItemBatch extractAll(ItemBatch batch) {
+        if (parent != null) {
+            return resolve().extractAll(batch);
+        }
+        if (batch == null || batch.isEmpty()) {
+            return new ItemBatch(0);
+        }
+        
+        long[] removed = itemStorage.removeBatch(batch);
+        ItemBatch extracted = new ItemBatch(batch.size());
+        long total = 0L;
+        for (int i = 0; i < removed.length; i++) {
+            extracted.add(batch.itemIndexAt(i), removed[i]);
+            total += removed[i];
+        }
+        capacity.release(total);
+        return extracted;
+    }
+    
+    /**
+     * Extrahiert mehrere Items (Thread-Safe)
+     * @param items ItemID -> angeforderte Menge
+     * @return ItemID -> tatsächlich extrahierte Menge
+     */
+    public Map<String, Long> extractAll(Map<String, Long> items) {
+        if (items == null || items.isEmpty()) {
+            return new HashMap<>();
+        }
+        return extractAll(ItemBatch.of(items)).toMap();
+    }
+    
+    /**
+     * Gibt alle Items im Netzwerk zurück (schreibgeschützter Snapshot,
+     * ohne Kopie solange sich der Storage nicht geändert hat)
      */
     public Map<String, Long> getAllItems() {
-        storageLock.readLock().lock();
-        try {
-            return new HashMap<>(itemStorage);
-        } finally {
-            storageLock.readLock().unlock();
+        if (parent != null) {
+            return resolve().getAllItems();
         }
+        return itemStorage.snapshot().items();
     }
     
     /**
-     * Gibt die gespeicherte Menge eines Items zurück (Thread-Safe)
+     * Gibt den aktuellen versionierten Storage-Snapshot zurück
      */
-    public long getStoredAmount(String itemId) {
-        storageLock.readLock().lock();
-        try {
-            return itemStorage.getOrDefault(itemId, 0L);
-        } finally {
-            storageLock.readLock().unlock();
+    public StorageSnapshot getStorageSnapshot() {
+        if (parent != null) {
+            return resolve().getStorageSnapshot();
         }
+        return itemStorage.snapshot();
     }
     
     /**
-     * Gibt die Anzahl verschiedener Item-Typen zurück (Cached)
+     * Aktuelle Storage-Version (steigt mit jeder Änderung)
      */
-    public int getItemTypeCount() {
-        if (!cacheValid) {
-            updateCache();
+    public long getStorageVersion() {
+        if (parent != null) {
+            return resolve().getStorageVersion();
         }
-        return cachedItemTypeCount;
+        return itemStorage.version();
     }
     
     /**
-     * Gibt die Gesamtzahl aller Items zurück (Cached)
+     * Prüft ohne Lock, ob sich der Storage seit einer Version geändert hat
      */
-    public long getTotalItemCount() {
-        if (!cacheValid) {
-            updateCache();
+    public boolean hasStorageChangedSince(long version) {
+        if (parent != null) {
+            return resolve().hasStorageChangedSince(version);
         }
-        return cachedTotalItemCount;
+        return itemStorage.hasChangedSince(version);
     }
     
     /**
-     * Gibt eine Kopie der gespeicherten Items zurück (Thread-Safe)
-     * @return Map von ItemID -> Anzahl
+     * Aktuelle Topologie-Version (steigt mit jeder Node-, Device- oder Controller-Änderung)
      */
-    public Map<String, Long> getStoredItems() {
-        storageLock.readLock().lock();
-        try {
-            return new HashMap<>(itemStorage);
-        } finally {
-            storageLock.readLock().unlock();
+    public long getTopologyVersion() {
+        if (parent != null) {
+            return resolve().getTopologyVersion();
         }
+        return topologyVersion.get();
     }
     
     /**
-     * Aktualisiert den Cache für Item-Statistiken
+     * true wenn sich Storage oder Topologie seit dem letzten Persistieren geändert haben
+     * (neue Netzwerke sind bis zum ersten Speichern dirty)
      */
-    private void updateCache() {
-        storageLock.readLock().lock();
-        try {
-            cachedItemTypeCount = itemStorage.size();
-            cachedTotalItemCount = itemStorage.values().stream()
-                .mapToLong(Long::longValue)
-                .sum();
-            cacheValid = true;
-        } finally {
-            storageLock.readLock().unlock();
+    public boolean isDirty() {
+        if (parent != null) {
+            return resolve().isDirty();
         }
+        return itemStorage.hasChangedSince(savedStorageVersion)
+            || topologyVersion.get() != savedTopologyVersion;
     }
     
     /**
-     * Invalidiert den Cache nach Änderungen
+     * Vermerkt einen persistierten Stand
+     * 
+     * Die Versionen müssen <b>vor</b> dem Serialisieren gelesen werden: Änderungen während
+     * des Schreibens erhöhen sie weiter, das Netzwerk bleibt dann dirty.
      */
-    private void invalidateCache() {
-        cacheValid = false;
+    public void markSaved(long storageVersion, long topologyVersion) {
+        if (parent != null) {
+            resolve().markSaved(storageVersion, topologyVersion);
+            return;
+        }
+        this.savedStorageVersion = storageVersion;
+        this.savedTopologyVersion = topologyVersion;
     }
     
     /**
-     * Aktualisiert den Cache wenn ungültig
+     * Abonniert die Storage-Deltas dieses Netzwerks (ein Batch pro Tick)
+     * 
+     * Ablauf für Konsumenten: einmal {@link #getStorageSnapshot()} laden, danach
+     * Batches anwenden; bei {@code consumeResync()} den Snapshot neu laden.
+     * 
+     * @param bufferTicks Maximale Anzahl gepufferter Ticks bis zum Resync
      */
-    private void updateCacheIfNeeded() {
-        if (!cacheValid) {
-            storageLock.readLock().lock();
-            try {
-                cachedItemTypeCount = itemStorage.size();
-                cachedTotalItemCount = itemStorage.values().stream()
-                    .mapToLong(Long::longValue)
-                    .sum();
-                cacheValid = true;
-            } finally {
-                storageLock.readLock().unlock();
-            }
+    public StorageChangeFeed.Subscription subscribeStorageChanges(int bufferTicks) {
+        return resolve().changeFeed.subscribe(bufferTicks);
+    }
+    
+    /**
+     * Abonniert nur die letzte Menge jedes geänderten Items (z.B. Journal/Autosave):
+     * der Puffer wächst höchstens bis zur Zahl der Item-Typen, egal wie viele Ticks
+     * zwischen zwei Abholungen liegen
+     */
+    public StorageChangeFeed.Subscription subscribeLatestStorageChanges() {
+        return resolve().changeFeed.subscribeLatest();
+    }
+    
+    /**
+     * Verteilt die seit dem letzten Tick gesammelten Storage-Deltas sofort
+     * (z.B. vor dem Journal-Flush, wenn keine Ticks laufen)
+     * @return Anzahl verteilter Deltas
+     */
+    public int flushStorageChanges() {
+        return resolve().changeFeed.flush();
+    }
+    
+    /**
+     * Gibt die gespeicherte Menge eines Items zurück (Thread-Safe)
+     */
+    public long getStoredAmount(String itemId) {
+        if (parent != null) {
+            return resolve().getStoredAmount(itemId);
+        }
+        if (itemId == null) {
+            return 0L;
         }
+        return itemStorage.get(itemId);
+    }
+    
+    /**
+     * Gibt die Anzahl verschiedener Item-Typen zurück (laufende Summen der Ledger-Stripes)
+     */
+    public int getItemTypeCount() {
+        if (parent != null) {
+            return resolve().getItemTypeCount();
+        }
+        return itemStorage.typeCount();
+    }
+    
+    /**
+     * Gibt die Gesamtzahl aller Items zurück (laufende Summen der Ledger-Stripes)
+     */
+    public long getTotalItemCount() {
+        if (parent != null) {
+            return resolve().getTotalItemCount();
+        }
+        return itemStorage.totalCount();
+    }
+    
+    /**
+     * Gibt die gespeicherten Items zurück (schreibgeschützter Snapshot)
+     * @return Map von ItemID -> Anzahl
+     */
+    public Map<String, Long> getStoredItems() {
+        if (parent != null) {
+            return resolve().getStoredItems();
+        }
+        return itemStorage.snapshot().items();
+    }
+    
+    /**
+     * Prüft die laufenden Storage-Summen gegen eine vollständige Neuzählung (Tests/Debug)
+     * @throws IllegalStateException bei Abweichung
+     */
+    public void verifyStorageTotals() {
+        if (parent != null) {
+            resolve().verifyStorageTotals();
+            return;
+        }
+        itemStorage.verifyTotals();
     }
     
     /**
@@ -329,56 +829,89 @@ public class MENetwork {
      * @return true wenn erfolgreich allokiert
      */
     public boolean allocateChannel(BlockPos device, int channelsNeeded) {
-        if (channelsNeeded <= 0) {
-            return true;
+        if (parent != null) {
+            return resolve().allocateChannel(device, channelsNeeded);
         }
-        
-        // Atomic read und conditional write
-        int usedChannels = channelAllocation.values().stream()
-            .mapToInt(Integer::intValue)
-            .sum();
-            
-        if (usedChannels + channelsNeeded <= maxChannels) {
-            channelAllocation.put(device, channelsNeeded);
+        if (channelsNeeded <= 0) {
             return true;
         }
         
-        return false;
+        // CAS-Reservierung im Allocator - kein check-then-put Race
+        return channels.allocate(device, channelsNeeded);
     }
     
     public void releaseChannel(BlockPos device) {
-        channelAllocation.remove(device);
+        if (parent != null) {
+            resolve().releaseChannel(device);
+            return;
+        }
+        channels.release(device);
     }
     
     public int getAvailableChannels() {
-        int used = getUsedChannels();
-        return maxChannels - used;
+        if (parent != null) {
+            return resolve().getAvailableChannels();
+        }
+        return channels.getAvailableChannels();
     }
     
     public int getUsedChannels() {
-        return channelAllocation.values().stream()
-            .mapToInt(Integer::intValue)
-            .sum();
+        if (parent != null) {
+            return resolve().getUsedChannels();
+        }
+        return channels.getUsedChannels();
     }
     
     public int getMaxChannels() {
-        return maxChannels;
+        if (parent != null) {
+            return resolve().getMaxChannels();
+        }
+        return channels.getMaxChannels();
     }
 
     /**
      * Gibt zurück, ob das Netzwerk einen Controller besitzt
      */
     public boolean hasController() {
+        if (parent != null) {
+            return resolve().hasController();
+        }
         return hasController;
     }
     
+    /**
+     * Gibt zurück, ob ein Device aktuell Channels besitzt (online ist)
+     */
+    public boolean hasChannel(BlockPos device) {
+        if (parent != null) {
+            return resolve().hasChannel(device);
+        }
+        return channelScheduler.isOnline(device);
+    }
+    
+    /**
+     * Anzahl Devices, die mangels Channels deaktiviert sind
+     */
+    public int getWaitingDeviceCount() {
+        if (parent != null) {
+            return resolve().getWaitingDeviceCount();
+        }
+        return channelScheduler.getWaitingCount();
+    }
+    
     /**
      * Setzt einen Controller und erweitert Channels auf 32
+     * Wartende Devices werden nach Priority reaktiviert.
      */
     public void setController(BlockPos pos) {
+        if (parent != null) {
+            resolve().setController(pos);
+            return;
+        }
         this.hasController = true;
         this.controllerPos = pos;
-        this.maxChannels = 32;
+        topologyVersion.incrementAndGet();
+        rebalanceChannels(32);
     }
     
     public void addController(BlockPos pos) {
@@ -387,52 +920,49 @@ public class MENetwork {
     
     /**
      * Entfernt den Controller und reduziert Channels auf 8
+     * Devices mit niedrigster Priority werden deaktiviert.
      */
     public void removeController() {
+        if (parent != null) {
+            resolve().removeController();
+            return;
+        }
         this.hasController = false;
         this.controllerPos = null;
-        this.maxChannels = 8;
-        rebalanceChannels();
+        topologyVersion.incrementAndGet();
+        rebalanceChannels(8);
     }
     
     /**
-     * Rebalanciert Channel-Allokationen nach Controller-Verlust
-     * Devices mit höherer Priority behalten ihre Channels
+     * Übernimmt eine geänderte MENode-Priority in die Channel-Vergabe
      */
-    private void rebalanceChannels() {
-        int used = getUsedChannels();
-        if (used <= maxChannels) return; // Alles passt
-        
-        // Sortiere Devices nach Priority (niedrigste zuerst)
-        List<Map.Entry<BlockPos, MEDeviceType>> sortedDevices = new ArrayList<>(devices.entrySet());
-        sortedDevices.sort(Comparator.comparingInt(e -> e.getValue().ordinal()));
-        
-        int channelsToFree = used - maxChannels;
-        int freedChannels = 0;
-        
-        // Deaktiviere Devices mit niedrigster Priority bis genug Channels frei sind
-        for (Map.Entry<BlockPos, MEDeviceType> entry : sortedDevices) {
-            if (freedChannels >= channelsToFree) break;
-            
-            MEDeviceType deviceType = entry.getValue();
-            int channelUsage = deviceType.getChannelUsage();
-            
-            if (channelUsage > 0) {
-                // Markiere Device als offline (keine echte Deaktivierung hier)
-                freedChannels += channelUsage;
-                logger.at(Level.INFO).log(
-                    "Channel-Rebalancing: Device %s bei %s deaktiviert (%s Channels freigegeben)",
-                    deviceType,
-                    entry.getKey(),
-                    channelUsage
-                );
-            }
+    public void updateDevicePriority(BlockPos pos) {
+        if (parent != null) {
+            resolve().updateDevicePriority(pos);
+            return;
+        }
+        topologyVersion.incrementAndGet();
+        logRebalance(channelScheduler.reprioritize(pos));
+    }
+    
+    /**
+     * Setzt das Channel-Budget und verschiebt nur die betroffenen Devices
+     */
+    private void rebalanceChannels(int maxChannels) {
+        logRebalance(channelScheduler.setBudget(maxChannels));
+    }
+    
+    private void logRebalance(ChannelScheduler.Result result) {
+        if (result.deactivated() == 0 && result.reactivated() == 0) {
+            return;
         }
-        
         logger.at(Level.INFO).log(
-            "Channel-Rebalancing abgeschlossen: %s/%s Channels gefreit",
-            freedChannels,
-            channelsToFree
+            "Channel-Rebalancing: %s Devices deaktiviert, %s reaktiviert (%s/%s Channels, %s wartend)",
+            result.deactivated(),
+            result.reactivated(),
+            getUsedChannels(),
+            getMaxChannels(),
+            channelScheduler.getWaitingCount()
         );
     }
     
@@ -443,11 +973,34 @@ public class MENetwork {
         if (pos == null || type == null) {
             throw new IllegalArgumentException("Position und Type dürfen nicht null sein");
         }
+        if (parent != null) {
+            resolve().registerDevice(pos, type);
+            return;
+        }
         
-        devices.put(pos, type);
-        int channelsNeeded = type.getChannelUsage();
-        if (channelsNeeded > 0) {
-            allocateChannel(pos, channelsNeeded);
+        MEDeviceType previous;
+        long key = pos.asLong();
+        long stamp = nodeLock.writeLock();
+        try {
+            previous = devices.put(key, type);
+            if (previous == null) {
+                previous = removeSegmentDevice(key);
+            }
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
+        topologyVersion.incrementAndGet();
+        if (previous != null && providesStorage(previous)) {
+            capacity.removeStorageDevice();
+        }
+        if (providesStorage(type)) {
+            capacity.addStorageDevice();
+        }
+        if (!channelScheduler.register(pos, getNode(pos), type)) {
+            logger.at(Level.FINE).log(
+                "Keine freien Channels für %s bei %s - Device wartet (%s/%s)",
+                type, pos, getUsedChannels(), getMaxChannels()
+            );
         }
     }
     
@@ -455,70 +1008,228 @@ public class MENetwork {
      * Entfernt Device-Registrierung
      */
     public void unregisterDevice(BlockPos pos) {
-        devices.remove(pos);
-        releaseChannel(pos);
+        if (parent != null) {
+            resolve().unregisterDevice(pos);
+            return;
+        }
+        MEDeviceType removed;
+        long key = pos.asLong();
+        long stamp = nodeLock.writeLock();
+        try {
+            removed = devices.remove(key);
+            if (removed == null) {
+                removed = removeSegmentDevice(key);
+            }
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
+        if (removed != null) {
+            topologyVersion.incrementAndGet();
+        }
+        if (removed != null && providesStorage(removed)) {
+            capacity.removeStorageDevice();
+        }
+        int reactivated = channelScheduler.unregister(pos);
+        if (reactivated > 0) {
+            logger.at(Level.FINE).log("%s wartende Devices nach Entfernen von %s reaktiviert", reactivated, pos);
+        }
     }
     
     public MEDeviceType getDeviceType(BlockPos pos) {
-        return devices.get(pos);
+        if (parent != null) {
+            return resolve().getDeviceType(pos);
+        }
+        if (pos == null) {
+            return null;
+        }
+        long key = pos.asLong();
+        long stamp = nodeLock.tryOptimisticRead();
+        MEDeviceType type = findDevice(key);
+        if (nodeLock.validate(stamp)) {
+            return type;
+        }
+        stamp = nodeLock.readLock();
+        try {
+            return findDevice(key);
+        } finally {
+            nodeLock.unlockRead(stamp);
+        }
     }
     
     /**
-     * Mergt ein anderes Netzwerk in dieses (Thread-Safe)
-     * Wird verwendet wenn zwei Netzwerke verbunden werden
+     * Liefert den Repräsentanten dieses Netzwerks (Union-Find mit Pfadkompression)
+     * Nach einem Merge zeigt das aufgenommene Netzwerk auf das überlebende.
      */
-    public void merge(MENetwork other) {
-        if (other == this || other == null) {
-            return;
+    public MENetwork resolve() {
+        MENetwork root = this;
+        while (root.parent != null) {
+            root = root.parent;
         }
-        
-        // Nodes mergen
-        for (MENode node : other.nodes.values()) {
-            addNode(node);
+        MENetwork current = this;
+        while (current != root) {
+            MENetwork next = current.parent;
+            current.parent = root;
+            current = next;
         }
-        
-        // Input/Output Nodes mergen
-        inputNodes.addAll(other.inputNodes);
-        outputNodes.addAll(other.outputNodes);
-        
-        // Storage mergen (Thread-Safe)
-        storageLock.writeLock().lock();
+        return root;
+    }
+    
+    /**
+     * true wenn dieses Netzwerk in ein anderes aufgegangen ist
+     */
+    public boolean isMerged() {
+        return parent != null;
+    }
+    
+    /**
+     * Mergt zwei Netzwerke (Thread-Safe)
+     * Wird verwendet wenn zwei Netzwerke verbunden werden.
+     *
+     * Das kleinere Netzwerk geht immer im größeren auf (Union by Size). Nodes behalten
+     * ihre Netzwerk-Referenz und lösen sie über {@link #resolve()} auf - kein setNetwork()
+     * pro Node; alle öffentlichen Methoden eines aufgegangenen Netzwerks arbeiten auf dem
+     * Repräsentanten. Node- und Device-Maps des kleineren Netzwerks werden nicht kopiert,
+     * sondern als Segment angehängt und ziehen in Schritten von {@value #SEGMENT_FOLD_BUDGET}
+     * Einträgen (beim Merge und in jedem Tick) in die Maps des Repräsentanten um.
+     * Kosten des Merges: O(Item-Typen + Channel-Devices des kleineren Netzwerks), unabhängig
+     * von der Zahl der Kabel und Nodes.
+     *
+     * @return Das überlebende Netzwerk
+     */
+    public MENetwork merge(MENetwork other) {
+        MENetwork self = resolve();
+        if (other == null) {
+            return self;
+        }
+        MENetwork target = other.resolve();
+        if (target == self) {
+            return self;
+        }
+        if (self.size() >= target.size()) {
+            self.absorb(target);
+            return self;
+        }
+        target.absorb(self);
+        return target;
+    }
+    
+    /**
+     * Übernimmt ein (kleineres) Netzwerk: Maps als Segment, Storage, Kapazität, Channels
+     */
+    private void absorb(MENetwork other) {
+        // Maps des anderen einfrieren und parent setzen - danach landet jeder Zugriff hier
+        // (nie beide Locks gleichzeitig halten - keine Lock-Reihenfolge nötig)
+        Segment[] adopted;
+        long otherStamp = other.nodeLock.writeLock();
         try {
-            for (Map.Entry<String, Long> entry : other.itemStorage.entrySet()) {
-                itemStorage.merge(entry.getKey(), entry.getValue(), Long::sum);
-            }
-            invalidateCache();
+            Segment[] nested = other.segments;
+            adopted = new Segment[nested.length + 1];
+            adopted[0] = new Segment(other.nodes, other.devices);
+            System.arraycopy(nested, 0, adopted, 1, nested.length);
+            other.segments = NO_SEGMENTS;
+            other.parent = this;
+        } finally {
+            other.nodeLock.unlockWrite(otherStamp);
+        }
+        other.topologyVersion.incrementAndGet();
+        long stamp = nodeLock.writeLock();
+        try {
+            Segment[] current = segments;
+            Segment[] grown = new Segment[current.length + adopted.length];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            System.arraycopy(adopted, 0, grown, current.length, adopted.length);
+            segments = grown;
         } finally {
-            storageLock.writeLock().unlock();
+            nodeLock.unlockWrite(stamp);
         }
+        topologyVersion.incrementAndGet();
         
-        // Devices und Channels mergen
-        devices.putAll(other.devices);
-        channelAllocation.putAll(other.channelAllocation);
+        // Storage mergen (ein Batch, ein Lock pro Stripe), Kapazität samt Storage-Devices übernehmen
+        ItemBatch stored = other.itemStorage.toBatch();
+        long[] removed = other.itemStorage.removeBatch(stored);
+        ItemBatch moved = new ItemBatch(stored.size());
+        for (int i = 0; i < removed.length; i++) {
+            moved.add(stored.itemIndexAt(i), removed[i]);
+        }
+        itemStorage.addBatch(moved);
+        capacity.absorb(other.capacity);
+        changeFeed.adoptSubscribers(other.changeFeed);
         
-        // Controller übernehmen falls vorhanden
+        // Controller übernehmen falls vorhanden (hebt das Budget vor der Übernahme)
         if (other.hasController && !this.hasController) {
             setController(other.controllerPos);
         }
+        logRebalance(channelScheduler.adoptAll(other.channelScheduler));
+        other.hasController = false;
+        other.controllerPos = null;
+        
+        // Kleine Netzwerke (z.B. ein einzelnes Kabel) sind damit sofort vollständig umgezogen
+        foldSegments(SEGMENT_FOLD_BUDGET);
+        
+        logger.at(Level.FINE).log("Network %s in %s aufgegangen (%d Nodes)", other.networkId, networkId, size());
+    }
+    
+    /**
+     * Zieht bis zu {@code budget} Nodes und Devices aus den Segmenten in die eigenen Maps um
+     * @return Anzahl umgezogener Einträge
+     */
+    private int foldSegments(int budget) {
+        if (segments.length == 0) {
+            return 0;
+        }
+        int moved = 0;
+        long stamp = nodeLock.writeLock();
+        try {
+            Segment[] current = segments;
+            int done = 0;
+            while (done < current.length && moved < budget) {
+                Segment segment = current[done];
+                int nodesBefore = segment.nodes.size();
+                segment.nodeSlot = segment.nodes.drainTo(nodes, segment.nodeSlot, budget - moved);
+                moved += nodesBefore - segment.nodes.size();
+                int devicesBefore = segment.devices.size();
+                segment.deviceSlot = segment.devices.drainTo(devices, segment.deviceSlot, budget - moved);
+                moved += devicesBefore - segment.devices.size();
+                if (!segment.isEmpty()) {
+                    break;
+                }
+                done++;
+            }
+            if (done > 0) {
+                Segment[] remaining = new Segment[current.length - done];
+                System.arraycopy(current, done, remaining, 0, remaining.length);
+                segments = remaining;
+            }
+        } finally {
+            nodeLock.unlockWrite(stamp);
+        }
+        return moved;
     }
     
     /**
-     * Tick-Update für alle Nodes im Netzwerk
+     * Tick-Update des Netzwerks: verteilt die Storage-Änderungen dieses Ticks
+     * Devices werden hier nicht getickt - das übernimmt ausschließlich der
+     * {@link TickScheduler} des NetworkManagers (sonst tickten I/O-Devices doppelt)
      * Sollte nur von einem Thread aufgerufen werden
      */
     public void tick() {
+        if (parent != null) {
+            resolve().tick();
+            return;
+        }
         tickCount.incrementAndGet();
         
-        // Copy collection to avoid ConcurrentModificationException
-        List<MENode> nodesToTick = new ArrayList<>(nodes.values());
-        for (MENode node : nodesToTick) {
-            if (node != null) {
-                node.tick();
-            }
-        }
+        // Maps aufgenommener Netzwerke schrittweise umziehen
+        foldSegments(SEGMENT_FOLD_BUDGET);
+        
+        // Storage-Änderungen dieses Ticks an Abonnenten verteilen
+        changeFeed.flush();
     }
     
     public long getTickCount() {
+        if (parent != null) {
+            return resolve().getTickCount();
+        }
         return tickCount.get();
     }
     
@@ -526,9 +1237,12 @@ public class MENetwork {
      * Gibt Debug-Informationen über das Netzwerk zurück
      */
     public String getDebugInfo() {
+        if (parent != null) {
+            return resolve().getDebugInfo();
+        }
         return String.format(
             "MENetwork [Nodes: %d, Items: %d types (%d total), Channels: %d/%d, Controller: %s]",
-            nodes.size(),
+            size(),
             getItemTypeCount(),
             getTotalItemCount(),
             getUsedChannels(),
@@ -37,7 +37,7 @@ public class MENode {
     private final UUID worldId;
     private final BlockPos position;
     private final Set<Direction> connections;
-    private MENetwork network;
+    private volatile MENetwork network;
     private final MEDeviceType deviceType;
     private int priority = 0;
     private boolean active = true;
@@ -67,8 +67,19 @@ public class MENode {
         return Collections.unmodifiableSet(connections);
     }
     
+    /**
+     * Liefert das aktuelle Netzwerk (Repräsentant nach Merges)
+     */
     public MENetwork getNetwork() {
-        return network;
+        MENetwork current = network;
+        if (current == null) {
+            return null;
+        }
+        MENetwork root = current.resolve();
+        if (root != current) {
+            network = root;
+        }
+        return root;
     }
     
     public int getPriority() {
@@ -91,8 +102,18 @@ public class MENode {
         this.network = network;
     }
     
+    /**
+     * Setzt die Priority; ein angeschlossenes Netzwerk übernimmt sie sofort in die Channel-Vergabe
+     */
     public void setPriority(int priority) {
+        if (this.priority == priority) {
+            return;
+        }
         this.priority = priority;
+        MENetwork current = getNetwork();
+        if (current != null) {
+            current.updateDevicePriority(position);
+        }
     }
     
     public void setActive(boolean active) {
@@ -121,31 +142,40 @@ public class MENode {
         return connections.size();
     }
     
-    public void tick() {
+    /**
+     * Tick des Devices (nur tickbare Typen werden vom {@link TickScheduler} aufgerufen)
+     * @return Ob es Arbeit gab - bestimmt das nächste Tick-Intervall
+     */
+    public TickResult tick() {
         ticksSinceLastActivity++;
         
+        // Ohne Channel nur zurückfahren, nicht schlafen: geht das Device später online
+        // (Controller gesetzt, Channels frei), weckt es niemand - es muss weiter getickt werden
         if (!active) {
-            return;
+            return TickResult.IDLE;
         }
         
-        switch (deviceType) {
+        return switch (deviceType) {
             case IMPORT_BUS -> tickImportBus();
             case EXPORT_BUS -> tickExportBus();
             case INTERFACE -> tickInterface();
-            default -> {}
-        }
+            default -> TickResult.SLEEP;
+        };
     }
     
-    private void tickImportBus() {
+    private TickResult tickImportBus() {
         // TODO: Implementiere Import Logic
+        return TickResult.IDLE;
     }
     
-    private void tickExportBus() {
+    private TickResult tickExportBus() {
         // TODO: Implementiere Export Logic
+        return TickResult.IDLE;
     }
     
-    private void tickInterface() {
+    private TickResult tickInterface() {
         // TODO: Implementiere Interface Logic
+        return TickResult.IDLE;
     }
     
     public void onActivity() {
@@ -165,10 +195,11 @@ public class MENode {
     }
     
     public boolean hasChannel() {
-        if (network == null) {
+        MENetwork current = getNetwork();
+        if (current == null) {
             return false;
         }
-        return true;
+        return !needsChannel() || current.hasChannel(position);
     }
     
     @Override
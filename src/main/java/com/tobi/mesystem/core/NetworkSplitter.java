@@ -0,0 +1,162 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import com.tobi.mesystem.util.BlockPos;
+import com.tobi.mesystem.util.Direction;
+import com.tobi.mesystem.util.LongObjectHashMap;
+
+/**
+ * Network-Splitter - Erkennt, ob ein entfernter Node sein Netzwerk zerteilt hat
+ *
+ * Startet von jedem ehemaligen Nachbarn eine eigene Breitensuche über
+ * {@link MENode#getConnections()}. Die Suchen laufen verschränkt (ein Node pro
+ * Suche und Runde); treffen sich zwei Suchen, gehören sie zur selben Komponente
+ * und werden vereinigt. Sobald höchstens eine Suche noch offen ist, steht fest:
+ * jede abgeschlossene Suche ist eine abgetrennte Komponente, die offene ist der Rest.
+ *
+ * Der Aufwand ist dadurch durch die kleineren Teile begrenzt - ein Kabel am Rand
+ * einer großen Basis kostet wenige Schritte, nicht einen Scan des ganzen Netzwerks.
+ */
+public final class NetworkSplitter {
+
+    private NetworkSplitter() {
+    }
+
+    /**
+     * Ergebnis einer Split-Erkennung
+     *
+     * @param components Vollständig bekannte Komponenten
+     * @param remainderOpen true wenn eine weitere (nicht vollständig durchsuchte)
+     *                      Komponente existiert, die im ursprünglichen Netzwerk bleibt
+     */
+    public record Split(List<List<MENode>> components, boolean remainderOpen) {
+
+        static final Split NONE = new Split(Collections.emptyList(), true);
+
+        /**
+         * true wenn das Netzwerk tatsächlich in mehrere Teile zerfallen ist
+         */
+        public boolean isSplit() {
+            return components.size() + (remainderOpen ? 1 : 0) > 1;
+        }
+    }
+
+    /**
+     * Sucht die Komponenten, in die ein Netzwerk nach Entfernen eines Nodes zerfällt
+     *
+     * @param nodes Lookup gepackte Position -> Node des Netzwerks (ohne den entfernten Node)
+     * @param starts Ehemalige Nachbarn des entfernten Nodes
+     */
+    public static Split findComponents(LongFunction<MENode> nodes, List<MENode> starts) {
+        int searchCount = starts.size();
+        if (searchCount <= 1) {
+            return Split.NONE;
+        }
+
+        int[] parent = new int[searchCount];
+        List<List<MENode>> members = new ArrayList<>(searchCount);
+        List<ArrayDeque<MENode>> frontiers = new ArrayList<>(searchCount);
+        LongObjectHashMap<Integer> owner = new LongObjectHashMap<>();
+
+        for (int i = 0; i < searchCount; i++) {
+            parent[i] = i;
+            MENode start = starts.get(i);
+            List<MENode> list = new ArrayList<>();
+            ArrayDeque<MENode> frontier = new ArrayDeque<>();
+            long startKey = start.getPosition().asLong();
+            if (!owner.containsKey(startKey)) {
+                owner.put(startKey, i);
+                list.add(start);
+                frontier.add(start);
+            }
+            members.add(list);
+            frontiers.add(frontier);
+        }
+
+        while (countOpen(parent, frontiers) > 1) {
+            for (int search = 0; search < searchCount; search++) {
+                if (parent[search] != search) {
+                    continue;
+                }
+                MENode current = frontiers.get(search).poll();
+                if (current == null) {
+                    continue;
+                }
+                long position = current.getPosition().asLong();
+                for (Direction dir : current.getConnections()) {
+                    long neighborKey = BlockPos.offset(position, dir);
+                    MENode neighbor = nodes.apply(neighborKey);
+                    if (neighbor == null) {
+                        continue;
+                    }
+                    Integer seen = owner.get(neighborKey);
+                    int root = find(parent, search);
+                    if (seen == null) {
+                        owner.put(neighborKey, root);
+                        members.get(root).add(neighbor);
+                        frontiers.get(root).add(neighbor);
+                    } else {
+                        int other = find(parent, seen);
+                        if (other != root) {
+                            union(parent, members, frontiers, root, other);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<List<MENode>> components = new ArrayList<>();
+        boolean remainderOpen = false;
+        for (int search = 0; search < searchCount; search++) {
+            if (parent[search] != search || members.get(search).isEmpty()) {
+                continue;
+            }
+            if (frontiers.get(search).isEmpty()) {
+                components.add(members.get(search));
+            } else {
+                remainderOpen = true;
+            }
+        }
+        return new Split(components, remainderOpen);
+    }
+
+    private static int countOpen(int[] parent, List<ArrayDeque<MENode>> frontiers) {
+        int open = 0;
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] == i && !frontiers.get(i).isEmpty()) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    private static int find(int[] parent, int search) {
+        while (parent[search] != search) {
+            parent[search] = parent[parent[search]];
+            search = parent[search];
+        }
+        return search;
+    }
+
+    /**
+     * Vereinigt zwei Suchen - die kleinere wird in die größere verschoben
+     */
+    private static void union(int[] parent, List<List<MENode>> members,
+                              List<ArrayDeque<MENode>> frontiers, int a, int b) {
+        if (members.get(a).size() < members.get(b).size()) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        members.get(a).addAll(members.get(b));
+        frontiers.get(a).addAll(frontiers.get(b));
+        members.set(b, Collections.emptyList());
+        frontiers.get(b).clear();
+    }
+}
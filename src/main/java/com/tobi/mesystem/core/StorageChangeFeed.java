@@ -0,0 +1,264 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.tobi.mesystem.util.IntLongHashMap;
+
+/**
+ * Change-Feed eines ItemLedger - zusammengefasste Deltas pro Tick
+ *
+ * Statt {@code getAllItems()} zu pollen und selbst zu diffen, abonnieren Terminals
+ * und Busse den Feed und erhalten pro Tick einen Batch mit (itemId, alt, neu).
+ *
+ * - Zusammenfassung: mehrere Änderungen eines Items im selben Tick ergeben ein Delta,
+ *   Änderungen die sich aufheben (alt == neu) entfallen
+ * - Aufzeichnung nur solange es Abonnenten gibt (sonst kein Listener am Ledger)
+ * - Begrenzte Puffer: jeder Abonnent hält höchstens {@code capacity} Batches; läuft der
+ *   Puffer voll, wird er verworfen und {@link Subscription#consumeResync()} signalisiert,
+ *   dass der Abonnent den Stand neu über einen Snapshot laden muss
+ * - Zusammenfassende Abonnenten ({@link #subscribeLatest()}, z.B. das Journal) puffern
+ *   keine Batches, sondern nur die letzte Menge pro Item-Index - begrenzt durch die Zahl
+ *   der Item-Typen statt durch die Zahl der Ticks, läuft also nie über
+ *
+ * Semantik: {@code newAmount} ist maßgeblich (als "setze auf" anwenden).
+ *
+ * Thread-Safety: Aufgezeichnet wird pro Stripe im Ledger unter dem ohnehin gehaltenen
+ * Stripe-Lock - Inserts/Extracts teilen sich keinen Feed-Lock. {@link #flush()} sammelt
+ * die Stripes ein und ist synchronisiert, damit Batches in Tick-Reihenfolge ankommen.
+ */
+public final class StorageChangeFeed {
+
+    /** Standard-Puffergröße in Ticks */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Änderung eines Items innerhalb eines Ticks
+     */
+    public record StorageDelta(String itemId, long oldAmount, long newAmount) {
+        public long delta() {
+            return newAmount - oldAmount;
+        }
+    }
+
+    /**
+     * Alle Deltas eines Ticks
+     *
+     * @param version Ledger-Version beim Erstellen des Batches
+     * @param deltas Zusammengefasste Änderungen
+     */
+    public record ChangeBatch(long version, List<StorageDelta> deltas) {
+    }
+
+    private final ItemLedger ledger;
+    private final ItemIdRegistry registry = ItemIdRegistry.getInstance();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public StorageChangeFeed(ItemLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Abonniert den Feed
+     *
+     * @param capacity Maximale Anzahl gepufferter Batches (Ticks)
+     */
+    public Subscription subscribe(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity muss positiv sein: " + capacity);
+        }
+        Subscription subscription = new Subscription(capacity);
+        subscription.feed = this;
+        subscriptions.add(subscription);
+        ledger.setChangeRecording(true);
+        return subscription;
+    }
+
+    public Subscription subscribe() {
+        return subscribe(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Abonniert nur die jeweils letzte Menge jedes geänderten Items
+     * (Abholen über {@link Subscription#drainLatest()}; Batches werden nicht gepuffert)
+     */
+    public Subscription subscribeLatest() {
+        Subscription subscription = new Subscription(0);
+        subscription.feed = this;
+        subscriptions.add(subscription);
+        ledger.setChangeRecording(true);
+        return subscription;
+    }
+
+    /**
+     * Schließt den aktuellen Tick ab und verteilt dessen Deltas an alle Abonnenten
+     * @return Anzahl Deltas dieses Ticks
+     */
+    public synchronized int flush() {
+        if (subscriptions.isEmpty()) {
+            return 0;
+        }
+        List<StorageDelta> deltas = new ArrayList<>();
+        IntLongHashMap amounts = new IntLongHashMap();
+        ledger.drainChanges((itemIndex, oldAmount, newAmount) -> {
+            if (newAmount != oldAmount) {
+                deltas.add(new StorageDelta(registry.nameOf(itemIndex), oldAmount, newAmount));
+                amounts.put(itemIndex, newAmount);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        ChangeBatch batch = new ChangeBatch(ledger.version(), Collections.unmodifiableList(deltas));
+        for (Subscription subscription : subscriptions) {
+            if (subscription.latest != null) {
+                subscription.publishLatest(amounts);
+            } else {
+                subscription.publish(batch);
+            }
+        }
+        return deltas.size();
+    }
+
+    /**
+     * Übernimmt die Abonnenten eines aufgelösten Feeds (Netzwerk-Merge).
+     * Deren Basis war das andere Netzwerk - sie müssen einmal neu laden.
+     */
+    public void adoptSubscribers(StorageChangeFeed other) {
+        if (other == null || other == this || other.subscriptions.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : other.subscriptions) {
+            subscription.feed = this;
+            subscription.requestResync();
+            subscriptions.add(subscription);
+        }
+        other.subscriptions.clear();
+        other.ledger.setChangeRecording(false);
+        ledger.setChangeRecording(true);
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // ==================== INTERN ====================
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        if (subscriptions.isEmpty()) {
+            ledger.setChangeRecording(false);
+        }
+    }
+
+    /**
+     * Abonnement mit begrenztem Puffer (bzw. letzter Menge pro Item beim zusammenfassenden Abo)
+     */
+    public static final class Subscription implements AutoCloseable {
+
+        private final int capacity;
+        private final ArrayDeque<ChangeBatch> buffer = new ArrayDeque<>();
+        // Nur zusammenfassendes Abo: Item-Index -> letzte Menge seit dem Abholen
+        private IntLongHashMap latest;
+        private volatile StorageChangeFeed feed;
+        private boolean resyncRequired = false;
+        private long dropped = 0;
+
+        /**
+         * @param capacity Maximale Anzahl Batches, 0 = zusammenfassend (letzte Menge pro Item)
+         */
+        private Subscription(int capacity) {
+            this.capacity = capacity;
+            this.latest = capacity == 0 ? new IntLongHashMap() : null;
+        }
+
+        /**
+         * Nächster Batch oder null
+         */
+        public synchronized ChangeBatch poll() {
+            return buffer.poll();
+        }
+
+        /**
+         * Alle gepufferten Batches (älteste zuerst)
+         */
+        public synchronized List<ChangeBatch> drain() {
+            List<ChangeBatch> batches = new ArrayList<>(buffer);
+            buffer.clear();
+            return batches;
+        }
+
+        /**
+         * Letzte Menge jedes seit dem letzten Abholen geänderten Items (Item-Index -> Menge,
+         * 0 = entfernt); nur für zusammenfassende Abos, sonst leer
+         */
+        public synchronized IntLongHashMap drainLatest() {
+            if (latest == null || latest.isEmpty()) {
+                return new IntLongHashMap(0);
+            }
+            IntLongHashMap drained = latest;
+            latest = new IntLongHashMap(drained.size());
+            return drained;
+        }
+
+        /**
+         * true (einmalig) wenn Batches verloren gingen - Stand neu über Snapshot laden
+         */
+        public synchronized boolean consumeResync() {
+            boolean resync = resyncRequired;
+            resyncRequired = false;
+            return resync;
+        }
+
+        /**
+         * Gepufferte Batches bzw. beim zusammenfassenden Abo gepufferte Items
+         */
+        public synchronized int getBufferedCount() {
+            return latest != null ? latest.size() : buffer.size();
+        }
+
+        /**
+         * Anzahl wegen Überlauf verworfener Batches
+         */
+        public synchronized long getDroppedCount() {
+            return dropped;
+        }
+
+        @Override
+        public void close() {
+            StorageChangeFeed current = feed;
+            if (current != null) {
+                current.unsubscribe(this);
+                feed = null;
+            }
+        }
+
+        private synchronized void publish(ChangeBatch batch) {
+            if (buffer.size() >= capacity) {
+                // Überlauf: Puffer verwerfen statt unbegrenzt zu wachsen
+                dropped += buffer.size() + 1;
+                buffer.clear();
+                resyncRequired = true;
+                return;
+            }
+            buffer.add(batch);
+        }
+
+        private synchronized void publishLatest(IntLongHashMap amounts) {
+            IntLongHashMap target = latest;
+            amounts.forEach(target::put);
+        }
+
+        private synchronized void requestResync() {
+            buffer.clear();
+            if (latest != null) {
+                latest.clear();
+            }
+            resyncRequired = true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tobi.mesystem.core;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Unveränderlicher, versionierter Stand eines ItemLedger
+ *
+ * Wird vom Ledger nur neu gebaut, wenn sich seit dem letzten Snapshot etwas
+ * geändert hat; alle Leser teilen sich dieselbe Instanz. Die Item-Map ist
+ * schreibgeschützt und darf ohne Kopie weitergegeben werden.
+ */
+public final class StorageSnapshot {
+
+    static final StorageSnapshot EMPTY = new StorageSnapshot(0L, Collections.emptyMap(), 0L, 0);
+
+    private final long version;
+    private final Map<String, Long> items;
+    private final long totalCount;
+    private final int typeCount;
+
+    StorageSnapshot(long version, Map<String, Long> items, long totalCount, int typeCount) {
+        this.version = version;
+        this.items = Collections.unmodifiableMap(items);
+        this.totalCount = totalCount;
+        this.typeCount = typeCount;
+    }
+
+    /**
+     * Ledger-Version, zu der dieser Stand gehört
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Schreibgeschützte Map ItemID -> Anzahl
+     */
+    public Map<String, Long> items() {
+        return items;
+    }
+
+    public long get(String itemId) {
+        Long amount = items.get(itemId);
+        return amount != null ? amount : 0L;
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public int typeCount() {
+        return typeCount;
+    }
+
+    /**
+     * true wenn dieser Stand neuer ist als die angegebene Version
+     */
+    public boolean isNewerThan(long otherVersion) {
+        return version > otherVersion;
+    }
+}
@@ -0,0 +1,152 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Terminal-Abfrage - Filter, Sortierung und Limit einer Terminal-Ansicht
+ *
+ * Unveränderlich; die Aggregation ({@link #aggregate}) arbeitet ausschließlich auf
+ * Snapshots und ist damit sicher auf Worker-Threads ausführbar.
+ */
+public final class TerminalQuery {
+
+    /**
+     * Sortierung der Terminal-Einträge
+     */
+    public enum Sort {
+        /** Größte Gesamtmenge zuerst, bei Gleichstand nach Name */
+        AMOUNT,
+        /** Alphabetisch nach Item-ID */
+        NAME
+    }
+
+    /**
+     * Ein Item der Ansicht: Menge im Netzwerk und in Containern in Reichweite
+     */
+    public record Entry(String itemId, long networkAmount, long containerAmount) {
+        public long total() {
+            return networkAmount + containerAmount;
+        }
+    }
+
+    /**
+     * Ergebnis einer Abfrage
+     *
+     * @param entries Gefilterte, sortierte und gekürzte Einträge
+     * @param matchingTypes Anzahl Item-Typen nach Filter (vor Limit)
+     * @param networkItems Items im Netzwerk (nach Filter)
+     * @param containerItems Items in Containern (nach Filter)
+     */
+    public record Result(List<Entry> entries, int matchingTypes, long networkItems, long containerItems) {
+        public long totalItems() {
+            return networkItems + containerItems;
+        }
+    }
+
+    private static final TerminalQuery ALL = new TerminalQuery(null, Sort.AMOUNT, Integer.MAX_VALUE, true);
+
+    private final String filter;
+    private final Sort sort;
+    private final int limit;
+    private final boolean includeContainers;
+
+    private TerminalQuery(String filter, Sort sort, int limit, boolean includeContainers) {
+        this.filter = filter == null || filter.isBlank() ? null : filter.toLowerCase(Locale.ROOT);
+        this.sort = sort != null ? sort : Sort.AMOUNT;
+        this.limit = Math.max(0, limit);
+        this.includeContainers = includeContainers;
+    }
+
+    /**
+     * Alle Items, nach Menge sortiert, inklusive Container in Reichweite
+     */
+    public static TerminalQuery all() {
+        return ALL;
+    }
+
+    public TerminalQuery withFilter(String filter) {
+        return new TerminalQuery(filter, sort, limit, includeContainers);
+    }
+
+    public TerminalQuery withSort(Sort sort) {
+        return new TerminalQuery(filter, sort, limit, includeContainers);
+    }
+
+    public TerminalQuery withLimit(int limit) {
+        return new TerminalQuery(filter, sort, limit, includeContainers);
+    }
+
+    public TerminalQuery withContainers(boolean includeContainers) {
+        return new TerminalQuery(filter, sort, limit, includeContainers);
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isIncludeContainers() {
+        return includeContainers;
+    }
+
+    /**
+     * Führt Netzwerk- und Container-Snapshot zusammen, filtert, sortiert und kürzt
+     *
+     * @param networkItems Snapshot des Netzwerk-Storage
+     * @param containerItems Snapshot der Container in Reichweite (darf leer sein)
+     */
+    public Result aggregate(Map<String, Long> networkItems, Map<String, Long> containerItems) {
+        Map<String, long[]> merged = new HashMap<>();
+        long networkTotal = 0;
+        long containerTotal = 0;
+
+        for (Map.Entry<String, Long> item : networkItems.entrySet()) {
+            if (matches(item.getKey())) {
+                merged.computeIfAbsent(item.getKey(), k -> new long[2])[0] += item.getValue();
+                networkTotal += item.getValue();
+            }
+        }
+        if (includeContainers) {
+            for (Map.Entry<String, Long> item : containerItems.entrySet()) {
+                if (matches(item.getKey())) {
+                    merged.computeIfAbsent(item.getKey(), k -> new long[2])[1] += item.getValue();
+                    containerTotal += item.getValue();
+                }
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(merged.size());
+        for (Map.Entry<String, long[]> item : merged.entrySet()) {
+            entries.add(new Entry(item.getKey(), item.getValue()[0], item.getValue()[1]));
+        }
+        entries.sort(comparator());
+
+        List<Entry> limited = entries.size() > limit ? entries.subList(0, limit) : entries;
+        return new Result(Collections.unmodifiableList(new ArrayList<>(limited)), entries.size(), networkTotal, containerTotal);
+    }
+
+    private boolean matches(String itemId) {
+        return filter == null || itemId.toLowerCase(Locale.ROOT).contains(filter);
+    }
+
+    private Comparator<Entry> comparator() {
+        Comparator<Entry> byName = Comparator.comparing(Entry::itemId);
+        if (sort == Sort.NAME) {
+            return byName;
+        }
+        return Comparator.comparingLong(Entry::total).reversed().thenComparing(byName);
+    }
+}
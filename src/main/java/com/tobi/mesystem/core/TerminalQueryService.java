@@ -0,0 +1,100 @@
+package com.tobi.mesystem.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import com.tobi.mesystem.MEPlugin;
+import com.tobi.mesystem.util.BlockPos;
+import com.tobi.mesystem.util.ContainerUtils;
+import com.tobi.mesystem.util.ReflectionAccessors;
+
+/**
+ * Asynchrone Terminal-Abfragen
+ *
+ * Pipeline pro Terminal-Öffnung:
+ * 1. World-Thread: Snapshot des Netzwerk-Storage (O(Typen), keine Aggregation)
+ * 2. World-Thread: Container in Reichweite - zeitbudgetiert über mehrere Ticks
+ * 3. Plugin-Thread-Pool: Zusammenführen, Filtern, Sortieren, Kürzen
+ * 4. World-Thread: Ergebnis an die Darstellung übergeben
+ *
+ * Der World-Thread zahlt damit nur noch Snapshots und die Container-Proben,
+ * die eigentliche Aggregation läuft auf den Worker-Threads.
+ */
+public final class TerminalQueryService {
+
+    private TerminalQueryService() {
+    }
+
+    /**
+     * Startet eine Terminal-Abfrage
+     *
+     * @param network Netzwerk des Terminals
+     * @param world World-Objekt (null: keine Container, Darstellung auf dem Worker-Thread)
+     * @param position Terminal-Position (Zentrum der Container-Suche)
+     * @param query Filter, Sortierung und Limit
+     * @param presenter Erhält das Ergebnis auf dem World-Thread
+     * @return Future mit dem Ergebnis (erfüllt nach der Darstellung)
+     */
+    public static CompletableFuture<TerminalQuery.Result> submit(MENetwork network, Object world, BlockPos position,
+                                                                 TerminalQuery query, Consumer<TerminalQuery.Result> presenter) {
+        // Snapshot sofort (auf dem aufrufenden World-Thread) - konsistenter Stand zum Öffnen
+        Map<String, Long> networkItems = network.getAllItems();
+
+        CompletableFuture<Map<String, Long>> containerItems =
+            query.isIncludeContainers() && world != null && position != null
+                ? ContainerUtils.collectNearbyItemsAsync(world, position, 0, null)
+                : CompletableFuture.completedFuture(Collections.emptyMap());
+
+        return containerItems
+            .thenApplyAsync(containers -> query.aggregate(networkItems, containers), workerExecutor())
+            .thenApplyAsync(result -> {
+                presenter.accept(result);
+                return result;
+            }, worldExecutor(world))
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    MEPlugin.getInstance().getPluginLogger().at(Level.WARNING)
+                        .withCause(error).log("Terminal-Abfrage fehlgeschlagen bei %s", position);
+                }
+            });
+    }
+
+    /**
+     * Plugin-Thread-Pool; nach Shutdown oder ohne Pool läuft die Aggregation direkt
+     */
+    private static Executor workerExecutor() {
+        ExecutorService pool = MEPlugin.getInstance().getThreadPool();
+        if (pool == null) {
+            return Runnable::run;
+        }
+        return task -> {
+            try {
+                pool.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Executor des World-Threads (World.execute); ohne Welt direkt auf dem aufrufenden Thread
+     */
+    private static Executor worldExecutor(Object world) {
+        if (world == null || !ReflectionAccessors.EXECUTE.isAvailable(world)) {
+            return Runnable::run;
+        }
+        return task -> {
+            try {
+                ReflectionAccessors.EXECUTE.invoke(world, task);
+            } catch (ReflectiveOperationException e) {
+                throw new RejectedExecutionException("World-Thread nicht erreichbar", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.tobi.mesystem.core;
+
+/**
+ * Ergebnis eines Device-Ticks - bestimmt, wann das Device wieder tickt
+ *
+ * @see TickScheduler
+ */
+public enum TickResult {
+    /**
+     * Arbeit erledigt: wieder im kürzesten Intervall des Device-Typs
+     */
+    ACTIVE,
+
+    /**
+     * Nichts zu tun: Intervall verdoppeln bis zum längsten Intervall des Device-Typs
+     */
+    IDLE,
+
+    /**
+     * Keine Arbeit möglich (inaktiv, ohne Netzwerk): schlafen bis zum nächsten
+     * {@link TickScheduler#wake(MENode)}
+     */
+    SLEEP
+}
@@ -0,0 +1,232 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Tick-Scheduler - tickt nur Devices mit Arbeit pro Tick, jedes in seinem eigenen Intervall
+ *
+ * Nur tickbare Device-Typen ({@link MEDeviceType#isTickable()}) werden aufgenommen;
+ * Kabel, Terminals, Controller usw. kosten keinen Tick. Geplante Devices liegen in einem
+ * Timer-Wheel (Ring aus {@link #WHEEL_SIZE} Buckets, Bucket = Fälligkeit modulo Ringgröße):
+ * ein Tick bearbeitet nur den Bucket des aktuellen Ticks, Kosten O(fällige Devices).
+ *
+ * Intervall pro Device nach dem {@link TickResult}:
+ * - ACTIVE: kürzestes Intervall des Typs
+ * - IDLE: verdoppelt bis zum längsten Intervall des Typs
+ * - SLEEP: aus dem Wheel genommen, bis ein Event {@link #wake(MENode)} aufruft
+ *
+ * Thread-Safety: Alle Methoden synchronisiert; {@link #tick} läuft auf dem World-Thread,
+ * {@link #wake} darf aus Event-Handlern aufgerufen werden (auch während eines Ticks).
+ */
+public final class TickScheduler {
+
+    // Zweierpotenz; längere Intervalle bleiben über mehrere Umläufe im Bucket
+    public static final int WHEEL_SIZE = 128;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    /**
+     * Geplantes Device (Eintrag einer doppelt verketteten Bucket-Liste)
+     */
+    private static final class Entry {
+        final MENode node;
+        int interval;
+        long due;
+        int bucket = -1;
+        Entry prev;
+        Entry next;
+
+        Entry(MENode node) {
+            this.node = node;
+            this.interval = node.getDeviceType().getMinTickInterval();
+        }
+    }
+
+    // MENode vergleicht Welt + Position - Identität trennt alte und neue Nodes an derselben Stelle
+    private final Map<MENode, Entry> entries = new IdentityHashMap<>();
+    private final Entry[] buckets = new Entry[WHEEL_SIZE];
+    private final List<Entry> due = new ArrayList<>();
+    private long currentTick;
+    private int scheduled;
+
+    /**
+     * Nimmt ein Device auf und plant es für den nächsten Tick
+     * @return false wenn der Typ nicht tickbar oder das Device schon bekannt ist
+     */
+    public synchronized boolean add(MENode node) {
+        if (node == null || !node.getDeviceType().isTickable() || entries.containsKey(node)) {
+            return false;
+        }
+        Entry entry = new Entry(node);
+        entries.put(node, entry);
+        schedule(entry, 1);
+        return true;
+    }
+
+    /**
+     * Entfernt ein Device (abgebaut, ausgelagert)
+     */
+    public synchronized boolean remove(MENode node) {
+        Entry entry = entries.remove(node);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Weckt ein Device: tickt im nächsten Tick im kürzesten Intervall
+     * (schlafend oder in einem längeren Intervall wartend)
+     *
+     * @return false wenn das Device nicht geplant ist
+     */
+    public synchronized boolean wake(MENode node) {
+        Entry entry = node != null ? entries.get(node) : null;
+        if (entry == null) {
+            return false;
+        }
+        entry.interval = node.getDeviceType().getMinTickInterval();
+        if (entry.bucket >= 0 && entry.due == currentTick + 1) {
+            return true;
+        }
+        unlink(entry);
+        schedule(entry, 1);
+        return true;
+    }
+
+    /**
+     * Nächster Tick: führt alle fälligen Devices aus und plant sie nach ihrem Ergebnis neu
+     *
+     * @param action Tick eines Devices
+     * @param errors Erhält Exceptions einzelner Devices (das Device gilt dann als IDLE)
+     * @return Anzahl getickter Devices
+     */
+    public synchronized int tick(Function<MENode, TickResult> action, BiConsumer<MENode, RuntimeException> errors) {
+        currentTick++;
+        int index = (int) (currentTick & MASK);
+        Entry entry = buckets[index];
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.due <= currentTick) {
+                unlink(entry);
+                due.add(entry);
+            }
+            entry = next;
+        }
+
+        int ticked = 0;
+        for (Entry ready : due) {
+            if (entries.get(ready.node) != ready) {
+                // von einem vorherigen Device dieses Ticks entfernt
+                continue;
+            }
+            TickResult result;
+            try {
+                result = action.apply(ready.node);
+            } catch (RuntimeException e) {
+                errors.accept(ready.node, e);
+                result = TickResult.IDLE;
+            }
+            ticked++;
+            // Während des Ticks entfernt oder geweckt: nicht erneut planen
+            if (entries.get(ready.node) != ready || ready.bucket >= 0) {
+                continue;
+            }
+            reschedule(ready, result);
+        }
+        due.clear();
+        return ticked;
+    }
+
+    /**
+     * Anzahl bekannter Devices (geplant und schlafend)
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Anzahl geplanter (nicht schlafender) Devices
+     */
+    public synchronized int getScheduledCount() {
+        return scheduled;
+    }
+
+    public synchronized int getSleepingCount() {
+        return entries.size() - scheduled;
+    }
+
+    public synchronized boolean isSleeping(MENode node) {
+        Entry entry = entries.get(node);
+        return entry != null && entry.bucket < 0;
+    }
+
+    /**
+     * Aktuelles Intervall eines Devices in Ticks (-1 wenn unbekannt)
+     */
+    public synchronized int getInterval(MENode node) {
+        Entry entry = entries.get(node);
+        return entry != null ? entry.interval : -1;
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        Arrays.fill(buckets, null);
+        scheduled = 0;
+    }
+
+    // ==================== INTERN ====================
+
+    private void reschedule(Entry entry, TickResult result) {
+        MEDeviceType type = entry.node.getDeviceType();
+        switch (result) {
+            case ACTIVE -> entry.interval = type.getMinTickInterval();
+            case IDLE -> entry.interval = Math.min(type.getMaxTickInterval(), entry.interval * 2);
+            case SLEEP -> {
+                return;
+            }
+        }
+        schedule(entry, entry.interval);
+    }
+
+    private void schedule(Entry entry, int delay) {
+        entry.due = currentTick + Math.max(1, delay);
+        int index = (int) (entry.due & MASK);
+        entry.bucket = index;
+        entry.prev = null;
+        entry.next = buckets[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        buckets[index] = entry;
+        scheduled++;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.bucket < 0) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+        scheduled--;
+    }
+}
@@ -0,0 +1,351 @@
+package com.tobi.mesystem.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item-Tabelle eines Netzwerks: feste Records (Slot -> Menge), in place aktualisiert
+ *
+ * Zwei Dateien pro Netzwerk:
+ * <pre>
+ * .items  int Magic "HAEI", short Version, short reserviert, int Slot-Anzahl, int reserviert,
+ *         danach long pro Slot (Kapazität = (Dateigröße - Header) / 8)
+ * .keys   pro Slot varint Länge + UTF-8 Item-ID (nur anhängen)
+ * </pre>
+ *
+ * Ein Item behält seinen Slot für immer (Menge 0 statt Löschen), geänderte Mengen werden
+ * nur in ihren Slot geschrieben - ein Speichern nach wenigen Änderungen berührt wenige
+ * Seiten statt der ganzen Tabelle. Ab {@link #MAP_THRESHOLD_SLOTS} Slots wird die Tabelle
+ * per {@link MappedByteBuffer} gemappt, kleinere liegen im Heap und schreiben nur den
+ * geänderten Bereich.
+ *
+ * Absturzsicherheit: neue Keys werden vor ihren Slots geschrieben und erst danach über
+ * die Slot-Anzahl im Header sichtbar. Halb geschriebene Slots korrigiert das Journal
+ * (Records mit "setze auf"-Semantik, siehe {@link NetworkJournal}).
+ *
+ * Thread-Safety: Alle Methoden synchronisiert.
+ */
+public final class ItemTable implements Closeable {
+
+    /** "HAEI" */
+    public static final int MAGIC = 0x48414549;
+    public static final int VERSION = 1;
+
+    /** Ab dieser Kapazität wird die Tabelle gemappt (32 KB) */
+    public static final int MAP_THRESHOLD_SLOTS = 4096;
+
+    static final int HEADER_SIZE = 16;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int MIN_CAPACITY = 64;
+
+    private final Path itemsFile;
+    private final Path keysFile;
+    private FileChannel channel;
+
+    // Slot i liegt bei Offset i * 8 (gemappt oder Heap-Kopie)
+    private ByteBuffer slots;
+    private int capacity;
+    private int slotCount;
+
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Integer> slotOf = new HashMap<>();
+    private long keysSize;
+
+    // Geänderter Slot-Bereich [dirtyFrom, dirtyTo) der Heap-Kopie
+    private int dirtyFrom = Integer.MAX_VALUE;
+    private int dirtyTo = 0;
+    private boolean dirty;
+    private boolean headerDirty;
+
+    private ItemTable(Path itemsFile, Path keysFile) {
+        this.itemsFile = itemsFile;
+        this.keysFile = keysFile;
+    }
+
+    /**
+     * Öffnet (oder erstellt) eine Tabelle
+     *
+     * @throws IOException bei falschem Magic oder unbekannter Version
+     */
+    public static ItemTable open(Path itemsFile, Path keysFile) throws IOException {
+        ItemTable table = new ItemTable(itemsFile, keysFile);
+        try {
+            table.load();
+        } catch (IOException | RuntimeException e) {
+            table.close();
+            throw e;
+        }
+        return table;
+    }
+
+    /**
+     * Gespeicherte Items mit Menge > 0
+     */
+    public synchronized Map<String, Long> read() {
+        Map<String, Long> items = new HashMap<>(Math.max(16, slotCount * 2));
+        for (int slot = 0; slot < slotCount; slot++) {
+            long amount = slots.getLong(slot * 8);
+            if (amount != 0) {
+                items.put(keys.get(slot), amount);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Übernimmt einen vollständigen Item-Stand: nur abweichende Slots werden geschrieben,
+     * fehlende Items auf 0 gesetzt, neue Items erhalten neue Slots.
+     * Dauerhaft erst nach {@link #force()}.
+     *
+     * @return Anzahl geschriebener Slots
+     */
+    public synchronized int update(Map<String, Long> items) throws IOException {
+        ensureOpen();
+        int changed = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Long amount = items.get(keys.get(slot));
+            if (putSlot(slot, amount != null ? amount : 0L)) {
+                changed++;
+            }
+        }
+
+        List<String> added = new ArrayList<>();
+        for (Map.Entry<String, Long> item : items.entrySet()) {
+            if (item.getValue() != 0 && !slotOf.containsKey(item.getKey())) {
+                added.add(item.getKey());
+            }
+        }
+        if (!added.isEmpty()) {
+            appendKeys(added);
+            ensureCapacity(slotCount + added.size());
+            for (String itemId : added) {
+                putSlot(slotCount, items.get(itemId));
+                slotCount++;
+                changed++;
+            }
+            headerDirty = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Schreibt geänderte Slots und danach die Slot-Anzahl dauerhaft (fsync)
+     */
+    public synchronized void force() throws IOException {
+        ensureOpen();
+        if (dirty) {
+            if (slots instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            } else {
+                ByteBuffer range = slots.duplicate().limit(dirtyTo * 8).position(dirtyFrom * 8);
+                long position = HEADER_SIZE + (long) dirtyFrom * 8;
+                while (range.hasRemaining()) {
+                    position += channel.write(range, position);
+                }
+                channel.force(false);
+            }
+            dirty = false;
+            dirtyFrom = Integer.MAX_VALUE;
+            dirtyTo = 0;
+        }
+        if (headerDirty) {
+            ByteBuffer count = ByteBuffer.allocate(4).putInt(0, slotCount);
+            channel.write(count, SLOT_COUNT_OFFSET);
+            channel.force(false);
+            headerDirty = false;
+        }
+    }
+
+    public synchronized int getSlotCount() {
+        return slotCount;
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized boolean isMapped() {
+        return slots instanceof MappedByteBuffer;
+    }
+
+    /**
+     * Belegte Bytes auf Disk (Slots + Keys)
+     */
+    public synchronized long size() {
+        return HEADER_SIZE + (long) capacity * 8 + keysSize;
+    }
+
+    /**
+     * Schließt die Tabelle ohne {@link #force()} - nicht erzwungene Slots gehen ggf. verloren
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Löscht beide Dateien einer Tabelle
+     */
+    public static void delete(Path itemsFile, Path keysFile) throws IOException {
+        Files.deleteIfExists(itemsFile);
+        Files.deleteIfExists(keysFile);
+    }
+
+    // ==================== INTERN ====================
+
+    private void load() throws IOException {
+        boolean created = !Files.exists(itemsFile) || Files.size(itemsFile) < HEADER_SIZE;
+        channel = FileChannel.open(itemsFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (created) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0).putInt(0).putInt(0).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            extendTo(MIN_CAPACITY);
+            Files.deleteIfExists(keysFile);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Header vollständig lesen
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Keine Item-Tabelle (Magic fehlt): " + itemsFile);
+        }
+        int version = header.getShort(4) & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Nicht unterstützte Tabellen-Version: " + version);
+        }
+        capacity = (int) Math.min(Integer.MAX_VALUE / 8, (channel.size() - HEADER_SIZE) / 8);
+        int committed = Math.max(0, Math.min(header.getInt(SLOT_COUNT_OFFSET), capacity));
+
+        readKeys(committed);
+        slotCount = keys.size();
+        if (slotCount != committed) {
+            // Keys fehlen (abgerissener Schreibvorgang) - Slots dahinter sind ungültig
+            headerDirty = true;
+        }
+        mapSlots();
+    }
+
+    /**
+     * Liest die ersten {@code limit} Keys und schneidet alles dahinter ab
+     * (angehängt, aber nie über die Slot-Anzahl bestätigt)
+     */
+    private void readKeys(int limit) throws IOException {
+        if (!Files.exists(keysFile)) {
+            keysSize = 0;
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(keysFile));
+        int valid = 0;
+        try {
+            while (keys.size() < limit && buffer.hasRemaining()) {
+                byte[] bytes = new byte[NetworkCodec.getVarInt(buffer)];
+                buffer.get(bytes);
+                String itemId = new String(bytes, StandardCharsets.UTF_8);
+                slotOf.put(itemId, keys.size());
+                keys.add(itemId);
+                valid = buffer.position();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            // abgerissener Key am Ende
+        }
+        keysSize = valid;
+        if (valid < buffer.limit()) {
+            try (FileChannel keysChannel = FileChannel.open(keysFile, StandardOpenOption.WRITE)) {
+                keysChannel.truncate(valid);
+            }
+        }
+    }
+
+    private void appendKeys(List<String> added) throws IOException {
+        NetworkCodec.Output out = new NetworkCodec.Output(added.size() * 24);
+        for (String itemId : added) {
+            byte[] bytes = itemId.getBytes(StandardCharsets.UTF_8);
+            out.putVarInt(bytes.length);
+            out.ensure(bytes.length);
+            out.buffer.put(bytes);
+        }
+        ByteBuffer buffer = out.buffer.flip();
+        try (FileChannel keysChannel = FileChannel.open(keysFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = keysSize;
+            while (buffer.hasRemaining()) {
+                position += keysChannel.write(buffer, position);
+            }
+            // Keys vor den Slots dauerhaft - die Slot-Anzahl verweist nie auf fehlende Keys
+            keysChannel.force(false);
+            keysSize = position;
+        }
+        for (String itemId : added) {
+            slotOf.put(itemId, keys.size());
+            keys.add(itemId);
+        }
+    }
+
+    /**
+     * @return true wenn sich der Slot geändert hat
+     */
+    private boolean putSlot(int slot, long amount) {
+        if (slots.getLong(slot * 8) == amount) {
+            return false;
+        }
+        slots.putLong(slot * 8, amount);
+        dirty = true;
+        dirtyFrom = Math.min(dirtyFrom, slot);
+        dirtyTo = Math.max(dirtyTo, slot + 1);
+        return true;
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (required <= capacity) {
+            return;
+        }
+        // Bisherige Änderungen sichern, bevor der Buffer ersetzt wird
+        force();
+        extendTo(Math.max(required, capacity * 2));
+        mapSlots();
+    }
+
+    private void extendTo(int newCapacity) throws IOException {
+        long end = HEADER_SIZE + (long) newCapacity * 8;
+        if (channel.size() < end) {
+            channel.write(ByteBuffer.allocate(1), end - 1);
+        }
+        capacity = newCapacity;
+    }
+
+    private void mapSlots() throws IOException {
+        long length = (long) capacity * 8;
+        if (capacity >= MAP_THRESHOLD_SLOTS) {
+            slots = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, length);
+            return;
+        }
+        ByteBuffer heap = ByteBuffer.allocate((int) length);
+        while (heap.hasRemaining() && channel.read(heap, HEADER_SIZE + heap.position()) >= 0) {
+            // Slots vollständig lesen
+        }
+        slots = heap.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            throw new IOException("Item-Tabelle geschlossen: " + itemsFile);
+        }
+    }
+}
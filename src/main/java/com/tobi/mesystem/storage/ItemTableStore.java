@@ -0,0 +1,218 @@
+package com.tobi.mesystem.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Item-Tabellen aller Netzwerke einer Welt - eine {@link ItemTable} pro Netzwerk
+ *
+ * Verzeichnis {@code <world>/} mit {@code <networkId>.items} und {@code <networkId>.keys}.
+ * Welche Tabellen gültig sind, bestimmt das Manifest ({@code <world>.dat}, siehe
+ * {@link NetworkCodec}); übrige Dateien werden nach dem Schreiben des Manifests über
+ * {@link #retain(Set)} entfernt.
+ *
+ * Gemappte (große) Tabellen bleiben geöffnet, kleine werden nach {@link #force()}
+ * geschlossen und bei Bedarf neu gelesen - keine offenen Dateien für tausende kleine Netzwerke.
+ *
+ * Thread-Safety: Alle Methoden synchronisiert.
+ */
+public final class ItemTableStore implements Closeable {
+
+    static final String ITEMS_SUFFIX = ".items";
+    static final String KEYS_SUFFIX = ".keys";
+
+    private final Path directory;
+    private final Map<UUID, ItemTable> open = new HashMap<>();
+
+    /**
+     * Ergebnis eines Schreibvorgangs
+     *
+     * @param tables Geschriebene Tabellen
+     * @param changedSlots Geänderte Slots über alle Tabellen
+     */
+    public record WriteResult(int tables, int changedSlots) {
+    }
+
+    public ItemTableStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * true wenn für das Netzwerk eine Tabelle existiert
+     */
+    public synchronized boolean exists(UUID networkId) {
+        return open.containsKey(networkId) || Files.exists(itemsFile(networkId));
+    }
+
+    /**
+     * Gespeicherte Items eines Netzwerks (leer wenn keine Tabelle existiert)
+     */
+    public synchronized Map<String, Long> read(UUID networkId) throws IOException {
+        if (!exists(networkId)) {
+            return new HashMap<>();
+        }
+        ItemTable table = table(networkId);
+        Map<String, Long> items = table.read();
+        if (!table.isMapped()) {
+            open.remove(networkId);
+            table.close();
+        }
+        return items;
+    }
+
+    /**
+     * Übernimmt die Item-Stände mehrerer Netzwerke (nur geänderte Slots, dauerhaft erst nach {@link #force()})
+     */
+    public synchronized WriteResult write(Map<UUID, Map<String, Long>> itemsByNetwork) throws IOException {
+        int changed = 0;
+        for (Map.Entry<UUID, Map<String, Long>> entry : itemsByNetwork.entrySet()) {
+            changed += table(entry.getKey()).update(entry.getValue());
+        }
+        return new WriteResult(itemsByNetwork.size(), changed);
+    }
+
+    /**
+     * Schreibt alle geöffneten Tabellen dauerhaft und schließt die kleinen
+     */
+    public synchronized void force() throws IOException {
+        Iterator<ItemTable> iterator = open.values().iterator();
+        while (iterator.hasNext()) {
+            ItemTable table = iterator.next();
+            table.force();
+            if (!table.isMapped()) {
+                iterator.remove();
+                table.close();
+            }
+        }
+    }
+
+    /**
+     * Entfernt alle Tabellen außer denen der angegebenen Netzwerke
+     * (aufgegangene, abgebaute oder nie bestätigte Netzwerke)
+     *
+     * @return Anzahl gelöschter Tabellen
+     */
+    public synchronized int retain(Set<UUID> networkIds) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Set<UUID> obsolete = new HashSet<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                UUID networkId = networkIdOf(file);
+                if (networkId != null && !networkIds.contains(networkId)) {
+                    obsolete.add(networkId);
+                }
+            }
+        }
+        for (UUID networkId : obsolete) {
+            ItemTable table = open.remove(networkId);
+            if (table != null) {
+                table.close();
+            }
+            ItemTable.delete(itemsFile(networkId), keysFile(networkId));
+        }
+        return obsolete.size();
+    }
+
+    /**
+     * Belegte Bytes aller Tabellen auf Disk
+     */
+    public synchronized long size() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long size = 0;
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                size += Files.size(file);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Schließt alle Tabellen ohne {@link #force()}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (ItemTable table : open.values()) {
+            try {
+                table.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        open.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Löscht alle Tabellen und das Verzeichnis
+     */
+    public synchronized void deleteAll() throws IOException {
+        close();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (var listing = Files.list(directory)) {
+            listing.forEach(files::add);
+        }
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    // ==================== INTERN ====================
+
+    private ItemTable table(UUID networkId) throws IOException {
+        ItemTable table = open.get(networkId);
+        if (table == null) {
+            Files.createDirectories(directory);
+            table = ItemTable.open(itemsFile(networkId), keysFile(networkId));
+            open.put(networkId, table);
+        }
+        return table;
+    }
+
+    private Path itemsFile(UUID networkId) {
+        return directory.resolve(networkId + ITEMS_SUFFIX);
+    }
+
+    private Path keysFile(UUID networkId) {
+        return directory.resolve(networkId + KEYS_SUFFIX);
+    }
+
+    private static UUID networkIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int suffix = name.endsWith(ITEMS_SUFFIX) ? ITEMS_SUFFIX.length()
+            : name.endsWith(KEYS_SUFFIX) ? KEYS_SUFFIX.length() : -1;
+        if (suffix < 0) {
+            return null;
+        }
+        try {
+            return UUID.fromString(name.substring(0, name.length() - suffix));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.tobi.mesystem.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Binäres Dateiformat für Netzwerk-Daten (v4) inkl. Migration von v2/v3 und Textformat v1.0
+ *
+ * Aufbau:
+ * <pre>
+ * int    Magic "HAE2"
+ * short  Format-Version
+ * short  Flags (reserviert)
+ * long×2 WorldID
+ * long   Timestamp
+ * Sections: byte Tag, int Länge, Payload  (unbekannte Tags werden übersprungen)
+ *   STRINGS:  varint Anzahl, je varint Länge + UTF-8
+ *   NETWORKS: varint Anzahl, je UUID, varint MaxChannels, byte Flags (Controller, Tabelle),
+ *             ohne Tabelle: varint Item-Anzahl, je varint Item-String + varlong Menge
+ *   NODES:    varint Anzahl, je varlong Positions-Delta (aufsteigend sortiert), varint Typ-String,
+ *             varint Netzwerk (Index in NETWORKS + 1, 0 = keins), zigzag Priority, byte Flags
+ * byte   END
+ * int    CRC32 über alle vorherigen Bytes
+ * </pre>
+ *
+ * Item-IDs und Device-Typen stehen genau einmal in der String-Tabelle, Positionen
+ * als Deltas der sortierten gepackten Positionen (benachbarte Kabel: 1-2 Bytes).
+ * Verbindungen werden nicht gespeichert - sie ergeben sich beim Laden aus der Nachbarschaft.
+ *
+ * Seit v4 ist die Datei das Manifest einer Welt: Netzwerke mit eigener Item-Tabelle
+ * ({@link ItemTable}, Flag {@code TABLE}) führen ihre Items nicht mehr inline.
+ *
+ * v2 (ohne Netzwerk-Zuordnung, Priority und Flags der Nodes) und v3 (Items immer inline)
+ * werden weiterhin gelesen.
+ *
+ * Thread-Safety: Zustandslos, alle Methoden thread-safe.
+ */
+public final class NetworkCodec {
+
+    /** "HAE2" */
+    public static final int MAGIC = 0x48414532;
+
+    /** Aktuelle Format-Version (1 = Textformat v1.0) */
+    public static final int FORMAT_VERSION = 4;
+
+    /** Älteste lesbare Binär-Version */
+    public static final int MIN_BINARY_VERSION = 2;
+
+    static final byte TAG_END = 0;
+    static final byte TAG_STRINGS = 1;
+    static final byte TAG_NODES = 2;
+    static final byte TAG_NETWORKS = 3;
+
+    private static final int FLAG_CONTROLLER = 1;
+    private static final int FLAG_TABLE = 2;
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 16 + 8;
+    private static final int CRC_SIZE = 4;
+
+    private NetworkCodec() {
+    }
+
+    // ==================== SCHREIBEN ====================
+
+    /**
+     * Kodiert eine Welt
+     *
+     * @return Buffer im Lesemodus (position 0, limit = Dateigröße)
+     */
+    public static ByteBuffer encode(WorldData data) {
+        StringTable strings = new StringTable();
+
+        long[] positions = new long[data.getNodeCount()];
+        int[] nodeTypes = new int[positions.length];
+        int[] count = {0};
+        data.getNodes().forEach((position, node) -> positions[count[0]++] = position);
+        Arrays.sort(positions);
+        for (int i = 0; i < positions.length; i++) {
+            nodeTypes[i] = strings.indexOf(data.getNode(positions[i]).type().name());
+        }
+
+        Output out = new Output(HEADER_SIZE + positions.length * 5 + 256);
+        out.buffer.putInt(MAGIC);
+        out.buffer.putShort((short) FORMAT_VERSION);
+        out.buffer.putShort((short) 0);
+        putUuid(out.buffer, data.getWorldId());
+        out.buffer.putLong(data.getTimestamp());
+
+        // Netzwerke zuerst in einen eigenen Buffer - füllt die String-Tabelle
+        Map<UUID, Integer> networkRefs = new HashMap<>();
+        Output networks = new Output(64 + data.getNetworks().size() * 32);
+        networks.putVarInt(data.getNetworks().size());
+        for (WorldData.NetworkRecord network : data.getNetworks().values()) {
+            networkRefs.put(network.getNetworkId(), networkRefs.size() + 1);
+            networks.ensure(16 + 5 + 1 + 5);
+            putUuid(networks.buffer, network.getNetworkId());
+            networks.putVarInt(network.getMaxChannels());
+            networks.buffer.put((byte) ((network.hasController() ? FLAG_CONTROLLER : 0)
+                | (network.isTableStored() ? FLAG_TABLE : 0)));
+            if (network.isTableStored()) {
+                continue;
+            }
+            networks.putVarInt(network.getItems().size());
+            for (Map.Entry<String, Long> item : network.getItems().entrySet()) {
+                networks.putVarInt(strings.indexOf(item.getKey()));
+                networks.putVarLong(item.getValue());
+            }
+        }
+
+        int section = out.beginSection(TAG_STRINGS);
+        out.putVarInt(strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.putVarInt(bytes.length);
+            out.ensure(bytes.length);
+            out.buffer.put(bytes);
+        }
+        out.endSection(section);
+
+        section = out.beginSection(TAG_NETWORKS);
+        networks.buffer.flip();
+        out.ensure(networks.buffer.remaining());
+        out.buffer.put(networks.buffer);
+        out.endSection(section);
+
+        section = out.beginSection(TAG_NODES);
+        out.putVarInt(positions.length);
+        long previous = 0;
+        for (int i = 0; i < positions.length; i++) {
+            WorldData.NodeRecord node = data.getNode(positions[i]);
+            Integer networkRef = node.networkId() != null ? networkRefs.get(node.networkId()) : null;
+            out.putVarLong(positions[i] - previous);
+            out.putVarInt(nodeTypes[i]);
+            out.putVarInt(networkRef != null ? networkRef : 0);
+            out.putVarInt((node.priority() << 1) ^ (node.priority() >> 31));
+            out.ensure(1);
+            out.buffer.put((byte) node.flags());
+            previous = positions[i];
+        }
+        out.endSection(section);
+
+        out.ensure(1 + CRC_SIZE);
+        out.buffer.put(TAG_END);
+        CRC32 crc = new CRC32();
+        crc.update(out.buffer.array(), 0, out.buffer.position());
+        out.buffer.putInt((int) crc.getValue());
+
+        out.buffer.flip();
+        return out.buffer;
+    }
+
+    // ==================== LESEN ====================
+
+    /**
+     * Prüft ob der Buffer mit dem Binär-Magic beginnt (sonst: Textformat v1.0)
+     */
+    public static boolean isBinary(ByteBuffer buffer) {
+        return buffer.remaining() >= 4 && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    /**
+     * Dekodiert eine Welt
+     *
+     * @throws IOException bei falschem Magic, unbekannter Version, Prüfsummenfehler
+     *         oder abgeschnittenen Daten
+     */
+    public static WorldData decode(ByteBuffer source) throws IOException {
+        ByteBuffer buffer = source.slice();
+        if (buffer.remaining() < HEADER_SIZE + 1 + CRC_SIZE) {
+            throw new IOException("Datei zu kurz: " + buffer.remaining() + " Bytes");
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Kein ME-Netzwerk-Format (Magic fehlt)");
+        }
+
+        int crcOffset = buffer.limit() - CRC_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(crcOffset));
+        if ((int) crc.getValue() != buffer.getInt(crcOffset)) {
+            throw new IOException("Prüfsumme ungültig - Datei beschädigt");
+        }
+        buffer.limit(crcOffset);
+
+        try {
+            buffer.position(4);
+            int version = buffer.getShort() & 0xFFFF;
+            if (version < MIN_BINARY_VERSION || version > FORMAT_VERSION) {
+                throw new IOException("Nicht unterstützte Format-Version: " + version);
+            }
+            buffer.getShort(); // Flags
+            UUID worldId = getUuid(buffer);
+            long timestamp = buffer.getLong();
+
+            String[] strings = null;
+            WorldData data = null;
+            List<UUID> networkOrder = new ArrayList<>();
+
+            byte tag;
+            while ((tag = buffer.get()) != TAG_END) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IOException("Ungültige Section-Länge: " + length);
+                }
+                int end = buffer.position() + length;
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+
+                switch (tag) {
+                    case TAG_STRINGS -> strings = readStrings(payload);
+                    case TAG_NODES -> {
+                        if (data == null) {
+                            data = new WorldData(worldId, timestamp, getVarInt(payload.duplicate()));
+                        }
+                        readNodes(payload, require(strings), version >= 3 ? networkOrder : null, data);
+                    }
+                    case TAG_NETWORKS -> {
+                        if (data == null) {
+                            data = new WorldData(worldId, timestamp);
+                        }
+                        readNetworks(payload, require(strings), data, networkOrder);
+                    }
+                    default -> {
+                        // unbekannte Section (neuere Version) - überspringen
+                    }
+                }
+                buffer.position(end);
+            }
+            if (data == null) {
+                data = new WorldData(worldId, timestamp);
+            }
+            data.setRewriteRequired(version < FORMAT_VERSION);
+            return data;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Daten abgeschnitten oder beschädigt", e);
+        }
+    }
+
+    /**
+     * Liest das alte Textformat (v1.0) - Migration beim ersten Laden
+     *
+     * Unbekannte Device-Typen und fehlerhafte Zeilen werden übersprungen.
+     */
+    public static WorldData readLegacyText(UUID worldId, BufferedReader reader) throws IOException {
+        WorldData data = new WorldData(worldId, 0L);
+        data.setRewriteRequired(true);
+        WorldData.NetworkRecord current = null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            int separator = line.indexOf('=');
+            if (separator < 0) continue;
+            String key = line.substring(0, separator);
+            String value = line.substring(separator + 1);
+
+            try {
+                switch (key) {
+                    case "Timestamp" -> data.setTimestamp(Long.parseLong(value));
+                    case "Node" -> {
+                        NodeLine node = parseLegacyNode(value);
+                        if (node != null) {
+                            data.putNode(new WorldData.NodeRecord(node.position, node.type));
+                        }
+                    }
+                    case "Network" -> {
+                        current = new WorldData.NetworkRecord(UUID.fromString(value), 8, false, null);
+                        data.putNetwork(current);
+                    }
+                    case "MaxChannels" -> {
+                        if (current != null) current.setMaxChannels(Integer.parseInt(value));
+                    }
+                    case "HasController" -> {
+                        if (current != null) current.setHasController(Boolean.parseBoolean(value));
+                    }
+                    case "Item" -> {
+                        int bar = value.lastIndexOf('|');
+                        if (current != null && bar > 0) {
+                            current.getItems().put(value.substring(0, bar), Long.parseLong(value.substring(bar + 1)));
+                        }
+                    }
+                    default -> {
+                        // WorldID, NodeCount, NetworkCount, ItemCount - abgeleitet
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // fehlerhafte Zeile überspringen (NumberFormatException ist eine IllegalArgumentException)
+            }
+        }
+        return data;
+    }
+
+    // ==================== INTERN ====================
+
+    private record NodeLine(long position, MEDeviceType type) {
+    }
+
+    private static NodeLine parseLegacyNode(String value) {
+        int bar = value.indexOf('|');
+        if (bar < 0) return null;
+        String[] coords = value.substring(0, bar).split(",");
+        if (coords.length != 3) return null;
+        MEDeviceType type = typeOf(value.substring(bar + 1));
+        if (type == null) return null;
+        return new NodeLine(BlockPos.asLong(Integer.parseInt(coords[0].trim()),
+            Integer.parseInt(coords[1].trim()), Integer.parseInt(coords[2].trim())), type);
+    }
+
+    private static MEDeviceType typeOf(String name) {
+        try {
+            return MEDeviceType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String[] require(String[] strings) throws IOException {
+        if (strings == null) {
+            throw new IOException("String-Tabelle fehlt vor ihrer Verwendung");
+        }
+        return strings;
+    }
+
+    private static String[] readStrings(ByteBuffer payload) {
+        String[] strings = new String[getVarInt(payload)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[getVarInt(payload)];
+            payload.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * @param networkOrder Netzwerke in Dateireihenfolge (v3), null für v2
+     */
+    private static void readNodes(ByteBuffer payload, String[] strings, List<UUID> networkOrder, WorldData data) {
+        // Typ-Strings nur einmal pro Tabelleneintrag auflösen
+        MEDeviceType[] types = new MEDeviceType[strings.length];
+        boolean[] resolved = new boolean[strings.length];
+
+        int count = getVarInt(payload);
+        long position = 0;
+        for (int i = 0; i < count; i++) {
+            position += getVarLong(payload);
+            int typeIndex = getVarInt(payload);
+            if (!resolved[typeIndex]) {
+                types[typeIndex] = typeOf(strings[typeIndex]);
+                resolved[typeIndex] = true;
+            }
+            WorldData.NodeRecord node;
+            if (networkOrder != null) {
+                int networkRef = getVarInt(payload);
+                int zigzag = getVarInt(payload);
+                int flags = payload.get() & 0xFF;
+                UUID networkId = networkRef > 0 ? networkOrder.get(networkRef - 1) : null;
+                node = new WorldData.NodeRecord(position, types[typeIndex], networkId, (zigzag >>> 1) ^ -(zigzag & 1), flags);
+            } else {
+                node = new WorldData.NodeRecord(position, types[typeIndex]);
+            }
+            if (types[typeIndex] != null) {
+                data.putNode(node);
+            }
+        }
+    }
+
+    private static void readNetworks(ByteBuffer payload, String[] strings, WorldData data, List<UUID> networkOrder) {
+        int count = getVarInt(payload);
+        for (int i = 0; i < count; i++) {
+            UUID networkId = getUuid(payload);
+            int maxChannels = getVarInt(payload);
+            int flags = payload.get();
+            WorldData.NetworkRecord network =
+                new WorldData.NetworkRecord(networkId, maxChannels, (flags & FLAG_CONTROLLER) != 0, null);
+            data.putNetwork(network);
+            networkOrder.add(networkId);
+            if ((flags & FLAG_TABLE) != 0) {
+                // Items liegen in der Tabelle des Netzwerks
+                network.setTableStored(true);
+                continue;
+            }
+
+            int itemCount = getVarInt(payload);
+            Map<String, Long> items = network.getItems();
+            for (int j = 0; j < itemCount; j++) {
+                String itemId = strings[getVarInt(payload)];
+                items.put(itemId, getVarLong(payload));
+            }
+        }
+    }
+
+    static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * LEB128 (7 Bit pro Byte, höchstes Bit = Fortsetzung), vorzeichenlos
+     */
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("VarInt zu lang");
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("VarLong zu lang");
+    }
+
+    /**
+     * String-Tabelle: jeder String erhält beim ersten Auftreten einen Index
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            Integer index = indices.get(value);
+            if (index == null) {
+                index = values.size();
+                indices.put(value, index);
+                values.add(value);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Wachsender Heap-Buffer mit VarInt-Kodierung und Section-Rahmen
+     */
+    static final class Output {
+        ByteBuffer buffer;
+
+        Output(int initialCapacity) {
+            buffer = ByteBuffer.allocate(Math.max(64, initialCapacity));
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        void putVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        /**
+         * Schreibt Tag und Platzhalter für die Länge
+         * @return Offset des Längenfelds
+         */
+        int beginSection(byte tag) {
+            ensure(5);
+            buffer.put(tag);
+            int lengthOffset = buffer.position();
+            buffer.putInt(0);
+            return lengthOffset;
+        }
+
+        void endSection(int lengthOffset) {
+            buffer.putInt(lengthOffset, buffer.position() - lengthOffset - 4);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.tobi.mesystem.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import com.tobi.mesystem.core.MEDeviceType;
+
+/**
+ * Write-Ahead-Journal einer Welt - nur anhängen, nie überschreiben
+ *
+ * Zwischen zwei Snapshots ({@code <world>.dat}) werden nur Änderungen geschrieben:
+ * Item-Mengen, Nodes und Netzwerk-Metadaten. Die Kosten pro Speichern sind damit
+ * proportional zur Anzahl Änderungen statt zur Größe der Welt.
+ *
+ * Aufbau: int Magic "HAEJ", short Version, dann Records
+ * <pre>
+ * int    Länge (Typ + Payload)
+ * byte   Typ
+ * ...    Payload
+ * int    CRC32 über Typ + Payload
+ * </pre>
+ *
+ * Alle Records haben "setze auf"-Semantik und sind damit idempotent: ein Record, der
+ * bereits im Snapshot enthalten ist, darf beim Wiederherstellen erneut angewendet werden.
+ * Das Wiederherstellen endet am ersten unvollständigen oder beschädigten Record
+ * (abgerissener Schreibvorgang beim Absturz), {@link #open} schneidet diesen Rest ab.
+ *
+ * Thread-Safety: Schreibende Methoden sind synchronisiert.
+ */
+public final class NetworkJournal implements Closeable {
+
+    /** "HAEJ" */
+    public static final int MAGIC = 0x4841454A;
+    public static final int VERSION = 1;
+
+    static final byte ITEM_SET = 1;
+    static final byte NODE_PUT = 2;
+    static final byte NODE_REMOVE = 3;
+    static final byte NETWORK_PUT = 4;
+    static final byte NETWORK_REMOVE = 5;
+    static final byte NETWORK_ITEMS = 6;
+    // Node mit Netzwerk, Priority und Flags (NODE_PUT nur noch lesend unterstützt)
+    static final byte NODE_ATTACH = 7;
+
+    private static final int HEADER_SIZE = 4 + 2;
+    private static final int DEFAULT_MAX_CHANNELS = 8;
+
+    private final Path file;
+    private FileChannel channel;
+    private NetworkCodec.Output pending = new NetworkCodec.Output(4096);
+    private long fileSize;
+    private long truncatedBytes;
+    private int recordCount;
+
+    private NetworkJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Öffnet (oder erstellt) ein Journal zum Anhängen.
+     * Ein beschädigter Rest am Dateiende wird abgeschnitten.
+     */
+    public static NetworkJournal open(Path file) throws IOException {
+        NetworkJournal journal = new NetworkJournal(file);
+        journal.openChannel();
+        return journal;
+    }
+
+    // ==================== SCHREIBEN ====================
+
+    public synchronized void appendItemSet(UUID networkId, String itemId, long amount) {
+        int start = begin(ITEM_SET);
+        putUuid(networkId);
+        putString(itemId);
+        pending.putVarLong(amount);
+        end(start);
+    }
+
+    public void appendNodePut(long position, MEDeviceType type) {
+        appendNodePut(new WorldData.NodeRecord(position, type));
+    }
+
+    public synchronized void appendNodePut(WorldData.NodeRecord node) {
+        int start = begin(NODE_ATTACH);
+        pending.putVarLong(node.position());
+        putString(node.type().name());
+        pending.ensure(1);
+        pending.buffer.put((byte) (node.networkId() != null ? 1 : 0));
+        if (node.networkId() != null) {
+            putUuid(node.networkId());
+        }
+        pending.putVarInt((node.priority() << 1) ^ (node.priority() >> 31));
+        pending.ensure(1);
+        pending.buffer.put((byte) node.flags());
+        end(start);
+    }
+
+    public synchronized void appendNodeRemove(long position) {
+        int start = begin(NODE_REMOVE);
+        pending.putVarLong(position);
+        end(start);
+    }
+
+    public synchronized void appendNetworkPut(UUID networkId, int maxChannels, boolean hasController) {
+        int start = begin(NETWORK_PUT);
+        putUuid(networkId);
+        pending.putVarInt(maxChannels);
+        pending.ensure(1);
+        pending.buffer.put((byte) (hasController ? 1 : 0));
+        end(start);
+    }
+
+    public synchronized void appendNetworkRemove(UUID networkId) {
+        int start = begin(NETWORK_REMOVE);
+        putUuid(networkId);
+        end(start);
+    }
+
+    /**
+     * Vollständiger Item-Stand eines Netzwerks (ersetzt alle vorherigen Mengen)
+     */
+    public synchronized void appendNetworkItems(UUID networkId, Map<String, Long> items) {
+        int start = begin(NETWORK_ITEMS);
+        putUuid(networkId);
+        pending.putVarInt(items.size());
+        for (Map.Entry<String, Long> item : items.entrySet()) {
+            putString(item.getKey());
+            pending.putVarLong(item.getValue());
+        }
+        end(start);
+    }
+
+    /**
+     * Schreibt gepufferte Records ans Dateiende
+     *
+     * @param sync true: zusätzlich fsync (Records überstehen einen Absturz)
+     * @return Anzahl geschriebener Bytes
+     */
+    public synchronized int flush(boolean sync) throws IOException {
+        ensureOpen();
+        int written = 0;
+        if (pending.buffer.position() > 0) {
+            ByteBuffer buffer = pending.buffer.flip();
+            written = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            fileSize += written;
+        }
+        if (sync) {
+            channel.force(false);
+        }
+        return written;
+    }
+
+    /**
+     * Schließt das aktuelle Journal ab (flush + fsync), verschiebt es nach {@code sealed}
+     * und beginnt ein leeres Journal. Nachfolgende Records landen im neuen Journal.
+     */
+    public synchronized void rotate(Path sealed) throws IOException {
+        flush(true);
+        channel.close();
+        channel = null;
+        moveAtomically(file, sealed);
+        recordCount = 0;
+        openChannel();
+    }
+
+    /**
+     * Größe inkl. noch nicht geschriebener Records
+     */
+    public synchronized long size() {
+        return fileSize + pending.buffer.position();
+    }
+
+    /**
+     * Records seit dem Öffnen bzw. der letzten Rotation
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Beim Öffnen abgeschnittene Bytes (abgerissener Schreibvorgang)
+     */
+    public synchronized long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            try {
+                flush(true);
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    // ==================== WIEDERHERSTELLEN ====================
+
+    /**
+     * Wendet alle gültigen Records eines Journals auf die Weltdaten an
+     *
+     * @return Anzahl angewendeter Records (0 wenn die Datei fehlt)
+     */
+    public static int replay(Path file, WorldData data) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (!hasHeader(buffer)) {
+            return 0;
+        }
+        buffer.position(HEADER_SIZE);
+
+        int applied = 0;
+        ByteBuffer record;
+        while ((record = nextRecord(buffer)) != null) {
+            apply(record, data);
+            applied++;
+        }
+        return applied;
+    }
+
+    // ==================== INTERN ====================
+
+    private void openChannel() throws IOException {
+        long validEnd = 0;
+        long existing = Files.exists(file) ? Files.size(file) : 0;
+        if (existing > 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (hasHeader(buffer)) {
+                buffer.position(HEADER_SIZE);
+                while (nextRecord(buffer) != null) {
+                    recordCount++;
+                }
+                validEnd = buffer.position();
+            }
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (validEnd < existing) {
+            truncatedBytes += existing - validEnd;
+            channel.truncate(validEnd);
+        }
+        if (validEnd == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort((short) VERSION).flip();
+            channel.truncate(0);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            validEnd = HEADER_SIZE;
+        }
+        channel.position(validEnd);
+        fileSize = validEnd;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            throw new IOException("Journal geschlossen: " + file);
+        }
+    }
+
+    private static boolean hasHeader(ByteBuffer buffer) {
+        return buffer.remaining() >= HEADER_SIZE
+            && buffer.getInt(0) == MAGIC
+            && (buffer.getShort(4) & 0xFFFF) == VERSION;
+    }
+
+    /**
+     * Nächster gültiger Record (Typ + Payload) oder null am Ende / bei Beschädigung.
+     * Bei null bleibt die Position am Anfang des ungültigen Rests.
+     */
+    private static ByteBuffer nextRecord(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < 4 + 1 + 4) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length < 1 || length > buffer.remaining() - 4) {
+            buffer.position(start);
+            return null;
+        }
+        ByteBuffer record = buffer.slice(buffer.position(), length);
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(buffer.position() + length)) {
+            buffer.position(start);
+            return null;
+        }
+        buffer.position(buffer.position() + length + 4);
+        return record;
+    }
+
+    private static void apply(ByteBuffer record, WorldData data) throws IOException {
+        try {
+            byte type = record.get();
+            switch (type) {
+                case ITEM_SET -> {
+                    WorldData.NetworkRecord network = networkOf(data, NetworkCodec.getUuid(record));
+                    String itemId = getString(record);
+                    long amount = NetworkCodec.getVarLong(record);
+                    if (amount > 0) {
+                        network.getItems().put(itemId, amount);
+                    } else {
+                        network.getItems().remove(itemId);
+                    }
+                }
+                case NODE_PUT -> {
+                    long position = NetworkCodec.getVarLong(record);
+                    String typeName = getString(record);
+                    try {
+                        data.putNode(new WorldData.NodeRecord(position, MEDeviceType.valueOf(typeName)));
+                    } catch (IllegalArgumentException e) {
+                        // unbekannter Device-Typ - überspringen
+                    }
+                }
+                case NODE_ATTACH -> {
+                    long position = NetworkCodec.getVarLong(record);
+                    String typeName = getString(record);
+                    UUID networkId = record.get() != 0 ? NetworkCodec.getUuid(record) : null;
+                    int zigzag = NetworkCodec.getVarInt(record);
+                    int flags = record.get() & 0xFF;
+                    try {
+                        data.putNode(new WorldData.NodeRecord(position, MEDeviceType.valueOf(typeName),
+                            networkId, (zigzag >>> 1) ^ -(zigzag & 1), flags));
+                    } catch (IllegalArgumentException e) {
+                        // unbekannter Device-Typ - überspringen
+                    }
+                }
+                case NODE_REMOVE -> data.removeNode(NetworkCodec.getVarLong(record));
+                case NETWORK_PUT -> {
+                    WorldData.NetworkRecord network = networkOf(data, NetworkCodec.getUuid(record));
+                    network.setMaxChannels(NetworkCodec.getVarInt(record));
+                    network.setHasController(record.get() != 0);
+                }
+                case NETWORK_REMOVE -> data.removeNetwork(NetworkCodec.getUuid(record));
+                case NETWORK_ITEMS -> {
+                    WorldData.NetworkRecord network = networkOf(data, NetworkCodec.getUuid(record));
+                    network.getItems().clear();
+                    int count = NetworkCodec.getVarInt(record);
+                    for (int i = 0; i < count; i++) {
+                        String itemId = getString(record);
+                        network.getItems().put(itemId, NetworkCodec.getVarLong(record));
+                    }
+                }
+                default -> {
+                    // unbekannter Record-Typ (neuere Version) - überspringen
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // CRC war gültig, der Inhalt nicht - Schreibfehler, nicht nur abgerissen
+            throw new IOException("Journal-Record fehlerhaft", e);
+        }
+    }
+
+    private static WorldData.NetworkRecord networkOf(WorldData data, UUID networkId) {
+        WorldData.NetworkRecord network = data.getNetwork(networkId);
+        if (network == null) {
+            network = new WorldData.NetworkRecord(networkId, DEFAULT_MAX_CHANNELS, false, null);
+            data.putNetwork(network);
+        }
+        return network;
+    }
+
+    private int begin(byte type) {
+        pending.ensure(4 + 1);
+        int start = pending.buffer.position();
+        pending.buffer.putInt(0);
+        pending.buffer.put(type);
+        return start;
+    }
+
+    private void end(int start) {
+        int length = pending.buffer.position() - start - 4;
+        pending.buffer.putInt(start, length);
+        CRC32 crc = new CRC32();
+        crc.update(pending.buffer.array(), start + 4, length);
+        pending.ensure(4);
+        pending.buffer.putInt((int) crc.getValue());
+        recordCount++;
+    }
+
+    private void putUuid(UUID id) {
+        pending.ensure(16);
+        NetworkCodec.putUuid(pending.buffer, id);
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        pending.putVarInt(bytes.length);
+        pending.ensure(bytes.length);
+        pending.buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[NetworkCodec.getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Atomares Umbenennen (Fallback: Ersetzen, falls das Dateisystem kein ATOMIC_MOVE kann)
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
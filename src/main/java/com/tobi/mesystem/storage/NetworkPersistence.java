@@ -1,30 +1,83 @@
 package com.tobi.mesystem.storage;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.tobi.mesystem.MEPlugin;
 import com.tobi.mesystem.core.MENetwork;
 import com.tobi.mesystem.core.MENode;
-import com.tobi.mesystem.util.BlockPos;
 
 /**
  * Persistiert ME-Netzwerk-Daten zu Disk
- * Speichert als JSON-ähnliches Format (simple key-value)
+ *
+ * Format: binär und versioniert ({@link NetworkCodec}), geschrieben und gelesen über
+ * NIO-Buffer. Dateien im alten Textformat v1.0 werden beim Laden weiterhin erkannt
+ * und beim nächsten Speichern automatisch ins Binärformat migriert.
+ *
+ * Aufteilung pro Welt:
+ * - {@code <world>.dat}: Manifest mit Topologie und Netzwerk-Metadaten
+ * - {@code <world>/<networkId>.items|.keys}: Item-Tabelle je Netzwerk ({@link ItemTableStore}),
+ *   beim Kompaktieren werden nur geänderte Slots in place geschrieben
+ * - {@code <world>/<networkId>.page}: Nodes eines ausgelagerten (schlafenden) Netzwerks,
+ *   nur zur Laufzeit gültig - maßgeblich bleiben Manifest und Journal
+ *
+ * Absturzsicherheit:
+ * - Änderungen landen laufend im Journal ({@code <world>.journal}, nur anhängen);
+ *   der Autosave schreibt dabei nur dirty Netzwerke
+ * - Kompaktierung: Journal abschließen, geänderte Tabellen-Slots schreiben + fsync,
+ *   Manifest in eine Temp-Datei schreiben, fsync, atomar über {@code <world>.dat}
+ *   umbenennen, verwaiste Tabellen und abgeschlossenes Journal löschen
+ * - Laden: Snapshot + abgeschlossenes Journal + aktuelles Journal (in dieser Reihenfolge)
+ *
+ * Ein Absturz an beliebiger Stelle hinterlässt immer ein vollständiges Manifest
+ * und Journale, deren Records sich idempotent darauf anwenden lassen - auch auf
+ * Tabellen, die bereits Stände einer abgebrochenen Kompaktierung enthalten.
+ *
+ * Geladene Welten: Journal, Autosave und Kompaktierung gibt es für eine Welt erst,
+ * nachdem ihr gespeicherter Stand geladen wurde ({@link #markLoaded(UUID)}). Vorher
+ * enthielte ein Snapshot nur die seit dem Start platzierten Nodes - retain würde die
+ * Tabellen aller älteren Netzwerke löschen und das abgeschlossene Journal verworfen.
  */
 public class NetworkPersistence {
     
+    // Journal wird kompaktiert, sobald es größer als der Snapshot ist (mindestens 1 MB)
+    private static final long MIN_COMPACTION_BYTES = 1L << 20;
+    
+    private static final String PAGE_SUFFIX = ".page";
+    
     private final HytaleLogger logger;
     private final Path dataFolder;
     
+    // Offene Journale pro Welt
+    private final Map<UUID, WorldJournal> journals = new ConcurrentHashMap<>();
+    
+    // Item-Tabellen pro Welt (große Tabellen bleiben gemappt)
+    private final Map<UUID, ItemTableStore> tableStores = new ConcurrentHashMap<>();
+    
+    // Serialisiert Kompaktierungen pro Welt
+    private final Map<UUID, Object> compactionLocks = new ConcurrentHashMap<>();
+    
+    // Welten, deren gespeicherter Stand geladen ist (nur diese werden geschrieben)
+    private final Set<UUID> loadedWorlds = ConcurrentHashMap.newKeySet();
+    
     public NetworkPersistence(Path dataFolder) {
         this.logger = MEPlugin.getInstance().getPluginLogger();
         this.dataFolder = dataFolder;
@@ -37,61 +90,301 @@ public class NetworkPersistence {
     }
     
     /**
-     * Speichert Netzwerk-Daten für eine Welt
+     * Speichert Netzwerk-Daten für eine Welt (vollständiger Snapshot, kompaktiert das Journal)
      */
-    public void saveWorldNetworks(UUID worldId, Map<BlockPos, MENode> nodes, 
+    public void saveWorldNetworks(UUID worldId, Collection<MENode> nodes, 
                                    Map<UUID, MENetwork> networks) {
         if (nodes == null || networks == null) return;
         
-        Path worldFile = dataFolder.resolve(worldId.toString() + ".dat");
-        
-        try (BufferedWriter writer = Files.newBufferedWriter(worldFile)) {
-            // Header
-            writer.write("# HytaleAE2 Network Data v1.0\n");
-            writer.write("WorldID=" + worldId + "\n");
-            writer.write("Timestamp=" + System.currentTimeMillis() + "\n");
-            writer.write("\n");
-            
-            // Nodes
-            writer.write("# Nodes\n");
-            writer.write("NodeCount=" + nodes.size() + "\n");
-            for (Map.Entry<BlockPos, MENode> entry : nodes.entrySet()) {
-                BlockPos pos = entry.getKey();
-                MENode node = entry.getValue();
-                
-                writer.write(String.format("Node=%d,%d,%d|%s\n",
-                    pos.getX(), pos.getY(), pos.getZ(),
-                    node.getDeviceType().toString()
-                ));
+        compact(worldId, () -> toWorldData(worldId, nodes, networks));
+    }
+    
+    /**
+     * Kompaktiert eine Welt: Journal abschließen, Snapshot atomar ersetzen
+     *
+     * @param capture Liefert den aktuellen Stand - wird erst nach dem Abschließen
+     *        des Journals aufgerufen, damit keine Änderung verloren geht
+     *        (darf {@link UncheckedIOException} werfen, der Snapshot bleibt dann unverändert)
+     * @return true wenn der Snapshot geschrieben wurde
+     */
+    public boolean compact(UUID worldId, Supplier<WorldData> capture) {
+        synchronized (compactionLock(worldId)) {
+            if (!isLoaded(worldId)) {
+                logger.at(Level.WARNING).log("Welt %s noch nicht geladen - Kompaktierung übersprungen", worldId);
+                return false;
             }
-            writer.write("\n");
-            
-            // Networks
-            writer.write("# Networks\n");
-            writer.write("NetworkCount=" + networks.size() + "\n");
-            for (Map.Entry<UUID, MENetwork> entry : networks.entrySet()) {
-                UUID networkId = entry.getKey();
-                MENetwork network = entry.getValue();
+            Path sealed = sealedJournalFile(worldId);
+            try {
+                // Liegt noch ein abgeschlossenes Journal (vorherige Kompaktierung abgebrochen),
+                // wird nicht rotiert - der neue Snapshot deckt beide Journale ab
+                WorldJournal journal = journals.get(worldId);
+                if (journal != null && !Files.exists(sealed)) {
+                    journal.rotate(sealed);
+                }
                 
-                writer.write("Network=" + networkId + "\n");
-                writer.write("MaxChannels=" + network.getMaxChannels() + "\n");
-                writer.write("HasController=" + network.hasController() + "\n");
+                WorldData data = capture.get();
                 
-                // Items
-                Map<String, Long> items = network.getAllItems();
-                writer.write("ItemCount=" + items.size() + "\n");
-                for (Map.Entry<String, Long> item : items.entrySet()) {
-                    writer.write(String.format("Item=%s|%d\n", 
-                        item.getKey(), item.getValue()));
+                // Tabellen vor dem Manifest: das Manifest verweist nur auf dauerhafte Tabellen
+                ItemTableStore tables = tables(worldId);
+                ItemTableStore.WriteResult written = tables.write(data.getItemsByNetwork());
+                tables.force();
+                for (WorldData.NetworkRecord network : data.getNetworks().values()) {
+                    network.setTableStored(true);
                 }
-                writer.write("\n");
+                long size = writeAtomically(worldFile(worldId), NetworkCodec.encode(data));
+                tables.retain(data.getNetworks().keySet());
+                Files.deleteIfExists(sealed);
+                
+                logger.at(Level.INFO).log("Gespeichert: %d Nodes, %d Networks für Welt %s (Manifest %d Bytes, %d Slots geändert)",
+                    data.getNodeCount(), data.getNetworks().size(), worldId, size, written.changedSlots());
+                return true;
+                
+            } catch (IOException | UncheckedIOException e) {
+                logger.at(Level.SEVERE).withCause(e).log("Fehler beim Speichern von Welt %s", worldId);
+                return false;
             }
+        }
+    }
+    
+    // ==================== AUSGELAGERTE NETZWERKE ====================
+    
+    /**
+     * Lock, unter dem Kompaktierungen und Seiten-Schreibvorgänge einer Welt laufen
+     *
+     * Reihenfolge: immer zuerst dieser Lock, danach Monitore einzelner schlafender
+     * Netzwerke (die Kompaktierung liest deren Seiten unter diesem Lock).
+     */
+    public Object compactionLock(UUID worldId) {
+        return compactionLocks.computeIfAbsent(worldId, id -> new Object());
+    }
+    
+    /**
+     * Lagert ein schlafendes Netzwerk aus: Items in seine Item-Tabelle, Nodes in eine Seite
+     * ({@code <world>/<networkId>.page}, atomar ersetzt)
+     *
+     * Läuft unter dem Kompaktierungs-Lock der Welt: eine parallele Kompaktierung kann
+     * weder gleichzeitig in die Tabellen schreiben noch die Tabelle per retain löschen,
+     * während ihre Seite entsteht.
+     *
+     * @param page Nodes und Netzwerk-Record (genau ein Netzwerk)
+     * @return Seitengröße in Bytes
+     */
+    public long writePage(UUID worldId, UUID networkId, WorldData page) throws IOException {
+        WorldData.NetworkRecord network = page.getNetwork(networkId);
+        if (network == null) {
+            throw new IOException("Seite ohne Netzwerk " + networkId);
+        }
+        synchronized (compactionLock(worldId)) {
+            ItemTableStore tables = tables(worldId);
+            tables.write(Map.of(networkId, network.getItems()));
+            tables.force();
             
-            logger.at(Level.INFO).log("Gespeichert: %d Nodes, %d Networks für Welt %s",
-                nodes.size(), networks.size(), worldId);
-                
+            // Items liegen jetzt in der Tabelle - die Seite enthält nur Nodes und Metadaten
+            WorldData.NetworkRecord record = new WorldData.NetworkRecord(networkId, network.getMaxChannels(),
+                network.hasController(), new HashMap<>());
+            record.setTableStored(true);
+            WorldData encoded = new WorldData(worldId, page.getTimestamp(), page.getNodeCount());
+            page.getNodes().forEachValue(encoded::putNode);
+            encoded.putNetwork(record);
+            return writeAtomically(pageFile(worldId, networkId), NetworkCodec.encode(encoded));
+        }
+    }
+    
+    /**
+     * Liest die Seite eines ausgelagerten Netzwerks samt Items aus seiner Tabelle
+     *
+     * @throws IOException wenn Seite oder Tabelle fehlen oder unlesbar sind
+     */
+    public WorldData readPage(UUID worldId, UUID networkId) throws IOException {
+        Path file = pageFile(worldId, networkId);
+        if (!Files.exists(file)) {
+            throw new IOException("Seite fehlt: " + file);
+        }
+        WorldData page = NetworkCodec.decode(readFully(file));
+        WorldData.NetworkRecord network = page.getNetwork(networkId);
+        if (network == null) {
+            throw new IOException("Seite ohne Netzwerk " + networkId + ": " + file);
+        }
+        if (network.isTableStored()) {
+            ItemTableStore tables = tables(worldId);
+            if (!tables.exists(networkId)) {
+                throw new IOException("Item-Tabelle von Netzwerk " + networkId + " fehlt");
+            }
+            network.getItems().putAll(tables.read(networkId));
+        }
+        return page;
+    }
+    
+    /**
+     * Löscht alle Seiten einer Welt (beim Laden - Seiten eines früheren Laufs sind
+     * über Manifest und Journal bereits abgedeckt)
+     *
+     * @return Anzahl gelöschter Seiten
+     */
+    public int deletePages(UUID worldId) {
+        Path directory = dataFolder.resolve(worldId.toString());
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(PAGE_SUFFIX) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.at(Level.WARNING).withCause(e).log("Konnte Seiten von Welt %s nicht löschen", worldId);
+        }
+        return deleted;
+    }
+    
+    // ==================== GELADENE WELTEN ====================
+    
+    /**
+     * Vermerkt, dass der gespeicherte Stand einer Welt geladen ist - ab jetzt
+     * werden Journal, Autosave und Kompaktierung für sie zugelassen
+     */
+    public void markLoaded(UUID worldId) {
+        loadedWorlds.add(worldId);
+    }
+    
+    /**
+     * true wenn der gespeicherte Stand der Welt geladen ist
+     */
+    public boolean isLoaded(UUID worldId) {
+        return worldId != null && loadedWorlds.contains(worldId);
+    }
+    
+    /**
+     * true wenn für die Welt Snapshot oder Journale auf Disk liegen
+     * (unterscheidet "nichts gespeichert" von "unlesbar" nach {@link #loadWorldData(UUID)})
+     */
+    public boolean hasSavedData(UUID worldId) {
+        return Files.exists(worldFile(worldId)) || Files.exists(sealedJournalFile(worldId))
+            || Files.exists(journalFile(worldId));
+    }
+    
+    // ==================== JOURNAL ====================
+    
+    /**
+     * Journal einer Welt (wird beim ersten Zugriff geöffnet)
+     * @return Journal oder null wenn es nicht geöffnet werden konnte
+     *         oder die Welt noch nicht geladen ist
+     */
+    public WorldJournal journal(UUID worldId) {
+        if (worldId == null || !loadedWorlds.contains(worldId)) {
+            return null;
+        }
+        WorldJournal journal = journals.get(worldId);
+        if (journal != null) {
+            return journal;
+        }
+        return journals.computeIfAbsent(worldId, id -> {
+            try {
+                NetworkJournal opened = NetworkJournal.open(journalFile(id));
+                if (opened.getTruncatedBytes() > 0) {
+                    logger.at(Level.WARNING).log("Journal von Welt %s: %d Bytes unvollständiger Records verworfen",
+                        id, opened.getTruncatedBytes());
+                }
+                return new WorldJournal(opened);
+            } catch (IOException e) {
+                logger.at(Level.SEVERE).withCause(e).log("Konnte Journal für Welt %s nicht öffnen", id);
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * Schreibt alle Änderungen einer Welt ins Journal (mit fsync)
+     * @return Anzahl geschriebener Bytes, -1 bei Fehler
+     */
+    public long flushJournal(UUID worldId) {
+        WorldJournal journal = journals.get(worldId);
+        if (journal == null) {
+            return 0;
+        }
+        try {
+            return journal.flush(true);
+        } catch (IOException e) {
+            logger.at(Level.SEVERE).withCause(e).log("Fehler beim Schreiben des Journals von Welt %s", worldId);
+            return -1;
+        }
+    }
+    
+    /**
+     * Autosave: schreibt nur geänderte Netzwerke einer Welt ins Journal (mit fsync)
+     * @param byteBudget Maximale Bytes für diese Welt
+     * @return Ergebnis oder null wenn kein Journal offen ist, die Welt noch nicht
+     *         geladen ist bzw. bei Fehler
+     */
+    public WorldJournal.SaveResult saveDirtyNetworks(UUID worldId, long byteBudget) {
+        if (!isLoaded(worldId)) {
+            return null;
+        }
+        WorldJournal journal = journals.get(worldId);
+        if (journal == null) {
+            return null;
+        }
+        try {
+            return journal.saveDirty(byteBudget, true);
+        } catch (IOException e) {
+            logger.at(Level.SEVERE).withCause(e).log("Fehler beim Autosave von Welt %s", worldId);
+            return null;
+        }
+    }
+    
+    /**
+     * true wenn das Journal größer als der Snapshot geworden ist
+     */
+    public boolean needsCompaction(UUID worldId) {
+        WorldJournal journal = journals.get(worldId);
+        if (journal == null) {
+            return false;
+        }
+        long snapshotSize = 0;
+        try {
+            Path worldFile = worldFile(worldId);
+            snapshotSize = Files.exists(worldFile) ? Files.size(worldFile) : 0;
         } catch (IOException e) {
-            logger.at(Level.SEVERE).withCause(e).log("Fehler beim Speichern von Welt %s", worldId);
+            // ohne Snapshot-Größe gilt die Mindestgröße
+        }
+        return journal.size() > Math.max(MIN_COMPACTION_BYTES, snapshotSize);
+    }
+    
+    /**
+     * Schließt Journal (flush + fsync) und Item-Tabellen einer Welt, z.B. beim Entladen
+     * (die Welt gilt danach wieder als nicht geladen)
+     */
+    public void closeJournal(UUID worldId) {
+        loadedWorlds.remove(worldId);
+        WorldJournal journal = journals.remove(worldId);
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.at(Level.SEVERE).withCause(e).log("Fehler beim Schließen des Journals von Welt %s", worldId);
+            }
+        }
+        ItemTableStore tables = tableStores.remove(worldId);
+        if (tables != null) {
+            try {
+                tables.close();
+            } catch (IOException e) {
+                logger.at(Level.WARNING).withCause(e).log("Fehler beim Schließen der Item-Tabellen von Welt %s", worldId);
+            }
+        }
+    }
+    
+    /**
+     * Schließt alle Journale (Plugin-Shutdown)
+     */
+    public void shutdown() {
+        for (UUID worldId : new ArrayList<>(journals.keySet())) {
+            closeJournal(worldId);
+        }
+        for (UUID worldId : new ArrayList<>(tableStores.keySet())) {
+            closeJournal(worldId);
         }
     }
     
@@ -100,61 +393,173 @@ public class NetworkPersistence {
      * @return Map von NetworkID -> gespeicherte Items
      */
     public Map<UUID, Map<String, Long>> loadWorldNetworks(UUID worldId) {
-        Path worldFile = dataFolder.resolve(worldId.toString() + ".dat");
+        WorldData data = loadWorldData(worldId);
+        return data != null ? data.getItemsByNetwork() : new HashMap<>();
+    }
+    
+    /**
+     * Lädt den vollständigen gespeicherten Stand einer Welt
+     * (Snapshot im Binär- oder Textformat v1.0, danach die Journale)
+     * @return Weltdaten oder null wenn nichts gespeichert ist oder die Datei unlesbar ist
+     */
+    public WorldData loadWorldData(UUID worldId) {
+        Path worldFile = worldFile(worldId);
+        Path sealed = sealedJournalFile(worldId);
+        Path journalFile = journalFile(worldId);
         
-        if (!Files.exists(worldFile)) {
+        if (!Files.exists(worldFile) && !Files.exists(sealed) && !Files.exists(journalFile)) {
             logger.at(Level.FINE).log("Keine gespeicherten Daten für Welt %s", worldId);
-            return new HashMap<>();
+            return null;
         }
         
-        Map<UUID, Map<String, Long>> result = new HashMap<>();
-        
-        try (BufferedReader reader = Files.newBufferedReader(worldFile)) {
-            String line;
-            UUID currentNetworkId = null;
-            Map<String, Long> currentItems = null;
+        try {
+            WorldData data;
+            if (Files.exists(worldFile)) {
+                data = readSnapshot(worldId, worldFile);
+            } else {
+                data = new WorldData(worldId, 0L);
+            }
             
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                
-                // Skip comments und empty lines
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                
-                if (line.startsWith("Network=")) {
-                    // Neues Network
-                    currentNetworkId = UUID.fromString(line.substring(8));
-                    currentItems = new HashMap<>();
-                    result.put(currentNetworkId, currentItems);
-                    
-                } else if (line.startsWith("Item=") && currentItems != null) {
-                    // Item-Daten
-                    String[] parts = line.substring(5).split("\\|");
-                    if (parts.length == 2) {
-                        String itemId = parts[0];
-                        long quantity = Long.parseLong(parts[1]);
-                        currentItems.put(itemId, quantity);
-                    }
-                }
+            // Wiederherstellung: Änderungen seit dem Snapshot nachspielen
+            int replayed = NetworkJournal.replay(sealed, data) + NetworkJournal.replay(journalFile, data);
+            if (replayed > 0) {
+                data.setRewriteRequired(true);
+                logger.at(Level.INFO).log("Journal von Welt %s: %d Änderungen wiederhergestellt", worldId, replayed);
             }
             
-            logger.at(Level.INFO).log("Geladen: %d Networks für Welt %s",
-                result.size(), worldId);
+            logger.at(Level.INFO).log("Geladen: %d Nodes, %d Networks für Welt %s",
+                data.getNodeCount(), data.getNetworks().size(), worldId);
+            return data;
                 
         } catch (IOException e) {
             logger.at(Level.SEVERE).withCause(e).log("Fehler beim Laden von Welt %s", worldId);
+            return null;
         }
-        
-        return result;
+    }
+    
+    private WorldData readSnapshot(UUID worldId, Path worldFile) throws IOException {
+        ByteBuffer buffer = readFully(worldFile);
+        if (NetworkCodec.isBinary(buffer)) {
+            WorldData data = NetworkCodec.decode(buffer);
+            ItemTableStore tables = tables(worldId);
+            for (WorldData.NetworkRecord network : data.getNetworks().values()) {
+                if (!network.isTableStored()) {
+                    continue;
+                }
+                if (!tables.exists(network.getNetworkId())) {
+                    // Tabelle fehlt - Journal kann den Stand teilweise wiederherstellen
+                    logger.at(Level.WARNING).log("Item-Tabelle von Netzwerk %s fehlt (Welt %s)",
+                        network.getNetworkId(), worldId);
+                    data.setRewriteRequired(true);
+                    continue;
+                }
+                network.getItems().putAll(tables.read(network.getNetworkId()));
+            }
+            return data;
+        }
+        // Migration: altes Textformat v1.0
+        try (BufferedReader reader = new BufferedReader(
+                new StringReader(StandardCharsets.UTF_8.decode(buffer).toString()))) {
+            WorldData data = NetworkCodec.readLegacyText(worldId, reader);
+            logger.at(Level.INFO).log("Textformat v1.0 erkannt für Welt %s - wird beim nächsten Speichern migriert",
+                worldId);
+            return data;
+        }
+    }
+    
+    /**
+     * Überführt Live-Objekte in das Persistenz-Modell (Storage über konsistente Snapshots)
+     */
+    public static WorldData toWorldData(UUID worldId, Collection<MENode> nodes, Map<UUID, MENetwork> networks) {
+        WorldData data = new WorldData(worldId, System.currentTimeMillis(), nodes.size());
+        for (MENode node : nodes) {
+            data.putNode(toRecord(node));
+        }
+        for (Map.Entry<UUID, MENetwork> entry : networks.entrySet()) {
+            MENetwork network = entry.getValue();
+            data.putNetwork(new WorldData.NetworkRecord(entry.getKey(), network.getMaxChannels(),
+                network.hasController(), network.getStorageSnapshot().items()));
+        }
+        return data;
+    }
+    
+    /**
+     * Persistenz-Modell eines Nodes (Netzwerk, Priority, Channel- und Aktiv-Status)
+     */
+    public static WorldData.NodeRecord toRecord(MENode node) {
+        MENetwork network = node.getNetwork();
+        int flags = node.isActive() ? WorldData.NodeRecord.FLAG_ACTIVE : 0;
+        if (network != null && network.hasChannel(node.getPosition())) {
+            flags |= WorldData.NodeRecord.FLAG_ONLINE;
+        }
+        return new WorldData.NodeRecord(node.getPosition().asLong(), node.getDeviceType(),
+            network != null ? network.getNetworkId() : null, node.getPriority(), flags);
+    }
+    
+    private static ByteBuffer readFully(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Datei zu groß: " + size + " Bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lesen bis voll oder Dateiende
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+    
+    /**
+     * Schreibt eine Datei absturzsicher: Temp-Datei, fsync, atomares Umbenennen
+     * @return Dateigröße in Bytes
+     */
+    private static long writeAtomically(Path target, ByteBuffer buffer) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long size = buffer.remaining();
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        NetworkJournal.moveAtomically(temp, target);
+        return size;
+    }
+    
+    private ItemTableStore tables(UUID worldId) {
+        return tableStores.computeIfAbsent(worldId, id -> new ItemTableStore(dataFolder.resolve(id.toString())));
+    }
+    
+    private Path pageFile(UUID worldId, UUID networkId) {
+        return dataFolder.resolve(worldId.toString()).resolve(networkId + PAGE_SUFFIX);
+    }
+    
+    private Path worldFile(UUID worldId) {
+        return dataFolder.resolve(worldId + ".dat");
+    }
+    
+    private Path journalFile(UUID worldId) {
+        return dataFolder.resolve(worldId + ".journal");
+    }
+    
+    private Path sealedJournalFile(UUID worldId) {
+        return dataFolder.resolve(worldId + ".journal.sealed");
     }
     
     /**
      * Löscht gespeicherte Daten für eine Welt
      */
     public void deleteWorldData(UUID worldId) {
-        Path worldFile = dataFolder.resolve(worldId.toString() + ".dat");
+        closeJournal(worldId);
         
         try {
-            Files.deleteIfExists(worldFile);
+            Files.deleteIfExists(worldFile(worldId));
+            Files.deleteIfExists(journalFile(worldId));
+            Files.deleteIfExists(sealedJournalFile(worldId));
+            new ItemTableStore(dataFolder.resolve(worldId.toString())).deleteAll();
             logger.at(Level.FINE).log("Gelöscht: Daten für Welt %s", worldId);
         } catch (IOException e) {
             logger.at(Level.WARNING).withCause(e).log("Konnte Daten nicht löschen für Welt %s", worldId);
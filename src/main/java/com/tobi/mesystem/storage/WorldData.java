@@ -0,0 +1,205 @@
+package com.tobi.mesystem.storage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.util.LongObjectHashMap;
+
+/**
+ * Persistierter Stand einer Welt - unabhängig vom Dateiformat
+ *
+ * Reine Daten ohne Plugin-Abhängigkeiten: wird vom {@link NetworkCodec} geschrieben
+ * und gelesen und erst beim Laden in MENode/MENetwork-Objekte übersetzt.
+ *
+ * Nodes sind nach gepackter Position (BlockPos.asLong) abgelegt.
+ *
+ * Thread-Safety: Nicht thread-safe (wird pro Speicher-/Ladevorgang aufgebaut).
+ */
+public final class WorldData {
+
+    /**
+     * Gespeicherter Node
+     *
+     * @param position Gepackte Position (BlockPos.asLong)
+     * @param type Device-Typ
+     * @param networkId Netzwerk beim Speichern (null: unbekannt, z.B. Textformat v1.0)
+     * @param priority Channel-Priority des Nodes
+     * @param flags {@link #FLAG_ONLINE}, {@link #FLAG_ACTIVE}
+     */
+    public record NodeRecord(long position, MEDeviceType type, UUID networkId, int priority, int flags) {
+
+        /** Device hatte beim Speichern Channels */
+        public static final int FLAG_ONLINE = 1;
+        /** Node war aktiv */
+        public static final int FLAG_ACTIVE = 2;
+
+        /**
+         * Node ohne Netzwerk-Zuordnung (ältere Formate)
+         */
+        public NodeRecord(long position, MEDeviceType type) {
+            this(position, type, null, 0, FLAG_ACTIVE);
+        }
+
+        public boolean isOnline() {
+            return (flags & FLAG_ONLINE) != 0;
+        }
+
+        public boolean isActive() {
+            return (flags & FLAG_ACTIVE) != 0;
+        }
+    }
+
+    /**
+     * Gespeichertes Netzwerk mit Storage-Inhalt
+     */
+    public static final class NetworkRecord {
+
+        private final UUID networkId;
+        private int maxChannels;
+        private boolean hasController;
+        private boolean tableStored;
+        private final Map<String, Long> items;
+
+        public NetworkRecord(UUID networkId, int maxChannels, boolean hasController, Map<String, Long> items) {
+            this.networkId = networkId;
+            this.maxChannels = maxChannels;
+            this.hasController = hasController;
+            this.items = items != null ? new HashMap<>(items) : new HashMap<>();
+        }
+
+        public UUID getNetworkId() {
+            return networkId;
+        }
+
+        public int getMaxChannels() {
+            return maxChannels;
+        }
+
+        public boolean hasController() {
+            return hasController;
+        }
+
+        /**
+         * Item-ID -> Menge (veränderbar)
+         */
+        public Map<String, Long> getItems() {
+            return items;
+        }
+
+        public void setMaxChannels(int maxChannels) {
+            this.maxChannels = maxChannels;
+        }
+
+        public void setHasController(boolean hasController) {
+            this.hasController = hasController;
+        }
+
+        /**
+         * true wenn die Items in einer eigenen {@link ItemTable} statt im Manifest liegen
+         */
+        public boolean isTableStored() {
+            return tableStored;
+        }
+
+        public void setTableStored(boolean tableStored) {
+            this.tableStored = tableStored;
+        }
+    }
+
+    private final UUID worldId;
+    private long timestamp;
+    private boolean rewriteRequired;
+    private final LongObjectHashMap<NodeRecord> nodes;
+    private final Map<UUID, NetworkRecord> networks = new LinkedHashMap<>();
+
+    public WorldData(UUID worldId, long timestamp) {
+        this(worldId, timestamp, 16);
+    }
+
+    public WorldData(UUID worldId, long timestamp, int expectedNodes) {
+        this.worldId = worldId;
+        this.timestamp = timestamp;
+        this.nodes = new LongObjectHashMap<>(expectedNodes);
+    }
+
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * true wenn der Stand nicht 1:1 aus einem aktuellen Snapshot stammt
+     * (älteres Format oder Journal nachgespielt) - nach dem Laden neu schreiben
+     */
+    public boolean isRewriteRequired() {
+        return rewriteRequired;
+    }
+
+    public void setRewriteRequired(boolean rewriteRequired) {
+        this.rewriteRequired = rewriteRequired;
+    }
+
+    // ==================== NODES ====================
+
+    public void putNode(NodeRecord node) {
+        nodes.put(node.position(), node);
+    }
+
+    public NodeRecord removeNode(long position) {
+        return nodes.remove(position);
+    }
+
+    public NodeRecord getNode(long position) {
+        return nodes.get(position);
+    }
+
+    public LongObjectHashMap<NodeRecord> getNodes() {
+        return nodes;
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    // ==================== NETWORKS ====================
+
+    public void putNetwork(NetworkRecord network) {
+        networks.put(network.getNetworkId(), network);
+    }
+
+    public NetworkRecord getNetwork(UUID networkId) {
+        return networks.get(networkId);
+    }
+
+    public NetworkRecord removeNetwork(UUID networkId) {
+        return networks.remove(networkId);
+    }
+
+    /**
+     * NetworkID -> Netzwerk (Einfügereihenfolge)
+     */
+    public Map<UUID, NetworkRecord> getNetworks() {
+        return networks;
+    }
+
+    /**
+     * Items pro Netzwerk (Rückgabeformat von {@link NetworkPersistence#loadWorldNetworks})
+     */
+    public Map<UUID, Map<String, Long>> getItemsByNetwork() {
+        Map<UUID, Map<String, Long>> result = new HashMap<>();
+        for (NetworkRecord network : networks.values()) {
+            result.put(network.getNetworkId(), network.getItems());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,283 @@
+package com.tobi.mesystem.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.tobi.mesystem.core.ItemIdRegistry;
+import com.tobi.mesystem.core.MENetwork;
+import com.tobi.mesystem.core.MENode;
+import com.tobi.mesystem.core.StorageChangeFeed;
+import com.tobi.mesystem.core.StorageSnapshot;
+
+/**
+ * Verbindet die Live-Netzwerke einer Welt mit ihrem {@link NetworkJournal}
+ *
+ * - Topologie (Nodes) wird sofort als Record gepuffert
+ * - Storage über den Change-Feed jedes bekannten Netzwerks: beim Flush werden nur
+ *   die seitdem geänderten Items geschrieben (Item -> neue Menge). Das Abo fasst pro
+ *   Item zusammen, der Puffer ist durch die Zahl der Item-Typen begrenzt - auch bei
+ *   Änderungen in jedem Tick eines langen Autosave-Intervalls kein Überlauf
+ * - Neu bekannte Netzwerke und Abonnenten mit Resync schreiben einmal den vollen Stand
+ * - Aufgegangene (Merge) oder leere Netzwerke werden als entfernt vermerkt
+ * - Autosave schreibt nur dirty Netzwerke ({@link MENetwork#isDirty()}), reihum
+ *   innerhalb eines Byte-Budgets
+ *
+ * Thread-Safety: Alle Methoden synchronisiert; Flush läuft auf dem Plugin-Thread-Pool.
+ */
+public final class WorldJournal implements Closeable {
+
+    private final NetworkJournal journal;
+    private final ItemIdRegistry registry = ItemIdRegistry.getInstance();
+    // MENetwork ohne equals/hashCode: Identität; Einfügereihenfolge = Autosave-Reihenfolge
+    private final Map<MENetwork, Tracked> tracked = new LinkedHashMap<>();
+
+    /**
+     * Zuletzt geschriebener Stand eines Netzwerks
+     */
+    private static final class Tracked {
+        final StorageChangeFeed.Subscription subscription;
+        int maxChannels;
+        boolean hasController;
+
+        Tracked(StorageChangeFeed.Subscription subscription) {
+            this.subscription = subscription;
+        }
+    }
+
+    /**
+     * Ergebnis eines Autosave-Laufs
+     *
+     * @param savedNetworks Geschriebene Netzwerke
+     * @param deferredNetworks Dirty Netzwerke, die wegen des Budgets auf den nächsten Lauf warten
+     * @param bytes Geschriebene Bytes (inkl. bereits gepufferter Node-Records)
+     */
+    public record SaveResult(int savedNetworks, int deferredNetworks, long bytes) {
+    }
+
+    public WorldJournal(NetworkJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Nimmt ein Netzwerk auf (idempotent). Beim ersten Mal werden Metadaten und
+     * voller Item-Stand geschrieben, danach nur noch Deltas.
+     */
+    public synchronized void track(MENetwork network) {
+        if (network == null) {
+            return;
+        }
+        MENetwork live = network.resolve();
+        if (tracked.containsKey(live)) {
+            return;
+        }
+        // Erst abonnieren, dann Snapshot: spätere Deltas folgen im Journal nach dem Stand
+        long topologyVersion = live.getTopologyVersion();
+        Tracked state = new Tracked(live.subscribeLatestStorageChanges());
+        tracked.put(live, state);
+        writeMeta(live, state);
+        StorageSnapshot snapshot = live.getStorageSnapshot();
+        journal.appendNetworkItems(live.getNetworkId(), snapshot.items());
+        live.markSaved(snapshot.version(), topologyVersion);
+    }
+
+    public synchronized void nodePut(MENode node) {
+        journal.appendNodePut(NetworkPersistence.toRecord(node));
+        track(node.getNetwork());
+    }
+
+    /**
+     * Nimmt ein neu entstandenes Netzwerk samt Node-Zuordnung auf
+     * (abgetrennte Teile nach einem Split - deren Nodes wechseln das Netzwerk)
+     */
+    public synchronized void trackWithNodes(MENetwork network) {
+        if (network == null) {
+            return;
+        }
+        MENetwork live = network.resolve();
+        for (MENode node : live.getNodes()) {
+            journal.appendNodePut(NetworkPersistence.toRecord(node));
+        }
+        track(live);
+    }
+
+    /**
+     * Übernimmt ein geladenes Netzwerk ohne Schreiben - sein Stand liegt bereits auf Disk
+     */
+    public synchronized void adopt(MENetwork network) {
+        MENetwork live = network.resolve();
+        if (tracked.containsKey(live)) {
+            return;
+        }
+        Tracked state = new Tracked(live.subscribeLatestStorageChanges());
+        state.maxChannels = live.getMaxChannels();
+        state.hasController = live.hasController();
+        tracked.put(live, state);
+        live.markSaved(live.getStorageVersion(), live.getTopologyVersion());
+    }
+
+    /**
+     * Gibt ein Netzwerk frei, das ausgelagert wird: sein letzter Stand geht ins Journal,
+     * danach werden keine Deltas mehr abonniert (Nodes bleiben im Journal erhalten)
+     */
+    public synchronized void release(MENetwork network) {
+        Tracked state = tracked.get(network);
+        if (state == null) {
+            return;
+        }
+        collect(network, state);
+        if (tracked.remove(network) != null) {
+            state.subscription.close();
+        }
+    }
+
+    public synchronized void nodeRemoved(long position) {
+        journal.appendNodeRemove(position);
+    }
+
+    /**
+     * Überträgt alle Storage-Änderungen der bekannten Netzwerke ins Journal
+     * und schreibt die Records ans Dateiende
+     *
+     * @param sync true: fsync nach dem Schreiben
+     * @return Anzahl geschriebener Bytes
+     */
+    public synchronized int flush(boolean sync) throws IOException {
+        collect();
+        return journal.flush(sync);
+    }
+
+    /**
+     * Schreibt nur geänderte Netzwerke ins Journal (Autosave)
+     *
+     * Reihum: geschriebene Netzwerke wandern ans Ende, damit bei knappem Budget kein
+     * Netzwerk dauerhaft übergangen wird. Mindestens ein Netzwerk pro Lauf, auch wenn
+     * es allein das Budget überschreitet.
+     *
+     * @param byteBudget Maximale Bytes dieses Laufs
+     * @param sync true: fsync nach dem Schreiben
+     */
+    public synchronized SaveResult saveDirty(long byteBudget, boolean sync) throws IOException {
+        long start = journal.size();
+        int saved = 0;
+        int deferred = 0;
+        for (MENetwork network : new ArrayList<>(tracked.keySet())) {
+            Tracked state = tracked.get(network);
+            if (state == null || !needsSave(network)) {
+                continue;
+            }
+            if (saved > 0 && journal.size() - start >= byteBudget) {
+                deferred++;
+                continue;
+            }
+            collect(network, state);
+            saved++;
+            if (tracked.remove(network) != null) {
+                tracked.put(network, state);
+            }
+        }
+        return new SaveResult(saved, deferred, journal.flush(sync));
+    }
+    
+    /**
+     * Anzahl bekannter Netzwerke mit ungespeicherten Änderungen
+     */
+    public synchronized int getDirtyNetworkCount() {
+        int dirty = 0;
+        for (MENetwork network : tracked.keySet()) {
+            if (needsSave(network)) {
+                dirty++;
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Schließt das Journal ab und beginnt ein neues (Kompaktierung)
+     * @see NetworkJournal#rotate(Path)
+     */
+    public synchronized void rotate(Path sealed) throws IOException {
+        collect();
+        journal.rotate(sealed);
+    }
+
+    public synchronized long size() {
+        return journal.size();
+    }
+
+    public synchronized int getTrackedNetworkCount() {
+        return tracked.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            collect();
+        } finally {
+            for (Tracked state : tracked.values()) {
+                state.subscription.close();
+            }
+            tracked.clear();
+            journal.close();
+        }
+    }
+
+    // ==================== INTERN ====================
+
+    private void collect() {
+        for (Map.Entry<MENetwork, Tracked> entry : new ArrayList<>(tracked.entrySet())) {
+            collect(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static boolean needsSave(MENetwork network) {
+        return network.isMerged() || network.isEmpty() || network.isDirty();
+    }
+
+    /**
+     * Überträgt den Stand eines Netzwerks und vermerkt ihn als gespeichert
+     */
+    private void collect(MENetwork network, Tracked state) {
+        MENetwork live = network.resolve();
+        if (live != network || network.isEmpty()) {
+            // Aufgegangen oder abgebaut - der Überlebende trägt die Items
+            journal.appendNetworkRemove(network.getNetworkId());
+            state.subscription.close();
+            tracked.remove(network);
+            if (live != network) {
+                track(live);
+            }
+            return;
+        }
+
+        // Versionen vor dem Lesen: spätere Änderungen lassen das Netzwerk dirty
+        long storageVersion = network.getStorageVersion();
+        long topologyVersion = network.getTopologyVersion();
+        network.flushStorageChanges();
+        if (state.subscription.consumeResync()) {
+            // Nach einem Merge: Basis war ein anderes Netzwerk - vollen Stand schreiben
+            state.subscription.drainLatest();
+            StorageSnapshot snapshot = network.getStorageSnapshot();
+            journal.appendNetworkItems(network.getNetworkId(), snapshot.items());
+            storageVersion = snapshot.version();
+        } else {
+            UUID networkId = network.getNetworkId();
+            state.subscription.drainLatest().forEach((itemIndex, amount) ->
+                journal.appendItemSet(networkId, registry.nameOf(itemIndex), amount));
+        }
+        if (state.maxChannels != network.getMaxChannels() || state.hasController != network.hasController()) {
+            writeMeta(network, state);
+        }
+        network.markSaved(storageVersion, topologyVersion);
+    }
+
+    private void writeMeta(MENetwork network, Tracked state) {
+        state.maxChannels = network.getMaxChannels();
+        state.hasController = network.hasController();
+        journal.appendNetworkPut(network.getNetworkId(), state.maxChannels, state.hasController);
+    }
+}
@@ -0,0 +1,220 @@
+package com.tobi.mesystem.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.tobi.mesystem.util.BlockPos;
+import com.tobi.mesystem.util.Direction;
+import com.tobi.mesystem.util.LongObjectHashMap;
+
+/**
+ * Plan zum Wiederaufbau der Netzwerke einer Welt aus gespeicherten Daten
+ *
+ * Verbindungen und Netzwerk-Grenzen ergeben sich aus der Nachbarschaft der Nodes:
+ * jede Zusammenhangskomponente wird genau ein Netzwerk. Die gespeicherte
+ * Netzwerk-Zuordnung der Nodes bestimmt nur, welches gespeicherte Netzwerk
+ * (ID + Items) zu welcher Komponente gehört.
+ *
+ * - Größte Komponente zuerst: sie erhält das von ihren Nodes meistgenannte Netzwerk
+ * - Weitere gespeicherte Netzwerke derselben Komponente werden vereinigt (Merge,
+ *   der vor einem Absturz nicht mehr ins Journal kam) - Items addiert
+ * - Netzwerke ohne Nodes (Textformat v1.0 ohne Zuordnung) gehen an Komponenten ohne
+ *   Netzwerk, der Rest an die größte Komponente - Items gehen nie verloren
+ *
+ * Laufzeit linear in der Anzahl Nodes (eine Breitensuche, ein Durchlauf pro Komponente).
+ * Rein funktional ohne Plugin-Abhängigkeiten.
+ */
+public final class WorldRestorePlan {
+
+    /**
+     * Ein wiederherzustellendes Netzwerk
+     *
+     * @param networkId ID des Netzwerks (gespeichert oder neu vergeben)
+     * @param positions Gepackte Positionen aller Nodes der Komponente
+     * @param items Storage-Inhalt (ggf. aus mehreren gespeicherten Netzwerken vereinigt)
+     */
+    public record Component(UUID networkId, long[] positions, Map<String, Long> items) {
+    }
+
+    private final List<Component> components;
+    private final int mergedNetworks;
+    private final int reassignedNetworks;
+    private final boolean exact;
+
+    private WorldRestorePlan(List<Component> components, int mergedNetworks, int reassignedNetworks, boolean exact) {
+        this.components = components;
+        this.mergedNetworks = mergedNetworks;
+        this.reassignedNetworks = reassignedNetworks;
+        this.exact = exact;
+    }
+
+    /**
+     * Erstellt den Plan für eine Welt
+     */
+    public static WorldRestorePlan of(WorldData data) {
+        List<long[]> groups = findComponents(data);
+        groups.sort(Comparator.comparingInt((long[] group) -> group.length).reversed());
+
+        Map<UUID, WorldData.NetworkRecord> saved = data.getNetworks();
+        Set<UUID> claimed = new HashSet<>();
+        UUID[] primary = new UUID[groups.size()];
+        boolean exact = true;
+
+        // 1. Jede Komponente beansprucht ihr meistgenanntes, noch freies Netzwerk
+        List<Map<UUID, Integer>> references = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            Map<UUID, Integer> counts = new LinkedHashMap<>();
+            for (long position : groups.get(i)) {
+                UUID networkId = data.getNode(position).networkId();
+                if (networkId != null && saved.containsKey(networkId)) {
+                    counts.merge(networkId, 1, Integer::sum);
+                } else {
+                    exact = false;
+                }
+            }
+            references.add(counts);
+
+            UUID best = null;
+            int bestCount = 0;
+            for (Map.Entry<UUID, Integer> entry : counts.entrySet()) {
+                if (entry.getValue() > bestCount && !claimed.contains(entry.getKey())) {
+                    best = entry.getKey();
+                    bestCount = entry.getValue();
+                }
+            }
+            if (best != null) {
+                claimed.add(best);
+                primary[i] = best;
+            }
+            if (counts.size() != 1 || best == null) {
+                exact = false;
+            }
+        }
+
+        // 2. Weitere freie Netzwerke einer Komponente werden mit ihr vereinigt
+        List<List<UUID>> merged = new ArrayList<>(groups.size());
+        int mergedCount = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            List<UUID> extra = new ArrayList<>();
+            for (UUID networkId : references.get(i).keySet()) {
+                if (claimed.add(networkId)) {
+                    extra.add(networkId);
+                    mergedCount++;
+                }
+            }
+            merged.add(extra);
+        }
+
+        // 3. Netzwerke ohne Nodes: zuerst an Komponenten ohne Netzwerk, sonst an die größte
+        int reassigned = 0;
+        int nextFree = 0;
+        for (UUID networkId : saved.keySet()) {
+            if (claimed.contains(networkId) || groups.isEmpty()) {
+                continue;
+            }
+            exact = false;
+            reassigned++;
+            while (nextFree < groups.size() && primary[nextFree] != null) {
+                nextFree++;
+            }
+            if (nextFree < groups.size()) {
+                primary[nextFree] = networkId;
+            } else {
+                merged.get(0).add(networkId);
+            }
+            claimed.add(networkId);
+        }
+
+        List<Component> components = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            Map<String, Long> items = new HashMap<>();
+            UUID networkId = primary[i];
+            if (networkId != null) {
+                items.putAll(saved.get(networkId).getItems());
+            } else {
+                networkId = UUID.randomUUID();
+            }
+            for (UUID extra : merged.get(i)) {
+                for (Map.Entry<String, Long> item : saved.get(extra).getItems().entrySet()) {
+                    items.merge(item.getKey(), item.getValue(), Long::sum);
+                }
+            }
+            components.add(new Component(networkId, groups.get(i), items));
+        }
+        return new WorldRestorePlan(components, mergedCount, reassigned, exact);
+    }
+
+    /**
+     * Komponenten, größte zuerst
+     */
+    public List<Component> getComponents() {
+        return components;
+    }
+
+    /**
+     * Gespeicherte Netzwerke, die mit einem anderen vereinigt wurden
+     */
+    public int getMergedNetworkCount() {
+        return mergedNetworks;
+    }
+
+    /**
+     * Gespeicherte Netzwerke ohne Nodes, die einer Komponente zugeteilt wurden
+     */
+    public int getReassignedNetworkCount() {
+        return reassignedNetworks;
+    }
+
+    /**
+     * true wenn jede Komponente genau ihr gespeichertes Netzwerk erhielt
+     * (sonst sollte der wiederhergestellte Stand neu gespeichert werden)
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    // ==================== INTERN ====================
+
+    /**
+     * Breitensuche über die 6er-Nachbarschaft. Alle Positionen landen genau einmal in
+     * einer gemeinsamen Queue; jede Komponente ist ein zusammenhängender Abschnitt davon.
+     */
+    private static List<long[]> findComponents(WorldData data) {
+        LongObjectHashMap<WorldData.NodeRecord> all = data.getNodes();
+        LongObjectHashMap<WorldData.NodeRecord> remaining = new LongObjectHashMap<>(all.size());
+        all.forEach(remaining::put);
+
+        long[] queue = new long[all.size()];
+        int[] tail = {0};
+        List<long[]> groups = new ArrayList<>();
+        Direction[] directions = Direction.values();
+
+        all.forEach((start, node) -> {
+            if (remaining.remove(start) == null) {
+                return;
+            }
+            int head = tail[0];
+            int begin = head;
+            queue[tail[0]++] = start;
+            while (head < tail[0]) {
+                long current = queue[head++];
+                for (Direction direction : directions) {
+                    long neighbor = BlockPos.offset(current, direction);
+                    if (remaining.remove(neighbor) != null) {
+                        queue[tail[0]++] = neighbor;
+                    }
+                }
+            }
+            groups.add(Arrays.copyOfRange(queue, begin, tail[0]));
+        });
+        return groups;
+    }
+}
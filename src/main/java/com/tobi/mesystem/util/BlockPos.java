@@ -1,7 +1,5 @@
 package com.tobi.mesystem.util;
 
-import java.util.Objects;
-
 /**
  * Immutable 3D block position in the world.
  * 
@@ -12,7 +10,8 @@ import java.util.Objects;
  * <p><b>Key Features:</b>
  * <ul>
  *   <li>Immutable - thread-safe by design</li>
- *   <li>Optimized equals/hashCode for HashMap performance</li>
+ *   <li>Optimized equals/hashCode for HashMap performance (no boxing)</li>
+ *   <li>Packed {@code long} encoding for primitive-keyed maps ({@link #asLong()})</li>
  *   <li>Convenient offset methods for neighbor access</li>
  *   <li>Cached common positions (e.g., ORIGIN)</li>
  * </ul>
@@ -32,6 +31,14 @@ public final class BlockPos {
     // Cache für häufig verwendete Positionen
     private static final BlockPos ORIGIN = new BlockPos(0, 0, 0);
     
+    // Gepacktes Layout: 26 Bit X | 26 Bit Z | 12 Bit Y (Vorzeichen jeweils erhalten)
+    private static final int BITS_XZ = 26;
+    private static final int BITS_Y = 12;
+    private static final long MASK_XZ = (1L << BITS_XZ) - 1;
+    private static final long MASK_Y = (1L << BITS_Y) - 1;
+    private static final int SHIFT_Z = BITS_Y;
+    private static final int SHIFT_X = BITS_Y + BITS_XZ;
+    
     public BlockPos(int x, int y, int z) {
         this.x = x;
         this.y = y;
@@ -100,6 +107,62 @@ public final class BlockPos {
         return new BlockPos(x + dx, y + dy, z + dz);
     }
     
+    /**
+     * Packs this position into a single {@code long}.
+     * Supports x/z in [-2^25, 2^25) and y in [-2048, 2048).
+     * 
+     * @return packed position key
+     */
+    public long asLong() {
+        return asLong(x, y, z);
+    }
+    
+    /**
+     * Packs coordinates into a single {@code long} without allocating.
+     * 
+     * @return packed position key
+     */
+    public static long asLong(int x, int y, int z) {
+        return ((x & MASK_XZ) << SHIFT_X) | ((z & MASK_XZ) << SHIFT_Z) | (y & MASK_Y);
+    }
+    
+    /**
+     * Unpacks a key created by {@link #asLong()}.
+     * 
+     * @param packed packed position key
+     * @return new position
+     */
+    public static BlockPos fromLong(long packed) {
+        return new BlockPos(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+    
+    public static int unpackX(long packed) {
+        return (int) (packed >> SHIFT_X);
+    }
+    
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - BITS_Y) >> (64 - BITS_Y));
+    }
+    
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - SHIFT_X) >> (64 - BITS_XZ));
+    }
+    
+    /**
+     * Key of the neighbouring position in the given direction (no allocation).
+     * 
+     * @param packed packed position key
+     * @param direction the direction to offset
+     * @return packed key of the neighbour
+     */
+    public static long offset(long packed, Direction direction) {
+        return asLong(
+            unpackX(packed) + direction.getOffsetX(),
+            unpackY(packed) + direction.getOffsetY(),
+            unpackZ(packed) + direction.getOffsetZ()
+        );
+    }
+    
     /**
      * Calculates Manhattan distance to another position.
      * 
@@ -137,12 +200,10 @@ public final class BlockPos {
     public static BlockPos fromHytaleBlockPos(Object hytaleBlockPos) {
         try {
             // Nutze Reflection um auf Hytale BlockPos zuzugreifen
-            // (Hytale API Namen sind nicht public verfügbar)
-            Class<?> hytaleBlockPosClass = hytaleBlockPos.getClass();
-            
-            int x = (Integer) hytaleBlockPosClass.getMethod("getX").invoke(hytaleBlockPos);
-            int y = (Integer) hytaleBlockPosClass.getMethod("getY").invoke(hytaleBlockPos);
-            int z = (Integer) hytaleBlockPosClass.getMethod("getZ").invoke(hytaleBlockPos);
+            // (Hytale API Namen sind nicht public verfügbar, Handles pro Klasse gecacht)
+            int x = (Integer) ReflectionAccessors.GET_X.invoke(hytaleBlockPos);
+            int y = (Integer) ReflectionAccessors.GET_Y.invoke(hytaleBlockPos);
+            int z = (Integer) ReflectionAccessors.GET_Z.invoke(hytaleBlockPos);
             
             return new BlockPos(x, y, z);
             
@@ -162,7 +223,8 @@ public final class BlockPos {
     
     @Override
     public int hashCode() {
-        return Objects.hash(x, y, z);
+        // Gleiche Verteilung wie Objects.hash(x, y, z), aber ohne Varargs-Array und Boxing
+        return (31 * (31 * (31 + x) + y)) + z;
     }
     
     @Override
@@ -0,0 +1,221 @@
+package com.tobi.mesystem.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.tobi.mesystem.core.MENetwork;
+
+/**
+ * Chunk-Residenz einer Welt: geladene Chunk-Spalten und schlafende Netzwerke
+ *
+ * - Solange kein Chunk-Event eintraf, gelten alle Chunks als geladen
+ *   (Verhalten wie ohne Chunk-Events: alle Netzwerke bleiben wach)
+ * - Schlafende Netzwerke sind nach jeder Chunk-Spalte mit einem ihrer Nodes indiziert:
+ *   Zugriffe auf eine Position finden sie in O(1), Chunk-Laden weckt nur Netzwerke
+ *   mit einem aktiven Device in dieser Spalte
+ * - Netzwerke mit Nodes in entladenen Chunks werden gesammelt und gebündelt geprüft
+ *   (ein Prüfdurchlauf pro Netzwerk, egal wie viele seiner Chunks entladen wurden)
+ *
+ * Chunk-Spalten sind 32x32 Blöcke breit (wie {@link SpatialNodeIndex}).
+ *
+ * Thread-Safety: Alle Methoden synchronisiert. Übergänge zwischen Node-Index und
+ * schlafenden Netzwerken (Auslagern, Wecken, Erfassen beim Kompaktieren) synchronisiert
+ * der {@link NetworkManager} zusätzlich auf dieser Instanz.
+ */
+public final class ChunkActivity {
+
+    // Hytale-Chunks sind 32x32 Blöcke breit
+    public static final int CHUNK_SHIFT = 5;
+
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final LongObjectHashMap<Object> loaded = new LongObjectHashMap<>();
+    private final LongObjectHashMap<List<DormantNetwork>> dormantByChunk = new LongObjectHashMap<>();
+    private final Map<UUID, DormantNetwork> dormant = new HashMap<>();
+    private final ArrayDeque<MENetwork> pendingChecks = new ArrayDeque<>();
+    private final Set<MENetwork> pendingSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile int dormantCount;
+    private boolean tracking;
+    private Object world;
+
+    /**
+     * Schlüssel einer Chunk-Spalte
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chunk-Spalte einer gepackten Position ({@link BlockPos#asLong()})
+     */
+    public static long chunkOfPosition(long positionKey) {
+        return chunkKey(BlockPos.unpackX(positionKey) >> CHUNK_SHIFT, BlockPos.unpackZ(positionKey) >> CHUNK_SHIFT);
+    }
+
+    /**
+     * World-Objekt der Welt (für neu aufgebaute Nodes beim Wecken)
+     */
+    public synchronized Object getWorld() {
+        return world;
+    }
+
+    public synchronized void setWorld(Object world) {
+        if (world != null) {
+            this.world = world;
+        }
+    }
+
+    /**
+     * true sobald Chunk-Events eintreffen (vorher gilt alles als geladen)
+     */
+    public synchronized boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Chunk geladen
+     * @return Schlafende Netzwerke mit einem aktiven Device in dieser Spalte (zu wecken)
+     */
+    public synchronized List<DormantNetwork> chunkLoaded(int chunkX, int chunkZ) {
+        tracking = true;
+        long key = chunkKey(chunkX, chunkZ);
+        loaded.put(key, PRESENT);
+        List<DormantNetwork> candidates = dormantByChunk.get(key);
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        List<DormantNetwork> wake = new ArrayList<>();
+        for (DormantNetwork network : candidates) {
+            if (network.hasDeviceIn(key)) {
+                wake.add(network);
+            }
+        }
+        return wake;
+    }
+
+    /**
+     * Chunk entladen
+     */
+    public synchronized void chunkUnloaded(int chunkX, int chunkZ) {
+        tracking = true;
+        loaded.remove(chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * true wenn die Chunk-Spalte der Position geladen ist (oder noch keine Events eintrafen)
+     */
+    public synchronized boolean isLoadedAt(long positionKey) {
+        return !tracking || loaded.containsKey(chunkOfPosition(positionKey));
+    }
+
+    public synchronized int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    // ==================== SCHLAFENDE NETZWERKE ====================
+
+    public synchronized void addDormant(DormantNetwork network) {
+        DormantNetwork previous = dormant.get(network.getNetworkId());
+        if (previous != null) {
+            removeDormant(previous);
+        }
+        dormant.put(network.getNetworkId(), network);
+        dormantCount = dormant.size();
+        for (long chunk : network.getChunks()) {
+            List<DormantNetwork> list = dormantByChunk.get(chunk);
+            if (list == null) {
+                list = new ArrayList<>(1);
+                dormantByChunk.put(chunk, list);
+            }
+            list.add(network);
+        }
+    }
+
+    /**
+     * Entfernt ein schlafendes Netzwerk (beim Wecken)
+     * @return false wenn es bereits geweckt wurde
+     */
+    public synchronized boolean removeDormant(DormantNetwork network) {
+        if (dormant.get(network.getNetworkId()) != network) {
+            return false;
+        }
+        dormant.remove(network.getNetworkId());
+        dormantCount = dormant.size();
+        for (long chunk : network.getChunks()) {
+            List<DormantNetwork> list = dormantByChunk.get(chunk);
+            if (list != null && list.remove(network) && list.isEmpty()) {
+                dormantByChunk.remove(chunk);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Schlafende Netzwerke mit Nodes in der Chunk-Spalte einer Position
+     */
+    public synchronized List<DormantNetwork> dormantAt(long positionKey) {
+        if (dormantCount == 0) {
+            return Collections.emptyList();
+        }
+        List<DormantNetwork> list = dormantByChunk.get(chunkOfPosition(positionKey));
+        return list != null ? new ArrayList<>(list) : Collections.emptyList();
+    }
+
+    public synchronized List<DormantNetwork> getDormant() {
+        return new ArrayList<>(dormant.values());
+    }
+
+    /**
+     * Ohne Lock - für den Fehlpfad von Node-Lookups
+     */
+    public boolean hasDormant() {
+        return dormantCount > 0;
+    }
+
+    public synchronized int getDormantCount() {
+        return dormant.size();
+    }
+
+    public synchronized long getDormantNodeCount() {
+        long count = 0;
+        for (DormantNetwork network : dormant.values()) {
+            count += network.getNodeCount();
+        }
+        return count;
+    }
+
+    // ==================== PRÜFUNGEN ====================
+
+    /**
+     * Merkt ein Netzwerk zur Prüfung vor (idempotent bis zur Abholung)
+     */
+    public synchronized void requestCheck(MENetwork network) {
+        if (network != null && pendingSet.add(network)) {
+            pendingChecks.add(network);
+        }
+    }
+
+    /**
+     * Holt bis zu {@code max} vorgemerkte Netzwerke ab
+     */
+    public synchronized List<MENetwork> pollChecks(int max) {
+        List<MENetwork> polled = new ArrayList<>(Math.min(max, pendingChecks.size()));
+        while (polled.size() < max && !pendingChecks.isEmpty()) {
+            MENetwork network = pendingChecks.poll();
+            pendingSet.remove(network);
+            polled.add(network);
+        }
+        return polled;
+    }
+
+    public synchronized int getPendingCheckCount() {
+        return pendingChecks.size();
+    }
+}
@@ -0,0 +1,293 @@
+package com.tobi.mesystem.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Container-Index einer Welt
+ *
+ * Ersetzt den Würfel-Scan (2r+1)³ in ContainerUtils: Container-Positionen werden
+ * in Buckets pro 16x16x16-Section gehalten, eine Bounding-Box-Abfrage besucht nur
+ * die überlappenden Sections und deren (wenige) Container.
+ *
+ * Befüllung:
+ * - Inkrementell über Block-Place/Break-Events ({@link #add}, {@link #remove})
+ * - Lazy beim ersten Abfragen: noch nie geprüfte Positionen der Box werden einmal
+ *   geprobt und als abgedeckt markiert (Bitset pro Section), danach nie wieder
+ * - Lazy Validierung: Kandidaten ohne Container fliegen bei der nächsten Abfrage raus
+ *
+ * Aufwand einer Abfrage nach dem ersten Mal: O(überlappende Sections + Container).
+ *
+ * Thread-Safety: Index-Zustand synchronisiert, Proben laufen außerhalb des Locks
+ * (Reflection in die Welt blockiert keine Place/Break-Updates).
+ */
+public final class ContainerIndex {
+
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_MASK = (1 << SECTION_SHIFT) - 1;
+    private static final int SECTION_VOLUME = 1 << (SECTION_SHIFT * 3);
+
+    // Hytale-Chunks sind 32x32 Blöcke breit
+    private static final int CHUNK_SHIFT = 5;
+
+    private final LongObjectHashMap<Section> sections = new LongObjectHashMap<>();
+    private int containerCount = 0;
+
+    /**
+     * Registriert einen (möglichen) Container - wird bei der nächsten Abfrage validiert
+     */
+    public synchronized void add(BlockPos pos) {
+        long sectionKey = sectionKeyOf(pos.getX(), pos.getY(), pos.getZ());
+        Section section = sections.get(sectionKey);
+        if (section == null) {
+            section = new Section();
+            sections.put(sectionKey, section);
+        }
+        if (section.addContainer(pos.asLong())) {
+            containerCount++;
+        }
+    }
+
+    /**
+     * Entfernt einen Container (Block abgebaut)
+     * @return true wenn die Position indiziert war
+     */
+    public synchronized boolean remove(BlockPos pos) {
+        return removeKey(pos.asLong());
+    }
+
+    /**
+     * Vergisst alle Sections einer Chunk-Spalte (z.B. Chunk entladen oder extern verändert).
+     * Die nächste Abfrage probt den Bereich erneut.
+     */
+    public synchronized void invalidateChunk(int chunkX, int chunkZ) {
+        int minSectionX = chunkX << (CHUNK_SHIFT - SECTION_SHIFT);
+        int minSectionZ = chunkZ << (CHUNK_SHIFT - SECTION_SHIFT);
+        int perChunk = 1 << (CHUNK_SHIFT - SECTION_SHIFT);
+        long[] keys = new long[sections.size()];
+        int[] count = {0};
+        sections.forEach((key, section) -> {
+            int sx = sectionX(key);
+            int sz = sectionZ(key);
+            if (sx >= minSectionX && sx < minSectionX + perChunk && sz >= minSectionZ && sz < minSectionZ + perChunk) {
+                keys[count[0]++] = key;
+            }
+        });
+        for (int i = 0; i < count[0]; i++) {
+            Section removed = sections.remove(keys[i]);
+            containerCount -= removed.count;
+        }
+    }
+
+    /**
+     * Sucht alle Container in einer Bounding-Box (Grenzen inklusive)
+     *
+     * @param min Minimale Ecke
+     * @param max Maximale Ecke
+     * @param resolver Probe Position -> Container (null wenn kein Container)
+     * @param sink Erhält jeden gefundenen Container
+     * @return Anzahl geprobter Positionen (Cache-Misses + Validierungen)
+     */
+    public <T> int query(BlockPos min, BlockPos max, Function<BlockPos, T> resolver, BiConsumer<BlockPos, T> sink) {
+        LongList candidates = new LongList();
+        LongList unscanned = new LongList();
+        collect(min, max, candidates, unscanned);
+
+        // Proben ohne Lock
+        LongList invalid = new LongList();
+        LongList found = new LongList();
+        for (int i = 0; i < candidates.size; i++) {
+            long key = candidates.values[i];
+            BlockPos pos = BlockPos.fromLong(key);
+            T container = resolver.apply(pos);
+            if (container != null) {
+                sink.accept(pos, container);
+            } else {
+                invalid.add(key);
+            }
+        }
+        for (int i = 0; i < unscanned.size; i++) {
+            long key = unscanned.values[i];
+            BlockPos pos = BlockPos.fromLong(key);
+            T container = resolver.apply(pos);
+            if (container != null) {
+                sink.accept(pos, container);
+                found.add(key);
+            }
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < invalid.size; i++) {
+                removeKey(invalid.values[i]);
+            }
+            for (int i = 0; i < found.size; i++) {
+                add(BlockPos.fromLong(found.values[i]));
+            }
+        }
+        return candidates.size + unscanned.size;
+    }
+
+    /**
+     * Anzahl indizierter Container (inkl. noch nicht validierter Kandidaten)
+     */
+    public synchronized int size() {
+        return containerCount;
+    }
+
+    public synchronized int getSectionCount() {
+        return sections.size();
+    }
+
+    public synchronized void clear() {
+        sections.clear();
+        containerCount = 0;
+    }
+
+    // ==================== INTERN ====================
+
+    /**
+     * Sammelt Kandidaten in der Box und markiert ungeprüfte Positionen als abgedeckt
+     */
+    private synchronized void collect(BlockPos min, BlockPos max, LongList candidates, LongList unscanned) {
+        int minX = Math.min(min.getX(), max.getX());
+        int minY = Math.min(min.getY(), max.getY());
+        int minZ = Math.min(min.getZ(), max.getZ());
+        int maxX = Math.max(min.getX(), max.getX());
+        int maxY = Math.max(min.getY(), max.getY());
+        int maxZ = Math.max(min.getZ(), max.getZ());
+
+        for (int sy = minY >> SECTION_SHIFT; sy <= maxY >> SECTION_SHIFT; sy++) {
+            for (int sz = minZ >> SECTION_SHIFT; sz <= maxZ >> SECTION_SHIFT; sz++) {
+                for (int sx = minX >> SECTION_SHIFT; sx <= maxX >> SECTION_SHIFT; sx++) {
+                    long sectionKey = SpatialNodeIndex.sectionKey(sx, sy, sz);
+                    Section section = sections.get(sectionKey);
+                    if (section == null) {
+                        section = new Section();
+                        sections.put(sectionKey, section);
+                    }
+
+                    // Bekannte Container in der Box
+                    for (int i = 0; i < section.count; i++) {
+                        long key = section.containers[i];
+                        int x = BlockPos.unpackX(key);
+                        int y = BlockPos.unpackY(key);
+                        int z = BlockPos.unpackZ(key);
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                            candidates.add(key);
+                        }
+                    }
+
+                    if (section.fullyScanned) {
+                        continue;
+                    }
+
+                    // Schnittmenge Box/Section, nur noch nie geprüfte Positionen
+                    int baseX = sx << SECTION_SHIFT;
+                    int baseY = sy << SECTION_SHIFT;
+                    int baseZ = sz << SECTION_SHIFT;
+                    for (int y = Math.max(minY, baseY); y <= Math.min(maxY, baseY + SECTION_MASK); y++) {
+                        for (int z = Math.max(minZ, baseZ); z <= Math.min(maxZ, baseZ + SECTION_MASK); z++) {
+                            for (int x = Math.max(minX, baseX); x <= Math.min(maxX, baseX + SECTION_MASK); x++) {
+                                int local = localIndex(x, y, z);
+                                if (!section.scanned.get(local) && !section.containsContainer(BlockPos.asLong(x, y, z))) {
+                                    section.scanned.set(local);
+                                    unscanned.add(BlockPos.asLong(x, y, z));
+                                }
+                            }
+                        }
+                    }
+                    section.updateFullyScanned();
+                }
+            }
+        }
+    }
+
+    private boolean removeKey(long key) {
+        long sectionKey = sectionKeyOf(BlockPos.unpackX(key), BlockPos.unpackY(key), BlockPos.unpackZ(key));
+        Section section = sections.get(sectionKey);
+        if (section == null || !section.removeContainer(key)) {
+            return false;
+        }
+        containerCount--;
+        return true;
+    }
+
+    private static long sectionKeyOf(int x, int y, int z) {
+        return SpatialNodeIndex.sectionKey(x >> SECTION_SHIFT, y >> SECTION_SHIFT, z >> SECTION_SHIFT);
+    }
+
+    private static int sectionX(long sectionKey) {
+        return (int) (sectionKey >> 42);
+    }
+
+    private static int sectionZ(long sectionKey) {
+        return (int) (sectionKey << 22 >> 42);
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & SECTION_MASK) << (SECTION_SHIFT * 2)) | ((z & SECTION_MASK) << SECTION_SHIFT) | (x & SECTION_MASK);
+    }
+
+    /**
+     * Bucket einer Section: Container-Positionen + Abdeckung der bereits geprobten Blöcke
+     */
+    private static final class Section {
+        private final BitSet scanned = new BitSet(SECTION_VOLUME);
+        private boolean fullyScanned = false;
+        private long[] containers = new long[4];
+        private int count = 0;
+
+        private boolean containsContainer(long key) {
+            for (int i = 0; i < count; i++) {
+                if (containers[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean addContainer(long key) {
+            if (containsContainer(key)) {
+                return false;
+            }
+            if (count == containers.length) {
+                containers = Arrays.copyOf(containers, count * 2);
+            }
+            containers[count++] = key;
+            return true;
+        }
+
+        private boolean removeContainer(long key) {
+            for (int i = 0; i < count; i++) {
+                if (containers[i] == key) {
+                    containers[i] = containers[--count];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void updateFullyScanned() {
+            if (scanned.cardinality() == SECTION_VOLUME) {
+                fullyScanned = true;
+            }
+        }
+    }
+
+    /**
+     * Minimale wachsende long-Liste (keine Long-Boxing-Kosten)
+     */
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size = 0;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
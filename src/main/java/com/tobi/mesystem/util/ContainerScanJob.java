@@ -0,0 +1,224 @@
+package com.tobi.mesystem.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Inkrementelle, zeitbudgetierte Container-Suche
+ *
+ * Zerlegt den Suchwürfel in Arbeitseinheiten (Schnitt mit je einer 16³-Section)
+ * und arbeitet pro Tick nur so viele Einheiten ab, wie das Zeitbudget erlaubt
+ * ({@code performance.maxSearchTimeMs}). Der Cursor bleibt zwischen den Ticks
+ * erhalten, eine große Suche verteilt sich so über mehrere Ticks statt einen
+ * einzelnen Tick zu blockieren.
+ *
+ * - Mit Container-Index: jede Einheit ist eine Index-Abfrage (meist nur Validierungen)
+ * - Ohne Index: jede Einheit probt ihre Positionen direkt
+ * - Fortschritt nach jedem Slice über Listener, Abschluss über CompletableFuture
+ *
+ * Thread-Safety: Ein Job wird immer nur von einem Thread gleichzeitig ausgeführt
+ * (Slices laufen nacheinander auf dem World-Thread).
+ */
+public final class ContainerScanJob {
+
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_SIZE = 1 << SECTION_SHIFT;
+
+    // Abstand zwischen zwei Slices (ca. ein Server-Tick)
+    private static final long TICK_MILLIS = 50;
+
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final int unitsX, unitsY, unitsZ;
+    private final int totalUnits;
+
+    private final ContainerIndex index;
+    private final Function<BlockPos, Object> resolver;
+    private final BiConsumer<BlockPos, Object> sink;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private int cursor = 0;
+    private int containersFound = 0;
+    private int slices = 0;
+    private volatile boolean cancelled = false;
+    private Consumer<ContainerScanJob> progressListener;
+
+    /**
+     * @param center Zentrum der Suche
+     * @param radius Suchradius in Blöcken
+     * @param index Container-Index der Welt (null: direkte Proben)
+     * @param resolver Probe Position -> Container (null wenn kein Container)
+     * @param sink Erhält jeden gefundenen Container
+     */
+    public ContainerScanJob(BlockPos center, int radius, ContainerIndex index,
+                            Function<BlockPos, Object> resolver, BiConsumer<BlockPos, Object> sink) {
+        this.minX = center.getX() - radius;
+        this.minY = center.getY() - radius;
+        this.minZ = center.getZ() - radius;
+        this.maxX = center.getX() + radius;
+        this.maxY = center.getY() + radius;
+        this.maxZ = center.getZ() + radius;
+        this.unitsX = (maxX >> SECTION_SHIFT) - (minX >> SECTION_SHIFT) + 1;
+        this.unitsY = (maxY >> SECTION_SHIFT) - (minY >> SECTION_SHIFT) + 1;
+        this.unitsZ = (maxZ >> SECTION_SHIFT) - (minZ >> SECTION_SHIFT) + 1;
+        this.totalUnits = unitsX * unitsY * unitsZ;
+        this.index = index;
+        this.resolver = resolver;
+        this.sink = (pos, container) -> {
+            containersFound++;
+            sink.accept(pos, container);
+        };
+    }
+
+    /**
+     * Wird nach jedem Slice aufgerufen (Teilergebnisse abrufbar)
+     */
+    public ContainerScanJob onProgress(Consumer<ContainerScanJob> listener) {
+        this.progressListener = listener;
+        return this;
+    }
+
+    /**
+     * Arbeitet Einheiten ab, bis das Budget verbraucht oder die Suche fertig ist.
+     * Mindestens eine Einheit wird immer bearbeitet (Fortschritt garantiert).
+     *
+     * @param budgetNanos Zeitbudget dieses Slices
+     * @return true wenn die Suche abgeschlossen (oder abgebrochen) ist
+     */
+    public boolean runSlice(long budgetNanos) {
+        if (completion.isDone()) {
+            return true;
+        }
+        if (cancelled) {
+            completion.completeExceptionally(new CancellationException("Container-Suche abgebrochen"));
+            return true;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        try {
+            do {
+                processUnit(cursor++);
+            } while (cursor < totalUnits && System.nanoTime() < deadline);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+            return true;
+        }
+        slices++;
+
+        if (progressListener != null) {
+            progressListener.accept(this);
+        }
+        if (cursor >= totalUnits) {
+            completion.complete(null);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Startet die Suche auf dem World-Thread: ein Slice pro Tick, bis sie fertig ist.
+     * Bietet die Welt keinen Executor, laufen alle Slices direkt auf dem Aufrufer-Thread.
+     *
+     * @param world World-Objekt (Executor des World-Threads)
+     * @param budgetMillis Zeitbudget pro Tick
+     * @param scheduler Plugin-Scheduler für die Verzögerung zwischen den Ticks
+     * @return Future, das mit Abschluss der Suche erfüllt wird
+     */
+    public CompletableFuture<Void> start(Object world, long budgetMillis, ScheduledExecutorService scheduler) {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, budgetMillis));
+        if (world == null || scheduler == null || !ReflectionAccessors.EXECUTE.isAvailable(world)) {
+            while (!runSlice(budgetNanos)) {
+                // synchron, aber weiterhin in Einheiten (Fortschritt/Listener identisch)
+            }
+            return completion;
+        }
+        submitSlice(world, budgetNanos, scheduler);
+        return completion;
+    }
+
+    /**
+     * Bricht die Suche vor dem nächsten Slice ab
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Fortschritt 0.0 - 1.0
+     */
+    public double getProgress() {
+        return totalUnits == 0 ? 1.0 : Math.min(1.0, (double) cursor / totalUnits);
+    }
+
+    public int getContainersFound() {
+        return containersFound;
+    }
+
+    public int getSliceCount() {
+        return slices;
+    }
+
+    public int getTotalUnits() {
+        return totalUnits;
+    }
+
+    // ==================== INTERN ====================
+
+    private void submitSlice(Object world, long budgetNanos, ScheduledExecutorService scheduler) {
+        Runnable slice = () -> {
+            if (!runSlice(budgetNanos)) {
+                scheduler.schedule(() -> submitSlice(world, budgetNanos, scheduler), TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        };
+        try {
+            ReflectionAccessors.EXECUTE.invoke(world, slice);
+        } catch (ReflectiveOperationException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Bearbeitet eine Einheit: Schnitt der Suchbox mit einer Section
+     */
+    private void processUnit(int unit) {
+        int ux = unit % unitsX;
+        int uz = (unit / unitsX) % unitsZ;
+        int uy = unit / (unitsX * unitsZ);
+
+        int baseX = ((minX >> SECTION_SHIFT) + ux) << SECTION_SHIFT;
+        int baseY = ((minY >> SECTION_SHIFT) + uy) << SECTION_SHIFT;
+        int baseZ = ((minZ >> SECTION_SHIFT) + uz) << SECTION_SHIFT;
+        int fromX = Math.max(minX, baseX), toX = Math.min(maxX, baseX + SECTION_SIZE - 1);
+        int fromY = Math.max(minY, baseY), toY = Math.min(maxY, baseY + SECTION_SIZE - 1);
+        int fromZ = Math.max(minZ, baseZ), toZ = Math.min(maxZ, baseZ + SECTION_SIZE - 1);
+
+        if (index != null) {
+            index.query(new BlockPos(fromX, fromY, fromZ), new BlockPos(toX, toY, toZ), resolver, sink);
+            return;
+        }
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    BlockPos pos = new BlockPos(x, y, z);
+                    Object container = resolver.apply(pos);
+                    if (container != null) {
+                        sink.accept(pos, container);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import com.hypixel.hytale.logger.HytaleLogger;
@@ -16,7 +18,9 @@ import com.tobi.mesystem.config.MEConfig;
  * Basiert auf ChestTerminal's InventoryUtils Pattern
  * 
  * Features:
- * - Container-Suche in Radius
+ * - Container-Suche in Radius über den Container-Index der Welt
+ *   (Aufwand proportional zu gefundenen Containern statt zum Suchvolumen)
+ * - Zeitbudgetierte Suche über mehrere Ticks (performance.maxSearchTimeMs)
  * - Item-Sammlung aus mehreren Containern
  * - Container-Validierung
  */
@@ -59,21 +63,8 @@ public class ContainerUtils {
         }
         
         try {
-            // Durchsuche alle Positionen im Radius
-            for (int dx = -radius; dx <= radius; dx++) {
-                for (int dy = -radius; dy <= radius; dy++) {
-                    for (int dz = -radius; dz <= radius; dz++) {
-                        BlockPos pos = center.offset(dx, dy, dz);
-                        
-                        // Versuche Container an dieser Position zu finden
-                        Object container = findContainerAt(world, pos);
-                        
-                        if (container != null) {
-                            addItemsFromContainer(container, items);
-                        }
-                    }
-                }
-            }
+            // Container im Radius über den Index finden
+            forEachContainer(world, center, radius, (pos, container) -> addItemsFromContainer(container, items));
             
             logger.at(Level.FINE).log(
                 "Collected %d item types from radius %d around %s",
@@ -90,6 +81,121 @@ public class ContainerUtils {
         return items;
     }
     
+    /**
+     * Sammelt Items inkrementell: pro Tick höchstens performance.maxSearchTimeMs,
+     * der Rest der Suche läuft in den folgenden Ticks weiter.
+     * 
+     * @param world World-Objekt
+     * @param center Zentral-Position
+     * @param radius Suchradius in Blöcken (nutzt Config-Wert wenn <= 0)
+     * @param onPartial Erhält nach jedem Tick eine Kopie des Zwischenstands (optional)
+     * @return Future mit allen Items (ItemID -> Anzahl)
+     */
+    public static CompletableFuture<Map<String, Long>> collectNearbyItemsAsync(Object world, BlockPos center, int radius,
+                                                                               Consumer<Map<String, Long>> onPartial) {
+        Map<String, Long> items = new HashMap<>();
+        if (world == null || center == null) {
+            return CompletableFuture.completedFuture(items);
+        }
+        
+        ContainerScanJob job = createScanJob(world, center, radius, (pos, container) -> addItemsFromContainer(container, items));
+        if (onPartial != null) {
+            job.onProgress(j -> onPartial.accept(new HashMap<>(items)));
+        }
+        return startScanJob(world, job).thenApply(ignored -> items);
+    }
+    
+    /**
+     * Findet Container inkrementell (zeitbudgetiert, siehe collectNearbyItemsAsync)
+     * 
+     * @return Future mit allen Container-Positionen
+     */
+    public static CompletableFuture<List<BlockPos>> findNearbyContainersAsync(Object world, BlockPos center, int radius) {
+        List<BlockPos> containers = new ArrayList<>();
+        if (world == null || center == null) {
+            return CompletableFuture.completedFuture(containers);
+        }
+        
+        ContainerScanJob job = createScanJob(world, center, radius, (pos, container) -> containers.add(pos));
+        return startScanJob(world, job).thenApply(ignored -> containers);
+    }
+    
+    /**
+     * Erstellt einen Scan-Job über den Container-Index der Welt
+     * 
+     * @param radius Suchradius (nutzt Config-Wert wenn <= 0)
+     */
+    public static ContainerScanJob createScanJob(Object world, BlockPos center, int radius,
+                                                 java.util.function.BiConsumer<BlockPos, Object> action) {
+        MEConfig config = MEPlugin.getInstance().getConfig();
+        if (radius <= 0) {
+            radius = config != null ? config.getSearchRadius() : 16;
+        }
+        NetworkManager networkManager = MEPlugin.getInstance().getNetworkManager();
+        ContainerIndex index = networkManager != null
+            ? networkManager.getContainerIndex(networkManager.resolveWorldId(world))
+            : null;
+        return new ContainerScanJob(center, radius, index, pos -> findContainerAt(world, pos), action);
+    }
+    
+    private static CompletableFuture<Void> startScanJob(Object world, ContainerScanJob job) {
+        MEConfig config = MEPlugin.getInstance().getConfig();
+        long budgetMillis = config != null ? config.getMaxSearchTimeMs() : 100;
+        return job.start(world, budgetMillis, MEPlugin.getInstance().getThreadPool())
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    logger.at(Level.WARNING).log("Container-Suche fehlgeschlagen: %s", error.getMessage());
+                } else {
+                    logger.at(Level.FINE).log("Container-Suche: %d Container in %d Ticks",
+                        job.getContainersFound(), job.getSliceCount());
+                }
+            });
+    }
+    
+    /**
+     * Besucht alle Container in einem Radius
+     * 
+     * Nutzt den Container-Index der Welt: bereits geprüfte Bereiche kosten nur noch
+     * die bekannten Container, ungeprüfte Positionen werden genau einmal geprobt.
+     * Ohne auflösbare Welt fällt die Suche auf den vollständigen Würfel-Scan zurück.
+     * 
+     * @param world World-Objekt
+     * @param center Zentral-Position
+     * @param radius Suchradius
+     * @param action Erhält Position und ItemContainer
+     */
+    public static void forEachContainer(Object world, BlockPos center, int radius,
+                                        java.util.function.BiConsumer<BlockPos, Object> action) {
+        NetworkManager networkManager = MEPlugin.getInstance().getNetworkManager();
+        ContainerIndex index = networkManager != null
+            ? networkManager.getContainerIndex(networkManager.resolveWorldId(world))
+            : null;
+        
+        if (index != null) {
+            int probed = index.query(
+                center.offset(-radius, -radius, -radius),
+                center.offset(radius, radius, radius),
+                pos -> findContainerAt(world, pos),
+                action
+            );
+            logger.at(Level.FINE).log("Container-Index: %d Positionen geprobt (Radius %d)", probed, radius);
+            return;
+        }
+        
+        // Fallback: Würfel-Scan
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                for (int dz = -radius; dz <= radius; dz++) {
+                    BlockPos pos = center.offset(dx, dy, dz);
+                    Object container = findContainerAt(world, pos);
+                    if (container != null) {
+                        action.accept(pos, container);
+                    }
+                }
+            }
+        }
+    }
+    
     /**
      * Findet Container an einer bestimmten Position
      * 
@@ -105,8 +211,7 @@ public class ContainerUtils {
         try {
             // Versuche BlockEntity an dieser Position zu bekommen
             // ChestTerminal nutzt: world.getBlockEntity(x, y, z)
-            Object blockEntity = world.getClass()
-                .getMethod("getBlockEntity", int.class, int.class, int.class)
+            Object blockEntity = ReflectionAccessors.GET_BLOCK_ENTITY
                 .invoke(world, pos.getX(), pos.getY(), pos.getZ());
             
             if (blockEntity == null) {
@@ -118,30 +223,16 @@ public class ContainerUtils {
                 return blockEntity;
             }
             
-            // Versuche ItemContainer via getContainer() zu holen
-            try {
-                Object container = blockEntity.getClass()
-                    .getMethod("getContainer")
-                    .invoke(blockEntity);
-                    
-                if (container instanceof com.hypixel.hytale.server.core.inventory.container.ItemContainer) {
-                    return container;
-                }
-            } catch (NoSuchMethodException ignored) {
-                // Keine getContainer() Methode
+            // Versuche ItemContainer via getContainer() zu holen (null wenn Methode fehlt)
+            Object container = ReflectionAccessors.GET_CONTAINER.invokeIfPresent(blockEntity);
+            if (container instanceof com.hypixel.hytale.server.core.inventory.container.ItemContainer) {
+                return container;
             }
             
             // Versuche als ItemContainerState (wie ChestTerminalBlockState)
-            try {
-                Object containerState = blockEntity.getClass()
-                    .getMethod("getItemContainer")
-                    .invoke(blockEntity);
-                    
-                if (containerState instanceof com.hypixel.hytale.server.core.inventory.container.ItemContainer) {
-                    return containerState;
-                }
-            } catch (NoSuchMethodException ignored) {
-                // Keine getItemContainer() Methode
+            Object containerState = ReflectionAccessors.GET_ITEM_CONTAINER.invokeIfPresent(blockEntity);
+            if (containerState instanceof com.hypixel.hytale.server.core.inventory.container.ItemContainer) {
+                return containerState;
             }
             
         } catch (Exception e) {
@@ -201,8 +292,7 @@ public class ContainerUtils {
         }
         
         try {
-            Object blockEntity = world.getClass()
-                .getMethod("getBlockEntity", int.class, int.class, int.class)
+            Object blockEntity = ReflectionAccessors.GET_BLOCK_ENTITY
                 .invoke(world, pos.getX(), pos.getY(), pos.getZ());
             
             return blockEntity != null;
@@ -228,17 +318,7 @@ public class ContainerUtils {
         }
         
         try {
-            for (int dx = -radius; dx <= radius; dx++) {
-                for (int dy = -radius; dy <= radius; dy++) {
-                    for (int dz = -radius; dz <= radius; dz++) {
-                        BlockPos pos = center.offset(dx, dy, dz);
-                        
-                        if (findContainerAt(world, pos) != null) {
-                            containers.add(pos);
-                        }
-                    }
-                }
-            }
+            forEachContainer(world, center, radius, (pos, container) -> containers.add(pos));
             
             logger.at(Level.FINE).log(
                 "Found %d containers in radius %d around %s",
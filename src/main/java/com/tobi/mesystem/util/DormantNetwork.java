@@ -0,0 +1,151 @@
+package com.tobi.mesystem.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.storage.WorldData;
+
+/**
+ * Schlafendes Netzwerk: ausgelagert, nur Kennzahlen bleiben im Speicher
+ *
+ * Nodes und Items liegen in der Persistenz (Node-Seite + Item-Tabelle). Resident sind
+ * nur ID, Storage-Summen und die Chunk-Spalten, in denen das Netzwerk Nodes bzw.
+ * aktive Devices besitzt - genug, um es beim Chunk-Laden oder Zugriff zu wecken.
+ *
+ * Bis die Seite geschrieben ist, hält das Netzwerk seinen Stand im Speicher
+ * ({@link #getPage()}); danach wird er freigegeben ({@link #release()}). Nach dem
+ * Wecken ({@link #markAwake()}) darf die Seite nicht mehr geschrieben werden - ein
+ * späteres Auslagern desselben Netzwerks schreibt eine neuere Seite.
+ *
+ * Thread-Safety: Seitenzugriffe synchronisiert (Auslagern und Wecken halten den
+ * Monitor über den ganzen Schreib- bzw. Lesevorgang), Kennzahlen unveränderlich.
+ */
+public final class DormantNetwork {
+
+    private final UUID networkId;
+    private final int nodeCount;
+    private final int itemTypeCount;
+    private final long totalItems;
+    private final long[] chunks;
+    private final long[] deviceChunks;
+    private WorldData page;
+    private boolean awake;
+
+    private DormantNetwork(UUID networkId, int nodeCount, int itemTypeCount, long totalItems,
+                           long[] chunks, long[] deviceChunks, WorldData page) {
+        this.networkId = networkId;
+        this.nodeCount = nodeCount;
+        this.itemTypeCount = itemTypeCount;
+        this.totalItems = totalItems;
+        this.chunks = chunks;
+        this.deviceChunks = deviceChunks;
+        this.page = page;
+    }
+
+    /**
+     * Erstellt ein schlafendes Netzwerk aus seiner Seite (Nodes + genau ein Netzwerk)
+     */
+    public static DormantNetwork of(UUID networkId, WorldData page) {
+        WorldData.NetworkRecord network = page.getNetwork(networkId);
+        Map<String, Long> items = network != null ? network.getItems() : Map.of();
+        long total = 0;
+        for (long amount : items.values()) {
+            total += amount;
+        }
+
+        long[] chunks = new long[page.getNodeCount()];
+        long[] deviceChunks = new long[page.getNodeCount()];
+        int[] counts = new int[2];
+        page.getNodes().forEachValue(node -> {
+            long chunk = ChunkActivity.chunkOfPosition(node.position());
+            chunks[counts[0]++] = chunk;
+            if (isActiveDevice(node)) {
+                deviceChunks[counts[1]++] = chunk;
+            }
+        });
+        return new DormantNetwork(networkId, page.getNodeCount(), items.size(), total,
+            distinct(chunks, counts[0]), distinct(deviceChunks, counts[1]), page);
+    }
+
+    /**
+     * Devices, deren geladener Chunk das Netzwerk wach hält (Kabel zählen nicht)
+     */
+    public static boolean isActiveDevice(WorldData.NodeRecord node) {
+        return node.type() != MEDeviceType.CABLE && node.isActive();
+    }
+
+    public UUID getNetworkId() {
+        return networkId;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getItemTypeCount() {
+        return itemTypeCount;
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    /**
+     * Chunk-Spalten mit mindestens einem Node (sortiert, siehe {@link ChunkActivity#chunkKey})
+     */
+    public long[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * true wenn in der Chunk-Spalte ein aktives Device des Netzwerks steht
+     */
+    public boolean hasDeviceIn(long chunkKey) {
+        return Arrays.binarySearch(deviceChunks, chunkKey) >= 0;
+    }
+
+    /**
+     * Noch nicht ausgelagerter Stand (null wenn die Seite geschrieben ist)
+     */
+    public synchronized WorldData getPage() {
+        return page;
+    }
+
+    /**
+     * Gibt den Stand frei, nachdem die Seite dauerhaft geschrieben wurde
+     */
+    public synchronized void release() {
+        page = null;
+    }
+
+    /**
+     * true nachdem das Netzwerk wieder aufgebaut wurde
+     */
+    public synchronized boolean isAwake() {
+        return awake;
+    }
+
+    public synchronized void markAwake() {
+        awake = true;
+    }
+
+    private static long[] distinct(long[] values, int length) {
+        long[] sorted = Arrays.copyOf(values, length);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DormantNetwork[%s, %d Nodes, %d Items (%d Typen), %d Chunks]",
+            networkId, nodeCount, totalItems, itemTypeCount, chunks.length);
+    }
+}
@@ -0,0 +1,237 @@
+package com.tobi.mesystem.util;
+
+import java.util.Arrays;
+
+/**
+ * Primitive int -> long Hash-Map (Open Addressing, Linear Probing)
+ *
+ * Speichert Einträge in zwei parallelen Arrays statt in Entry-Objekten:
+ * kein Boxing, keine Allokation pro Zugriff, ~12 Bytes pro Eintrag
+ * (plus Load-Factor-Reserve).
+ *
+ * Einschränkungen:
+ * - Keys müssen >= 0 sein (negative Werte sind als Leer-Markierung reserviert)
+ * - NICHT thread-safe, Synchronisation übernimmt der Aufrufer
+ */
+public final class IntLongHashMap {
+
+    private static final int FREE = -1;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Funktionales Interface für Iteration ohne Boxing
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    public IntLongHashMap() {
+        this(16);
+    }
+
+    public IntLongHashMap(int expectedSize) {
+        int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR));
+        allocate(capacity);
+    }
+
+    /**
+     * Gibt den Wert zurück oder {@code defaultValue} wenn nicht vorhanden
+     */
+    public long get(int key, long defaultValue) {
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Setzt einen Wert
+     * @return vorheriger Wert oder 0 wenn nicht vorhanden
+     */
+    public long put(int key, long value) {
+        checkKey(key);
+        int slot = mix(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == FREE) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length << 1);
+                }
+                return 0L;
+            }
+            if (k == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Addiert {@code delta} auf den Wert (legt den Eintrag bei Bedarf an)
+     * @return neuer Wert
+     */
+    public long addTo(int key, long delta) {
+        checkKey(key);
+        int slot = mix(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == FREE) {
+                keys[slot] = key;
+                values[slot] = delta;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length << 1);
+                }
+                return delta;
+            }
+            if (k == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Entfernt einen Eintrag
+     * @return entfernter Wert oder 0 wenn nicht vorhanden
+     */
+    public long remove(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return 0L;
+        }
+        long previous = values[slot];
+        shiftKeysBack(slot);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Iteriert über alle Einträge (Reihenfolge undefiniert)
+     */
+    public void forEach(EntryConsumer action) {
+        int[] k = keys;
+        long[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != FREE) {
+                action.accept(k[i], v[i]);
+            }
+        }
+    }
+
+    /**
+     * Summe aller Werte
+     */
+    public long sumValues() {
+        long sum = 0L;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    private int findSlot(int key) {
+        if (key < 0) {
+            return -1;
+        }
+        int slot = mix(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == key) {
+                return slot;
+            }
+            if (k == FREE) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Backward-Shift-Deletion: hält Probe-Ketten ohne Tombstones lückenlos
+     */
+    private void shiftKeysBack(int slot) {
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        while (keys[current] != FREE) {
+            int ideal = mix(keys[current]) & mask;
+            // Eintrag darf in die Lücke, wenn die Lücke zwischen Ideal-Slot und aktuellem Slot liegt
+            if (((current - ideal) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = FREE;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static void checkKey(int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key muss >= 0 sein: " + key);
+        }
+    }
+
+    private static int mix(int key) {
+        // Fibonacci-Hashing: verteilt dichte, fortlaufende Indizes über die Tabelle
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(size, 4);
+    }
+}
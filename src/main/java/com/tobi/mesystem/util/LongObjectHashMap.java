@@ -0,0 +1,272 @@
+package com.tobi.mesystem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Primitive long -> Objekt Hash-Map (Open Addressing, Linear Probing)
+ *
+ * Gedacht für gepackte Positionen ({@link BlockPos#asLong()}) als Keys:
+ * kein Boxing, keine Entry-Objekte, keine Allokation pro Lookup.
+ * Ein leerer Slot ist durch einen null-Wert markiert, Keys sind daher beliebig.
+ *
+ * Einschränkungen:
+ * - null-Werte sind nicht erlaubt
+ * - NICHT thread-safe, Synchronisation übernimmt der Aufrufer
+ * - {@link #get(long)} ist gegen gleichzeitige Schreiber robust (keine Exceptions,
+ *   begrenzte Probe-Länge) und kann daher unter optimistischem Lesen
+ *   (StampedLock) verwendet werden, wenn der Aufrufer anschließend validiert
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * Keys und Werte werden gemeinsam ausgetauscht, damit Leser nie Arrays
+     * unterschiedlicher Generationen kombinieren
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private Table table;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Funktionales Interface für Iteration ohne Boxing
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Gibt den Wert zurück oder null wenn nicht vorhanden
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Table t = table;
+        long[] keys = t.keys;
+        Object[] values = t.values;
+        int mask = t.mask;
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Setzt einen Wert
+     * @return vorheriger Wert oder null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Wert darf nicht null sein");
+        }
+        Table t = table;
+        int slot = mix(key) & t.mask;
+        while (true) {
+            Object current = t.values[slot];
+            if (current == null) {
+                t.keys[slot] = key;
+                t.values[slot] = value;
+                if (++size > resizeThreshold) {
+                    rehash(t.keys.length << 1);
+                }
+                return null;
+            }
+            if (t.keys[slot] == key) {
+                t.values[slot] = value;
+                return (V) current;
+            }
+            slot = (slot + 1) & t.mask;
+        }
+    }
+
+    /**
+     * Entfernt einen Eintrag
+     * @return entfernter Wert oder null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        Table t = table;
+        int slot = mix(key) & t.mask;
+        while (true) {
+            Object current = t.values[slot];
+            if (current == null) {
+                return null;
+            }
+            if (t.keys[slot] == key) {
+                shiftKeysBack(t, slot);
+                size--;
+                return (V) current;
+            }
+            slot = (slot + 1) & t.mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        allocate(table.keys.length);
+        size = 0;
+    }
+
+    /**
+     * Iteriert über alle Einträge (Reihenfolge undefiniert)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        Table t = table;
+        for (int i = 0; i < t.values.length; i++) {
+            Object value = t.values[i];
+            if (value != null) {
+                action.accept(t.keys[i], (V) value);
+            }
+        }
+    }
+
+    /**
+     * Iteriert über alle Werte
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        Object[] values = table.values;
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Verschiebt bis zu {@code max} Einträge ab Slot {@code fromSlot} in eine andere Map
+     * (schrittweises Umziehen statt Kopie am Stück)
+     *
+     * Alle Slots vor {@code fromSlot} müssen leer sein - das gilt, solange die Map nur noch
+     * über diese Methode und {@link #remove(long)} verändert wird, da Backward-Shift Einträge
+     * nur in die entstandene Lücke nachrückt.
+     *
+     * @return Slot für den nächsten Aufruf
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(LongObjectHashMap<V> target, int fromSlot, int max) {
+        Table t = table;
+        int slot = fromSlot;
+        int moved = 0;
+        while (slot < t.values.length && moved < max && size > 0) {
+            Object value = t.values[slot];
+            if (value == null) {
+                slot++;
+                continue;
+            }
+            target.put(t.keys[slot], (V) value);
+            // Nachgerückte Einträge landen im selben Slot - erneut prüfen
+            shiftKeysBack(t, slot);
+            size--;
+            moved++;
+        }
+        return slot;
+    }
+
+    /**
+     * Kopie aller Werte
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEachValue(result::add);
+        return result;
+    }
+
+    /**
+     * Backward-Shift-Deletion: hält Probe-Ketten ohne Tombstones lückenlos
+     */
+    private static void shiftKeysBack(Table t, int slot) {
+        int mask = t.mask;
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        while (t.values[current] != null) {
+            int ideal = mix(t.keys[current]) & mask;
+            // Eintrag darf in die Lücke, wenn die Lücke zwischen Ideal-Slot und aktuellem Slot liegt
+            if (((current - ideal) & mask) >= ((current - gap) & mask)) {
+                t.keys[gap] = t.keys[current];
+                t.values[gap] = t.values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        t.values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        Table old = table;
+        Table fresh = new Table(newCapacity);
+        for (int i = 0; i < old.values.length; i++) {
+            Object value = old.values[i];
+            if (value != null) {
+                long key = old.keys[i];
+                int slot = mix(key) & fresh.mask;
+                while (fresh.values[slot] != null) {
+                    slot = (slot + 1) & fresh.mask;
+                }
+                fresh.keys[slot] = key;
+                fresh.values[slot] = value;
+            }
+        }
+        table = fresh;
+        resizeThreshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private void allocate(int capacity) {
+        table = new Table(capacity);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        // Fibonacci-Hashing über beide Hälften des Keys
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(size, 4);
+    }
+}
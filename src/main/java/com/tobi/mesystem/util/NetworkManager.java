@@ -1,27 +1,56 @@
 package com.tobi.mesystem.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.tobi.mesystem.MEPlugin;
+import com.tobi.mesystem.core.ItemBatch;
+import com.tobi.mesystem.core.MEDeviceType;
 import com.tobi.mesystem.core.MENetwork;
 import com.tobi.mesystem.core.MENode;
+import com.tobi.mesystem.core.TickResult;
+import com.tobi.mesystem.core.TickScheduler;
 import com.tobi.mesystem.storage.NetworkPersistence;
+import com.tobi.mesystem.storage.WorldData;
+import com.tobi.mesystem.storage.WorldJournal;
+import com.tobi.mesystem.storage.WorldRestorePlan;
 
 /**
  * NetworkManager - Verwalten von ME Nodes pro Welt
  *
- * Speichert Zuordnung Welt -> (Position -> Node)
+ * Speichert Zuordnung Welt -> räumlicher Node-Index (16³-Sections, siehe SpatialNodeIndex)
  * Unterstützt einfaches Hinzufügen/Entfernen und Lookup.
  * Verwaltet auch Persistierung und Tick-Updates.
  * 
  * Performance-Features:
  * - ConcurrentHashMap für Thread-Safety
  * - Effiziente Lookup-Operationen
+ * - Nachbar-Lookups ohne BlockPos-Allokation, Iteration pro Chunk
+ * - Umkehr-Index Position -> Welt für Events ohne auflösbare Welt
+ * - Container-Index pro Welt (ersetzt Würfel-Scans in ContainerUtils)
+ * - Write-Ahead-Journal pro Welt (Topologie sofort, Storage-Deltas beim Flush),
+ *   erst nachdem der gespeicherte Stand der Welt geladen wurde
+ * - Autosave nur für dirty Netzwerke, begrenzt durch ein Byte-Budget pro Lauf
+ * - Chunk-Residenz: Netzwerke ohne aktives Device in geladenen Chunks werden ausgelagert
+ *   (nur Kennzahlen bleiben resident) und beim Chunk-Laden oder Zugriff geweckt
+ * - Change-Feeds aller residenten Netzwerke werden im Welt-Tick geflusht (Deltas pro Tick)
+ * - Tick nur für I/O-Devices: Timer-Wheel pro Welt mit Intervall pro Device,
+ *   Devices im Leerlauf schlafen bis ein Block-Event sie weckt (Kabel kosten keinen Tick)
  * - Cache für häufige World-ID Extractions
  * 
  * Thread-Safety:
@@ -32,37 +61,72 @@ public class NetworkManager {
 
     private final HytaleLogger logger;
 
-    // Thread-safe World -> (Position -> Node) Mapping
-    private final Map<UUID, Map<BlockPos, MENode>> worldNodes = new ConcurrentHashMap<>();
+    // Thread-safe World -> räumlicher Node-Index
+    private final Map<UUID, SpatialNodeIndex> worldNodes = new ConcurrentHashMap<>();
+
+    // Umkehr-Index: gepackte Position -> Welten mit Node an dieser Position
+    private final PositionWorldIndex positionWorlds = new PositionWorldIndex();
+
+    // Thread-safe World -> Container-Index (Section-Buckets)
+    private final Map<UUID, ContainerIndex> worldContainers = new ConcurrentHashMap<>();
+
+    // Thread-safe World -> Chunk-Residenz (geladene Chunks, schlafende Netzwerke)
+    private final Map<UUID, ChunkActivity> worldActivity = new ConcurrentHashMap<>();
+
+    // Thread-safe World -> residente Netzwerke (Repräsentanten, aufgegangene werden im Tick entfernt)
+    private final Map<UUID, Set<MENetwork>> worldNetworks = new ConcurrentHashMap<>();
+
+    // Thread-safe World -> Tick-Scheduler (nur tickbare Devices)
+    private final Map<UUID, TickScheduler> worldTickers = new ConcurrentHashMap<>();
+
+    // Schlaf-Prüfungen pro Tick und Welt (Chunk-Unloads kommen gebündelt)
+    private static final int DORMANCY_CHECKS_PER_TICK = 16;
 
     // Cache für World-ID Extractions (vermeidet wiederholte Reflection)
     private final Map<Object, UUID> worldIdCache = new ConcurrentHashMap<>();
     
+    // Welten, für die bereits ein Ladeversuch lief (Welt-Tick lädt nur einmal nach)
+    private final Set<UUID> loadAttempted = ConcurrentHashMap.newKeySet();
+    
     // Persistierung
     private final NetworkPersistence persistence;
 
     public NetworkManager() {
-        this.logger = MEPlugin.getInstance().getPluginLogger();
-        
         // Initialisiere Persistierung in %APPDATA%\Hytale\UserData\Mods\HytaleAE2
-        Path dataFolder = java.nio.file.Paths.get(System.getenv("APPDATA"), "Hytale", "UserData", "Mods", "HytaleAE2", "networks");
+        this(java.nio.file.Paths.get(System.getenv("APPDATA"), "Hytale", "UserData", "Mods", "HytaleAE2", "networks"));
+    }
+
+    /**
+     * NetworkManager mit eigenem Data-Folder (Tests)
+     */
+    NetworkManager(Path dataFolder) {
+        this.logger = MEPlugin.getInstance().getPluginLogger();
         this.persistence = new NetworkPersistence(dataFolder);
     }
 
     public void start() {
         logger.at(Level.INFO).log("NetworkManager gestartet");
         logger.at(Level.FINE).log("Nodes: %d, Welten: %d", 
-            worldNodes.values().stream().mapToInt(Map::size).sum(),
+            worldNodes.values().stream().mapToInt(SpatialNodeIndex::size).sum(),
             worldNodes.size());
     }
 
     public void shutdown() {
         logger.at(Level.INFO).log("NetworkManager wird heruntergefahren...");
-        int totalNodes = worldNodes.values().stream().mapToInt(Map::size).sum();
+        int totalNodes = worldNodes.values().stream().mapToInt(SpatialNodeIndex::size).sum();
         logger.at(Level.FINE).log("Cleanup: %d Nodes, %d Welten", totalNodes, worldNodes.size());
 
+        // Journale schreiben und schließen (letzte Änderungen überstehen den Neustart)
+        persistence.shutdown();
+
         // Cleanup - entferne alle Referenzen
         worldNodes.clear();
+        positionWorlds.clear();
+        worldContainers.clear();
+        worldActivity.clear();
+        worldNetworks.clear();
+        worldTickers.values().forEach(TickScheduler::clear);
+        worldTickers.clear();
         worldIdCache.clear();
 
         logger.at(Level.INFO).log("NetworkManager heruntergefahren");
@@ -86,8 +150,20 @@ public class NetworkManager {
         }
 
         try {
-            worldNodes.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+            MENode previous = worldNodes.computeIfAbsent(worldId, id -> new SpatialNodeIndex())
                       .put(pos, node);
+            positionWorlds.add(pos.asLong(), worldId);
+            TickScheduler ticker = ticker(worldId);
+            if (previous != null && previous != node) {
+                ticker.remove(previous);
+            }
+            ticker.add(node);
+            wakeNeighbors(worldId, pos);
+            registerNetwork(worldId, node.getNetwork());
+            WorldJournal journal = persistence.journal(worldId);
+            if (journal != null) {
+                journal.nodePut(node);
+            }
             logger.at(Level.FINE).log("Node hinzugefügt: %s", pos);
         } catch (Exception e) {
             logger.at(Level.SEVERE).withCause(e).log("Fehler beim Hinzufügen von Node %s", pos);
@@ -107,20 +183,106 @@ public class NetworkManager {
             return null;
         }
         
-        Map<BlockPos, MENode> nodes = worldNodes.get(worldId);
-        if (nodes == null) {
-            logger.at(Level.FINE).log("getNode: Keine Nodes für Welt %s", worldId.toString().substring(0, 8));
-            return null;
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        MENode node = nodes != null ? nodes.get(pos) : null;
+        if (node == null) {
+            node = wakeAt(worldId, pos.asLong());
         }
-        MENode node = nodes.get(pos);
         if (node == null) {
             logger.at(Level.FINE).log("getNode: Kein Node bei %s", pos);
         }
         return node;
     }
 
+    /**
+     * Prüft in O(1), ob in einer Welt an dieser Position ein ME-Node existiert
+     * (weckt ein schlafendes Netzwerk in dieser Chunk-Spalte)
+     */
+    public boolean hasNode(UUID worldId, BlockPos pos) {
+        if (worldId == null || pos == null) {
+            return false;
+        }
+        return getNode(worldId, pos.asLong()) != null;
+    }
+
+    /**
+     * Prüft in O(1), ob in irgendeiner geladenen Welt an dieser Position ein ME-Node existiert
+     */
+    public boolean hasNodeInAnyWorld(BlockPos pos) {
+        return pos != null && positionWorlds.contains(pos.asLong());
+    }
+
+    /**
+     * Findet die Welt eines Nodes allein über die Position (Umkehr-Index, O(1))
+     * @return World-UUID oder null wenn kein Node existiert oder die Position mehrdeutig ist
+     */
+    public UUID findWorldAt(BlockPos pos) {
+        if (pos == null) {
+            return null;
+        }
+        long key = pos.asLong();
+        UUID worldId = positionWorlds.uniqueWorldAt(key);
+        if (worldId == null && positionWorlds.worldCountAt(key) > 1) {
+            logger.at(Level.FINE).log("findWorldAt: Position %s ist in mehreren Welten belegt", pos);
+        }
+        return worldId;
+    }
+
+    /**
+     * Löst die World-UUID eines Events auf: zuerst über das World-Objekt (gecacht),
+     * sonst über den Umkehr-Index der Position
+     */
+    public UUID resolveWorldId(Object world, BlockPos pos) {
+        UUID worldId = world != null ? extractWorldIdCached(world) : null;
+        return worldId != null ? worldId : findWorldAt(pos);
+    }
+
+    /**
+     * Löst die World-UUID eines World-Objekts auf (Reflection nur beim ersten Mal)
+     */
+    public UUID resolveWorldId(Object world) {
+        return extractWorldIdCached(world);
+    }
+
+    /**
+     * Gibt einen Node über seine gepackte Position zurück (ohne BlockPos-Allokation)
+     */
+    public MENode getNode(UUID worldId, long positionKey) {
+        if (worldId == null) {
+            return null;
+        }
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        MENode node = nodes != null ? nodes.get(positionKey) : null;
+        return node != null ? node : wakeAt(worldId, positionKey);
+    }
+
+    /**
+     * Gibt den benachbarten Node in einer Richtung zurück (ohne BlockPos-Allokation)
+     */
+    public MENode getNeighbor(UUID worldId, BlockPos pos, Direction direction) {
+        if (worldId == null || pos == null || direction == null) {
+            return null;
+        }
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        MENode node = nodes != null ? nodes.getNeighbor(pos, direction) : null;
+        return node != null ? node : wakeAt(worldId, BlockPos.offset(pos.asLong(), direction));
+    }
+
+    /**
+     * Gibt alle Nodes einer Chunk-Spalte zurück (z.B. für Chunk-Unload)
+     */
+    public List<MENode> getNodesInChunk(UUID worldId, int chunkX, int chunkZ) {
+        if (worldId == null) {
+            return Collections.emptyList();
+        }
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        return nodes != null ? nodes.getNodesInChunk(chunkX, chunkZ) : Collections.emptyList();
+    }
+
     /**
      * Entfernt einen Node (Thread-Safe)
+     * Trennt ihn von seinem Netzwerk; zerfällt es dabei, werden die abgetrennten
+     * Teile wie neue Netzwerke registriert (Journal, Welt-Tick).
      */
     public void removeNode(UUID worldId, BlockPos pos) {
         if (worldId == null) {
@@ -133,13 +295,26 @@ public class NetworkManager {
         }
         
         try {
-            Map<BlockPos, MENode> nodes = worldNodes.get(worldId);
+            SpatialNodeIndex nodes = worldNodes.get(worldId);
             if (nodes != null) {
                 MENode removed = nodes.remove(pos);
                 if (removed != null) {
+                    positionWorlds.remove(pos.asLong(), worldId);
+                    unschedule(worldId, removed);
+                    wakeNeighbors(worldId, pos);
+                    WorldJournal journal = persistence.journal(worldId);
+                    if (journal != null) {
+                        journal.nodeRemoved(pos.asLong());
+                    }
                     logger.at(Level.FINE).log("Node entfernt: %s", pos);
-                    if (removed.getNetwork() != null) {
-                        removed.getNetwork().removeNode(pos);
+                    MENetwork network = removed.getNetwork();
+                    if (network != null) {
+                        List<MENetwork> detached = network.removeNode(pos);
+                        if (!detached.isEmpty()) {
+                            logger.at(Level.INFO).log("Network bei %s in %d Teile zerfallen",
+                                pos, detached.size() + 1);
+                            trackNetworks(worldId, detached);
+                        }
                     }
                 } else {
                     logger.at(Level.FINE).log("removeNode: Node nicht gefunden bei %s", pos);
@@ -152,6 +327,24 @@ public class NetworkManager {
         }
     }
 
+    /**
+     * Meldet neu entstandene Netzwerke (z.B. abgetrennte Teile nach einem Split) dem Journal
+     */
+    public void trackNetworks(UUID worldId, Collection<MENetwork> networks) {
+        if (worldId == null || networks == null || networks.isEmpty()) {
+            return;
+        }
+        WorldJournal journal = persistence.journal(worldId);
+        if (journal != null) {
+            for (MENetwork network : networks) {
+                journal.trackWithNodes(network);
+            }
+        }
+        for (MENetwork network : networks) {
+            registerNetwork(worldId, network);
+        }
+    }
+
     /**
      * Hilfsmethode: Gibt das Network an einer Position zurück, sofern vorhanden.
      */
@@ -174,19 +367,137 @@ public class NetworkManager {
         UUID worldId = extractWorldIdCached(world);
         if (worldId == null) return;
         
-        Map<BlockPos, MENode> nodes = worldNodes.get(worldId);
+        // Ohne Welt-Lade-Event: gespeicherten Stand spätestens im ersten Tick laden
+        if (!persistence.isLoaded(worldId) && !loadAttempted.contains(worldId)) {
+            loadWorldNetworks(world);
+        }
         
-        if (nodes == null || nodes.isEmpty()) return;
+        // Netzwerke aus entladenen Chunks auslagern (begrenzt pro Tick)
+        processDormancyChecks(worldId, world);
         
-        // Aktualisiere alle Nodes mit periodischen Updates
-        // ConcurrentHashMap erlaubt sichere Iteration während Modifikation
-        for (MENode node : nodes.values()) {
-            if (node != null && node.getNetwork() != null) {
-                try {
-                    node.tick();
-                } catch (Exception e) {
-                    logger.at(Level.SEVERE).withCause(e).log("Fehler beim Tick von Node %s", node.getPosition());
-                }
+        // Storage-Deltas dieses Ticks an die Abonnenten aller Netzwerke verteilen
+        tickResidentNetworks(worldId);
+        
+        TickScheduler ticker = worldTickers.get(worldId);
+        if (ticker == null || ticker.size() == 0) return;
+        
+        // Nur fällige I/O-Devices - Kabel, Terminals usw. sind nie eingeplant
+        ticker.tick(
+            node -> node.getNetwork() != null ? node.tick() : TickResult.SLEEP,
+            (node, e) -> logger.at(Level.SEVERE).withCause(e).log("Fehler beim Tick von Node %s", node.getPosition()));
+    }
+
+    /**
+     * Gibt alle bekannten, nicht entladenen Welten zurück (Ziel des Welt-Ticks im Plugin)
+     *
+     * Bekannt wird eine Welt über ihr Lade-Event oder das erste Block-/Chunk-Event mit
+     * Welt-Objekt; unloadWorld vergisst sie wieder.
+     */
+    public List<Object> getKnownWorlds() {
+        return new ArrayList<>(worldIdCache.keySet());
+    }
+
+    /**
+     * Weckt ein Device (z.B. nach Änderungen an seinem Ziel-Container):
+     * es tickt im nächsten Tick wieder im kürzesten Intervall
+     * 
+     * @return false wenn an der Position kein tickbares Device steht
+     */
+    public boolean wakeDevice(UUID worldId, BlockPos pos) {
+        if (worldId == null || pos == null) {
+            return false;
+        }
+        TickScheduler ticker = worldTickers.get(worldId);
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        if (ticker == null || nodes == null) {
+            return false;
+        }
+        return ticker.wake(nodes.get(pos));
+    }
+    
+    /**
+     * Anzahl eingeplanter und schlafender tickbarer Devices einer Welt
+     */
+    public int getTickableDeviceCount(UUID worldId) {
+        TickScheduler ticker = worldId != null ? worldTickers.get(worldId) : null;
+        return ticker != null ? ticker.size() : 0;
+    }
+    
+    /**
+     * Anzahl residenter Netzwerke einer Welt (inkl. seit dem letzten Tick aufgegangener)
+     */
+    public int getNetworkCount(UUID worldId) {
+        Set<MENetwork> networks = worldId != null ? worldNetworks.get(worldId) : null;
+        return networks != null ? networks.size() : 0;
+    }
+    
+    /**
+     * Tickt jedes residente Netzwerk einmal (Change-Feed flushen). Aufgegangene Netzwerke
+     * werden durch ihren Repräsentanten ersetzt, leere entfernt.
+     */
+    private void tickResidentNetworks(UUID worldId) {
+        Set<MENetwork> networks = worldNetworks.get(worldId);
+        if (networks == null || networks.isEmpty()) {
+            return;
+        }
+        for (MENetwork network : networks) {
+            if (network.isMerged()) {
+                networks.remove(network);
+                // Repräsentant kommt ggf. neu hinzu und wird in diesem Durchlauf oder im nächsten getickt
+                networks.add(network.resolve());
+                continue;
+            }
+            if (network.isEmpty()) {
+                networks.remove(network);
+                continue;
+            }
+            try {
+                network.tick();
+            } catch (Exception e) {
+                logger.at(Level.SEVERE).withCause(e).log("Fehler beim Tick von Network %s", network.getNetworkId());
+            }
+        }
+    }
+    
+    private void registerNetwork(UUID worldId, MENetwork network) {
+        if (network != null) {
+            worldNetworks.computeIfAbsent(worldId, id -> ConcurrentHashMap.newKeySet()).add(network.resolve());
+        }
+    }
+    
+    private void unregisterNetwork(UUID worldId, MENetwork network) {
+        Set<MENetwork> networks = worldNetworks.get(worldId);
+        if (networks != null) {
+            networks.remove(network);
+        }
+    }
+    
+    private TickScheduler ticker(UUID worldId) {
+        return worldTickers.computeIfAbsent(worldId, id -> new TickScheduler());
+    }
+    
+    private void unschedule(UUID worldId, MENode node) {
+        TickScheduler ticker = worldTickers.get(worldId);
+        if (ticker != null) {
+            ticker.remove(node);
+        }
+    }
+    
+    /**
+     * Weckt tickbare Devices neben einer geänderten Position
+     * (nur residente Nodes - schlafende Netzwerke werden dafür nicht geladen)
+     */
+    private void wakeNeighbors(UUID worldId, BlockPos pos) {
+        TickScheduler ticker = worldTickers.get(worldId);
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        if (ticker == null || ticker.size() == 0 || nodes == null) {
+            return;
+        }
+        long key = pos.asLong();
+        for (Direction direction : Direction.values()) {
+            MENode neighbor = nodes.get(BlockPos.offset(key, direction));
+            if (neighbor != null && neighbor.getDeviceType().isTickable()) {
+                ticker.wake(neighbor);
             }
         }
     }
@@ -201,7 +512,7 @@ public class NetworkManager {
         if (world == null) return;
         
         UUID worldId = extractWorldIdCached(world);
-        Map<BlockPos, MENode> nodes = worldNodes.get(worldId);
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
         
         if (nodes == null || nodes.isEmpty()) return;
         
@@ -214,8 +525,8 @@ public class NetworkManager {
                 checkedNodes++;
                 MENetwork network = node.getNetwork();
                 
-                // Überprüfe ob dieser Node noch zu seinem Network gehört
-                if (!network.getNodes().contains(node)) {
+                // Überprüfe ob dieser Node noch zu seinem Network gehört (O(1) statt values().contains)
+                if (network.getNode(node.getPosition()) != node) {
                     // Node ist nicht mehr im Network - sollte nicht vorkommen
                     logger.at(Level.WARNING).log("Inkonsistenz gefunden: Node %s ist nicht in seinem Network", node.getPosition());
                     invalidNodes++;
@@ -229,42 +540,408 @@ public class NetworkManager {
         }
     }
     
+    // ==================== CHUNK-RESIDENZ ====================
+    
+    /**
+     * Chunk geladen: weckt schlafende Netzwerke mit einem aktiven Device in diesem Chunk
+     */
+    public void onChunkLoaded(Object world, int chunkX, int chunkZ) {
+        UUID worldId = extractWorldIdCached(world);
+        if (worldId == null) return;
+        
+        ChunkActivity activity = activity(worldId);
+        activity.setWorld(world);
+        for (DormantNetwork dormant : activity.chunkLoaded(chunkX, chunkZ)) {
+            wake(worldId, activity, dormant);
+        }
+    }
+    
+    /**
+     * Chunk entladen: Netzwerke mit Nodes in diesem Chunk werden zur Schlaf-Prüfung
+     * vorgemerkt (im nächsten Tick, einmal pro Netzwerk)
+     */
+    public void onChunkUnloaded(Object world, int chunkX, int chunkZ) {
+        UUID worldId = extractWorldIdCached(world);
+        if (worldId == null) return;
+        
+        ChunkActivity activity = activity(worldId);
+        activity.setWorld(world);
+        activity.chunkUnloaded(chunkX, chunkZ);
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        if (nodes != null) {
+            nodes.forEachInChunk(chunkX, chunkZ, node -> {
+                if (node.getNetwork() != null) {
+                    activity.requestCheck(node.getNetwork().resolve());
+                }
+            });
+        }
+        ContainerIndex containers = worldContainers.get(worldId);
+        if (containers != null) {
+            containers.invalidateChunk(chunkX, chunkZ);
+        }
+    }
+    
+    /**
+     * Anzahl schlafender (ausgelagerter) Netzwerke einer Welt
+     */
+    public int getDormantNetworkCount(UUID worldId) {
+        ChunkActivity activity = worldId != null ? worldActivity.get(worldId) : null;
+        return activity != null ? activity.getDormantCount() : 0;
+    }
+    
+    private ChunkActivity activity(UUID worldId) {
+        return worldActivity.computeIfAbsent(worldId, id -> new ChunkActivity());
+    }
+    
+    /**
+     * Prüft vorgemerkte Netzwerke und lagert die aus, deren aktive Devices alle
+     * in entladenen Chunks liegen
+     */
+    private void processDormancyChecks(UUID worldId, Object world) {
+        ChunkActivity activity = worldActivity.get(worldId);
+        if (activity == null || activity.getPendingCheckCount() == 0) {
+            return;
+        }
+        activity.setWorld(world);
+        for (MENetwork network : activity.pollChecks(DORMANCY_CHECKS_PER_TICK)) {
+            MENetwork live = network.resolve();
+            if (live.isEmpty() || hasLoadedDevice(activity, live)) {
+                continue;
+            }
+            try {
+                pageOut(worldId, activity, live);
+            } catch (Exception e) {
+                logger.at(Level.SEVERE).withCause(e).log("Fehler beim Auslagern von Netzwerk %s", live.getNetworkId());
+            }
+        }
+    }
+    
+    private static boolean hasLoadedDevice(ChunkActivity activity, MENetwork network) {
+        for (MENode node : network.getNodes()) {
+            if (node.getDeviceType() != MEDeviceType.CABLE && node.isActive()
+                    && activity.isLoadedAt(node.getPosition().asLong())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Lagert ein Netzwerk aus: letzter Stand ins Journal, Nodes aus den Indizes
+     * (ohne Entfernen-Records - die Nodes bestehen weiter), Seite im Hintergrund schreiben
+     */
+    private void pageOut(UUID worldId, ChunkActivity activity, MENetwork network) {
+        DormantNetwork dormant;
+        int nodeCount;
+        synchronized (activity) {
+            WorldJournal journal = persistence.journal(worldId);
+            if (journal != null) {
+                journal.release(network);
+            }
+            Collection<MENode> nodes = network.getNodes();
+            WorldData page = NetworkPersistence.toWorldData(worldId, nodes,
+                Map.of(network.getNetworkId(), network));
+            SpatialNodeIndex index = worldNodes.get(worldId);
+            for (MENode node : nodes) {
+                if (index != null && index.get(node.getPosition()) == node) {
+                    index.remove(node.getPosition());
+                    positionWorlds.remove(node.getPosition().asLong(), worldId);
+                }
+                unschedule(worldId, node);
+            }
+            unregisterNetwork(worldId, network);
+            dormant = DormantNetwork.of(network.getNetworkId(), page);
+            activity.addDormant(dormant);
+            nodeCount = nodes.size();
+        }
+        logger.at(Level.FINE).log("Netzwerk %s schläft: %d Nodes ausgelagert", network.getNetworkId(), nodeCount);
+        
+        ExecutorService pool = MEPlugin.getInstance().getThreadPool();
+        if (pool != null) {
+            try {
+                pool.execute(() -> writePage(worldId, dormant));
+                return;
+            } catch (RejectedExecutionException e) {
+                // Pool heruntergefahren - direkt schreiben
+            }
+        }
+        writePage(worldId, dormant);
+    }
+    
+    /**
+     * Schreibt die Seite eines schlafenden Netzwerks und gibt seinen Stand im Speicher frei
+     * (bei Fehlern bleibt er resident)
+     *
+     * Kompaktierungs-Lock vor dem Monitor des Netzwerks - dieselbe Reihenfolge wie
+     * compact() -> captureWorld(), und keine Kompaktierung zwischen Tabelle und Seite.
+     */
+    private void writePage(UUID worldId, DormantNetwork dormant) {
+        synchronized (persistence.compactionLock(worldId)) {
+            synchronized (dormant) {
+                WorldData page = dormant.getPage();
+                if (page == null || dormant.isAwake()) {
+                    return;
+                }
+                try {
+                    persistence.writePage(worldId, dormant.getNetworkId(), page);
+                    dormant.release();
+                } catch (IOException e) {
+                    logger.at(Level.WARNING).withCause(e).log("Seite von Netzwerk %s nicht geschrieben - bleibt im Speicher",
+                        dormant.getNetworkId());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Weckt schlafende Netzwerke mit Nodes in der Chunk-Spalte einer Position
+     * @return Node an der Position nach dem Wecken, sonst null
+     */
+    private MENode wakeAt(UUID worldId, long positionKey) {
+        ChunkActivity activity = worldActivity.get(worldId);
+        if (activity == null || !activity.hasDormant()) {
+            return null;
+        }
+        List<DormantNetwork> dormant = activity.dormantAt(positionKey);
+        if (dormant.isEmpty()) {
+            return null;
+        }
+        for (DormantNetwork network : dormant) {
+            wake(worldId, activity, network);
+        }
+        SpatialNodeIndex nodes = worldNodes.get(worldId);
+        return nodes != null ? nodes.get(positionKey) : null;
+    }
+    
+    /**
+     * Baut ein schlafendes Netzwerk aus seiner Seite (Speicher oder Disk) wieder auf
+     */
+    private void wake(UUID worldId, ChunkActivity activity, DormantNetwork dormant) {
+        int restored = 0;
+        synchronized (activity) {
+            if (!activity.removeDormant(dormant)) {
+                return;
+            }
+            synchronized (dormant) {
+                WorldData page;
+                try {
+                    page = pageOf(worldId, dormant);
+                } catch (IOException e) {
+                    logger.at(Level.SEVERE).withCause(e).log("Konnte Netzwerk %s nicht wecken", dormant.getNetworkId());
+                    activity.addDormant(dormant);
+                    return;
+                }
+                dormant.markAwake();
+                
+                SpatialNodeIndex index = worldNodes.computeIfAbsent(worldId, id -> new SpatialNodeIndex());
+                WorldJournal journal = persistence.journal(worldId);
+                for (WorldRestorePlan.Component component : WorldRestorePlan.of(page).getComponents()) {
+                    MENetwork network = restoreComponent(worldId, activity.getWorld(), page, component, index);
+                    if (network == null) {
+                        continue;
+                    }
+                    if (journal != null) {
+                        journal.adopt(network);
+                    }
+                    restored += network.getNodeCount();
+                }
+            }
+        }
+        logger.at(Level.FINE).log("Netzwerk %s geweckt: %d Nodes", dormant.getNetworkId(), restored);
+    }
+    
+    /**
+     * Stand eines schlafenden Netzwerks: im Speicher bis die Seite geschrieben ist, danach von Disk
+     * (Aufrufer hält den Monitor von {@code dormant})
+     */
+    private WorldData pageOf(UUID worldId, DormantNetwork dormant) throws IOException {
+        WorldData page = dormant.getPage();
+        return page != null ? page : persistence.readPage(worldId, dormant.getNetworkId());
+    }
+    
     // ==================== PERSISTIERUNG ====================
     
     /**
      * Lädt gespeicherte Netzwerk-Daten für eine Welt
-     * (Wird aufgerufen wenn eine Welt geladen wird)
+     * (Wird aufgerufen wenn eine Welt geladen wird, spätestens beim ersten Welt-Tick)
+     *
+     * Baut Nodes, Verbindungen, Devices, Channel-Vergabe, Controller und Storage in
+     * einem Durchlauf pro Netzwerk wieder auf - ohne Reflection, ohne Kapazitätsprüfung
+     * pro Item, mit einem Lock pro Netzwerk statt pro Node.
+     *
+     * Läuft unter dem Kompaktierungs-Lock der Welt: ein paralleler Autosave sieht die
+     * Welt erst, wenn sie vollständig geladen ist. Erst danach gibt die Persistenz
+     * Journal, Autosave und Kompaktierung frei; vorher platzierte Nodes werden dann
+     * nachträglich ins Journal geschrieben. Sind gespeicherte Daten unlesbar, bleibt die
+     * Welt ungeladen - sie wird nicht überschrieben.
      */
     public void loadWorldNetworks(Object world) {
         if (world == null) return;
 
         UUID worldId = extractWorldIdCached(world);
+        if (worldId == null) return;
 
+        loadAttempted.add(worldId);
+        boolean compact;
+        synchronized (persistence.compactionLock(worldId)) {
+            if (persistence.isLoaded(worldId)) {
+                logger.at(Level.FINE).log("Netzwerk-Daten für Welt %s bereits geladen", worldId);
+                return;
+            }
+            compact = restoreWorld(world, worldId);
+        }
+        
+        // Migriert, wiederhergestellt oder angepasst: bereinigten Stand im Hintergrund schreiben
+        if (compact) {
+            scheduleCompaction(worldId);
+        }
+    }
+    
+    /**
+     * Lädt eine Welt und gibt sie für die Persistenz frei (Aufrufer hält den Kompaktierungs-Lock)
+     * @return true wenn der geladene Stand neu geschrieben werden sollte
+     */
+    private boolean restoreWorld(Object world, UUID worldId) {
         logger.at(Level.INFO).log("Lade Netzwerk-Daten für Welt %s", worldId);
+        long start = System.nanoTime();
         
-        // Lade gespeicherte Network-Daten
-        Map<UUID, Map<String, Long>> savedNetworks = persistence.loadWorldNetworks(worldId);
+        // Seiten eines früheren Laufs sind über Manifest und Journal abgedeckt
+        persistence.deletePages(worldId);
         
-        if (savedNetworks.isEmpty()) {
-            logger.at(Level.FINE).log("Keine gespeicherten Netzwerk-Daten für Welt %s", worldId);
-            return;
+        WorldData data = persistence.loadWorldData(worldId);
+        if (data == null && persistence.hasSavedData(worldId)) {
+            logger.at(Level.SEVERE).log(
+                "Gespeicherte Netzwerk-Daten für Welt %s unlesbar - Journal und Autosave bleiben aus, "
+                    + "damit sie nicht überschrieben werden", worldId);
+            return false;
         }
         
-        // Rekonstruiere Networks mit gespeicherten Items
-        for (Map.Entry<UUID, Map<String, Long>> entry : savedNetworks.entrySet()) {
-            UUID networkId = entry.getKey();
-            Map<String, Long> items = entry.getValue();
+        SpatialNodeIndex index = worldNodes.computeIfAbsent(worldId, id -> new SpatialNodeIndex());
+        List<MENode> placedBeforeLoad = index.values();
+        List<MENetwork> restored = new ArrayList<>();
+        boolean compact = false;
+        
+        if (data == null || (data.getNodeCount() == 0 && data.getNetworks().isEmpty())) {
+            logger.at(Level.FINE).log("Keine gespeicherten Netzwerk-Daten für Welt %s", worldId);
+        } else {
+            WorldRestorePlan plan = WorldRestorePlan.of(data);
+            ChunkActivity activity = activity(worldId);
+            activity.setWorld(world);
+            int restoredNodes = 0;
+            int skippedNodes = 0;
             
-            // Erstelle MENetwork und restore Items
-            MENetwork network = new MENetwork();
-            for (Map.Entry<String, Long> item : items.entrySet()) {
-                // Direkt in Storage einfügen (umgeht Kapazitätsprüfung beim Laden)
-                network.insertItem(item.getKey(), item.getValue().intValue(), null);
+            for (WorldRestorePlan.Component component : plan.getComponents()) {
+                MENetwork network = restoreComponent(worldId, world, data, component, index);
+                int count = network != null ? network.getNodeCount() : 0;
+                skippedNodes += component.positions().length - count;
+                if (network == null) {
+                    continue;
+                }
+                restored.add(network);
+                if (activity.isTracking()) {
+                    // Chunks laden bereits - Netzwerke ohne geladenes Device schlafen gleich wieder
+                    activity.requestCheck(network);
+                }
+                restoredNodes += count;
             }
             
-            logger.at(Level.FINE).log("Restored Network %s mit %d Items",
-                networkId.toString().substring(0, 8), items.size());
+            logger.at(Level.INFO).log("Welt %s geladen: %d Nodes, %d Networks in %d ms",
+                worldId, restoredNodes, plan.getComponents().size(), (System.nanoTime() - start) / 1_000_000);
+            if (skippedNodes > 0 || plan.getMergedNetworkCount() > 0 || plan.getReassignedNetworkCount() > 0) {
+                logger.at(Level.WARNING).log("Welt %s: %d Nodes übersprungen, %d Networks vereinigt, %d neu zugeordnet",
+                    worldId, skippedNodes, plan.getMergedNetworkCount(), plan.getReassignedNetworkCount());
+            }
+            compact = data.isRewriteRequired() || !plan.isExact() || skippedNodes > 0;
+        }
+        
+        persistence.markLoaded(worldId);
+        WorldJournal journal = persistence.journal(worldId);
+        if (journal != null) {
+            for (MENetwork network : restored) {
+                journal.adopt(network);
+            }
+            // Vor dem Laden platzierte Nodes wurden noch nicht aufgezeichnet
+            for (MENode node : placedBeforeLoad) {
+                journal.nodePut(node);
+            }
+        }
+        if (!placedBeforeLoad.isEmpty()) {
+            logger.at(Level.INFO).log("Welt %s: %d vor dem Laden platzierte Nodes ins Journal übernommen",
+                worldId, placedBeforeLoad.size());
+        }
+        return compact;
+    }
+    
+    /**
+     * Baut ein Netzwerk aus gespeicherten Node-Records auf (Laden und Wecken)
+     *
+     * Nodes, Verbindungen, Devices, Channel-Vergabe, Controller und Storage in einem
+     * Durchlauf; bereits neu belegte Positionen werden übersprungen.
+     *
+     * @return Netzwerk oder null wenn keine Position mehr frei war
+     */
+    private MENetwork restoreComponent(UUID worldId, Object world, WorldData data,
+                                       WorldRestorePlan.Component component, SpatialNodeIndex index) {
+        List<MENode> nodes = new ArrayList<>(component.positions().length);
+        List<MENode> offline = new ArrayList<>();
+        BlockPos controller = null;
+        
+        for (long key : component.positions()) {
+            if (index.get(key) != null) {
+                // Position wurde vor dem Laden bereits neu belegt
+                continue;
+            }
+            WorldData.NodeRecord record = data.getNode(key);
+            MENode node = new MENode(worldId, BlockPos.fromLong(key), record.type());
+            node.setWorld(world);
+            node.setPriority(record.priority());
+            node.setActive(record.isActive());
+            (record.isOnline() ? nodes : offline).add(node);
+            if (controller == null && record.type() == MEDeviceType.CONTROLLER) {
+                controller = node.getPosition();
+            }
+        }
+        // Devices mit Channels vor dem Speichern zuerst, innerhalb nach Priority
+        Comparator<MENode> byPriority = Comparator.comparingInt(MENode::getPriority).reversed();
+        nodes.sort(byPriority);
+        offline.sort(byPriority);
+        nodes.addAll(offline);
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        
+        MENetwork network = new MENetwork(component.networkId());
+        network.attachNodes(nodes);
+        
+        // Verbindungen aus der Nachbarschaft (Lookups über gepackte Positionen)
+        for (MENode node : nodes) {
+            long key = node.getPosition().asLong();
+            for (Direction direction : Direction.values()) {
+                if (network.getNode(BlockPos.offset(key, direction)) != null) {
+                    node.addConnection(direction);
+                }
+            }
+        }
+        
+        // Controller zuerst (Channel-Budget), dann Devices in obiger Reihenfolge
+        if (controller != null) {
+            network.setController(controller);
+        }
+        for (MENode node : nodes) {
+            network.registerDevice(node.getPosition(), node.getDeviceType());
         }
+        
+        // Storage als ein Batch (umgeht Kapazitätsprüfung beim Laden, keine int-Trunkierung)
+        network.storeAll(ItemBatch.of(component.items()));
+        
+        TickScheduler ticker = ticker(worldId);
+        for (MENode node : nodes) {
+            index.put(node.getPosition(), node);
+            positionWorlds.add(node.getPosition().asLong(), worldId);
+            ticker.add(node);
+        }
+        registerNetwork(worldId, network);
+        return network;
     }
     
     /**
@@ -275,26 +952,141 @@ public class NetworkManager {
         if (world == null) return;
         
         UUID worldId = extractWorldIdCached(world);
-        Map<BlockPos, MENode> nodes = worldNodes.get(worldId);
+        if (!persistence.isLoaded(worldId)) {
+            // Ohne geladenen Stand würde der Snapshot ältere Netzwerke verwerfen
+            logger.at(Level.WARNING).log("Welt %s nicht geladen - Netzwerk-Daten werden nicht gespeichert", worldId);
+            return;
+        }
+        SpatialNodeIndex index = worldNodes.get(worldId);
         
-        if (nodes == null || nodes.isEmpty()) {
+        if ((index == null || index.isEmpty()) && getDormantNetworkCount(worldId) == 0) {
             logger.at(Level.FINE).log("Keine Netzwerk-Daten zu speichern für Welt %s", worldId);
             return;
         }
 
-        logger.at(Level.INFO).log("Speichere Netzwerk-Daten für Welt %s: %d Nodes", worldId, nodes.size());
+        // Nur geänderte Netzwerke ins Journal; Snapshot nur neu, wenn das Journal zu groß ist
+        WorldJournal.SaveResult result = persistence.saveDirtyNetworks(worldId, Long.MAX_VALUE);
+        if (result == null || persistence.needsCompaction(worldId)) {
+            compactWorld(worldId);
+            return;
+        }
+        logger.at(Level.INFO).log("Netzwerk-Daten für Welt %s gespeichert: %d Nodes, %d geänderte Networks (%d Bytes)",
+            worldId, index != null ? index.size() : 0, result.savedNetworks(), result.bytes());
+    }
+    
+    /**
+     * Autosave: schreibt nur Netzwerke mit Änderungen seit dem letzten Speichern ins Journal
+     * und kompaktiert Welten, deren Journal größer als ihr Snapshot geworden ist.
+     * Netzwerke über dem Budget bleiben dirty und folgen im nächsten Lauf; Welten, deren
+     * gespeicherter Stand noch nicht geladen ist, werden übersprungen.
+     * (Plugin-Thread-Pool, nicht auf dem World-Thread aufrufen)
+     *
+     * @param byteBudget Maximale Bytes pro Lauf über alle Welten
+     */
+    public void autosaveDirtyNetworks(long byteBudget) {
+        long remaining = byteBudget;
+        int saved = 0;
+        int deferred = 0;
+        for (UUID worldId : worldNodes.keySet()) {
+            if (!persistence.isLoaded(worldId)) {
+                continue;
+            }
+            if (remaining <= 0) {
+                WorldJournal journal = persistence.journal(worldId);
+                deferred += journal != null ? journal.getDirtyNetworkCount() : 0;
+                continue;
+            }
+            WorldJournal.SaveResult result = persistence.saveDirtyNetworks(worldId, remaining);
+            if (result == null) {
+                continue;
+            }
+            remaining -= result.bytes();
+            saved += result.savedNetworks();
+            deferred += result.deferredNetworks();
+            if (persistence.needsCompaction(worldId)) {
+                compactWorld(worldId);
+            }
+        }
+        if (saved > 0 || deferred > 0) {
+            logger.at(Level.FINE).log("Autosave: %d Networks gespeichert (%d Bytes), %d warten auf den nächsten Lauf",
+                saved, byteBudget - remaining, deferred);
+        }
+    }
+    
+    /**
+     * Schreibt einen vollständigen Snapshot einer Welt und beginnt ein neues Journal
+     */
+    public boolean compactWorld(UUID worldId) {
+        return persistence.compact(worldId, () -> captureWorld(worldId));
+    }
+    
+    /**
+     * Kompaktiert eine Welt auf dem Plugin-Thread-Pool (ohne Pool direkt)
+     */
+    private void scheduleCompaction(UUID worldId) {
+        ExecutorService pool = MEPlugin.getInstance().getThreadPool();
+        if (pool != null) {
+            try {
+                pool.execute(() -> compactWorld(worldId));
+                return;
+            } catch (RejectedExecutionException e) {
+                // Pool heruntergefahren - direkt schreiben
+            }
+        }
+        compactWorld(worldId);
+    }
+    
+    /**
+     * Aktueller Stand einer Welt als Persistenz-Modell (inkl. schlafender Netzwerke)
+     *
+     * @throws UncheckedIOException wenn die Seite eines schlafenden Netzwerks unlesbar ist
+     */
+    private WorldData captureWorld(UUID worldId) {
+        SpatialNodeIndex index = worldNodes.get(worldId);
+        ChunkActivity activity = worldActivity.get(worldId);
+        List<MENode> nodes;
+        List<DormantNetwork> dormant;
+        if (activity != null) {
+            // Index und schlafende Netzwerke zum selben Zeitpunkt (kein Netzwerk fehlt oder wechselt)
+            synchronized (activity) {
+                nodes = index != null ? index.values() : Collections.emptyList();
+                dormant = activity.getDormant();
+            }
+        } else {
+            nodes = index != null ? index.values() : Collections.emptyList();
+            dormant = Collections.emptyList();
+        }
         
         // Sammle alle Networks dieser Welt
-        Map<UUID, MENetwork> worldNetworks = new ConcurrentHashMap<>();
-        for (MENode node : nodes.values()) {
+        Map<UUID, MENetwork> worldNetworks = new HashMap<>();
+        for (MENode node : nodes) {
             MENetwork network = node.getNetwork();
             if (network != null) {
                 worldNetworks.put(network.getNetworkId(), network);
             }
         }
+        WorldData data = NetworkPersistence.toWorldData(worldId, nodes, worldNetworks);
         
-        // Speichere zu Disk
-        persistence.saveWorldNetworks(worldId, nodes, worldNetworks);
+        for (DormantNetwork network : dormant) {
+            WorldData page;
+            synchronized (network) {
+                try {
+                    page = pageOf(worldId, network);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Seite von Netzwerk " + network.getNetworkId() + " unlesbar", e);
+                }
+            }
+            page.getNodes().forEachValue(record -> {
+                if (data.getNode(record.position()) == null) {
+                    data.putNode(record);
+                }
+            });
+            WorldData.NetworkRecord record = page.getNetwork(network.getNetworkId());
+            if (record != null && data.getNetwork(network.getNetworkId()) == null) {
+                data.putNetwork(record);
+            }
+        }
+        return data;
     }
     
     /**
@@ -306,14 +1098,65 @@ public class NetworkManager {
         
         UUID worldId = extractWorldIdCached(world);
         
-        Map<BlockPos, MENode> removed = worldNodes.remove(worldId);
+        SpatialNodeIndex removed = worldNodes.remove(worldId);
+        worldContainers.remove(worldId);
+        worldActivity.remove(worldId);
+        worldNetworks.remove(worldId);
+        TickScheduler ticker = worldTickers.remove(worldId);
+        if (ticker != null) {
+            ticker.clear();
+        }
+        persistence.closeJournal(worldId);
+        loadAttempted.remove(worldId);
         worldIdCache.remove(world);
+        if (removed != null) {
+            removed.forEach(node -> positionWorlds.remove(node.getPosition().asLong(), worldId));
+        }
 
         if (removed != null) {
             logger.at(Level.INFO).log("Welt %s entladen: %s Nodes entfernt", worldId, removed.size());
         }
     }
     
+    // ==================== CONTAINER INDEX ====================
+
+    /**
+     * Gibt den Container-Index einer Welt zurück (wird bei Bedarf angelegt)
+     */
+    public ContainerIndex getContainerIndex(UUID worldId) {
+        if (worldId == null) {
+            return null;
+        }
+        return worldContainers.computeIfAbsent(worldId, id -> new ContainerIndex());
+    }
+
+    /**
+     * Block platziert (kein ME-Block): Kandidat für den Container-Index.
+     * Ob wirklich ein Container entstanden ist, prüft die nächste Abfrage.
+     */
+    public void notifyBlockPlaced(UUID worldId, BlockPos pos) {
+        ContainerIndex containers = worldId != null ? worldContainers.get(worldId) : null;
+        if (containers != null && pos != null) {
+            containers.add(pos);
+        }
+        if (worldId != null && pos != null) {
+            wakeNeighbors(worldId, pos);
+        }
+    }
+
+    /**
+     * Block abgebaut (kein ME-Block): aus dem Container-Index entfernen
+     */
+    public void notifyBlockBroken(UUID worldId, BlockPos pos) {
+        ContainerIndex containers = worldId != null ? worldContainers.get(worldId) : null;
+        if (containers != null && pos != null) {
+            containers.remove(pos);
+        }
+        if (worldId != null && pos != null) {
+            wakeNeighbors(worldId, pos);
+        }
+    }
+
     // ==================== HELPER METHODS ====================
     
     /**
@@ -343,7 +1186,7 @@ public class NetworkManager {
      */
     private UUID extractWorldId(Object world) {
         try {
-            return (UUID) world.getClass().getMethod("getWorldId").invoke(world);
+            return (UUID) ReflectionAccessors.GET_WORLD_ID.invoke(world);
         } catch (Exception e) {
             logger.at(Level.WARNING).log("Konnte World-UUID nicht extrahieren: %s", e.getMessage());
             // Fallback: Nutze hashCode als Basis für UUID
@@ -358,17 +1201,19 @@ public class NetworkManager {
     public void cleanupInactiveNetworks() {
         java.util.concurrent.atomic.AtomicInteger cleaned = new java.util.concurrent.atomic.AtomicInteger(0);
         
-        for (Map.Entry<UUID, Map<BlockPos, MENode>> worldEntry : worldNodes.entrySet()) {
-            Map<BlockPos, MENode> nodes = worldEntry.getValue();
+        for (Map.Entry<UUID, SpatialNodeIndex> worldEntry : worldNodes.entrySet()) {
+            SpatialNodeIndex nodes = worldEntry.getValue();
             
-            // Entferne Nodes ohne Netzwerk
-            nodes.values().removeIf(node -> {
-                if (node.getNetwork() == null) {
-                    cleaned.incrementAndGet();
-                    return true;
+            // Entferne Nodes ohne Netzwerk (inkl. Umkehr-Index)
+            UUID worldId = worldEntry.getKey();
+            cleaned.addAndGet(nodes.removeIf(node -> {
+                if (node.getNetwork() != null) {
+                    return false;
                 }
-                return false;
-            });
+                positionWorlds.remove(node.getPosition().asLong(), worldId);
+                unschedule(worldId, node);
+                return true;
+            }));
             
             // Entferne leere Welten
             if (nodes.isEmpty()) {
@@ -387,17 +1232,17 @@ public class NetworkManager {
     public void optimizeChannels() {
         int optimized = 0;
         
-        for (Map.Entry<UUID, Map<BlockPos, MENode>> worldEntry : worldNodes.entrySet()) {
-            Map<BlockPos, MENode> nodes = worldEntry.getValue();
+        for (Map.Entry<UUID, SpatialNodeIndex> worldEntry : worldNodes.entrySet()) {
+            SpatialNodeIndex nodes = worldEntry.getValue();
             
             // Sammle alle Netzwerke in dieser Welt
             Map<UUID, MENetwork> networks = new ConcurrentHashMap<>();
-            for (MENode node : nodes.values()) {
+            nodes.forEach(node -> {
                 MENetwork network = node.getNetwork();
                 if (network != null) {
                     networks.put(network.getNetworkId(), network);
                 }
-            }
+            });
             
             // Optimiere jedes Netzwerk
             for (MENetwork network : networks.values()) {
@@ -427,19 +1272,19 @@ public class NetworkManager {
     public Map<UUID, Map<UUID, MENetwork>> getAllNetworks() {
         Map<UUID, Map<UUID, MENetwork>> result = new ConcurrentHashMap<>();
         
-        for (Map.Entry<UUID, Map<BlockPos, MENode>> worldEntry : worldNodes.entrySet()) {
+        for (Map.Entry<UUID, SpatialNodeIndex> worldEntry : worldNodes.entrySet()) {
             UUID worldId = worldEntry.getKey();
-            Map<BlockPos, MENode> nodes = worldEntry.getValue();
+            SpatialNodeIndex nodes = worldEntry.getValue();
             
             Map<UUID, MENetwork> worldNetworks = new ConcurrentHashMap<>();
             
             // Sammle alle einzigartigen Netzwerke
-            for (MENode node : nodes.values()) {
+            nodes.forEach(node -> {
                 MENetwork network = node.getNetwork();
                 if (network != null) {
                     worldNetworks.put(network.getNetworkId(), network);
                 }
-            }
+            });
             
             if (!worldNetworks.isEmpty()) {
                 result.put(worldId, worldNetworks);
@@ -454,13 +1299,38 @@ public class NetworkManager {
      */
     public String getDebugInfo() {
         int totalNodes = worldNodes.values().stream()
-            .mapToInt(Map::size)
+            .mapToInt(SpatialNodeIndex::size)
+            .sum();
+        int totalSections = worldNodes.values().stream()
+            .mapToInt(SpatialNodeIndex::getSectionCount)
+            .sum();
+        int totalContainers = worldContainers.values().stream()
+            .mapToInt(ContainerIndex::size)
+            .sum();
+        int dormantNetworks = worldActivity.values().stream()
+            .mapToInt(ChunkActivity::getDormantCount)
+            .sum();
+        long dormantNodes = worldActivity.values().stream()
+            .mapToLong(ChunkActivity::getDormantNodeCount)
+            .sum();
+        int tickableDevices = worldTickers.values().stream()
+            .mapToInt(TickScheduler::size)
+            .sum();
+        int sleepingDevices = worldTickers.values().stream()
+            .mapToInt(TickScheduler::getSleepingCount)
             .sum();
             
         return String.format(
-            "NetworkManager [Welten: %d, Gesamt-Nodes: %d, Cache-Size: %d]",
+            "NetworkManager [Welten: %d, Gesamt-Nodes: %d, Sections: %d, Positionen: %d, Container: %d, Schlafend: %d Networks (%d Nodes), Tickbar: %d Devices (%d schlafend), Cache-Size: %d]",
             worldNodes.size(),
             totalNodes,
+            totalSections,
+            positionWorlds.size(),
+            totalContainers,
+            dormantNetworks,
+            dormantNodes,
+            tickableDevices,
+            sleepingDevices,
             worldIdCache.size()
         );
     }
@@ -0,0 +1,136 @@
+package com.tobi.mesystem.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Umkehr-Index Position -> Welten mit ME-Node an dieser Position
+ *
+ * Beantwortet "gibt es an dieser Position in irgendeiner Welt einen ME-Node?"
+ * in O(1), unabhängig von der Anzahl geladener Welten. Wird verwendet, wenn ein
+ * Event keine auflösbare Welt liefert.
+ *
+ * Pro Position wird ein kleines UUID-Array gehalten (fast immer Länge 1,
+ * mehrere Einträge nur bei gleichen Koordinaten in verschiedenen Welten).
+ *
+ * Thread-Safety: Lesen optimistisch über StampedLock, Schreiben exklusiv.
+ */
+public final class PositionWorldIndex {
+
+    private final LongObjectHashMap<UUID[]> worlds = new LongObjectHashMap<>();
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Registriert einen Node einer Welt an einer Position
+     */
+    public void add(long positionKey, UUID worldId) {
+        long stamp = lock.writeLock();
+        try {
+            UUID[] current = worlds.get(positionKey);
+            if (current == null) {
+                worlds.put(positionKey, new UUID[] { worldId });
+                return;
+            }
+            for (UUID existing : current) {
+                if (existing.equals(worldId)) {
+                    return;
+                }
+            }
+            UUID[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = worldId;
+            worlds.put(positionKey, grown);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Entfernt den Eintrag einer Welt an einer Position
+     */
+    public void remove(long positionKey, UUID worldId) {
+        long stamp = lock.writeLock();
+        try {
+            UUID[] current = worlds.get(positionKey);
+            if (current == null) {
+                return;
+            }
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(worldId)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            if (current.length == 1) {
+                worlds.remove(positionKey);
+                return;
+            }
+            UUID[] shrunk = new UUID[current.length - 1];
+            System.arraycopy(current, 0, shrunk, 0, index);
+            System.arraycopy(current, index + 1, shrunk, index, current.length - index - 1);
+            worlds.put(positionKey, shrunk);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gibt die einzige Welt mit Node an dieser Position zurück
+     * @return World-UUID oder null (kein Node oder mehrdeutig)
+     */
+    public UUID uniqueWorldAt(long positionKey) {
+        UUID[] current = lookup(positionKey);
+        return current != null && current.length == 1 ? current[0] : null;
+    }
+
+    /**
+     * Anzahl Welten mit Node an dieser Position
+     */
+    public int worldCountAt(long positionKey) {
+        UUID[] current = lookup(positionKey);
+        return current != null ? current.length : 0;
+    }
+
+    public boolean contains(long positionKey) {
+        return lookup(positionKey) != null;
+    }
+
+    /**
+     * Anzahl indizierter Positionen
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return worlds.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            worlds.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private UUID[] lookup(long positionKey) {
+        long stamp = lock.tryOptimisticRead();
+        UUID[] current = worlds.get(positionKey);
+        if (lock.validate(stamp)) {
+            return current;
+        }
+        stamp = lock.readLock();
+        try {
+            return worlds.get(positionKey);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
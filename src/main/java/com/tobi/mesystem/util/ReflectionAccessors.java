@@ -0,0 +1,276 @@
+package com.tobi.mesystem.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zentrale Registry für reflektive Hytale-API-Zugriffe
+ *
+ * Jeder Zugriff (Methodenname + Parametertypen) wird pro konkreter Klasse genau
+ * einmal aufgelöst und als MethodHandle in einem {@link ClassValue} gecacht.
+ * Danach kostet ein Aufruf nur noch einen ClassValue-Lookup und invokeExact -
+ * kein getMethod(), keine Access-Checks, kein Varargs-Array.
+ *
+ * - Fehlende Methoden werden ebenfalls gecacht (kein wiederholtes getMethod())
+ * - Metriken: Cache-Misses (Auflösungen) und fehlende Methoden pro Zugriff
+ * - Aufrufe verhalten sich wie Method.invoke: NoSuchMethodException wenn die
+ *   Methode fehlt, InvocationTargetException wenn die Zielmethode wirft
+ *
+ * Thread-Safety: Vollständig thread-safe (ClassValue + ConcurrentHashMap).
+ */
+public final class ReflectionAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final Map<String, Accessor> REGISTRY = new ConcurrentHashMap<>();
+
+    // ==================== BEKANNTE ZUGRIFFE ====================
+
+    public static final Accessor GET_WORLD = method("getWorld");
+    public static final Accessor GET_WORLD_ID = method("getWorldId");
+    public static final Accessor GET_PLAYER_REF = method("getPlayerRef");
+    public static final Accessor GET_PLAYER = method("getPlayer");
+    public static final Accessor GET_BLOCK_ENTITY = method("getBlockEntity", int.class, int.class, int.class);
+    public static final Accessor GET_CONTAINER = method("getContainer");
+    public static final Accessor GET_ITEM_CONTAINER = method("getItemContainer");
+    public static final Accessor GET_X = method("getX");
+    public static final Accessor GET_Y = method("getY");
+    public static final Accessor GET_Z = method("getZ");
+    public static final Accessor GET_CHUNK = method("getChunk");
+    public static final Accessor GET_CHUNK_X = method("getChunkX");
+    public static final Accessor GET_CHUNK_Z = method("getChunkZ");
+    public static final Accessor EXECUTE = method("execute", Runnable.class);
+
+    private ReflectionAccessors() {
+    }
+
+    /**
+     * Gibt den (registrierten) Zugriff für eine öffentliche Methode zurück
+     *
+     * @param name Methodenname
+     * @param parameterTypes Parametertypen (Primitive bleiben primitiv)
+     */
+    public static Accessor method(String name, Class<?>... parameterTypes) {
+        String key = name + Arrays.toString(parameterTypes);
+        return REGISTRY.computeIfAbsent(key, k -> new Accessor(name, parameterTypes.clone()));
+    }
+
+    /**
+     * Gesamtanzahl Cache-Misses (Auflösungen pro Klasse) über alle Zugriffe
+     */
+    public static long getTotalMisses() {
+        long total = 0;
+        for (Accessor accessor : REGISTRY.values()) {
+            total += accessor.getMisses();
+        }
+        return total;
+    }
+
+    /**
+     * Gesamtanzahl Klassen, denen eine angefragte Methode fehlte
+     */
+    public static long getTotalMissing() {
+        long total = 0;
+        for (Accessor accessor : REGISTRY.values()) {
+            total += accessor.getMissing();
+        }
+        return total;
+    }
+
+    /**
+     * Debug-Informationen (für Wartungs-Log und /medebug)
+     */
+    public static String getStats() {
+        List<String> details = new ArrayList<>();
+        for (Accessor accessor : REGISTRY.values()) {
+            if (accessor.getMisses() > 0) {
+                details.add(accessor.toString());
+            }
+        }
+        return String.format("Reflection [Zugriffe: %d, Misses: %d, Fehlend: %d] %s",
+            REGISTRY.size(), getTotalMisses(), getTotalMissing(), details);
+    }
+
+    /**
+     * Ein gecachter Methodenzugriff (Name + Parametertypen), aufgelöst pro Klasse
+     */
+    public static final class Accessor {
+
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final MethodType invokeType;
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder missing = new LongAdder();
+
+        // Klasse -> Handle (null wenn die Methode fehlt), schwach an die Klasse gebunden
+        private final ClassValue<Resolved> handles = new ClassValue<>() {
+            @Override
+            protected Resolved computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+
+        private Accessor(String name, Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+
+            // Aufruftyp: (Object, Parameter mit Referenztypen als Object) -> Object
+            Class<?>[] erased = new Class<?>[parameterTypes.length + 1];
+            erased[0] = Object.class;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                erased[i + 1] = parameterTypes[i].isPrimitive() ? parameterTypes[i] : Object.class;
+            }
+            this.invokeType = MethodType.methodType(Object.class, erased);
+        }
+
+        /**
+         * Prüft ob die Klasse des Ziels diese Methode besitzt
+         */
+        public boolean isAvailable(Object target) {
+            return target != null && handles.get(target.getClass()).handle != null;
+        }
+
+        /**
+         * Ruft eine parameterlose Methode auf
+         */
+        public Object invoke(Object target) throws ReflectiveOperationException {
+            MethodHandle handle = handle(target, 0);
+            try {
+                return handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+        }
+
+        /**
+         * Ruft eine Methode mit einem Referenz-Parameter auf
+         */
+        public Object invoke(Object target, Object argument) throws ReflectiveOperationException {
+            MethodHandle handle = handle(target, 1);
+            try {
+                return handle.invokeExact(target, argument);
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+        }
+
+        /**
+         * Ruft eine Methode mit drei int-Parametern auf (Block-Koordinaten)
+         */
+        public Object invoke(Object target, int x, int y, int z) throws ReflectiveOperationException {
+            MethodHandle handle = handle(target, 3);
+            try {
+                return handle.invokeExact(target, x, y, z);
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+        }
+
+        /**
+         * Wie {@link #invoke(Object)}, aber null statt Exception wenn die Methode fehlt
+         */
+        public Object invokeIfPresent(Object target) throws ReflectiveOperationException {
+            return isAvailable(target) ? invoke(target) : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getMissing() {
+            return missing.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s%s(misses=%d, fehlend=%d)", name,
+                Arrays.toString(parameterTypes), getMisses(), getMissing());
+        }
+
+        // ==================== INTERN ====================
+
+        private MethodHandle handle(Object target, int arity) throws NoSuchMethodException {
+            if (target == null) {
+                throw new NullPointerException("Ziel für " + name + " ist null");
+            }
+            if (arity != parameterTypes.length) {
+                throw new IllegalArgumentException("Falsche Parameteranzahl für " + this);
+            }
+            MethodHandle handle = handles.get(target.getClass()).handle;
+            if (handle == null) {
+                throw new NoSuchMethodException(target.getClass().getName() + "." + name);
+            }
+            return handle;
+        }
+
+        private Resolved resolve(Class<?> type) {
+            misses.increment();
+            try {
+                Method method = findPublic(type, type.getMethod(name, parameterTypes));
+                if (method != null) {
+                    return new Resolved(LOOKUP.unreflect(method).asType(invokeType));
+                }
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // unten als fehlend gecacht
+            }
+            missing.increment();
+            return Resolved.MISSING;
+        }
+
+        /**
+         * Methoden nicht-öffentlicher Implementierungsklassen sind über publicLookup
+         * nicht erreichbar - dann dieselbe Signatur in einem öffentlichen Supertyp suchen
+         */
+        private Method findPublic(Class<?> type, Method method) {
+            if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                return method;
+            }
+            for (Class<?> iface : type.getInterfaces()) {
+                Method candidate = findInSupertype(iface);
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+            Class<?> superclass = type.getSuperclass();
+            return superclass != null ? findInSupertype(superclass) : null;
+        }
+
+        private Method findInSupertype(Class<?> type) {
+            try {
+                return findPublic(type, type.getMethod(name, parameterTypes));
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static ReflectiveOperationException wrap(Throwable t) {
+            if (t instanceof Error error) {
+                throw error;
+            }
+            if (t instanceof ReflectiveOperationException reflective) {
+                return reflective;
+            }
+            return new InvocationTargetException(t, t.getMessage());
+        }
+    }
+
+    /**
+     * Aufgelöster Handle einer Klasse (handle == null: Methode fehlt)
+     */
+    private record Resolved(MethodHandle handle) {
+        static final Resolved MISSING = new Resolved(null);
+    }
+}
@@ -0,0 +1,295 @@
+package com.tobi.mesystem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.tobi.mesystem.core.MENode;
+
+/**
+ * Räumlicher Node-Index einer Welt
+ *
+ * Teilt die Welt in Sections von 16x16x16 Blöcken, jede Section hält ihre Nodes
+ * in einem dichten Array (4096 Slots, Index = lokale Koordinate). Sections sind
+ * über gepackte Section-Koordinaten erreichbar, zusätzlich merkt sich jede
+ * Chunk-Spalte (32x32 Blöcke) ihre Sections für Chunk-Iteration.
+ *
+ * - Lookup: ein Map-Zugriff + Array-Zugriff, keine BlockPos-Allokation für Nachbarn
+ * - Nachbar in derselben Section: reiner Array-Zugriff
+ * - Leere Sections werden sofort verworfen
+ *
+ * Thread-Safety: Lesen lock-frei (optimistischer StampedLock auf der primitiven
+ * Section-Map + AtomicReferenceArray), Schreiben synchronisiert
+ * (Block-Platzierung ist selten gegenüber Lookups).
+ */
+public final class SpatialNodeIndex {
+
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_MASK = (1 << SECTION_SHIFT) - 1;
+    private static final int SECTION_VOLUME = 1 << (SECTION_SHIFT * 3);
+
+    // Hytale-Chunks sind 32x32 Blöcke breit
+    private static final int CHUNK_SHIFT = 5;
+
+    // Section-Key -> Section, primitive Map (kein Long-Boxing pro Lookup)
+    private final LongObjectHashMap<Section> sections = new LongObjectHashMap<>();
+    private final StampedLock sectionLock = new StampedLock();
+    private final Map<Long, Set<Long>> chunkSections = new ConcurrentHashMap<>();
+    private volatile int size = 0;
+
+    /**
+     * Setzt den Node an einer Position
+     * @return Vorheriger Node oder null
+     */
+    public synchronized MENode put(BlockPos pos, MENode node) {
+        if (node == null) {
+            return remove(pos);
+        }
+        long sectionKey = sectionKey(pos.getX() >> SECTION_SHIFT, pos.getY() >> SECTION_SHIFT, pos.getZ() >> SECTION_SHIFT);
+        Section section = section(sectionKey);
+        if (section == null) {
+            section = new Section();
+            long stamp = sectionLock.writeLock();
+            try {
+                sections.put(sectionKey, section);
+            } finally {
+                sectionLock.unlockWrite(stamp);
+            }
+            chunkSections.computeIfAbsent(chunkKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT),
+                key -> ConcurrentHashMap.newKeySet()).add(sectionKey);
+        }
+        MENode previous = section.nodes.getAndSet(localIndex(pos.getX(), pos.getY(), pos.getZ()), node);
+        if (previous == null) {
+            section.count++;
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Entfernt den Node an einer Position
+     * @return Entfernter Node oder null
+     */
+    public synchronized MENode remove(BlockPos pos) {
+        long sectionKey = sectionKey(pos.getX() >> SECTION_SHIFT, pos.getY() >> SECTION_SHIFT, pos.getZ() >> SECTION_SHIFT);
+        Section section = section(sectionKey);
+        if (section == null) {
+            return null;
+        }
+        MENode removed = section.nodes.getAndSet(localIndex(pos.getX(), pos.getY(), pos.getZ()), null);
+        if (removed != null) {
+            size--;
+            if (--section.count == 0) {
+                dropSection(sectionKey, pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+            }
+        }
+        return removed;
+    }
+
+    public MENode get(BlockPos pos) {
+        return get(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Lookup über gepackte Position ({@link BlockPos#asLong()})
+     */
+    public MENode get(long positionKey) {
+        return get(BlockPos.unpackX(positionKey), BlockPos.unpackY(positionKey), BlockPos.unpackZ(positionKey));
+    }
+
+    public MENode get(int x, int y, int z) {
+        Section section = section(sectionKey(x >> SECTION_SHIFT, y >> SECTION_SHIFT, z >> SECTION_SHIFT));
+        return section != null ? section.nodes.get(localIndex(x, y, z)) : null;
+    }
+
+    /**
+     * Nachbar-Node in einer Richtung ohne BlockPos-Allokation
+     */
+    public MENode getNeighbor(BlockPos pos, Direction direction) {
+        return get(pos.getX() + direction.getOffsetX(),
+                   pos.getY() + direction.getOffsetY(),
+                   pos.getZ() + direction.getOffsetZ());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Iteriert alle Nodes (schwach konsistent wie ConcurrentHashMap)
+     */
+    public void forEach(Consumer<MENode> action) {
+        for (Section section : sectionSnapshot()) {
+            section.forEach(action);
+        }
+    }
+
+    /**
+     * Iteriert alle Nodes einer Chunk-Spalte
+     */
+    public void forEachInChunk(int chunkX, int chunkZ, Consumer<MENode> action) {
+        Set<Long> keys = chunkSections.get(chunkKey(chunkX, chunkZ));
+        if (keys == null) {
+            return;
+        }
+        for (Long key : keys) {
+            Section section = section(key);
+            if (section != null) {
+                section.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Snapshot aller Nodes einer Chunk-Spalte
+     */
+    public List<MENode> getNodesInChunk(int chunkX, int chunkZ) {
+        List<MENode> result = new ArrayList<>();
+        forEachInChunk(chunkX, chunkZ, result::add);
+        return result;
+    }
+
+    /**
+     * Snapshot aller Nodes
+     */
+    public List<MENode> values() {
+        List<MENode> result = new ArrayList<>(size);
+        forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Entfernt alle Nodes, auf die das Prädikat zutrifft
+     * @return Anzahl entfernter Nodes
+     */
+    public int removeIf(Predicate<MENode> filter) {
+        int removed = 0;
+        for (MENode node : values()) {
+            if (filter.test(node) && removeExact(node)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        long stamp = sectionLock.writeLock();
+        try {
+            sections.clear();
+        } finally {
+            sectionLock.unlockWrite(stamp);
+        }
+        chunkSections.clear();
+        size = 0;
+    }
+
+    /**
+     * Anzahl belegter Sections (Debug/Speicherabschätzung)
+     */
+    public int getSectionCount() {
+        long stamp = sectionLock.readLock();
+        try {
+            return sections.size();
+        } finally {
+            sectionLock.unlockRead(stamp);
+        }
+    }
+
+    // ==================== INTERN ====================
+
+    /**
+     * Section-Lookup: optimistisch ohne Lock, bei Konflikt mit Read-Lock
+     */
+    private Section section(long sectionKey) {
+        long stamp = sectionLock.tryOptimisticRead();
+        Section section = sections.get(sectionKey);
+        if (sectionLock.validate(stamp)) {
+            return section;
+        }
+        stamp = sectionLock.readLock();
+        try {
+            return sections.get(sectionKey);
+        } finally {
+            sectionLock.unlockRead(stamp);
+        }
+    }
+
+    private List<Section> sectionSnapshot() {
+        long stamp = sectionLock.readLock();
+        try {
+            return sections.values();
+        } finally {
+            sectionLock.unlockRead(stamp);
+        }
+    }
+
+    private synchronized boolean removeExact(MENode node) {
+        BlockPos pos = node.getPosition();
+        if (get(pos) != node) {
+            return false;
+        }
+        remove(pos);
+        return true;
+    }
+
+    private void dropSection(long sectionKey, int chunkX, int chunkZ) {
+        long stamp = sectionLock.writeLock();
+        try {
+            sections.remove(sectionKey);
+        } finally {
+            sectionLock.unlockWrite(stamp);
+        }
+        long chunkKey = chunkKey(chunkX, chunkZ);
+        Set<Long> keys = chunkSections.get(chunkKey);
+        if (keys != null) {
+            keys.remove(sectionKey);
+            if (keys.isEmpty()) {
+                chunkSections.remove(chunkKey);
+            }
+        }
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & SECTION_MASK) << (SECTION_SHIFT * 2)) | ((z & SECTION_MASK) << SECTION_SHIFT) | (x & SECTION_MASK);
+    }
+
+    /**
+     * Packt Section-Koordinaten: 22 Bit X, 22 Bit Z, 20 Bit Y
+     */
+    static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) (sectionX & 0x3FFFFF) << 42)
+             | ((long) (sectionZ & 0x3FFFFF) << 20)
+             | (sectionY & 0xFFFFF);
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 16x16x16 Blöcke, dicht als Array
+     */
+    private static final class Section {
+        private final AtomicReferenceArray<MENode> nodes = new AtomicReferenceArray<>(SECTION_VOLUME);
+        private int count = 0; // nur unter Index-Lock verändert
+
+        private void forEach(Consumer<MENode> action) {
+            for (int i = 0; i < SECTION_VOLUME; i++) {
+                MENode node = nodes.get(i);
+                if (node != null) {
+                    action.accept(node);
+                }
+            }
+        }
+    }
+}
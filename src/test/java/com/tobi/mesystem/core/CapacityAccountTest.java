@@ -0,0 +1,104 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CapacityAccount.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("CapacityAccount Tests")
+class CapacityAccountTest {
+
+    @Test
+    @DisplayName("Capacity follows storage device count")
+    void testDeviceCapacity() {
+        CapacityAccount account = new CapacityAccount(1024);
+        assertEquals(0, account.getCapacity());
+
+        account.addStorageDevice();
+        account.addStorageDevice();
+        assertEquals(2048, account.getCapacity());
+
+        account.removeStorageDevice();
+        account.removeStorageDevice();
+        account.removeStorageDevice();
+        assertEquals(0, account.getStorageDeviceCount());
+    }
+
+    @Test
+    @DisplayName("Reserve grants at most the free space")
+    void testReserve() {
+        CapacityAccount account = new CapacityAccount(100);
+        account.addStorageDevice();
+
+        assertEquals(60, account.reserve(60));
+        assertEquals(40, account.reserve(60));
+        assertEquals(0, account.reserve(1));
+
+        account.release(10);
+        assertEquals(10, account.getFree());
+    }
+
+    @Test
+    @DisplayName("Forced reservations may exceed capacity and block inserts")
+    void testForceReserve() {
+        CapacityAccount account = new CapacityAccount(100);
+        account.addStorageDevice();
+        account.forceReserve(150);
+
+        assertEquals(0, account.getFree());
+        assertEquals(0, account.reserve(5));
+    }
+
+    @Test
+    @DisplayName("Absorbing moves devices and usage and leaves the other account empty")
+    void testAbsorb() {
+        CapacityAccount account = new CapacityAccount(100);
+        CapacityAccount other = new CapacityAccount(100);
+        account.addStorageDevice();
+        other.addStorageDevice();
+        other.addStorageDevice();
+        other.forceReserve(50);
+
+        account.absorb(other);
+
+        assertEquals(300, account.getCapacity());
+        assertEquals(50, account.getUsed());
+        assertEquals(0, other.getCapacity());
+        assertEquals(0, other.getUsed());
+        assertEquals(0, other.reserve(1));
+    }
+
+    @Test
+    @DisplayName("Concurrent inserters never overfill")
+    void testConcurrentReserve() throws InterruptedException {
+        CapacityAccount account = new CapacityAccount(10_000);
+        account.addStorageDevice();
+        AtomicLong granted = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < 16; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    granted.addAndGet(account.reserve(7));
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(10_000, granted.get());
+        assertEquals(10_000, account.getUsed());
+    }
+}
@@ -0,0 +1,124 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for ChannelAllocator.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ChannelAllocator Tests")
+class ChannelAllocatorTest {
+
+    @Test
+    @DisplayName("Allocation respects the channel limit")
+    void testLimit() {
+        ChannelAllocator allocator = new ChannelAllocator(2);
+
+        assertTrue(allocator.allocate(new BlockPos(0, 0, 0), 1));
+        assertTrue(allocator.allocate(new BlockPos(1, 0, 0), 1));
+        assertFalse(allocator.allocate(new BlockPos(2, 0, 0), 1));
+        assertEquals(2, allocator.getUsedChannels());
+        assertEquals(0, allocator.getAvailableChannels());
+    }
+
+    @Test
+    @DisplayName("Release frees channels exactly once")
+    void testRelease() {
+        ChannelAllocator allocator = new ChannelAllocator(8);
+        BlockPos device = new BlockPos(0, 0, 0);
+        allocator.allocate(device, 1);
+
+        assertEquals(1, allocator.release(device));
+        assertEquals(0, allocator.release(device));
+        assertEquals(0, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Re-allocating a device replaces its allocation")
+    void testReallocate() {
+        ChannelAllocator allocator = new ChannelAllocator(8);
+        BlockPos device = new BlockPos(0, 0, 0);
+        allocator.allocate(device, 1);
+        allocator.allocate(device, 3);
+
+        assertEquals(3, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Re-allocating at the limit reserves only the difference")
+    void testReallocateAtLimit() {
+        ChannelAllocator allocator = new ChannelAllocator(4);
+        BlockPos device = new BlockPos(0, 0, 0);
+        BlockPos other = new BlockPos(1, 0, 0);
+        allocator.allocate(device, 2);
+        allocator.allocate(other, 1);
+
+        // 2 -> 3 mit einem freien Channel
+        assertTrue(allocator.allocate(device, 3));
+        assertEquals(4, allocator.getUsedChannels());
+        assertEquals(3, allocator.getAllocation(device));
+
+        // 3 -> 5 übersteigt das Limit, bestehende Allokation bleibt
+        assertFalse(allocator.allocate(device, 5));
+        assertEquals(3, allocator.getAllocation(device));
+        assertEquals(4, allocator.getUsedChannels());
+
+        // Verkleinern gibt die Differenz frei
+        assertTrue(allocator.allocate(device, 1));
+        assertEquals(2, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Adopting allocations may overbook")
+    void testAdoptAll() {
+        ChannelAllocator allocator = new ChannelAllocator(1);
+        ChannelAllocator other = new ChannelAllocator(8);
+        allocator.allocate(new BlockPos(0, 0, 0), 1);
+        other.allocate(new BlockPos(1, 0, 0), 1);
+
+        allocator.adoptAll(other);
+
+        assertEquals(2, allocator.getUsedChannels());
+        assertEquals(-1, allocator.getAvailableChannels());
+    }
+
+    @Test
+    @DisplayName("Concurrent placement never over-allocates")
+    void testConcurrentAllocate() throws InterruptedException {
+        ChannelAllocator allocator = new ChannelAllocator(32);
+        AtomicInteger granted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 1_000;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (allocator.allocate(new BlockPos(offset + i, 0, 0), 1)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(32, granted.get());
+        assertEquals(32, allocator.getUsedChannels());
+        assertEquals(32, allocator.getAllocations().size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.tobi.mesystem.core;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for ChannelScheduler.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ChannelScheduler Tests")
+class ChannelSchedulerTest {
+
+    private UUID worldId;
+    private ChannelAllocator allocator;
+    private ChannelScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        worldId = UUID.randomUUID();
+        allocator = new ChannelAllocator(32);
+        scheduler = new ChannelScheduler(allocator);
+    }
+
+    private MENode register(int x, MEDeviceType type, int priority) {
+        BlockPos pos = new BlockPos(x, 0, 0);
+        MENode node = new MENode(worldId, pos, type);
+        node.setPriority(priority);
+        scheduler.register(pos, node, type);
+        return node;
+    }
+
+    @Test
+    @DisplayName("Devices without channel usage are never scheduled")
+    void testCablesIgnored() {
+        MENode cable = register(0, MEDeviceType.CABLE, 0);
+
+        assertTrue(cable.isActive());
+        assertEquals(0, scheduler.getOnlineCount());
+        assertEquals(0, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Controller loss deactivates lowest priority devices")
+    void testBudgetShrinkDeactivates() {
+        MENode low = register(0, MEDeviceType.TERMINAL, 0);
+        MENode high = register(1, MEDeviceType.TERMINAL, 10);
+        MENode mid = register(2, MEDeviceType.TERMINAL, 5);
+
+        ChannelScheduler.Result result = scheduler.setBudget(2);
+
+        assertEquals(1, result.deactivated());
+        assertFalse(low.isActive());
+        assertTrue(high.isActive());
+        assertTrue(mid.isActive());
+        assertFalse(allocator.isAllocated(low.getPosition()));
+        assertEquals(2, allocator.getUsedChannels());
+        assertEquals(1, scheduler.getWaitingCount());
+    }
+
+    @Test
+    @DisplayName("Device type breaks priority ties")
+    void testDeviceTypeTieBreak() {
+        MENode terminal = register(0, MEDeviceType.TERMINAL, 0);
+        MENode exportBus = register(1, MEDeviceType.EXPORT_BUS, 0);
+
+        scheduler.setBudget(1);
+
+        assertFalse(terminal.isActive());
+        assertTrue(exportBus.isActive());
+    }
+
+    @Test
+    @DisplayName("Budget growth reactivates waiting devices by priority")
+    void testBudgetGrowReactivates() {
+        MENode a = register(0, MEDeviceType.TERMINAL, 1);
+        MENode b = register(1, MEDeviceType.TERMINAL, 2);
+        MENode c = register(2, MEDeviceType.TERMINAL, 3);
+        scheduler.setBudget(1);
+        assertTrue(c.isActive());
+
+        ChannelScheduler.Result result = scheduler.setBudget(2);
+
+        assertEquals(1, result.reactivated());
+        assertTrue(b.isActive());
+        assertFalse(a.isActive());
+
+        scheduler.setBudget(32);
+        assertTrue(a.isActive());
+        assertEquals(0, scheduler.getWaitingCount());
+        assertEquals(3, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("New devices wait when no channels are free")
+    void testRegisterWhenFull() {
+        scheduler.setBudget(1);
+        MENode first = register(0, MEDeviceType.TERMINAL, 0);
+        MENode second = register(1, MEDeviceType.TERMINAL, 0);
+
+        assertTrue(first.isActive());
+        assertFalse(second.isActive());
+        assertFalse(scheduler.isOnline(second.getPosition()));
+    }
+
+    @Test
+    @DisplayName("Removing an online device hands its channels to a waiting one")
+    void testUnregisterFillsWaiting() {
+        scheduler.setBudget(1);
+        MENode first = register(0, MEDeviceType.TERMINAL, 0);
+        MENode second = register(1, MEDeviceType.TERMINAL, 0);
+
+        assertEquals(1, scheduler.unregister(first.getPosition()));
+        assertTrue(second.isActive());
+        assertEquals(1, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Raised priority preempts a lower priority online device")
+    void testReprioritize() {
+        scheduler.setBudget(1);
+        MENode online = register(0, MEDeviceType.TERMINAL, 0);
+        MENode waiting = register(1, MEDeviceType.TERMINAL, 0);
+
+        waiting.setPriority(5);
+        ChannelScheduler.Result result = scheduler.reprioritize(waiting.getPosition());
+
+        assertEquals(1, result.deactivated());
+        assertTrue(waiting.isActive());
+        assertFalse(online.isActive());
+        assertEquals(1, allocator.getUsedChannels());
+    }
+
+    @Test
+    @DisplayName("Adopting another scheduler enforces the budget")
+    void testAdoptAll() {
+        ChannelAllocator otherAllocator = new ChannelAllocator(32);
+        ChannelScheduler other = new ChannelScheduler(otherAllocator);
+        BlockPos otherPos = new BlockPos(5, 0, 0);
+        MENode otherNode = new MENode(worldId, otherPos, MEDeviceType.TERMINAL);
+        otherNode.setPriority(10);
+        other.register(otherPos, otherNode, MEDeviceType.TERMINAL);
+
+        scheduler.setBudget(1);
+        MENode local = register(0, MEDeviceType.TERMINAL, 0);
+
+        scheduler.adoptAll(other);
+
+        assertTrue(otherNode.isActive());
+        assertFalse(local.isActive());
+        assertEquals(1, allocator.getUsedChannels());
+        assertEquals(0, other.getOnlineCount());
+    }
+
+    @Test
+    @DisplayName("Freed channels skip a multi-channel claim that does not fit")
+    void testFillSkipsClaimsThatDoNotFit() {
+        scheduler.setBudget(2);
+        MENode first = register(0, MEDeviceType.TERMINAL, 5);
+        MENode second = register(1, MEDeviceType.TERMINAL, 5);
+
+        BlockPos widePos = new BlockPos(2, 0, 0);
+        MENode wide = new MENode(worldId, widePos, MEDeviceType.INTERFACE);
+        wide.setPriority(10);
+        assertFalse(scheduler.register(widePos, wide, MEDeviceType.INTERFACE, 3));
+        MENode single = register(3, MEDeviceType.TERMINAL, 0);
+        assertFalse(single.isActive());
+
+        // Ein Channel frei: der Mehrkanal-Claim passt nicht, der einzelne dahinter schon
+        assertEquals(1, scheduler.unregister(first.getPosition()));
+        assertFalse(wide.isActive());
+        assertTrue(single.isActive());
+        assertTrue(second.isActive());
+        assertEquals(2, allocator.getUsedChannels());
+        assertEquals(1, scheduler.getWaitingCount());
+    }
+}
@@ -0,0 +1,54 @@
+package com.tobi.mesystem.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ItemIdRegistry.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ItemIdRegistry Tests")
+class ItemIdRegistryTest {
+
+    private final ItemIdRegistry registry = ItemIdRegistry.getInstance();
+
+    @Test
+    @DisplayName("Interning is stable and reversible")
+    void testIntern() {
+        int stone = registry.intern("test:registry_stone");
+        int dirt = registry.intern("test:registry_dirt");
+
+        assertEquals(stone, registry.intern("test:registry_stone"));
+        assertNotEquals(stone, dirt);
+        assertEquals("test:registry_stone", registry.nameOf(stone));
+        assertEquals(stone, registry.lookup("test:registry_stone"));
+    }
+
+    @Test
+    @DisplayName("Lookup does not register unknown IDs")
+    void testLookupUnknown() {
+        int sizeBefore = registry.size();
+
+        assertEquals(ItemIdRegistry.UNKNOWN, registry.lookup("test:never_interned"));
+        assertEquals(sizeBefore, registry.size());
+        assertThrows(IllegalArgumentException.class, () -> registry.nameOf(-1));
+    }
+
+    @Test
+    @DisplayName("Registry grows beyond its initial table")
+    void testGrowth() {
+        int first = registry.intern("test:growth_0");
+        for (int i = 1; i < 1_000; i++) {
+            registry.intern("test:growth_" + i);
+        }
+
+        assertEquals("test:growth_0", registry.nameOf(first));
+        assertEquals("test:growth_999", registry.nameOf(registry.lookup("test:growth_999")));
+    }
+}
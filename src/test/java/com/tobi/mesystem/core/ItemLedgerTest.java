@@ -0,0 +1,216 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ItemLedger.
+ *
+ * Tests insert/extract semantics, aggregation and concurrent writers.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ItemLedger Tests")
+class ItemLedgerTest {
+
+    private ItemLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new ItemLedger();
+    }
+
+    @Test
+    @DisplayName("Stripe count is rounded up to a power of two")
+    void testStripeCount() {
+        assertEquals(16, new ItemLedger(10).getStripeCount());
+        assertEquals(1, new ItemLedger(1).getStripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new ItemLedger(0));
+    }
+
+    @Test
+    @DisplayName("Add accumulates amounts per item")
+    void testAdd() {
+        assertEquals(10, ledger.add("hytale:stone", 10));
+        assertEquals(15, ledger.add("hytale:stone", 5));
+        assertEquals(15, ledger.get("hytale:stone"));
+        assertEquals(0, ledger.get("hytale:dirt"));
+    }
+
+    @Test
+    @DisplayName("Remove never returns more than stored and drops empty entries")
+    void testRemove() {
+        ledger.add("hytale:stone", 10);
+
+        assertEquals(4, ledger.remove("hytale:stone", 4));
+        assertEquals(6, ledger.remove("hytale:stone", 100));
+        assertEquals(0, ledger.remove("hytale:stone", 1));
+        assertEquals(0, ledger.typeCount());
+        assertFalse(ledger.copy().containsKey("hytale:stone"));
+    }
+
+    @Test
+    @DisplayName("Non-positive amounts are ignored")
+    void testNonPositiveAmounts() {
+        ledger.add("hytale:stone", 0);
+        ledger.add("hytale:stone", -5);
+
+        assertEquals(0, ledger.typeCount());
+        assertEquals(0, ledger.remove("hytale:stone", -1));
+    }
+
+    @Test
+    @DisplayName("Aggregates cover all stripes")
+    void testAggregates() {
+        for (int i = 0; i < 100; i++) {
+            ledger.add("item_" + i, i + 1);
+        }
+
+        assertEquals(100, ledger.typeCount());
+        assertEquals(5050, ledger.totalCount());
+
+        Map<String, Long> copy = ledger.copy();
+        assertEquals(100, copy.size());
+        assertEquals(50L, (long) copy.get("item_49"));
+    }
+
+    @Test
+    @DisplayName("Running totals follow every insert and extract")
+    void testRunningTotals() {
+        ledger.add("hytale:stone", 10);
+        ledger.add("hytale:dirt", 5);
+        ledger.remove("hytale:stone", 10);
+        ledger.remove("hytale:dirt", 2);
+        ledger.remove("hytale:unknown", 2);
+
+        assertEquals(3, ledger.totalCount());
+        assertEquals(1, ledger.typeCount());
+        ledger.verifyTotals();
+    }
+
+    @Test
+    @DisplayName("addAll merges another ledger")
+    void testAddAll() {
+        ItemLedger other = new ItemLedger();
+        ledger.add("hytale:stone", 5);
+        other.add("hytale:stone", 7);
+        other.add("hytale:dirt", 3);
+
+        ledger.addAll(other);
+
+        assertEquals(12, ledger.get("hytale:stone"));
+        assertEquals(3, ledger.get("hytale:dirt"));
+        assertEquals(2, other.typeCount());
+    }
+
+    @Test
+    @DisplayName("Batch add applies every entry including duplicates")
+    void testAddBatch() {
+        ItemBatch batch = new ItemBatch();
+        for (int i = 0; i < 50; i++) {
+            batch.add("batch_" + i, 10);
+        }
+        batch.add("batch_0", 5);
+        batch.add("batch_1", 0);
+
+        ledger.addBatch(batch);
+
+        assertEquals(15, ledger.get("batch_0"));
+        assertEquals(10, ledger.get("batch_1"));
+        assertEquals(50, ledger.typeCount());
+        assertEquals(505, ledger.totalCount());
+    }
+
+    @Test
+    @DisplayName("Batch remove reports removed amount per position")
+    void testRemoveBatch() {
+        ledger.add("hytale:stone", 10);
+        ledger.add("hytale:dirt", 3);
+        ItemBatch request = new ItemBatch()
+            .add("hytale:stone", 4)
+            .add("hytale:dirt", 5)
+            .add("hytale:stone", 10)
+            .add("hytale:sand", 1);
+
+        long[] removed = ledger.removeBatch(request);
+
+        assertEquals(4, removed[0]);
+        assertEquals(3, removed[1]);
+        assertEquals(6, removed[2]);
+        assertEquals(0, removed[3]);
+        assertEquals(0, ledger.typeCount());
+        assertEquals(0, ledger.totalCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent writers lose no updates")
+    void testConcurrentWriters() throws InterruptedException {
+        int threads = 8;
+        int iterations = 10_000;
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            String ownItem = "item_" + t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    ledger.add(ownItem, 2);
+                    ledger.add("shared", 1);
+                    ledger.remove(ownItem, 1);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * iterations, ledger.get("shared"));
+        for (int t = 0; t < threads; t++) {
+            assertEquals(iterations, ledger.get("item_" + t));
+        }
+        assertTrue(ledger.totalCount() == 2L * threads * iterations);
+        assertEquals(threads + 1, ledger.typeCount());
+        ledger.verifyTotals();
+    }
+
+    @Test
+    @DisplayName("Snapshots are reused until the ledger changes")
+    void testSnapshotReuse() {
+        ledger.add("hytale:stone", 10);
+        StorageSnapshot first = ledger.snapshot();
+
+        assertTrue(first == ledger.snapshot());
+        assertFalse(ledger.hasChangedSince(first.version()));
+        assertThrows(UnsupportedOperationException.class, () -> first.items().put("x", 1L));
+
+        ledger.remove("hytale:stone", 3);
+        assertTrue(ledger.hasChangedSince(first.version()));
+        StorageSnapshot second = ledger.snapshot();
+        assertTrue(second.isNewerThan(first.version()));
+        assertEquals(7, second.get("hytale:stone"));
+        assertEquals(10, first.get("hytale:stone"));
+        assertEquals(7, second.totalCount());
+    }
+
+    @Test
+    @DisplayName("Failed operations do not bump the version")
+    void testVersionOnlyOnChange() {
+        long version = ledger.version();
+        ledger.remove("hytale:unknown", 5);
+        ledger.add("hytale:wood", 0);
+
+        assertFalse(ledger.hasChangedSince(version));
+        assertEquals(0, ledger.snapshot().typeCount());
+    }
+}
@@ -3,8 +3,11 @@ package com.tobi.mesystem.core;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +20,7 @@ import com.tobi.mesystem.util.BlockPos;
  * Unit tests for MENetwork.
  * 
  * Tests core network functionality: node management, channel allocation,
- * item storage, and network merging.
+ * item storage, network merging and access through references to absorbed networks.
  * 
  * @author Anoxy1
  * @version 0.1.0
@@ -171,6 +174,97 @@ class MENetworkTest {
         assertEquals(2, network.getNodeCount());
     }
     
+    @Test
+    @DisplayName("Merge absorbs the smaller network into the larger one")
+    void testNetworkMergeUnionBySize() {
+        MENetwork large = new MENetwork();
+        for (int i = 0; i < 3; i++) {
+            large.addNode(new MENode(worldId, new BlockPos(i, 0, 0), MEDeviceType.CABLE));
+        }
+        MENode small = new MENode(worldId, new BlockPos(0, 5, 0), MEDeviceType.CABLE);
+        network.addNode(small);
+        
+        MENetwork survivor = network.merge(large);
+        
+        assertSame(large, survivor);
+        assertTrue(network.isMerged());
+        assertSame(large, network.resolve());
+        assertSame(large, small.getNetwork());
+        assertEquals(4, large.getNodeCount());
+        // Veraltete Referenz sieht den Repräsentanten
+        assertEquals(4, network.getNodeCount());
+    }
+    
+    @Test
+    @DisplayName("Stale references to an absorbed network write into the survivor")
+    void testStaleReferenceAfterMerge() {
+        MENetwork large = new MENetwork();
+        for (int i = 0; i < 3; i++) {
+            large.addNode(new MENode(worldId, new BlockPos(i, 0, 0), MEDeviceType.CABLE));
+        }
+        network.addNode(new MENode(worldId, new BlockPos(0, 5, 0), MEDeviceType.DRIVE));
+        network.registerDevice(new BlockPos(0, 5, 0), MEDeviceType.DRIVE);
+        network.storeItem("hytale:stone", 10);
+        
+        MENetwork survivor = network.merge(large);
+        assertSame(large, survivor);
+        assertEquals(large.getTotalStorageCapacity(), network.getTotalStorageCapacity());
+        assertEquals(10L, large.getStoredAmount("hytale:stone"));
+        
+        // Alte Referenz (z.B. im Callback eines Terminals) schreibt in den Repräsentanten
+        network.storeItem("hytale:stone", 5);
+        assertEquals(4L, network.extractItem("hytale:stone", 4));
+        BlockPos bus = new BlockPos(3, 0, 0);
+        network.addNode(new MENode(worldId, bus, MEDeviceType.IMPORT_BUS));
+        network.registerDevice(bus, MEDeviceType.IMPORT_BUS);
+        
+        assertEquals(11L, large.getStoredAmount("hytale:stone"));
+        assertEquals(MEDeviceType.IMPORT_BUS, large.getDeviceType(bus));
+        assertTrue(large.hasChannel(bus));
+        assertEquals(5, large.getNodeCount());
+        large.verifyStorageTotals();
+    }
+    
+    @Test
+    @DisplayName("Merging a large network moves its nodes in steps instead of copying them")
+    void testMergeLargeNetworkInSegments() {
+        int count = MENetwork.SEGMENT_FOLD_BUDGET * 3;
+        MENetwork large = new MENetwork();
+        MENetwork other = new MENetwork();
+        for (int i = 0; i < count + 10; i++) {
+            large.addNode(new MENode(worldId, new BlockPos(i, 0, 0), MEDeviceType.CABLE));
+        }
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = new BlockPos(i, 1, 0);
+            other.addNode(new MENode(worldId, pos, MEDeviceType.CABLE));
+            other.registerDevice(pos, MEDeviceType.CABLE);
+        }
+        
+        assertSame(large, large.merge(other));
+        assertEquals(1, large.getSegmentCount());
+        assertEquals(2 * count + 10, large.getNodeCount());
+        
+        // Nodes im Segment sind auffindbar und entfernbar, bevor sie umgezogen sind
+        BlockPos last = new BlockPos(count - 1, 1, 0);
+        assertNotNull(large.getNode(last));
+        assertEquals(MEDeviceType.CABLE, large.getDeviceType(last));
+        large.removeNode(last);
+        assertNull(large.getNode(last));
+        assertNull(large.getDeviceType(last));
+        
+        for (int i = 0; i < 6; i++) {
+            large.tick();
+        }
+        assertEquals(0, large.getSegmentCount());
+        assertEquals(2 * count + 9, large.getNodeCount());
+        assertEquals(2 * count + 9, large.getNodes().size());
+        for (int i = 0; i < count - 1; i++) {
+            BlockPos pos = new BlockPos(i, 1, 0);
+            assertNotNull(large.getNode(pos));
+            assertEquals(MEDeviceType.CABLE, large.getDeviceType(pos));
+        }
+    }
+    
     @Test
     @DisplayName("Merge networks combines storage")
     void testNetworkMergeStorage() {
@@ -196,4 +290,68 @@ class MENetworkTest {
         
         assertTrue(network.getUsedChannels() <= network.getMaxChannels());
     }
+    
+    @Test
+    @DisplayName("Network is dirty until saved and after storage or topology changes")
+    void testDirtyTracking() {
+        assertTrue(network.isDirty());
+        
+        network.markSaved(network.getStorageVersion(), network.getTopologyVersion());
+        assertFalse(network.isDirty());
+        
+        network.storeItem("minecraft:stone", 10);
+        assertTrue(network.isDirty());
+        network.markSaved(network.getStorageVersion(), network.getTopologyVersion());
+        
+        network.addNode(new MENode(worldId, new BlockPos(0, 0, 0), MEDeviceType.CABLE));
+        assertTrue(network.isDirty());
+        network.markSaved(network.getStorageVersion(), network.getTopologyVersion());
+        
+        network.setController(new BlockPos(0, 0, 0));
+        assertTrue(network.isDirty());
+    }
+    
+    @Test
+    @DisplayName("Changes after reading the versions keep the network dirty")
+    void testDirtyDuringSave() {
+        long storageVersion = network.getStorageVersion();
+        long topologyVersion = network.getTopologyVersion();
+        
+        // Änderung zwischen Versions-Snapshot und Abschluss des Speicherns
+        network.storeItem("minecraft:stone", 10);
+        network.markSaved(storageVersion, topologyVersion);
+        
+        assertTrue(network.isDirty());
+    }
+    
+    @Test
+    @DisplayName("Priority changes on attached devices reorder channel assignment")
+    void testPriorityChangeOnline() {
+        network.removeController();
+        MENode[] terminals = new MENode[network.getMaxChannels() + 1];
+        for (int i = 0; i < terminals.length; i++) {
+            BlockPos pos = new BlockPos(i, 0, 0);
+            terminals[i] = new MENode(worldId, pos, MEDeviceType.TERMINAL);
+            network.addNode(terminals[i]);
+            network.registerDevice(pos, MEDeviceType.TERMINAL);
+        }
+        MENode last = terminals[terminals.length - 1];
+        assertFalse(network.hasChannel(last.getPosition()));
+        assertEquals(1, network.getWaitingDeviceCount());
+        
+        // Höhere Priority verdrängt ein Device mit Channel
+        last.setPriority(10);
+        assertTrue(network.hasChannel(last.getPosition()));
+        assertTrue(last.isActive());
+        assertEquals(1, network.getWaitingDeviceCount());
+        
+        // Niedrigere Priority eines Online-Devices gibt seinen Channel ab
+        MENode online = terminals[0].isActive() ? terminals[0] : terminals[1];
+        assertTrue(network.hasChannel(online.getPosition()));
+        online.setPriority(-5);
+        assertFalse(network.hasChannel(online.getPosition()));
+        assertFalse(online.isActive());
+        assertEquals(1, network.getWaitingDeviceCount());
+        assertEquals(network.getMaxChannels(), network.getUsedChannels());
+    }
 }
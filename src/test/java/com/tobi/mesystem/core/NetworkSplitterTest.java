@@ -0,0 +1,159 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.util.BlockPos;
+import com.tobi.mesystem.util.Direction;
+
+/**
+ * Unit tests for NetworkSplitter.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("NetworkSplitter Tests")
+class NetworkSplitterTest {
+
+    private UUID worldId;
+    private Map<BlockPos, MENode> nodes;
+
+    @BeforeEach
+    void setUp() {
+        worldId = UUID.randomUUID();
+        nodes = new HashMap<>();
+    }
+
+    private MENode place(int x, int y, int z) {
+        BlockPos pos = new BlockPos(x, y, z);
+        MENode node = new MENode(worldId, pos, MEDeviceType.CABLE);
+        for (Direction dir : Direction.values()) {
+            MENode neighbor = nodes.get(pos.offset(dir));
+            if (neighbor != null) {
+                node.addConnection(dir);
+                neighbor.addConnection(dir.getOpposite());
+            }
+        }
+        nodes.put(pos, node);
+        return node;
+    }
+
+    private MENode lookup(long key) {
+        return nodes.get(BlockPos.fromLong(key));
+    }
+
+    /**
+     * Entfernt einen Node wie MENetwork.removeNode und liefert seine ehemaligen Nachbarn
+     */
+    private List<MENode> remove(int x, int y, int z) {
+        BlockPos pos = new BlockPos(x, y, z);
+        MENode removed = nodes.remove(pos);
+        List<MENode> neighbors = new ArrayList<>();
+        for (Direction dir : removed.getConnections()) {
+            MENode neighbor = nodes.get(pos.offset(dir));
+            if (neighbor != null) {
+                neighbor.removeConnection(dir.getOpposite());
+                neighbors.add(neighbor);
+            }
+        }
+        return neighbors;
+    }
+
+    @Test
+    @DisplayName("Removing an end of a line does not split")
+    void testLineEndNoSplit() {
+        for (int x = 0; x < 10; x++) {
+            place(x, 0, 0);
+        }
+
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::lookup, remove(9, 0, 0));
+
+        assertFalse(split.isSplit());
+    }
+
+    @Test
+    @DisplayName("Breaking a line in the middle yields two parts")
+    void testLineMiddleSplits() {
+        for (int x = 0; x < 10; x++) {
+            place(x, 0, 0);
+        }
+
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::lookup, remove(3, 0, 0));
+
+        assertTrue(split.isSplit());
+        int known = 0;
+        for (List<MENode> component : split.components()) {
+            known += component.size();
+        }
+        if (split.remainderOpen()) {
+            assertEquals(1, split.components().size());
+            assertEquals(3, split.components().get(0).size());
+        } else {
+            assertEquals(9, known);
+        }
+    }
+
+    @Test
+    @DisplayName("A loop keeps the network connected")
+    void testLoopNoSplit() {
+        // 3x3 Ring ohne Mitte
+        for (int x = 0; x < 3; x++) {
+            for (int z = 0; z < 3; z++) {
+                if (x != 1 || z != 1) {
+                    place(x, 0, z);
+                }
+            }
+        }
+
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::lookup, remove(1, 0, 0));
+
+        assertFalse(split.isSplit());
+    }
+
+    @Test
+    @DisplayName("Search stops at the small side of a large network")
+    void testSmallBranchDetectedWithoutFullScan() {
+        for (int x = 0; x < 2000; x++) {
+            place(x, 0, 0);
+        }
+        place(1000, 1, 0);
+        place(1000, 2, 0);
+
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::lookup, remove(1000, 1, 0));
+
+        assertTrue(split.isSplit());
+        assertTrue(split.remainderOpen());
+        assertEquals(1, split.components().size());
+        assertEquals(1, split.components().get(0).size());
+    }
+
+    @Test
+    @DisplayName("A cross splits into four arms")
+    void testCrossSplitsFourWays() {
+        for (int i = -3; i <= 3; i++) {
+            place(i, 0, 0);
+            if (i != 0) {
+                place(0, 0, i);
+            }
+        }
+
+        NetworkSplitter.Split split = NetworkSplitter.findComponents(this::lookup, remove(0, 0, 0));
+
+        int parts = split.components().size() + (split.remainderOpen() ? 1 : 0);
+        assertEquals(4, parts);
+        for (List<MENode> component : split.components()) {
+            assertEquals(3, component.size());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.util.IntLongHashMap;
+
+/**
+ * Unit tests for StorageChangeFeed.
+ *
+ * Tests per-tick coalescing, bounded buffering, latest-amount subscriptions,
+ * resync signalling and recording from concurrent writers in different stripes.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("StorageChangeFeed Tests")
+class StorageChangeFeedTest {
+
+    private ItemLedger ledger;
+    private StorageChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new ItemLedger();
+        feed = new StorageChangeFeed(ledger);
+    }
+
+    @Test
+    @DisplayName("Changes within one tick are coalesced into one delta per item")
+    void testCoalescing() {
+        ledger.add("hytale:stone", 10);
+        StorageChangeFeed.Subscription subscription = feed.subscribe(4);
+
+        ledger.add("hytale:stone", 5);
+        ledger.remove("hytale:stone", 2);
+        ledger.add("hytale:wood", 3);
+        ledger.add("hytale:iron", 1);
+        ledger.remove("hytale:iron", 1); // hebt sich auf
+        assertEquals(2, feed.flush());
+
+        StorageChangeFeed.ChangeBatch batch = subscription.poll();
+        assertEquals(2, batch.deltas().size());
+        for (StorageChangeFeed.StorageDelta delta : batch.deltas()) {
+            if (delta.itemId().equals("hytale:stone")) {
+                assertEquals(10, delta.oldAmount());
+                assertEquals(13, delta.newAmount());
+            } else {
+                assertEquals("hytale:wood", delta.itemId());
+                assertEquals(0, delta.oldAmount());
+                assertEquals(3, delta.delta());
+            }
+        }
+        assertNull(subscription.poll());
+        assertEquals(0, feed.flush());
+    }
+
+    @Test
+    @DisplayName("Overflowing buffers are dropped and signal a resync")
+    void testOverflow() {
+        StorageChangeFeed.Subscription subscription = feed.subscribe(2);
+
+        for (int tick = 0; tick < 3; tick++) {
+            ledger.add("hytale:stone", 1);
+            feed.flush();
+        }
+
+        assertEquals(0, subscription.getBufferedCount());
+        assertEquals(3, subscription.getDroppedCount());
+        assertTrue(subscription.consumeResync());
+        assertFalse(subscription.consumeResync());
+
+        ledger.add("hytale:stone", 1);
+        feed.flush();
+        List<StorageChangeFeed.ChangeBatch> batches = subscription.drain();
+        assertEquals(1, batches.size());
+        assertEquals(4, batches.get(0).deltas().get(0).newAmount());
+    }
+
+    @Test
+    @DisplayName("Latest-amount subscriptions keep one entry per item across any number of ticks")
+    void testSubscribeLatest() {
+        StorageChangeFeed.Subscription subscription = feed.subscribeLatest();
+        ItemIdRegistry registry = ItemIdRegistry.getInstance();
+
+        // Eine Minute bei 30 TPS mit Änderungen in jedem Tick
+        for (int tick = 0; tick < 1800; tick++) {
+            ledger.add("hytale:stone", 2);
+            if (tick % 2 == 0) {
+                ledger.add("hytale:wood", 1);
+            }
+            feed.flush();
+        }
+        ledger.remove("hytale:wood", 900);
+        feed.flush();
+
+        assertEquals(2, subscription.getBufferedCount());
+        assertFalse(subscription.consumeResync());
+        assertEquals(0, subscription.getDroppedCount());
+        assertNull(subscription.poll());
+
+        IntLongHashMap latest = subscription.drainLatest();
+        assertEquals(2, latest.size());
+        assertEquals(3600L, latest.get(registry.lookup("hytale:stone"), -1L));
+        assertEquals(0L, latest.get(registry.lookup("hytale:wood"), -1L));
+        assertTrue(subscription.drainLatest().isEmpty());
+    }
+
+    @Test
+    @DisplayName("No recording without subscribers")
+    void testUnsubscribe() {
+        StorageChangeFeed.Subscription subscription = feed.subscribe();
+        subscription.close();
+        assertEquals(0, feed.getSubscriberCount());
+
+        ledger.add("hytale:stone", 1);
+        assertEquals(0, feed.flush());
+    }
+
+    @Test
+    @DisplayName("Adopted subscribers must resync once")
+    void testAdoptSubscribers() {
+        ItemLedger otherLedger = new ItemLedger();
+        StorageChangeFeed other = new StorageChangeFeed(otherLedger);
+        StorageChangeFeed.Subscription subscription = other.subscribe();
+
+        feed.adoptSubscribers(other);
+        assertEquals(1, feed.getSubscriberCount());
+        assertEquals(0, other.getSubscriberCount());
+        assertTrue(subscription.consumeResync());
+
+        ledger.add("hytale:wood", 2);
+        feed.flush();
+        assertEquals(1, subscription.getBufferedCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent writers in different stripes are all recorded")
+    void testConcurrentWriters() throws InterruptedException {
+        StorageChangeFeed.Subscription subscription = feed.subscribe();
+        int threads = 8;
+        int iterations = 5_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String ownItem = "feed_item_" + t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    ledger.add(ownItem, 2);
+                    ledger.remove(ownItem, 1);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads, feed.flush());
+        for (StorageChangeFeed.StorageDelta delta : subscription.poll().deltas()) {
+            assertEquals(0, delta.oldAmount());
+            assertEquals(iterations, delta.newAmount());
+        }
+        assertEquals(0, feed.flush());
+    }
+}
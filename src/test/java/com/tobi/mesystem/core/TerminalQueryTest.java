@@ -0,0 +1,73 @@
+package com.tobi.mesystem.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TerminalQuery.
+ *
+ * Tests merging of network and container snapshots, filtering, sorting and limits.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("TerminalQuery Tests")
+class TerminalQueryTest {
+
+    private Map<String, Long> items(Object... pairs) {
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put((String) pairs[i], ((Number) pairs[i + 1]).longValue());
+        }
+        return map;
+    }
+
+    @Test
+    @DisplayName("Network and container items are merged and sorted by amount")
+    void testMergeAndSort() {
+        TerminalQuery.Result result = TerminalQuery.all().aggregate(
+            items("hytale:stone", 100, "hytale:iron_ore", 5),
+            items("hytale:iron_ore", 200, "hytale:wood", 50));
+
+        assertEquals(3, result.entries().size());
+        assertEquals("hytale:iron_ore", result.entries().get(0).itemId());
+        assertEquals(205, result.entries().get(0).total());
+        assertEquals(5, result.entries().get(0).networkAmount());
+        assertEquals(105, result.networkItems());
+        assertEquals(250, result.containerItems());
+        assertEquals(355, result.totalItems());
+    }
+
+    @Test
+    @DisplayName("Filter is case-insensitive and applied before the limit")
+    void testFilterAndLimit() {
+        TerminalQuery query = TerminalQuery.all().withFilter("ORE").withLimit(1);
+        TerminalQuery.Result result = query.aggregate(
+            items("hytale:iron_ore", 10, "hytale:gold_ore", 20, "hytale:stone", 999),
+            items());
+
+        assertEquals(1, result.entries().size());
+        assertEquals("hytale:gold_ore", result.entries().get(0).itemId());
+        assertEquals(2, result.matchingTypes());
+        assertEquals(30, result.networkItems());
+    }
+
+    @Test
+    @DisplayName("Name sort and container exclusion")
+    void testNameSortWithoutContainers() {
+        TerminalQuery query = TerminalQuery.all().withSort(TerminalQuery.Sort.NAME).withContainers(false);
+        TerminalQuery.Result result = query.aggregate(
+            items("b", 1, "a", 2),
+            items("c", 100));
+
+        assertEquals(2, result.entries().size());
+        assertEquals("a", result.entries().get(0).itemId());
+        assertEquals("b", result.entries().get(1).itemId());
+        assertEquals(0, result.containerItems());
+    }
+}
@@ -0,0 +1,192 @@
+package com.tobi.mesystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for TickScheduler.
+ *
+ * Tests that only I/O devices are scheduled, interval back-off while idle,
+ * sleeping until woken and removal while a tick is running.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("TickScheduler Tests")
+class TickSchedulerTest {
+
+    private UUID worldId;
+    private TickScheduler scheduler;
+    private List<MENode> ticked;
+
+    @BeforeEach
+    void setUp() {
+        worldId = UUID.randomUUID();
+        scheduler = new TickScheduler();
+        ticked = new ArrayList<>();
+    }
+
+    private MENode node(int x, MEDeviceType type) {
+        return new MENode(worldId, new BlockPos(x, 64, 0), type);
+    }
+
+    private int tick(TickResult result) {
+        return scheduler.tick(node -> {
+            ticked.add(node);
+            return result;
+        }, (node, e) -> { throw e; });
+    }
+
+    /**
+     * Tickt bis das Device dran war und liefert die Anzahl der Ticks
+     */
+    private int ticksUntilRun(MENode node, TickResult result) {
+        ticked.clear();
+        int ticks = 0;
+        while (!ticked.contains(node)) {
+            tick(result);
+            ticks++;
+        }
+        return ticks;
+    }
+
+    @Test
+    @DisplayName("Only I/O device types are scheduled")
+    void testOnlyTickableTypes() {
+        assertFalse(scheduler.add(node(0, MEDeviceType.CABLE)));
+        assertFalse(scheduler.add(node(1, MEDeviceType.TERMINAL)));
+        assertFalse(scheduler.add(node(2, MEDeviceType.CONTROLLER)));
+        assertTrue(scheduler.add(node(3, MEDeviceType.IMPORT_BUS)));
+        assertTrue(scheduler.add(node(4, MEDeviceType.EXPORT_BUS)));
+        assertTrue(scheduler.add(node(5, MEDeviceType.INTERFACE)));
+        assertEquals(3, scheduler.size());
+        assertEquals(3, scheduler.getScheduledCount());
+
+        // Neu aufgenommene Devices ticken im nächsten Tick
+        assertEquals(3, tick(TickResult.IDLE));
+    }
+
+    @Test
+    @DisplayName("Idle devices back off to the maximum interval, work resets it")
+    void testIdleBackoff() {
+        MENode bus = node(0, MEDeviceType.IMPORT_BUS);
+        scheduler.add(bus);
+        tick(TickResult.IDLE);
+
+        int min = MEDeviceType.IMPORT_BUS.getMinTickInterval();
+        int max = MEDeviceType.IMPORT_BUS.getMaxTickInterval();
+        assertEquals(Math.min(max, min * 2), scheduler.getInterval(bus));
+
+        for (int i = 0; i < 10; i++) {
+            ticksUntilRun(bus, TickResult.IDLE);
+        }
+        assertEquals(max, scheduler.getInterval(bus));
+        assertEquals(max, ticksUntilRun(bus, TickResult.ACTIVE));
+        assertEquals(min, scheduler.getInterval(bus));
+        assertEquals(min, ticksUntilRun(bus, TickResult.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Sleeping devices only tick again after a wake-up")
+    void testSleepAndWake() {
+        MENode bus = node(0, MEDeviceType.EXPORT_BUS);
+        scheduler.add(bus);
+        assertEquals(1, tick(TickResult.SLEEP));
+        assertTrue(scheduler.isSleeping(bus));
+        assertEquals(1, scheduler.getSleepingCount());
+
+        for (int i = 0; i < TickScheduler.WHEEL_SIZE * 2; i++) {
+            assertEquals(0, tick(TickResult.IDLE));
+        }
+
+        assertTrue(scheduler.wake(bus));
+        assertFalse(scheduler.isSleeping(bus));
+        assertEquals(1, tick(TickResult.IDLE));
+        assertFalse(scheduler.wake(node(1, MEDeviceType.EXPORT_BUS)));
+    }
+
+    @Test
+    @DisplayName("Waking an idle device shortens its pending interval")
+    void testWakeShortensInterval() {
+        MENode bus = node(0, MEDeviceType.INTERFACE);
+        scheduler.add(bus);
+        for (int i = 0; i < 10; i++) {
+            ticksUntilRun(bus, TickResult.IDLE);
+        }
+        assertEquals(MEDeviceType.INTERFACE.getMaxTickInterval(), scheduler.getInterval(bus));
+
+        tick(TickResult.IDLE);
+        scheduler.wake(bus);
+        ticked.clear();
+        tick(TickResult.IDLE);
+        assertTrue(ticked.contains(bus));
+    }
+
+    @Test
+    @DisplayName("Devices removed during a tick are not run or rescheduled")
+    void testRemoveDuringTick() {
+        MENode first = node(0, MEDeviceType.IMPORT_BUS);
+        MENode second = node(1, MEDeviceType.IMPORT_BUS);
+        scheduler.add(first);
+        scheduler.add(second);
+
+        int ran = scheduler.tick(node -> {
+            scheduler.remove(node == first ? second : first);
+            return TickResult.ACTIVE;
+        }, (node, e) -> { throw e; });
+
+        assertEquals(1, ran);
+        assertEquals(1, scheduler.size());
+        assertEquals(1, scheduler.getScheduledCount());
+    }
+
+    @Test
+    @DisplayName("A failing device is reported and treated as idle")
+    void testErrorsCountAsIdle() {
+        MENode bus = node(0, MEDeviceType.IMPORT_BUS);
+        scheduler.add(bus);
+        List<MENode> failed = new ArrayList<>();
+
+        scheduler.tick(node -> {
+            throw new IllegalStateException("kaputt");
+        }, (node, e) -> failed.add(node));
+
+        assertEquals(List.of(bus), failed);
+        assertFalse(scheduler.isSleeping(bus));
+        assertEquals(MEDeviceType.IMPORT_BUS.getMinTickInterval() * 2, scheduler.getInterval(bus));
+    }
+
+    @Test
+    @DisplayName("100k cables and 200 buses cost ticks only for the buses")
+    void testCablesCostNothing() {
+        for (int x = 0; x < 100_000; x++) {
+            scheduler.add(node(x, MEDeviceType.CABLE));
+        }
+        for (int x = 0; x < 200; x++) {
+            scheduler.add(node(100_000 + x, MEDeviceType.IMPORT_BUS));
+        }
+        assertEquals(200, scheduler.size());
+
+        int total = 0;
+        for (int i = 0; i < 1000; i++) {
+            total += tick(TickResult.ACTIVE);
+        }
+        // Jeder Bus alle 5 Ticks (erster Tick direkt nach dem Hinzufügen)
+        int interval = MEDeviceType.IMPORT_BUS.getMinTickInterval();
+        assertEquals(200 * (1 + (1000 - 1) / interval), total);
+        for (MENode node : ticked) {
+            assertEquals(MEDeviceType.IMPORT_BUS, node.getDeviceType());
+        }
+    }
+}
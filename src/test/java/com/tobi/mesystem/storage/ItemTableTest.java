@@ -0,0 +1,168 @@
+package com.tobi.mesystem.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ItemTable and ItemTableStore.
+ *
+ * Tests in-place slot updates, growth into a memory-mapped table,
+ * recovery from unconfirmed keys and removal of orphaned tables.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ItemTable Tests")
+class ItemTableTest {
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isDirectory(file)) {
+                    deleteAll(file);
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    @DisplayName("Only changed slots are written and survive reopening")
+    void testInPlaceUpdate() throws IOException {
+        Path dir = Files.createTempDirectory("tables");
+        try {
+            Path items = dir.resolve("net.items");
+            Path keys = dir.resolve("net.keys");
+            Map<String, Long> state = new HashMap<>();
+            state.put("hytale:stone", 64L);
+            state.put("hytale:dirt", 5_000_000_000L);
+            state.put("hytale:wood", 3L);
+
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertEquals(3, table.update(state));
+                table.force();
+                assertEquals(0, table.update(state));
+
+                state.put("hytale:stone", 65L);
+                state.remove("hytale:wood");
+                assertEquals(2, table.update(state));
+                table.force();
+            }
+
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertEquals(3, table.getSlotCount());
+                assertEquals(state, table.read());
+            }
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Large tables grow into memory-mapped files")
+    void testMappedGrowth() throws IOException {
+        Path dir = Files.createTempDirectory("tables");
+        try {
+            Path items = dir.resolve("net.items");
+            Path keys = dir.resolve("net.keys");
+            Map<String, Long> state = new HashMap<>();
+            for (int i = 0; i < 50_000; i++) {
+                state.put("hytale:item_" + i, i + 1L);
+            }
+
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertFalse(table.isMapped());
+                assertEquals(50_000, table.update(state));
+                table.force();
+                assertTrue(table.isMapped());
+
+                state.put("hytale:item_42", 1_000L);
+                state.put("hytale:item_49999", 7L);
+                assertEquals(2, table.update(state));
+                table.force();
+            }
+
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertTrue(table.isMapped());
+                assertEquals(state, table.read());
+            }
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Keys appended but never confirmed by the header are dropped")
+    void testUnconfirmedKeys() throws IOException {
+        Path dir = Files.createTempDirectory("tables");
+        try {
+            Path items = dir.resolve("net.items");
+            Path keys = dir.resolve("net.keys");
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                table.update(Map.of("hytale:stone", 1L));
+                table.force();
+            }
+
+            // Absturz nach dem Anhängen eines Keys, vor dem Header-Update
+            long confirmed = Files.size(keys);
+            try (FileChannel channel = FileChannel.open(keys, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[] {10, 'h', 'y', 't'}));
+            }
+
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertEquals(Map.of("hytale:stone", 1L), table.read());
+                assertEquals(confirmed, Files.size(keys));
+                table.update(Map.of("hytale:stone", 1L, "hytale:dirt", 2L));
+                table.force();
+            }
+            try (ItemTable table = ItemTable.open(items, keys)) {
+                assertEquals(Map.of("hytale:stone", 1L, "hytale:dirt", 2L), table.read());
+            }
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Store keeps one table per network and removes orphaned ones")
+    void testStoreRetain() throws IOException {
+        Path dir = Files.createTempDirectory("tables");
+        try {
+            UUID kept = UUID.randomUUID();
+            UUID merged = UUID.randomUUID();
+            try (ItemTableStore store = new ItemTableStore(dir.resolve("world"))) {
+                ItemTableStore.WriteResult result = store.write(Map.of(
+                    kept, Map.of("hytale:stone", 10L),
+                    merged, Map.of("hytale:dirt", 4L, "hytale:wood", 1L)));
+                store.force();
+                assertEquals(2, result.tables());
+                assertEquals(3, result.changedSlots());
+
+                assertEquals(1, store.retain(Set.of(kept)));
+                assertTrue(store.exists(kept));
+                assertFalse(store.exists(merged));
+                assertEquals(Map.of("hytale:stone", 10L), store.read(kept));
+                assertTrue(store.read(merged).isEmpty());
+            }
+        } finally {
+            deleteAll(dir);
+        }
+    }
+}
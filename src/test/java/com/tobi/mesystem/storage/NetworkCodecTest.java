@@ -0,0 +1,139 @@
+package com.tobi.mesystem.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for NetworkCodec.
+ *
+ * Tests the binary network format (round trip, item-table manifest, checksum)
+ * and the v1.0 text migration.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("NetworkCodec Tests")
+class NetworkCodecTest {
+
+    private static WorldData sampleWorld() {
+        WorldData data = new WorldData(UUID.randomUUID(), 123456789L);
+        for (int x = -50; x < 50; x++) {
+            data.putNode(new WorldData.NodeRecord(BlockPos.asLong(x, 64, -7), MEDeviceType.CABLE));
+        }
+        WorldData.NetworkRecord network = new WorldData.NetworkRecord(UUID.randomUUID(), 32, true, null);
+        data.putNode(new WorldData.NodeRecord(BlockPos.asLong(0, 65, -7), MEDeviceType.CONTROLLER,
+            network.getNetworkId(), -3, WorldData.NodeRecord.FLAG_ONLINE | WorldData.NodeRecord.FLAG_ACTIVE));
+
+        network.getItems().put("hytale:stone", 5_000_000_000L);
+        network.getItems().put("hytale:dirt", 1L);
+        data.putNetwork(network);
+        data.putNetwork(new WorldData.NetworkRecord(UUID.randomUUID(), 8, false, Map.of("hytale:stone", 3L)));
+        return data;
+    }
+
+    @Test
+    @DisplayName("Binary round trip keeps nodes, topology fields, networks and long amounts")
+    void testRoundTrip() throws IOException {
+        WorldData original = sampleWorld();
+
+        ByteBuffer encoded = NetworkCodec.encode(original);
+        assertTrue(NetworkCodec.isBinary(encoded));
+        WorldData decoded = NetworkCodec.decode(encoded);
+
+        assertEquals(original.getWorldId(), decoded.getWorldId());
+        assertEquals(original.getTimestamp(), decoded.getTimestamp());
+        assertEquals(101, decoded.getNodeCount());
+        WorldData.NodeRecord controller = decoded.getNode(BlockPos.asLong(0, 65, -7));
+        assertEquals(MEDeviceType.CONTROLLER, controller.type());
+        assertEquals(original.getNode(BlockPos.asLong(0, 65, -7)).networkId(), controller.networkId());
+        assertEquals(-3, controller.priority());
+        assertTrue(controller.isOnline());
+        assertNull(decoded.getNode(BlockPos.asLong(-50, 64, -7)).networkId());
+        assertFalse(decoded.isRewriteRequired());
+        assertEquals(MEDeviceType.CABLE, decoded.getNode(BlockPos.asLong(-50, 64, -7)).type());
+
+        assertEquals(2, decoded.getNetworks().size());
+        for (WorldData.NetworkRecord expected : original.getNetworks().values()) {
+            WorldData.NetworkRecord actual = decoded.getNetwork(expected.getNetworkId());
+            assertEquals(expected.getMaxChannels(), actual.getMaxChannels());
+            assertEquals(expected.hasController(), actual.hasController());
+            assertEquals(expected.getItems(), actual.getItems());
+        }
+    }
+
+    @Test
+    @DisplayName("Networks with their own item table keep no items in the manifest")
+    void testTableStoredNetworks() throws IOException {
+        WorldData original = sampleWorld();
+        WorldData.NetworkRecord sharded = original.getNetworks().values().iterator().next();
+        sharded.setTableStored(true);
+
+        WorldData decoded = NetworkCodec.decode(NetworkCodec.encode(original));
+
+        WorldData.NetworkRecord actual = decoded.getNetwork(sharded.getNetworkId());
+        assertTrue(actual.isTableStored());
+        assertTrue(actual.getItems().isEmpty());
+        assertTrue(actual.hasController());
+        for (WorldData.NetworkRecord network : decoded.getNetworks().values()) {
+            if (network != actual) {
+                assertFalse(network.isTableStored());
+                assertEquals(Map.of("hytale:stone", 3L), network.getItems());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Corrupted data is rejected by the checksum")
+    void testChecksum() {
+        ByteBuffer encoded = NetworkCodec.encode(sampleWorld());
+        int middle = encoded.limit() / 2;
+        encoded.put(middle, (byte) (encoded.get(middle) ^ 0x10));
+
+        assertThrows(IOException.class, () -> NetworkCodec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Old v1.0 text files are migrated")
+    void testLegacyText() throws IOException {
+        UUID worldId = UUID.randomUUID();
+        UUID networkId = UUID.randomUUID();
+        String text = "# HytaleAE2 Network Data v1.0\n"
+            + "WorldID=" + worldId + "\n"
+            + "Timestamp=42\n\n"
+            + "# Nodes\nNodeCount=2\n"
+            + "Node=1,64,-3|CABLE\n"
+            + "Node=2,64,-3|UNKNOWN_DEVICE\n\n"
+            + "# Networks\nNetworkCount=1\n"
+            + "Network=" + networkId + "\n"
+            + "MaxChannels=32\nHasController=true\nItemCount=1\n"
+            + "Item=hytale:stone|9876543210\n";
+
+        assertFalse(NetworkCodec.isBinary(ByteBuffer.wrap(text.getBytes())));
+        WorldData data = NetworkCodec.readLegacyText(worldId, new BufferedReader(new StringReader(text)));
+
+        assertEquals(42L, data.getTimestamp());
+        assertTrue(data.isRewriteRequired());
+        assertEquals(1, data.getNodeCount());
+        assertNull(data.getNode(BlockPos.asLong(2, 64, -3)));
+        WorldData.NetworkRecord network = data.getNetwork(networkId);
+        assertEquals(32, network.getMaxChannels());
+        assertTrue(network.hasController());
+        assertEquals(9876543210L, (long) network.getItems().get("hytale:stone"));
+    }
+}
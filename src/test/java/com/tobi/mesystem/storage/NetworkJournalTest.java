@@ -0,0 +1,141 @@
+package com.tobi.mesystem.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for NetworkJournal.
+ *
+ * Tests append/replay, recovery from torn writes and journal rotation.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("NetworkJournal Tests")
+class NetworkJournalTest {
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    @DisplayName("Replay applies records in order with set semantics")
+    void testReplay() throws IOException {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            Path file = dir.resolve("world.journal");
+            UUID networkId = UUID.randomUUID();
+            long cable = BlockPos.asLong(1, 64, 1);
+            long terminal = BlockPos.asLong(2, 64, 1);
+
+            try (NetworkJournal journal = NetworkJournal.open(file)) {
+                journal.appendNodePut(cable, MEDeviceType.CABLE);
+                journal.appendNodePut(terminal, MEDeviceType.TERMINAL);
+                journal.appendNetworkPut(networkId, 32, true);
+                journal.appendNetworkItems(networkId, Map.of("hytale:stone", 10L, "hytale:dirt", 5L));
+                journal.appendItemSet(networkId, "hytale:stone", 7_000_000_000L);
+                journal.appendItemSet(networkId, "hytale:dirt", 0L);
+                journal.appendNodeRemove(cable);
+                assertEquals(7, journal.getRecordCount());
+            }
+
+            WorldData data = new WorldData(UUID.randomUUID(), 0L);
+            assertEquals(7, NetworkJournal.replay(file, data));
+
+            assertNull(data.getNode(cable));
+            assertEquals(MEDeviceType.TERMINAL, data.getNode(terminal).type());
+            WorldData.NetworkRecord network = data.getNetwork(networkId);
+            assertEquals(32, network.getMaxChannels());
+            assertTrue(network.hasController());
+            assertEquals(Map.of("hytale:stone", 7_000_000_000L), network.getItems());
+
+            // Idempotent: erneutes Anwenden ändert nichts
+            NetworkJournal.replay(file, data);
+            assertEquals(Map.of("hytale:stone", 7_000_000_000L), data.getNetwork(networkId).getItems());
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Torn record at the end is ignored and truncated on open")
+    void testTornWrite() throws IOException {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            Path file = dir.resolve("world.journal");
+            UUID networkId = UUID.randomUUID();
+            try (NetworkJournal journal = NetworkJournal.open(file)) {
+                journal.appendItemSet(networkId, "hytale:stone", 1L);
+                journal.appendItemSet(networkId, "hytale:stone", 2L);
+            }
+
+            // Absturz mitten im letzten Record simulieren
+            long intact = Files.size(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(intact - 3);
+            }
+
+            WorldData data = new WorldData(UUID.randomUUID(), 0L);
+            assertEquals(1, NetworkJournal.replay(file, data));
+            assertEquals(1L, (long) data.getNetwork(networkId).getItems().get("hytale:stone"));
+
+            try (NetworkJournal journal = NetworkJournal.open(file)) {
+                assertTrue(journal.getTruncatedBytes() > 0);
+                assertEquals(1, journal.getRecordCount());
+                journal.appendItemSet(networkId, "hytale:stone", 3L);
+            }
+            data = new WorldData(UUID.randomUUID(), 0L);
+            assertEquals(2, NetworkJournal.replay(file, data));
+            assertEquals(3L, (long) data.getNetwork(networkId).getItems().get("hytale:stone"));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Rotation seals the journal and starts an empty one")
+    void testRotate() throws IOException {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            Path file = dir.resolve("world.journal");
+            Path sealed = dir.resolve("world.journal.sealed");
+            UUID networkId = UUID.randomUUID();
+
+            try (NetworkJournal journal = NetworkJournal.open(file)) {
+                journal.appendItemSet(networkId, "hytale:stone", 1L);
+                journal.rotate(sealed);
+                assertEquals(0, journal.getRecordCount());
+                journal.appendItemSet(networkId, "hytale:dirt", 2L);
+            }
+
+            WorldData data = new WorldData(UUID.randomUUID(), 0L);
+            assertEquals(1, NetworkJournal.replay(sealed, data));
+            assertFalse(data.getNetwork(networkId).getItems().containsKey("hytale:dirt"));
+            assertEquals(1, NetworkJournal.replay(file, data));
+            assertEquals(Map.of("hytale:stone", 1L, "hytale:dirt", 2L), data.getNetwork(networkId).getItems());
+        } finally {
+            deleteAll(dir);
+        }
+    }
+}
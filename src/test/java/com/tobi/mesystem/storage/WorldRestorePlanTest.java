@@ -0,0 +1,115 @@
+package com.tobi.mesystem.storage;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.util.BlockPos;
+
+/**
+ * Unit tests for WorldRestorePlan.
+ *
+ * Tests how saved nodes are grouped into networks and how saved networks
+ * (and their items) are assigned to those groups on load.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("WorldRestorePlan Tests")
+class WorldRestorePlanTest {
+
+    private static void line(WorldData data, int z, int fromX, int toX, UUID networkId) {
+        for (int x = fromX; x <= toX; x++) {
+            data.putNode(new WorldData.NodeRecord(BlockPos.asLong(x, 64, z), MEDeviceType.CABLE,
+                networkId, 0, WorldData.NodeRecord.FLAG_ACTIVE));
+        }
+    }
+
+    @Test
+    @DisplayName("Separate groups keep their saved networks")
+    void testExactRestore() {
+        WorldData data = new WorldData(UUID.randomUUID(), 0L);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        data.putNetwork(new WorldData.NetworkRecord(first, 8, false, Map.of("hytale:stone", 5L)));
+        data.putNetwork(new WorldData.NetworkRecord(second, 8, false, Map.of("hytale:dirt", 7L)));
+        line(data, 0, 0, 9, first);
+        line(data, 5, 0, 4, second);
+
+        WorldRestorePlan plan = WorldRestorePlan.of(data);
+
+        assertTrue(plan.isExact());
+        assertEquals(2, plan.getComponents().size());
+        WorldRestorePlan.Component largest = plan.getComponents().get(0);
+        assertEquals(first, largest.networkId());
+        assertEquals(10, largest.positions().length);
+        assertEquals(Map.of("hytale:stone", 5L), largest.items());
+        assertEquals(second, plan.getComponents().get(1).networkId());
+    }
+
+    @Test
+    @DisplayName("Connected nodes of two saved networks are merged with summed items")
+    void testMerge() {
+        WorldData data = new WorldData(UUID.randomUUID(), 0L);
+        UUID survivor = UUID.randomUUID();
+        UUID absorbed = UUID.randomUUID();
+        data.putNetwork(new WorldData.NetworkRecord(survivor, 8, false, Map.of("hytale:stone", 5L)));
+        data.putNetwork(new WorldData.NetworkRecord(absorbed, 8, false, Map.of("hytale:stone", 3L, "hytale:dirt", 1L)));
+        line(data, 0, 0, 5, survivor);
+        line(data, 0, 6, 8, absorbed);
+
+        WorldRestorePlan plan = WorldRestorePlan.of(data);
+
+        assertFalse(plan.isExact());
+        assertEquals(1, plan.getComponents().size());
+        assertEquals(1, plan.getMergedNetworkCount());
+        WorldRestorePlan.Component component = plan.getComponents().get(0);
+        assertEquals(survivor, component.networkId());
+        assertEquals(Map.of("hytale:stone", 8L, "hytale:dirt", 1L), component.items());
+    }
+
+    @Test
+    @DisplayName("Split groups: largest keeps the network, the rest starts empty")
+    void testSplit() {
+        WorldData data = new WorldData(UUID.randomUUID(), 0L);
+        UUID networkId = UUID.randomUUID();
+        data.putNetwork(new WorldData.NetworkRecord(networkId, 8, false, Map.of("hytale:stone", 5L)));
+        line(data, 0, 0, 2, networkId);
+        line(data, 0, 4, 10, networkId);
+
+        WorldRestorePlan plan = WorldRestorePlan.of(data);
+
+        assertEquals(2, plan.getComponents().size());
+        assertEquals(networkId, plan.getComponents().get(0).networkId());
+        assertEquals(7, plan.getComponents().get(0).positions().length);
+        assertNotEquals(networkId, plan.getComponents().get(1).networkId());
+        assertTrue(plan.getComponents().get(1).items().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Networks without node assignment (v1.0) are not lost")
+    void testLegacyAssignment() {
+        WorldData data = new WorldData(UUID.randomUUID(), 0L);
+        UUID networkId = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        data.putNetwork(new WorldData.NetworkRecord(networkId, 8, false, Map.of("hytale:stone", 5L)));
+        data.putNetwork(new WorldData.NetworkRecord(second, 8, false, Map.of("hytale:stone", 2L)));
+        line(data, 0, 0, 3, null);
+
+        WorldRestorePlan plan = WorldRestorePlan.of(data);
+
+        assertFalse(plan.isExact());
+        assertEquals(2, plan.getReassignedNetworkCount());
+        assertEquals(1, plan.getComponents().size());
+        assertEquals(networkId, plan.getComponents().get(0).networkId());
+        assertEquals(Map.of("hytale:stone", 7L), plan.getComponents().get(0).items());
+    }
+}
@@ -159,4 +159,34 @@ class BlockPosTest {
         // Offset should be different
         assertNotEquals(original, offset);
     }
+    
+    @Test
+    @DisplayName("Packed long round-trips including negative coordinates")
+    void testPackedRoundTrip() {
+        BlockPos[] positions = {
+            new BlockPos(0, 0, 0),
+            new BlockPos(-1, -1, -1),
+            new BlockPos(33_554_431, 2047, -33_554_432),
+            new BlockPos(-33_554_432, -2048, 33_554_431),
+            new BlockPos(123, -64, -4567)
+        };
+        
+        for (BlockPos pos : positions) {
+            long packed = pos.asLong();
+            assertEquals(pos, BlockPos.fromLong(packed));
+            assertEquals(pos.getX(), BlockPos.unpackX(packed));
+            assertEquals(pos.getY(), BlockPos.unpackY(packed));
+            assertEquals(pos.getZ(), BlockPos.unpackZ(packed));
+        }
+    }
+    
+    @Test
+    @DisplayName("Packed neighbour keys match offset positions")
+    void testPackedOffset() {
+        BlockPos pos = new BlockPos(-1, 0, 15);
+        
+        for (Direction dir : Direction.values()) {
+            assertEquals(pos.offset(dir).asLong(), BlockPos.offset(pos.asLong(), dir));
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package com.tobi.mesystem.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.core.MENetwork;
+import com.tobi.mesystem.storage.WorldData;
+
+/**
+ * Unit tests for ChunkActivity and DormantNetwork.
+ *
+ * Tests chunk tracking, the per-chunk index of dormant networks,
+ * wake-up candidates on chunk load and batched dormancy checks.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ChunkActivity Tests")
+class ChunkActivityTest {
+
+    private ChunkActivity activity;
+
+    @BeforeEach
+    void setUp() {
+        activity = new ChunkActivity();
+    }
+
+    private static long pos(int x, int y, int z) {
+        return new BlockPos(x, y, z).asLong();
+    }
+
+    /**
+     * Seite mit Controller bei (0,64,0), Terminal bei (40,64,0) und Kabeln dazwischen
+     * bis in Chunk (2,0), der nur Kabel enthält
+     */
+    private static DormantNetwork dormantNetwork(UUID networkId) {
+        WorldData page = new WorldData(UUID.randomUUID(), 0L);
+        int active = WorldData.NodeRecord.FLAG_ACTIVE;
+        page.putNode(new WorldData.NodeRecord(pos(0, 64, 0), MEDeviceType.CONTROLLER, networkId, 0, active));
+        for (int x = 1; x < 40; x++) {
+            page.putNode(new WorldData.NodeRecord(pos(x, 64, 0), MEDeviceType.CABLE, networkId, 0, active));
+        }
+        page.putNode(new WorldData.NodeRecord(pos(40, 64, 0), MEDeviceType.TERMINAL, networkId, 0, active));
+        for (int x = 41; x < 70; x++) {
+            page.putNode(new WorldData.NodeRecord(pos(x, 64, 0), MEDeviceType.CABLE, networkId, 0, active));
+        }
+        Map<String, Long> items = new HashMap<>();
+        items.put("hytale:stone", 100L);
+        items.put("hytale:dirt", 5_000_000_000L);
+        page.putNetwork(new WorldData.NetworkRecord(networkId, 32, true, items));
+        return DormantNetwork.of(networkId, page);
+    }
+
+    @Test
+    @DisplayName("Everything counts as loaded until the first chunk event")
+    void testUntrackedIsLoaded() {
+        assertFalse(activity.isTracking());
+        assertTrue(activity.isLoadedAt(pos(10_000, 64, -10_000)));
+
+        activity.chunkLoaded(0, 0);
+        assertTrue(activity.isTracking());
+        assertTrue(activity.isLoadedAt(pos(31, 64, 31)));
+        assertFalse(activity.isLoadedAt(pos(32, 64, 0)));
+
+        activity.chunkUnloaded(0, 0);
+        assertFalse(activity.isLoadedAt(pos(0, 64, 0)));
+        assertEquals(0, activity.getLoadedChunkCount());
+    }
+
+    @Test
+    @DisplayName("Negative positions map to the correct chunk column")
+    void testNegativeChunks() {
+        assertEquals(ChunkActivity.chunkKey(-1, -1), ChunkActivity.chunkOfPosition(pos(-1, 0, -1)));
+        assertEquals(ChunkActivity.chunkKey(-1, 0), ChunkActivity.chunkOfPosition(pos(-32, 255, 31)));
+        assertEquals(ChunkActivity.chunkKey(-2, 0), ChunkActivity.chunkOfPosition(pos(-33, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Dormant networks keep only their totals and chunk columns")
+    void testDormantSummary() {
+        UUID networkId = UUID.randomUUID();
+        DormantNetwork dormant = dormantNetwork(networkId);
+
+        assertEquals(70, dormant.getNodeCount());
+        assertEquals(2, dormant.getItemTypeCount());
+        assertEquals(5_000_000_100L, dormant.getTotalItems());
+        assertEquals(3, dormant.getChunks().length);
+        assertTrue(dormant.hasDeviceIn(ChunkActivity.chunkKey(0, 0)));
+        assertTrue(dormant.hasDeviceIn(ChunkActivity.chunkKey(1, 0)));
+        assertFalse(dormant.hasDeviceIn(ChunkActivity.chunkKey(2, 0)));
+
+        dormant.release();
+        assertEquals(null, dormant.getPage());
+        assertEquals(70, dormant.getNodeCount());
+    }
+
+    @Test
+    @DisplayName("Chunk loads wake only networks with a device in that chunk")
+    void testWakeCandidates() {
+        DormantNetwork dormant = dormantNetwork(UUID.randomUUID());
+        activity.addDormant(dormant);
+        assertTrue(activity.hasDormant());
+        assertEquals(70, activity.getDormantNodeCount());
+
+        // Nur Kabel in Chunk (2,0) - kein Grund zum Wecken
+        assertTrue(activity.chunkLoaded(2, 0).isEmpty());
+        List<DormantNetwork> wake = activity.chunkLoaded(1, 0);
+        assertEquals(1, wake.size());
+        assertSame(dormant, wake.get(0));
+
+        // Zugriff auf eine Position findet das Netzwerk über jede seiner Spalten
+        assertEquals(1, activity.dormantAt(pos(65, 64, 0)).size());
+        assertTrue(activity.dormantAt(pos(0, 64, 100)).isEmpty());
+
+        assertTrue(activity.removeDormant(dormant));
+        assertFalse(activity.removeDormant(dormant));
+        assertFalse(activity.hasDormant());
+        assertTrue(activity.dormantAt(pos(65, 64, 0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A newer dormant entry replaces the previous one for the same network")
+    void testReplaceDormant() {
+        UUID networkId = UUID.randomUUID();
+        DormantNetwork first = dormantNetwork(networkId);
+        DormantNetwork second = dormantNetwork(networkId);
+        activity.addDormant(first);
+        activity.addDormant(second);
+
+        assertEquals(1, activity.getDormantCount());
+        assertEquals(1, activity.dormantAt(pos(0, 64, 0)).size());
+        assertFalse(activity.removeDormant(first));
+        assertTrue(activity.removeDormant(second));
+    }
+
+    @Test
+    @DisplayName("Dormancy checks are queued once per network and polled in batches")
+    void testPendingChecks() {
+        MENetwork a = new MENetwork();
+        MENetwork b = new MENetwork();
+        MENetwork c = new MENetwork();
+        activity.requestCheck(a);
+        activity.requestCheck(b);
+        activity.requestCheck(a);
+        activity.requestCheck(c);
+        activity.requestCheck(null);
+        assertEquals(3, activity.getPendingCheckCount());
+
+        List<MENetwork> first = activity.pollChecks(2);
+        assertEquals(List.of(a, b), first);
+        activity.requestCheck(a);
+        assertEquals(List.of(c, a), activity.pollChecks(10));
+        assertEquals(0, activity.getPendingCheckCount());
+    }
+}
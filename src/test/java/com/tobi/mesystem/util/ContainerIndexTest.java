@@ -0,0 +1,109 @@
+package com.tobi.mesystem.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ContainerIndex.
+ *
+ * Tests bounding-box queries, one-time probing and lazy validation.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ContainerIndex Tests")
+class ContainerIndexTest {
+
+    private final Set<BlockPos> world = new HashSet<>();
+    private int probes = 0;
+
+    private final Function<BlockPos, String> resolver = pos -> {
+        probes++;
+        return world.contains(pos) ? "chest@" + pos.asLong() : null;
+    };
+
+    private List<BlockPos> query(ContainerIndex index, BlockPos center, int radius) {
+        List<BlockPos> found = new ArrayList<>();
+        index.query(center.offset(-radius, -radius, -radius), center.offset(radius, radius, radius),
+            resolver, (pos, container) -> found.add(pos));
+        return found;
+    }
+
+    @Test
+    @DisplayName("First query probes the volume once, later queries only containers")
+    void testProbesOnce() {
+        ContainerIndex index = new ContainerIndex();
+        BlockPos center = new BlockPos(5, 64, -7);
+        world.add(new BlockPos(7, 63, -3));
+        world.add(new BlockPos(1, 66, -10));
+        world.add(new BlockPos(50, 64, 50)); // außerhalb
+
+        assertEquals(2, query(index, center, 4).size());
+        assertEquals(9 * 9 * 9, probes);
+
+        probes = 0;
+        assertEquals(2, query(index, center, 4).size());
+        assertEquals(2, probes);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Placed containers are found without rescanning")
+    void testPlacedContainer() {
+        ContainerIndex index = new ContainerIndex();
+        BlockPos center = new BlockPos(0, 0, 0);
+        query(index, center, 3);
+
+        BlockPos chest = new BlockPos(1, 1, 1);
+        world.add(chest);
+        index.add(chest);
+
+        probes = 0;
+        List<BlockPos> found = query(index, center, 3);
+        assertEquals(1, found.size());
+        assertEquals(chest, found.get(0));
+        assertEquals(1, probes);
+    }
+
+    @Test
+    @DisplayName("Stale candidates are dropped lazily")
+    void testLazyValidation() {
+        ContainerIndex index = new ContainerIndex();
+        BlockPos center = new BlockPos(0, 0, 0);
+        query(index, center, 2);
+
+        index.add(new BlockPos(1, 0, 0)); // kein Container entstanden
+        assertEquals(1, index.size());
+
+        assertTrue(query(index, center, 2).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Broken containers and invalidated chunks are forgotten")
+    void testRemoveAndInvalidate() {
+        ContainerIndex index = new ContainerIndex();
+        BlockPos chest = new BlockPos(-20, 10, 40);
+        world.add(chest);
+        query(index, chest, 1);
+        assertEquals(1, index.size());
+
+        assertTrue(index.remove(chest));
+        assertEquals(0, index.size());
+
+        index.invalidateChunk(-20 >> 5, 40 >> 5);
+        assertEquals(0, index.getSectionCount());
+        probes = 0;
+        assertEquals(1, query(index, chest, 1).size());
+        assertEquals(27, probes);
+    }
+}
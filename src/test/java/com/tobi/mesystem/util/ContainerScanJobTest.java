@@ -0,0 +1,91 @@
+package com.tobi.mesystem.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ContainerScanJob.
+ *
+ * Tests slicing under a time budget, cursor resumption and completion.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ContainerScanJob Tests")
+class ContainerScanJobTest {
+
+    private final Set<BlockPos> world = new HashSet<>();
+
+    private Object resolve(BlockPos pos) {
+        return world.contains(pos) ? "chest" : null;
+    }
+
+    @Test
+    @DisplayName("Zero budget processes one unit per slice and resumes")
+    void testResumesBetweenSlices() {
+        world.add(new BlockPos(0, 0, 0));
+        world.add(new BlockPos(20, 20, 20));
+        List<BlockPos> found = new ArrayList<>();
+        ContainerScanJob job = new ContainerScanJob(new BlockPos(8, 8, 8), 16, null, this::resolve,
+            (pos, container) -> found.add(pos));
+
+        int slices = 0;
+        while (!job.runSlice(0)) {
+            slices++;
+            assertFalse(job.isDone());
+        }
+
+        assertEquals(job.getTotalUnits() - 1, slices);
+        assertEquals(2, found.size());
+        assertEquals(1.0, job.getProgress());
+        assertTrue(job.completion().isDone());
+    }
+
+    @Test
+    @DisplayName("Large budget finishes in a single slice")
+    void testSingleSlice() {
+        world.add(new BlockPos(-3, 70, 5));
+        int[] progress = {0};
+        ContainerScanJob job = new ContainerScanJob(new BlockPos(0, 64, 0), 8, new ContainerIndex(), this::resolve,
+            (pos, container) -> { })
+            .onProgress(j -> progress[0]++);
+
+        assertTrue(job.runSlice(Long.MAX_VALUE / 2));
+        assertEquals(1, job.getContainersFound());
+        assertEquals(1, job.getSliceCount());
+        assertEquals(1, progress[0]);
+    }
+
+    @Test
+    @DisplayName("Without a world executor the job runs to completion on the caller")
+    void testSynchronousFallback() throws Exception {
+        world.add(new BlockPos(1, 1, 1));
+        ContainerScanJob job = new ContainerScanJob(new BlockPos(0, 0, 0), 4, null, this::resolve, (pos, c) -> { });
+
+        job.start(null, 1, null).get();
+        assertEquals(1, job.getContainersFound());
+    }
+
+    @Test
+    @DisplayName("Cancelled jobs complete exceptionally")
+    void testCancel() {
+        ContainerScanJob job = new ContainerScanJob(new BlockPos(0, 0, 0), 32, null, this::resolve, (pos, c) -> { });
+        job.runSlice(0);
+        job.cancel();
+
+        assertTrue(job.runSlice(0));
+        assertTrue(job.completion().isCompletedExceptionally());
+        assertThrows(CancellationException.class, () -> job.completion().get());
+    }
+}
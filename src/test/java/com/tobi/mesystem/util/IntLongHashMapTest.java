@@ -0,0 +1,90 @@
+package com.tobi.mesystem.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IntLongHashMap.
+ *
+ * Tests put/get/remove, growth and backward-shift deletion against a HashMap reference.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("IntLongHashMap Tests")
+class IntLongHashMapTest {
+
+    @Test
+    @DisplayName("Put, get and addTo")
+    void testPutGet() {
+        IntLongHashMap map = new IntLongHashMap();
+
+        assertEquals(0, map.put(7, 100));
+        assertEquals(100, map.put(7, 150));
+        assertEquals(160, map.addTo(7, 10));
+        assertEquals(5, map.addTo(8, 5));
+
+        assertEquals(160, map.get(7, -1));
+        assertEquals(-1, map.get(9, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    @DisplayName("Remove returns previous value")
+    void testRemove() {
+        IntLongHashMap map = new IntLongHashMap();
+        map.put(1, 10);
+
+        assertEquals(10, map.remove(1));
+        assertEquals(0, map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Negative keys are rejected")
+    void testNegativeKey() {
+        IntLongHashMap map = new IntLongHashMap();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, 1));
+        assertFalse(map.containsKey(-1));
+    }
+
+    @Test
+    @DisplayName("Randomized operations match HashMap reference")
+    void testAgainstReference() {
+        IntLongHashMap map = new IntLongHashMap(4);
+        Map<Integer, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, 0L).longValue(), map.remove(key));
+                reference.remove(key);
+            } else {
+                long delta = random.nextInt(100) + 1;
+                reference.merge(key, delta, Long::sum);
+                map.addTo(key, delta);
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Integer, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue().longValue(), map.get(entry.getKey(), -1));
+        }
+        long[] sum = {0L};
+        map.forEach((key, value) -> sum[0] += value);
+        assertEquals(reference.values().stream().mapToLong(Long::longValue).sum(), sum[0]);
+        assertEquals(sum[0], map.sumValues());
+    }
+}
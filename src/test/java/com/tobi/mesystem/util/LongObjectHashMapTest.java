@@ -0,0 +1,131 @@
+package com.tobi.mesystem.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LongObjectHashMap.
+ *
+ * Tests put/get/remove with packed position keys against a HashMap reference.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("LongObjectHashMap Tests")
+class LongObjectHashMapTest {
+
+    @Test
+    @DisplayName("Put, get and replace")
+    void testPutGet() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        long key = new BlockPos(-5, 64, 12).asLong();
+
+        assertNull(map.put(key, "a"));
+        assertEquals("a", map.put(key, "b"));
+        assertEquals("b", map.get(key));
+        assertNull(map.get(key + 1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Negative and zero keys are valid")
+    void testSpecialKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        map.put(0L, "zero");
+        map.put(-1L, "minus");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0L));
+        assertEquals("minus", map.get(-1L));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Null values are rejected")
+    void testNullValue() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+        assertFalse(map.containsKey(1L));
+    }
+
+    @Test
+    @DisplayName("Remove returns previous value")
+    void testRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(42L, "x");
+
+        assertEquals("x", map.remove(42L));
+        assertNull(map.remove(42L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Randomized operations match HashMap reference")
+    void testAgainstReference() {
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>(4);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = BlockPos.asLong(random.nextInt(64) - 32, random.nextInt(16), random.nextInt(64) - 32);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                int value = random.nextInt();
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int[] count = {0};
+        map.forEach((key, value) -> {
+            assertEquals(reference.get(key), value);
+            count[0]++;
+        });
+        assertEquals(reference.size(), count[0]);
+    }
+
+    @Test
+    @DisplayName("Draining in steps moves every entry exactly once, even with removals in between")
+    void testDrainInSteps() {
+        LongObjectHashMap<Integer> source = new LongObjectHashMap<>();
+        LongObjectHashMap<Integer> target = new LongObjectHashMap<>();
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            long key = BlockPos.asLong(random.nextInt(128), random.nextInt(16), random.nextInt(128));
+            source.put(key, i);
+            reference.put(key, i);
+        }
+
+        int slot = 0;
+        while (!source.isEmpty()) {
+            slot = source.drainTo(target, slot, 100);
+            // Entfernen zwischen zwei Schritten (z.B. abgebaute Nodes)
+            long key = BlockPos.asLong(random.nextInt(128), random.nextInt(16), random.nextInt(128));
+            if (source.remove(key) != null) {
+                reference.remove(key);
+            }
+        }
+
+        assertEquals(reference.size(), target.size());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), target.get(entry.getKey()));
+        }
+    }
+}
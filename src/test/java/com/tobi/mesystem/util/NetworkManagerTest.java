@@ -0,0 +1,221 @@
+package com.tobi.mesystem.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.core.MENetwork;
+import com.tobi.mesystem.core.MENode;
+import com.tobi.mesystem.core.StorageChangeFeed;
+
+/**
+ * Unit tests for NetworkManager.
+ *
+ * Tests the world tick: per-tick storage deltas for every resident network,
+ * including networks that took part in a merge or were split off by a node removal,
+ * I/O devices that only get a channel after they were placed, that nothing is
+ * saved for a world before its stored networks were loaded, and which worlds the
+ * plugin's world tick visits.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("NetworkManager Tests")
+class NetworkManagerTest {
+
+    public static class FakeWorld {
+        private final UUID worldId;
+
+        public FakeWorld(UUID worldId) {
+            this.worldId = worldId;
+        }
+
+        public UUID getWorldId() {
+            return worldId;
+        }
+    }
+
+    private UUID worldId;
+    private FakeWorld world;
+    private Path dataFolder;
+    private NetworkManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        worldId = UUID.randomUUID();
+        world = new FakeWorld(worldId);
+        dataFolder = Files.createTempDirectory("me-manager-test");
+        manager = new NetworkManager(dataFolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    /**
+     * Platziert einen Node wie MEBlockBase.onPlaced (Netzwerk, Device, Manager)
+     */
+    private MENode place(MENetwork network, int x, MEDeviceType type) {
+        BlockPos pos = new BlockPos(x, 64, 0);
+        MENode node = new MENode(worldId, pos, type);
+        network.addNode(node);
+        network.registerDevice(pos, type);
+        manager.addNode(worldId, pos, node);
+        return node;
+    }
+
+    @Test
+    @DisplayName("The world tick publishes one coalesced batch per network")
+    void testWorldTickFlushesFeed() {
+        MENetwork network = new MENetwork();
+        place(network, 0, MEDeviceType.TERMINAL);
+        StorageChangeFeed.Subscription subscription = network.subscribeStorageChanges(8);
+
+        network.storeItem("hytale:stone", 10);
+        network.storeItem("hytale:stone", 5);
+        assertNull(subscription.poll());
+
+        manager.tickNetworks(world);
+        StorageChangeFeed.ChangeBatch batch = subscription.poll();
+        assertNotNull(batch);
+        assertEquals(List.of(new StorageChangeFeed.StorageDelta("hytale:stone", 0L, 15L)), batch.deltas());
+
+        // Ticks ohne Änderungen erzeugen keine Batches
+        manager.tickNetworks(world);
+        assertNull(subscription.poll());
+    }
+
+    @Test
+    @DisplayName("Merged networks are replaced by their representative in the world tick")
+    void testWorldTickAfterMerge() {
+        MENetwork left = new MENetwork();
+        MENetwork right = new MENetwork();
+        place(left, 0, MEDeviceType.TERMINAL);
+        place(left, 1, MEDeviceType.CABLE);
+        place(right, 3, MEDeviceType.TERMINAL);
+        assertEquals(2, manager.getNetworkCount(worldId));
+
+        MENetwork merged = left.merge(right);
+        StorageChangeFeed.Subscription subscription = merged.subscribeStorageChanges(8);
+        manager.tickNetworks(world);
+        assertEquals(1, manager.getNetworkCount(worldId));
+
+        merged.storeItem("hytale:dirt", 7);
+        manager.tickNetworks(world);
+        StorageChangeFeed.ChangeBatch batch = subscription.poll();
+        assertNotNull(batch);
+        assertEquals(7L, batch.deltas().get(0).newAmount());
+        assertTrue(merged.getTickCount() >= 2);
+    }
+
+    @Test
+    @DisplayName("Removing a node through the manager registers split-off networks")
+    void testRemoveNodeSplits() {
+        MENetwork network = new MENetwork();
+        MENode left = place(network, 0, MEDeviceType.TERMINAL);
+        MENode middle = place(network, 1, MEDeviceType.CABLE);
+        MENode right = place(network, 2, MEDeviceType.TERMINAL);
+        left.addConnection(Direction.EAST);
+        middle.addConnection(Direction.WEST);
+        middle.addConnection(Direction.EAST);
+        right.addConnection(Direction.WEST);
+
+        manager.removeNode(worldId, middle.getPosition());
+        assertNull(manager.getNode(worldId, middle.getPosition()));
+        assertNotSame(left.getNetwork(), right.getNetwork());
+        assertEquals(2, manager.getNetworkCount(worldId));
+
+        // Abgetrennter Teil wird im Welt-Tick geflusht wie jedes andere Netzwerk
+        MENetwork detached = left.getNetwork() == network ? right.getNetwork() : left.getNetwork();
+        StorageChangeFeed.Subscription subscription = detached.subscribeStorageChanges(8);
+        detached.storeItem("hytale:stone", 3);
+        manager.tickNetworks(world);
+        assertNotNull(subscription.poll());
+    }
+
+    @Test
+    @DisplayName("A bus placed before its controller ticks once the controller gives it a channel")
+    void testBusPlacedBeforeController() {
+        MENetwork network = new MENetwork();
+        network.removeController();
+        for (int x = 0; x < network.getMaxChannels(); x++) {
+            place(network, x, MEDeviceType.TERMINAL);
+        }
+        MENode bus = place(network, 100, MEDeviceType.IMPORT_BUS);
+        assertFalse(bus.isActive());
+        assertEquals(1, manager.getTickableDeviceCount(worldId));
+
+        int maxInterval = MEDeviceType.IMPORT_BUS.getMaxTickInterval();
+        for (int i = 0; i < maxInterval; i++) {
+            manager.tickNetworks(world);
+        }
+
+        // Controller kommt später (nicht benachbart, weckt den Bus also nicht): Budget steigt, der wartende Bus geht online
+        MENode controller = place(network, 200, MEDeviceType.CONTROLLER);
+        network.setController(controller.getPosition());
+        assertTrue(bus.isActive());
+
+        int before = bus.getTicksSinceLastActivity();
+        for (int i = 0; i <= maxInterval; i++) {
+            manager.tickNetworks(world);
+        }
+        assertTrue(bus.getTicksSinceLastActivity() > before);
+    }
+
+    @Test
+    @DisplayName("Nothing is saved for a world before its stored networks are loaded")
+    void testNoSaveBeforeLoad() throws Exception {
+        BlockPos storedPos = new BlockPos(0, 64, 0);
+        BlockPos placedPos = new BlockPos(10, 64, 0);
+        manager.loadWorldNetworks(world);
+        MENetwork stored = new MENetwork();
+        place(stored, 0, MEDeviceType.TERMINAL);
+        stored.storeItem("hytale:stone", 42);
+        assertTrue(manager.compactWorld(worldId));
+        manager.shutdown();
+
+        // Neustart: vor dem Laden der Welt wird platziert, Autosave und Kompaktierung laufen
+        manager = new NetworkManager(dataFolder);
+        place(new MENetwork(), 10, MEDeviceType.TERMINAL);
+        manager.autosaveDirtyNetworks(Long.MAX_VALUE);
+        assertFalse(manager.compactWorld(worldId));
+
+        manager.loadWorldNetworks(world);
+        assertEquals(42L, manager.getNetwork(worldId, storedPos).getStoredAmount("hytale:stone"));
+        assertNotNull(manager.getNode(worldId, placedPos));
+
+        // Nach dem Laden wird gespeichert - beide Netzwerke überstehen Kompaktierung und Neustart
+        assertTrue(manager.compactWorld(worldId));
+        manager.shutdown();
+        manager = new NetworkManager(dataFolder);
+        manager.loadWorldNetworks(world);
+        assertEquals(42L, manager.getNetwork(worldId, storedPos).getStoredAmount("hytale:stone"));
+        assertNotNull(manager.getNode(worldId, placedPos));
+    }
+
+    @Test
+    @DisplayName("Worlds are ticked from their first load until they are unloaded")
+    void testKnownWorlds() {
+        assertTrue(manager.getKnownWorlds().isEmpty());
+        manager.loadWorldNetworks(world);
+        assertEquals(List.of(world), manager.getKnownWorlds());
+
+        manager.unloadWorld(world);
+        assertTrue(manager.getKnownWorlds().isEmpty());
+    }
+}
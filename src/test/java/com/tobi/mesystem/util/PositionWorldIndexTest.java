@@ -0,0 +1,72 @@
+package com.tobi.mesystem.util;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PositionWorldIndex.
+ *
+ * Tests the position -> world reverse lookup used by world-agnostic events.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("PositionWorldIndex Tests")
+class PositionWorldIndexTest {
+
+    @Test
+    @DisplayName("Single world is resolved by position")
+    void testUniqueWorld() {
+        PositionWorldIndex index = new PositionWorldIndex();
+        UUID world = UUID.randomUUID();
+        long key = new BlockPos(10, 64, -3).asLong();
+
+        index.add(key, world);
+
+        assertEquals(world, index.uniqueWorldAt(key));
+        assertTrue(index.contains(key));
+        assertNull(index.uniqueWorldAt(new BlockPos(10, 65, -3).asLong()));
+    }
+
+    @Test
+    @DisplayName("Same position in two worlds is ambiguous")
+    void testAmbiguousPosition() {
+        PositionWorldIndex index = new PositionWorldIndex();
+        UUID worldA = UUID.randomUUID();
+        UUID worldB = UUID.randomUUID();
+        long key = new BlockPos(0, 0, 0).asLong();
+
+        index.add(key, worldA);
+        index.add(key, worldB);
+        index.add(key, worldB);
+
+        assertEquals(2, index.worldCountAt(key));
+        assertNull(index.uniqueWorldAt(key));
+
+        index.remove(key, worldA);
+        assertEquals(worldB, index.uniqueWorldAt(key));
+    }
+
+    @Test
+    @DisplayName("Removing the last world drops the position")
+    void testRemove() {
+        PositionWorldIndex index = new PositionWorldIndex();
+        UUID world = UUID.randomUUID();
+        long key = new BlockPos(-100, 12, 7).asLong();
+
+        index.add(key, world);
+        index.remove(key, UUID.randomUUID());
+        assertEquals(1, index.size());
+
+        index.remove(key, world);
+        assertFalse(index.contains(key));
+        assertEquals(0, index.size());
+    }
+}
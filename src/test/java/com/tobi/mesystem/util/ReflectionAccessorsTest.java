@@ -0,0 +1,97 @@
+package com.tobi.mesystem.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ReflectionAccessors.
+ *
+ * Tests per-class handle caching, miss metrics and Method.invoke-compatible errors.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("ReflectionAccessors Tests")
+class ReflectionAccessorsTest {
+
+    public static class FakeWorld {
+        public String lastMessage;
+
+        public Object getBlockEntity(int x, int y, int z) {
+            return x + ":" + y + ":" + z;
+        }
+
+        public void sendMessage(String message) {
+            lastMessage = message;
+        }
+
+        public int fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Test
+    @DisplayName("Methods are resolved once per class")
+    void testCachedResolution() throws Exception {
+        ReflectionAccessors.Accessor accessor = ReflectionAccessors.method("getBlockEntity", int.class, int.class, int.class);
+        FakeWorld world = new FakeWorld();
+
+        assertEquals("1:2:3", accessor.invoke(world, 1, 2, 3));
+        long misses = accessor.getMisses();
+        assertEquals("4:5:6", accessor.invoke(new FakeWorld(), 4, 5, 6));
+        assertEquals(misses, accessor.getMisses());
+    }
+
+    @Test
+    @DisplayName("Registry returns the same accessor for the same signature")
+    void testRegistryDeduplicates() {
+        assertTrue(ReflectionAccessors.method("getX") == ReflectionAccessors.GET_X);
+    }
+
+    @Test
+    @DisplayName("Missing methods throw NoSuchMethodException and are cached")
+    void testMissingMethod() throws Exception {
+        ReflectionAccessors.Accessor accessor = ReflectionAccessors.method("doesNotExist");
+        FakeWorld world = new FakeWorld();
+
+        assertFalse(accessor.isAvailable(world));
+        assertThrows(NoSuchMethodException.class, () -> accessor.invoke(world));
+        assertNull(accessor.invokeIfPresent(world));
+        assertEquals(1, accessor.getMissing());
+    }
+
+    @Test
+    @DisplayName("Void methods return null, primitives are boxed")
+    void testReturnAdaptation() throws Exception {
+        FakeWorld world = new FakeWorld();
+
+        assertNull(ReflectionAccessors.method("sendMessage", String.class).invoke(world, "hallo"));
+        assertEquals("hallo", world.lastMessage);
+        assertEquals(3, ReflectionAccessors.method("length").invoke("abc"));
+    }
+
+    @Test
+    @DisplayName("Exceptions of the target are wrapped like Method.invoke")
+    void testTargetException() {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class,
+            () -> ReflectionAccessors.method("fail").invoke(new FakeWorld()));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("Non-public implementation classes resolve via public interface")
+    void testNonPublicImplementation() throws Exception {
+        Supplier<String> supplier = () -> "wert";
+
+        assertEquals("wert", ReflectionAccessors.method("get").invoke(supplier));
+    }
+}
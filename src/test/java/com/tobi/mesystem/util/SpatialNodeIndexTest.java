@@ -0,0 +1,118 @@
+package com.tobi.mesystem.util;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tobi.mesystem.core.MEDeviceType;
+import com.tobi.mesystem.core.MENode;
+
+/**
+ * Unit tests for SpatialNodeIndex.
+ *
+ * @author Anoxy1
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@DisplayName("SpatialNodeIndex Tests")
+class SpatialNodeIndexTest {
+
+    private UUID worldId;
+    private SpatialNodeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        worldId = UUID.randomUUID();
+        index = new SpatialNodeIndex();
+    }
+
+    private MENode put(int x, int y, int z) {
+        BlockPos pos = new BlockPos(x, y, z);
+        MENode node = new MENode(worldId, pos, MEDeviceType.CABLE);
+        index.put(pos, node);
+        return node;
+    }
+
+    @Test
+    @DisplayName("Put and get work with negative coordinates")
+    void testPutGetNegative() {
+        MENode node = put(-1, -64, -17);
+
+        assertSame(node, index.get(new BlockPos(-1, -64, -17)));
+        assertNull(index.get(new BlockPos(-1, -64, -16)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Neighbour lookup crosses section borders")
+    void testNeighborAcrossSections() {
+        MENode a = put(15, 0, 0);
+        MENode b = put(16, 0, 0);
+        MENode below = put(15, -1, 0);
+
+        assertSame(b, index.getNeighbor(a.getPosition(), Direction.EAST));
+        assertSame(a, index.getNeighbor(b.getPosition(), Direction.WEST));
+        assertSame(below, index.getNeighbor(a.getPosition(), Direction.DOWN));
+        assertNull(index.getNeighbor(a.getPosition(), Direction.UP));
+        assertEquals(3, index.getSectionCount());
+    }
+
+    @Test
+    @DisplayName("Removing the last node drops its section")
+    void testRemoveDropsSection() {
+        MENode node = put(5, 5, 5);
+
+        assertSame(node, index.remove(node.getPosition()));
+        assertNull(index.remove(node.getPosition()));
+        assertEquals(0, index.size());
+        assertEquals(0, index.getSectionCount());
+        assertTrue(index.getNodesInChunk(0, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Chunk iteration returns every section of the column")
+    void testChunkIteration() {
+        put(0, 0, 0);
+        put(31, 200, 31);
+        put(16, -50, 3);
+        put(32, 0, 0);   // Nachbar-Chunk
+        put(-1, 0, 0);   // Nachbar-Chunk
+
+        List<MENode> inChunk = index.getNodesInChunk(0, 0);
+
+        assertEquals(3, inChunk.size());
+        assertEquals(1, index.getNodesInChunk(1, 0).size());
+        assertEquals(1, index.getNodesInChunk(-1, 0).size());
+    }
+
+    @Test
+    @DisplayName("Replacing a node keeps the size stable")
+    void testReplace() {
+        MENode first = put(1, 2, 3);
+        MENode second = put(1, 2, 3);
+
+        assertEquals(1, index.size());
+        assertSame(second, index.get(first.getPosition()));
+    }
+
+    @Test
+    @DisplayName("removeIf removes matching nodes only")
+    void testRemoveIf() {
+        for (int x = 0; x < 40; x++) {
+            put(x, 0, 0);
+        }
+
+        int removed = index.removeIf(node -> node.getPosition().getX() % 2 == 0);
+
+        assertEquals(20, removed);
+        assertEquals(20, index.size());
+        assertNull(index.get(new BlockPos(0, 0, 0)));
+    }
+}